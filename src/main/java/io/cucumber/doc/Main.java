@@ -3,20 +3,32 @@ package io.cucumber.doc;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.Collection;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import com.sun.javadoc.DocErrorReporter;
 import com.sun.javadoc.RootDoc;
 import io.cucumber.doc.annotation.VisibleForTesting;
 import io.cucumber.doc.config.Config;
+import io.cucumber.doc.coverage.CoverageAnalyser;
+import io.cucumber.doc.coverage.CoverageModel;
+import io.cucumber.doc.coverage.CoverageReport;
 import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.parse.IncrementalModel;
 import io.cucumber.doc.parse.ModelBuilder;
 import io.cucumber.doc.report.Format;
 import io.cucumber.doc.util.FileUtils;
+import io.cucumber.doc.util.OutputManifest;
+import io.cucumber.doc.util.RegExSplitter;
+import io.cucumber.doc.util.StringPool;
 import io.cucumber.doc.util.Trace;
+import io.cucumber.doc.util.WritePipeline;
 
 /**
  * CukeDoc entry point. Implemented as a DocLet and called by JavaDoc.
@@ -28,9 +40,12 @@ import io.cucumber.doc.util.Trace;
  *  Oracle Tech Notes</a>
  */
 public class Main {
-    private static Config config;
+    private static final int THREADS_PER_WRITER = 2;
+
+    private static Supplier<Config> config;
     private static Function<RootDoc, ModelBuilder> modelBuilder;
     private static Consumer<String> delete;
+    private static IncrementalModel incremental;
 
 
     static {
@@ -53,7 +68,7 @@ public class Main {
     static void startTest(@Nonnull Config config,
                           @Nonnull Function<RootDoc, ModelBuilder> modelBuilder,
                           @Nonnull Consumer<String> delete) {
-        Main.config = config;
+        Main.config = () -> config;
         Main.modelBuilder = modelBuilder;
         Main.delete = delete;
     }
@@ -65,19 +80,29 @@ public class Main {
      */
     @VisibleForTesting
     static void endTest() {
-        config = Config.getInstance();
+        config = Config::getInstance;
         modelBuilder = ModelBuilder::new;
         delete = FileUtils::delete;
     }
 
 
+    /**
+     * Keep the model between runs so that subsequent runs only need to scan the source files that have changed.
+     * This is used by watch mode, which calls JavaDoc repeatedly in the same JVM.
+     * @param model         the model that is kept between runs, or {@code null} to generate complete reports
+     */
+    public static void watch(@Nullable IncrementalModel model) {
+        incremental = model;
+    }
+
+
     /**
      * Called by JavaDoc to return the number of parameters for each option
      * @param option        name of option
      * @return              number of parameters including option name, or 0 for an invalid option
      */
     public static int optionLength(@Nonnull String option) {
-        return config.requestOption(option);
+        return config.get().requestOption(option);
     }
 
 
@@ -95,7 +120,7 @@ public class Main {
         boolean valid;
 
         try {
-            valid = config.applyOptions(options, reporter);
+            valid = config.get().applyOptions(options, reporter);
         } catch (RuntimeException e) {
             StringWriter writer = new StringWriter();
 
@@ -104,7 +129,7 @@ public class Main {
 
             message = "Invalid argument" +
                         (message == null ? "." : ":\n  " + message) +
-                        (config.traceMode() ? "\n" + writer.toString() : "");
+                        (config.get().traceMode() ? "\n" + writer.toString() : "");
             reporter.printError(message);
             valid = false;
         }
@@ -119,17 +144,127 @@ public class Main {
      * @return          {@code true} only if this was completed successfully
      */
     public static boolean start(@Nonnull RootDoc root) {
-        ApplicationModel model = modelBuilder.apply(root).build();
-        String targetDirectory = config.getDirectory();
+        IncrementalModel incremental = Main.incremental;
+        boolean complete = (incremental == null) || !incremental.isInitialised();
+        String targetDirectory = config.get().getDirectory();
+
+        if (complete && !OutputManifest.exists(targetDirectory)) {
+            delete.accept(targetDirectory);             // No record of what was written before, so start again
+        }
+
+        try (
+            OutputManifest manifest = OutputManifest.open(targetDirectory)
+        ) {
+            WritePipeline pipeline = openPipeline();
+            Throwable failure = null;
+
+            try {
+                writeAll(root, incremental);
+            } catch (RuntimeException | Error e) {
+                failure = e;
+                throw e;
+            } finally {
+                closePipeline(pipeline, failure);
+            }
+
+            manifest.publish(complete);
+        } finally {
+            RegExSplitter.traceStatistics();
+            StringPool.release();           // Don't hold the pool between runs in daemon or watch mode
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Build the model and write the reports, or only the reports for the changed types if this is an update
+     * in watch mode
+     * @param root          Access to the parse tree
+     * @param incremental   the model kept between runs in watch mode, or {@code null}
+     */
+    private static void writeAll(@Nonnull RootDoc root, @Nullable IncrementalModel incremental) {
+        ApplicationModel model;
+
+        if (incremental == null) {
+            model = modelBuilder.apply(root).build();
+            writeReports(model);
+        } else if (!incremental.isInitialised()) {
+            incremental.update(root);
+            model = incremental.build();
+            writeReports(model);
+        } else {
+            Set<String> changedTypes = incremental.update(root);
+
+            model = incremental.build();
+            updateReports(model, changedTypes);
+        }
+
+        writeCoverage(model);
+    }
 
-        delete.accept(targetDirectory);
 
-        for (Format reportType : config.getFormats()) {
+    /**
+     * If more than one thread is configured, open a pipeline so that files are written while the next one is being
+     * rendered. Writing a file costs much less than rendering it, so there is one writer for every two threads.
+     * @return the open pipeline, or {@code null} if the reports are written sequentially
+     */
+    @Nullable
+    private static WritePipeline openPipeline() {
+        int threads = config.get().getThreads();
+
+        return (threads > 1 ? WritePipeline.open(threads / THREADS_PER_WRITER) : null);
+    }
+
+
+    /**
+     * Close the pipeline, if there is one. If the reports could not be written then any failure to close
+     * the pipeline is added to the original failure, rather than replacing it
+     * @param pipeline      the pipeline opened by {@link #openPipeline()}
+     * @param failure       the reason the reports could not be written, or {@code null} if they were written
+     */
+    private static void closePipeline(@Nullable WritePipeline pipeline, @Nullable Throwable failure) {
+        if (pipeline != null) {
+            if (failure == null) {
+                pipeline.close();
+            } else {
+                try {
+                    pipeline.close();
+                } catch (RuntimeException e) {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+    }
+
+
+    private static void writeReports(@Nonnull ApplicationModel model) {
+        for (Format reportType : config.get().getFormats()) {
             Trace.message("Creating report %s", reportType);
 
             reportType.getReportBuilder(model).writeReport();
         }
+    }
 
-        return true;
+
+    private static void updateReports(@Nonnull ApplicationModel model, @Nonnull Set<String> changedTypes) {
+        for (Format reportType : config.get().getFormats()) {
+            Trace.message("Updating report %s", reportType);
+
+            reportType.getReportBuilder(model).updateReport(changedTypes);
+        }
+    }
+
+
+    private static void writeCoverage(@Nonnull ApplicationModel model) {
+        Collection<String> features = config.get().getFeatures();
+
+        if (!features.isEmpty()) {
+            Trace.message("Creating coverage report");
+
+            CoverageModel coverage = new CoverageAnalyser(model).analyse(features, config.get().getThreads());
+
+            new CoverageReport(coverage).writeReport();
+        }
     }
 }
\ No newline at end of file
@@ -32,7 +32,7 @@ public class Config {
     private static final Pattern NOTE_NAME_FORMAT =
         Pattern.compile("[A-Za-z0-9]+([A-Za-z0-9-_ .]*[A-Za-z0-9])?");
 
-    private static Config instance = newInstance();
+    private static volatile Config instance = newInstance();
 
     private String title = "CukeDoc";
     private String footer = "";
@@ -48,6 +48,12 @@ public class Config {
     private List<NoteDescription> notes = new ArrayList<>();
     private EnumSet<Format> formats = DEFAULT_FORMATS;
     private boolean formatsSet = false;
+    private int threads = 1;
+    private String cachePath = null;
+    private List<String> featureList = new ArrayList<>();
+    private List<String> resultList = new ArrayList<>();
+    private boolean compact = false;
+    private boolean fuzz = false;
 
 
     /** Hide singleton constructor */
@@ -69,6 +75,21 @@ public class Config {
     }
 
 
+    /**
+     * Start a new generation request by resetting the configuration, and everything derived from it, to the
+     * defaults. This is only required when more than one set of reports are generated by the same JVM.
+     * @return the new 'singleton' Config object
+     */
+    @Nonnull
+    public static Config newRequest() {
+        Config config = newInstance();
+
+        Translate.reset();
+
+        return config;
+    }
+
+
     /**
      * Returns the singleton instance of the Config object
      * @return the singleton instance of the Config object
@@ -109,6 +130,18 @@ public class Config {
             count = 2;
         } else if ("-note".equals(option)) {
             count = 3;
+        } else if ("-threads".equals(option)) {
+            count = 2;
+        } else if ("-cache".equals(option)) {
+            count = 2;
+        } else if ("-features".equals(option)) {
+            count = 2;
+        } else if ("-results".equals(option)) {
+            count = 2;
+        } else if ("-compact".equals(option)) {
+            count = 1;
+        } else if ("-fuzz".equals(option)) {
+            count = 1;
         } else if ("-trace".equals(option)) {
             trace = true;
             count = 1;
@@ -187,6 +220,21 @@ public class Config {
                 if (valid) {
                     notes.add(new NoteDescription(value1, value2));
                 }
+            } else if ("-threads".equals(key)) {
+                valid &= validateThreads(key, value1, reporter);
+            } else if ("-cache".equals(key)) {
+                cachePath = value1;
+                valid &= validateString(key, value1, reporter);
+            } else if ("-features".equals(key)) {
+                featureList.add(value1);
+                valid &= validatePath(key, value1, reporter);
+            } else if ("-results".equals(key)) {
+                resultList.add(value1);
+                valid &= validatePath(key, value1, reporter);
+            } else if ("-compact".equals(key)) {
+                compact = true;
+            } else if ("-fuzz".equals(key)) {
+                fuzz = true;
             } else {
                 // ignore unexpected argument - javaDoc may be using it;
             }
@@ -211,6 +259,24 @@ public class Config {
     }
 
 
+    private boolean validateThreads(@Nonnull String name, @Nonnull String value, @Nonnull DocErrorReporter reporter) {
+        boolean isValid;
+
+        try {
+            threads = Integer.parseInt(value.trim());
+            isValid = (threads > 0);
+        } catch (NumberFormatException e) {
+            isValid = false;
+        }
+
+        if (!isValid) {
+            reporter.printError("Argument '" + name + "' must be a positive number, not '" + value + "'");
+        }
+
+        return isValid;
+    }
+
+
     private boolean validateString(@Nonnull String name, @Nonnull String value, @Nonnull DocErrorReporter reporter) {
         boolean isValid = Check.hasText(value);
 
@@ -243,7 +309,7 @@ public class Config {
                     .withDescription(StringUtils.asString(EnumSet.allOf(I18n.class)))
                 .withOptions("-link")
                     .withArgument("path")
-                    .withDescription("Path to an XML report from another project.")
+                    .withDescription("Path to an XML report or snapshot from another project.")
                     .withDescription("The details will be added to this project")
                     .withDescription("Multiple links can be added")
                 .withOptions("-windowtitle")
@@ -280,6 +346,32 @@ public class Config {
                 .withOptions("-description")
                     .withArgument("path")
                     .withDescription("Add a description to the Overview page")
+                .withOptions("-threads")
+                    .withArgument("count")
+                    .withDescription("Number of threads used to scan the source classes, to import")
+                    .withDescription("linked reports and to render the HTML pages. With more than one thread")
+                    .withDescription("files are written to disk in the background. Defaults to 1, which does")
+                    .withDescription("everything sequentially")
+                .withOptions("-cache")
+                    .withArgument("path")
+                    .withDescription("File used to cache the scanned classes between runs.")
+                    .withDescription("Only classes that have changed since the previous run are rescanned")
+                .withOptions("-features")
+                    .withArgument("directory")
+                    .withDescription("Directory of Gherkin feature files that are matched against the mappings.")
+                    .withDescription("The matched, unmatched and unused steps are written to coverage.txt")
+                    .withDescription("Multiple directories can be added. They are read using -threads threads")
+                .withOptions("-results")
+                    .withArgument("path")
+                    .withDescription("Cucumber JSON report, or directory of reports, from a test run.")
+                    .withDescription("The execution times of the step definitions are added to the report")
+                    .withDescription("Multiple results can be added")
+                .withOptions("-compact")
+                    .withDescription("Write the HTML pages without indentation. The pages are streamed to disk")
+                    .withDescription("as they are rendered, which uses less memory for very large harnesses")
+                .withOptions("-fuzz")
+                    .withDescription("Time the mappings that can backtrack catastrophically against generated")
+                    .withDescription("step text. The reports then show whether each one is slow to match")
                 .withOptions("-trace")
                     .withDescription("Generate additional output while creating document")
                 .withOptions("-help", "-h")
@@ -435,6 +527,81 @@ public class Config {
     }
 
 
+    /**
+     * Returns the number of threads used to scan the source classes, import linked reports and render the pages of
+     * the HTML report. The default is 1
+     * @return the number of threads used to build the model and the reports
+     */
+    public int getThreads() {
+        Preconditions.checkState(configured, "Config options have not been applied");
+
+        return threads;
+    }
+
+
+    /**
+     * Returns the path to the file used to cache the scanned classes between runs,
+     * or {@code null} if the classes should not be cached
+     * @return the path to the scan cache
+     */
+    @Nullable
+    public String getCachePath() {
+        Preconditions.checkState(configured, "Config options have not been applied");
+
+        return cachePath;
+    }
+
+
+    /**
+     * Returns the directories of feature files that are matched against the mappings. If no directories are set
+     * then an empty collection will be returned
+     * @return an immutable collection of feature file directories.
+     */
+    @Nonnull
+    public Collection<String> getFeatures() {
+        Preconditions.checkState(configured, "Config options have not been applied");
+
+        return Collections.unmodifiableList(featureList);
+    }
+
+
+    /**
+     * Returns the Cucumber JSON reports, or directories of reports, that contain the results of test runs. If no
+     * results are set then an empty collection will be returned
+     * @return an immutable collection of result locations.
+     */
+    @Nonnull
+    public Collection<String> getResults() {
+        Preconditions.checkState(configured, "Config options have not been applied");
+
+        return Collections.unmodifiableList(resultList);
+    }
+
+
+    /**
+     * Returns {@code true} only if the HTML pages are written without indentation. Compact pages are streamed to
+     * disk as they are rendered rather than being built in memory first
+     * @return {@code true} only if the HTML pages are written without indentation
+     */
+    public boolean isCompact() {
+        Preconditions.checkState(configured, "Config options have not been applied");
+
+        return compact;
+    }
+
+
+    /**
+     * Returns {@code true} only if the mappings that can cause catastrophic backtracking are timed against
+     * generated step text. This is off by default as it takes a fraction of a second for every flagged mapping
+     * @return {@code true} only if the flagged mappings are timed
+     */
+    public boolean isFuzz() {
+        Preconditions.checkState(configured, "Config options have not been applied");
+
+        return fuzz;
+    }
+
+
     /**
      * Returns the required report types. The default is all available formats
      * @return the required report types
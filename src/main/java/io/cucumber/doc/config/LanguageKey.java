@@ -25,6 +25,17 @@ public enum LanguageKey {
     OVERVIEW_TITLE,
     OVERVIEW_TYPES,
     OVERVIEW_TYPE,
+    OVERVIEW_CONFLICTS,
+    OVERVIEW_EXAMPLE,
+    OVERVIEW_HAZARDS,
+    OVERVIEW_HAZARD,
+    OVERVIEW_SPEED,
+    OVERVIEW_UNTIMED,
+    OVERVIEW_FAST,
+    OVERVIEW_SLOW,
+    OVERVIEW_TIMED_OUT,
+    OVERVIEW_NESTED_QUANTIFIER,
+    OVERVIEW_OVERLAPPING_ALTERNATION,
 
     // Used on the type pages
     TYPE_TABLE,
@@ -35,6 +46,16 @@ public enum LanguageKey {
     TYPE_HOVER_TYPE,
     TYPE_HOVER_FORMAT,
 
+    TYPE_TIMING,
+
+    // Used on the hot steps page
+    HOT_STEPS_TITLE,
+    HOT_STEPS_DEFINITION,
+    HOT_STEPS_CALLS,
+    HOT_STEPS_TOTAL,
+    HOT_STEPS_MEAN,
+    HOT_STEPS_P95,
+
     // Used on the notes pages
     NOTES_TITLE;
 
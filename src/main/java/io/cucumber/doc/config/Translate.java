@@ -10,10 +10,11 @@ import io.cucumber.doc.annotation.VisibleForTesting;
 import io.cucumber.doc.exception.CukeDocException;
 
 /**
- * i18n implementation
+ * i18n implementation. Messages can be translated by several threads at once, such as when pages of the HTML
+ * report are rendered in parallel.
  */
 public class Translate {
-    private static Translate instance;
+    private static volatile Translate instance;
 
     private final ResourceBundle labels;
 
@@ -23,6 +24,15 @@ public class Translate {
     }
 
 
+    /**
+     * Discard the translations for the current request, so the next message uses the language of the current
+     * configuration. The resource bundles themselves are cached by the JVM, so they are not reloaded.
+     */
+    static void reset() {
+        instance = null;
+    }
+
+
     /** Used by Unit tests only */
     @VisibleForTesting
     static void setI18n(@Nonnull I18n i18n) {
@@ -32,11 +42,14 @@ public class Translate {
 
     @Nonnull
     private static Translate getInstance() {
-        if (instance == null) {
-            instance = new Translate(Config.getInstance().getI18n());
+        Translate translate = instance;
+
+        if (translate == null) {
+            translate = new Translate(Config.getInstance().getI18n());
+            instance = translate;                       // Racing threads load equivalent translations
         }
 
-        return instance;
+        return translate;
     }
 
 
@@ -0,0 +1,143 @@
+package io.cucumber.doc.coverage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnull;
+
+import io.cucumber.doc.exception.CukeDocException;
+import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.MappingModel;
+import io.cucumber.doc.util.Trace;
+
+/**
+ * Match the steps in a set of Gherkin feature files against the mappings in an application.
+ * <br>
+ * The feature files are read in parallel, each one a line at a time. Every distinct step is only matched once,
+ * using {@link ApplicationModel#findMappings(String)}, which tries the cached regular expression of each
+ * candidate mapping. Repeated steps just increase the count of the step that was matched before.
+ */
+public class CoverageAnalyser {
+    private static final String EXTENSION = ".feature";
+
+    private final ApplicationModel model;
+    private final FeatureParser parser;
+    private final ConcurrentMap<String, StepUsage> steps = new ConcurrentHashMap<>();
+
+
+    /**
+     * Create an analyser for the mappings in an application. An analyser can only be used once
+     * @param model         the application model
+     */
+    public CoverageAnalyser(@Nonnull ApplicationModel model) {
+        this.model = model;
+        this.parser = new FeatureParser(model.getMappings()
+                                             .stream()
+                                             .map(MappingModel::getVerb)
+                                             .collect(Collectors.toSet()));
+    }
+
+
+    /**
+     * Read all the feature files in some directories, and their sub-directories, and match their steps
+     * @param directories   the directories that contain the feature files
+     * @param threads       number of threads used to read the feature files
+     * @return              the use of the mappings by the feature files
+     * @throws CukeDocException if a directory or feature file could not be read
+     */
+    @Nonnull
+    public CoverageModel analyse(@Nonnull Collection<String> directories, int threads) throws CukeDocException {
+        long started = System.currentTimeMillis();
+        List<Path> files = findFeatures(directories);
+
+        model.findMappings("");                             // Build the step index before the threads race for it
+
+        if (threads == 1) {
+            files.forEach(this::read);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+
+            try {
+                pool.submit(() -> files.parallelStream().forEach(this::read)).join();
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        CoverageModel coverage = new CoverageModel(files.size(), model.getMappings(), steps.values());
+
+        Trace.message("Coverage: %d feature files, %d steps (%d distinct), %d unmatched, %d of %d mappings unused " +
+                      "in %d ms",
+                      files.size(), coverage.getStepCount(), steps.size(), coverage.getUnmatchedSteps().size(),
+                      coverage.getUnusedMappings().size(), model.getMappings().size(),
+                      System.currentTimeMillis() - started);
+
+        return coverage;
+    }
+
+
+    /**
+     * Returns the feature files in some directories, ordered by their path
+     * @param directories   the directories that contain the feature files
+     * @return              the feature files
+     */
+    @Nonnull
+    private List<Path> findFeatures(@Nonnull Collection<String> directories) {
+        List<Path> files = new ArrayList<>();
+
+        for (String directory : directories) {
+            try (Stream<Path> paths = Files.walk(Paths.get(directory))) {
+                paths.filter(Files::isRegularFile)
+                     .filter(path -> path.toString().toLowerCase(Locale.ROOT).endsWith(EXTENSION))
+                     .forEach(files::add);
+            } catch (IOException e) {
+                throw new CukeDocException("Failed to read feature files in '" + directory + "'", e);
+            }
+        }
+
+        files.sort(null);
+
+        return files;
+    }
+
+
+    private void read(@Nonnull Path file) {
+        String name = file.toString();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            parser.parse(reader, (text, line) -> usage(text).add(name, line));
+        } catch (IOException e) {
+            throw new CukeDocException("Failed to read feature file '" + name + "'", e);
+        }
+    }
+
+
+    /**
+     * Returns the usage of a step, matching it against the mappings if it has not been seen before
+     * @param text          the text of the step
+     * @return              the usage of the step
+     */
+    @Nonnull
+    private StepUsage usage(@Nonnull String text) {
+        StepUsage usage = steps.get(text);                  // Avoid locking for the steps that are repeated
+
+        if (usage == null) {
+            usage = steps.computeIfAbsent(text, step -> new StepUsage(step, model.findMappings(step)));
+        }
+
+        return usage;
+    }
+}
@@ -0,0 +1,128 @@
+package io.cucumber.doc.coverage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import io.cucumber.doc.model.MappingModel;
+
+/**
+ * Model for the use of the mappings by a set of feature files
+ */
+public class CoverageModel {
+    private final int fileCount;
+    private final long stepCount;
+    private final List<MappingModel> mappings;
+    private final Map<MappingModel, Long> usage = new HashMap<>();
+    private final List<StepUsage> unmatched = new ArrayList<>();
+    private final List<MappingModel> unused = new ArrayList<>();
+
+
+    /**
+     * Create a new CoverageModel
+     * @param fileCount     the number of feature files that were read
+     * @param mappings      all the mappings in the application
+     * @param steps         the distinct steps in the feature files
+     */
+    CoverageModel(int fileCount, @Nonnull List<MappingModel> mappings, @Nonnull Collection<StepUsage> steps) {
+        long total = 0;
+
+        for (StepUsage step : steps) {
+            long count = step.getCount();
+
+            total += count;
+
+            if (step.getMappings().isEmpty()) {
+                unmatched.add(step);
+            }
+
+            for (MappingModel mapping : step.getMappings()) {
+                usage.merge(mapping, count, Long::sum);
+            }
+        }
+
+        for (MappingModel mapping : mappings) {
+            if (!usage.containsKey(mapping)) {
+                unused.add(mapping);
+            }
+        }
+
+        unmatched.sort(Comparator.comparing(StepUsage::getText));
+
+        this.fileCount = fileCount;
+        this.stepCount = total;
+        this.mappings = mappings;
+    }
+
+
+    /**
+     * Returns the number of feature files that were read
+     * @return the number of feature files that were read
+     */
+    public int getFileCount() {
+        return fileCount;
+    }
+
+
+    /**
+     * Returns the number of steps in the feature files, including the repeated steps
+     * @return the number of steps in the feature files
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+
+    /**
+     * Returns the mappings that match at least one step, in the order they are defined in the application
+     * @return the mappings that are used by the feature files
+     */
+    @Nonnull
+    public List<MappingModel> getMatchedMappings() {
+        List<MappingModel> matched = new ArrayList<>(usage.size());
+
+        for (MappingModel mapping : mappings) {
+            if (usage.containsKey(mapping)) {
+                matched.add(mapping);
+            }
+        }
+
+        return matched;
+    }
+
+
+    /**
+     * Returns the number of steps that match a mapping
+     * @param mapping       a mapping in the application
+     * @return the number of steps that match the mapping, which is 0 if the mapping is not used
+     */
+    public long getUsage(@Nonnull MappingModel mapping) {
+        return usage.getOrDefault(mapping, 0L);
+    }
+
+
+    /**
+     * Returns the steps that do not match any mapping, ordered by their text
+     * @return the steps that are not implemented
+     */
+    @Nonnull
+    public List<StepUsage> getUnmatchedSteps() {
+        return Collections.unmodifiableList(unmatched);
+    }
+
+
+    /**
+     * Returns the mappings that do not match any step, in the order they are defined in the application
+     * @return the mappings that are not used by the feature files
+     */
+    @Nonnull
+    public List<MappingModel> getUnusedMappings() {
+        return Collections.unmodifiableList(unused);
+    }
+}
@@ -0,0 +1,116 @@
+package io.cucumber.doc.coverage;
+
+import javax.annotation.Nonnull;
+
+import io.cucumber.doc.annotation.VisibleForTesting;
+import io.cucumber.doc.config.Config;
+import io.cucumber.doc.model.MappingModel;
+import io.cucumber.doc.report.ReportBuilder;
+import io.cucumber.doc.util.FileUtils;
+
+/**
+ * Generate a simple text based report of the mappings that are used by the feature files, the steps that do not
+ * match any mapping and the mappings that are not used. The results are written to a single text file.
+ */
+public class CoverageReport implements ReportBuilder {
+    private static final String EOL = System.lineSeparator();
+    private static final String INDENT = "    ";
+
+    private final CoverageModel coverage;
+
+
+    /**
+     * Create a coverage report
+     * @param coverage      the use of the mappings by the feature files
+     */
+    public CoverageReport(@Nonnull CoverageModel coverage) {
+        this.coverage = coverage;
+    }
+
+
+    @Override
+    public void writeReport() {
+        String target = Config.getInstance().getDirectory() + "/coverage.txt";
+        String report = generatedReport();
+
+        FileUtils.write(target, report);
+    }
+
+
+    @Nonnull
+    @VisibleForTesting
+    String generatedReport() {
+        StringBuilder builder = new StringBuilder();
+
+        heading(builder, Config.getInstance().getTitle());
+        builder.append(coverage.getStepCount()).append(" steps in ")
+               .append(coverage.getFileCount()).append(" feature files")
+               .append(EOL).append(EOL);
+
+        describeMatched(builder);
+        describeUnmatched(builder);
+        describeUnused(builder);
+
+        return builder.toString();
+    }
+
+
+    private void heading(@Nonnull StringBuilder builder, @Nonnull String title) {
+        builder.append(INDENT).append(INDENT)
+               .append("--==| ").append(title).append(" |==--")
+               .append(EOL).append(EOL);
+    }
+
+
+    private void describeMatched(@Nonnull StringBuilder builder) {
+        heading(builder, "Matched mappings");
+
+        for (MappingModel mapping : coverage.getMatchedMappings()) {
+            builder.append(INDENT)
+                   .append(coverage.getUsage(mapping))
+                   .append("\t");
+            describeMapping(builder, mapping);
+        }
+
+        builder.append(EOL);
+    }
+
+
+    private void describeUnmatched(@Nonnull StringBuilder builder) {
+        heading(builder, "Unmatched steps");
+
+        for (StepUsage step : coverage.getUnmatchedSteps()) {
+            builder.append(INDENT)
+                   .append(step.getCount())
+                   .append("\t")
+                   .append(step.getText())
+                   .append("\t(")
+                   .append(step.getFile()).append(':').append(step.getLine())
+                   .append(")")
+                   .append(EOL);
+        }
+
+        builder.append(EOL);
+    }
+
+
+    private void describeUnused(@Nonnull StringBuilder builder) {
+        heading(builder, "Unused mappings");
+
+        for (MappingModel mapping : coverage.getUnusedMappings()) {
+            builder.append(INDENT);
+            describeMapping(builder, mapping);
+        }
+    }
+
+
+    private void describeMapping(@Nonnull StringBuilder builder, @Nonnull MappingModel mapping) {
+        builder.append(mapping.getVerb())
+               .append(" \t")
+               .append(mapping.getRegEx())
+               .append("\t(")
+               .append(mapping.getImplementation().getQualifiedName())
+               .append(")")
+               .append(EOL);
+    }
+}
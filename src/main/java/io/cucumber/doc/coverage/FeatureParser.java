@@ -0,0 +1,235 @@
+package io.cucumber.doc.coverage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.cucumber.doc.annotation.VisibleForTesting;
+
+/**
+ * Reads the steps from a Gherkin feature file one line at a time, so that only the scenario being read is held
+ * in memory.
+ * <br>
+ * The steps of a scenario that has an Examples table are returned once for each row of the table, with the
+ * placeholders replaced by the values in the row, as this is the text that Cucumber matches against the mappings.
+ * Doc strings, data tables, tags, comments and descriptions are skipped. Only the English keywords are recognised,
+ * together with the verbs used by the mappings.
+ * <br>
+ * Instances are immutable, so a single parser can be shared between threads.
+ */
+class FeatureParser {
+    private static final Set<String> SECTIONS = new HashSet<>(Arrays.asList(
+        "Feature", "Rule", "Background", "Scenario", "Example", "Scenario Outline", "Scenario Template"));
+    private static final Set<String> EXAMPLES = new HashSet<>(Arrays.asList("Examples", "Scenarios"));
+    private static final String[] DOC_STRINGS = { "\"\"\"", "```" };
+    private static final char CELL = '|';
+    private static final char ESCAPE = '\\';
+
+    private final Set<String> keywords = new HashSet<>(Arrays.asList("Given", "When", "Then", "And", "But", "*"));
+
+
+    /**
+     * State of a single file while it is being read
+     */
+    private static class Context {
+        private final ObjIntConsumer<String> consumer;
+        private final List<String> steps = new ArrayList<>();
+        private final List<Integer> lines = new ArrayList<>();
+        private String docString = null;                    // Delimiter of the open doc string
+        private boolean inExamples = false;
+        private boolean expanded = false;
+        private List<String> header = null;
+
+
+        Context(@Nonnull ObjIntConsumer<String> consumer) {
+            this.consumer = consumer;
+        }
+
+
+        /**
+         * Return the steps of the scenario that has just been read, unless they were expanded by an Examples table
+         */
+        void finishScenario() {
+            if (!expanded) {
+                for (int index = 0; index < steps.size(); index++) {
+                    consumer.accept(steps.get(index), lines.get(index));
+                }
+            }
+
+            steps.clear();
+            lines.clear();
+            inExamples = false;
+            expanded = false;
+        }
+
+
+        void startExamples() {
+            inExamples = true;
+            expanded = true;
+            header = null;
+        }
+
+
+        void addRow(@Nonnull List<String> cells) {
+            if (!inExamples) {
+                // Data table - ignore it
+            } else if (header == null) {
+                header = cells;
+            } else {
+                for (int index = 0; index < steps.size(); index++) {
+                    consumer.accept(substitute(steps.get(index), cells), lines.get(index));
+                }
+            }
+        }
+
+
+        @Nonnull
+        private String substitute(@Nonnull String step, @Nonnull List<String> values) {
+            String text = step;
+            int count = Math.min(header.size(), values.size());
+
+            for (int index = 0; index < count; index++) {
+                text = text.replace("<" + header.get(index) + ">", values.get(index));
+            }
+
+            return text;
+        }
+    }
+
+
+    /**
+     * Create a parser
+     * @param verbs         the verbs used by the mappings, which are also recognised as keywords
+     */
+    FeatureParser(@Nonnull Collection<String> verbs) {
+        keywords.addAll(verbs);
+    }
+
+
+    /**
+     * Read the steps from a feature file
+     * @param reader        the content of the feature file
+     * @param consumer      called with the text of each step, without its keyword, and its line number
+     * @throws IOException  if the feature file could not be read
+     */
+    void parse(@Nonnull BufferedReader reader, @Nonnull ObjIntConsumer<String> consumer) throws IOException {
+        Context context = new Context(consumer);
+        String line = reader.readLine();
+        int number = 1;
+
+        while (line != null) {
+            parseLine(context, line.trim(), number++);
+            line = reader.readLine();
+        }
+
+        context.finishScenario();
+    }
+
+
+    private void parseLine(@Nonnull Context context, @Nonnull String line, int number) {
+        String section = section(line);
+
+        if (context.docString != null) {
+            context.docString = (line.startsWith(context.docString) ? null : context.docString);
+        } else if (docString(line) != null) {
+            context.docString = docString(line);
+        } else if (line.isEmpty() || (line.charAt(0) == '#') || (line.charAt(0) == '@')) {
+            // Blank line, comment or tags - ignore it
+        } else if (line.charAt(0) == CELL) {
+            context.addRow(cells(line));
+        } else if (EXAMPLES.contains(section)) {
+            context.startExamples();
+        } else if (SECTIONS.contains(section)) {
+            context.finishScenario();
+        } else {
+            String text = stepText(line);
+
+            if (text != null) {
+                context.steps.add(text);
+                context.lines.add(number);
+            }
+        }
+    }
+
+
+    @Nullable
+    private String section(@Nonnull String line) {
+        int colon = line.indexOf(':');
+
+        return (colon == -1 ? null : line.substring(0, colon).trim());
+    }
+
+
+    @Nullable
+    private String docString(@Nonnull String line) {
+        String delimiter = null;
+
+        for (String candidate : DOC_STRINGS) {
+            if (line.startsWith(candidate)) {
+                delimiter = candidate;
+            }
+        }
+
+        return delimiter;
+    }
+
+
+    /**
+     * Returns the text of a step without its keyword
+     * @param line          a trimmed line from a feature file
+     * @return              the text of the step, or {@code null} if the line is not a step
+     */
+    @Nullable
+    @VisibleForTesting
+    String stepText(@Nonnull String line) {
+        int space = line.indexOf(' ');
+        String text = null;
+
+        if ((space != -1) && keywords.contains(line.substring(0, space))) {
+            text = line.substring(space + 1).trim();
+        }
+
+        return (text == null || text.isEmpty() ? null : text);
+    }
+
+
+    /**
+     * Returns the cells in a row of a table. Gherkin escapes are removed from the values
+     * @param line          a trimmed line from a feature file that starts with {@literal '|'}
+     * @return              the trimmed value of each cell in the row
+     */
+    @Nonnull
+    @VisibleForTesting
+    static List<String> cells(@Nonnull String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        int length = line.length();
+        int index = 1;
+
+        while (index < length) {
+            char next = line.charAt(index++);
+
+            if (next == CELL) {
+                cells.add(cell.toString().trim());
+                cell.setLength(0);
+            } else if ((next == ESCAPE) && (index < length)) {
+                char escaped = line.charAt(index++);
+
+                cell.append(escaped == 'n' ? '\n' : escaped);
+            } else {
+                cell.append(next);
+            }
+        }
+
+        return cells;
+    }
+}
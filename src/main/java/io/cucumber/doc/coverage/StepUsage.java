@@ -0,0 +1,106 @@
+package io.cucumber.doc.coverage;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nonnull;
+
+import io.cucumber.doc.model.MappingModel;
+
+/**
+ * The number of times some step text is used by the feature files, and the mappings that match it.
+ * <br>
+ * Steps are counted by many threads at once. The location that is kept is the first in file name and then line
+ * order, so the reports do not depend on the order in which the files were read.
+ */
+public class StepUsage {
+    private final String text;
+    private final List<MappingModel> mappings;
+    private final LongAdder count = new LongAdder();
+    private String file = null;                             // Guarded by this
+    private int line = 0;
+
+
+    /**
+     * Create a new StepUsage
+     * @param text          the text of the step, without its keyword
+     * @param mappings      the mappings that match the step
+     */
+    StepUsage(@Nonnull String text, @Nonnull List<MappingModel> mappings) {
+        this.text = text;
+        this.mappings = mappings;
+    }
+
+
+    /**
+     * Count another use of the step
+     * @param file          the feature file that uses the step
+     * @param line          the line number of the step in the feature file
+     */
+    void add(@Nonnull String file, int line) {
+        count.increment();
+
+        synchronized (this) {
+            int order = (this.file == null ? 1 : this.file.compareTo(file));
+
+            if ((order > 0) || ((order == 0) && (this.line > line))) {
+                this.file = file;
+                this.line = line;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the text of the step, without its keyword
+     * @return the text of the step, without its keyword
+     */
+    @Nonnull
+    public String getText() {
+        return text;
+    }
+
+
+    /**
+     * Returns the mappings that match the step. There is more than one mapping if the step is ambiguous
+     * @return the mappings that match the step, which is empty if the step is not implemented
+     */
+    @Nonnull
+    public List<MappingModel> getMappings() {
+        return mappings;
+    }
+
+
+    /**
+     * Returns the number of times the step is used
+     * @return the number of times the step is used
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+
+    /**
+     * Returns the first feature file that uses the step
+     * @return the first feature file that uses the step
+     */
+    @Nonnull
+    public synchronized String getFile() {
+        return file;
+    }
+
+
+    /**
+     * Returns the line number of the step in the first feature file that uses it
+     * @return the line number of the step in the first feature file that uses it
+     */
+    public synchronized int getLine() {
+        return line;
+    }
+
+
+    @Override
+    public String toString() {
+        return "StepUsage{'" + text + "' x" + getCount() + ", mappings=" + mappings.size() + "}";
+    }
+}
@@ -0,0 +1,109 @@
+package io.cucumber.doc.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.annotation.Nonnull;
+
+import io.cucumber.doc.exception.CukeDocException;
+
+
+/**
+ * A thin client that forwards a JavaDoc command line to a running {@link Daemon}.
+ * <br>
+ * Usage: {@code java -cp <classpath> [-Dcukedoc.port=port] io.cucumber.doc.daemon.Client <javadoc-options>}
+ * <br>
+ * The JavaDoc options are the same as those that would be passed to JavaDoc if the daemon was not running,
+ * except that {@code -doclet} and {@code -docletpath} are not required. Passing {@value Daemon#STOP} as the only
+ * option will stop the daemon.
+ * <br>
+ * The client must be run by the same user as the daemon, as it authenticates using the token the daemon wrote to
+ * the user's home directory.
+ */
+public class Client {
+    /** Name of the system property that holds the daemon port number */
+    public static final String PORT_PROPERTY = "cukedoc.port";
+
+
+    private Client() {
+    }
+
+
+    /**
+     * Command line entry point. The process exit code is the JavaDoc exit code
+     * @param args          JavaDoc command line
+     */
+    public static void main(@Nonnull String[] args) {
+        int port = Integer.getInteger(PORT_PROPERTY, Daemon.DEFAULT_PORT);
+        int exitCode = send(port, args, System.out);
+
+        System.exit(exitCode);
+    }
+
+
+    /**
+     * Send a request to the daemon and wait for it to complete
+     * @param port          port the daemon is listening on
+     * @param args          JavaDoc command line
+     * @param output        destination for the output from JavaDoc
+     * @return              the JavaDoc exit code
+     * @throws CukeDocException if the daemon could not be contacted
+     */
+    static int send(int port, @Nonnull String[] args, @Nonnull PrintStream output) throws CukeDocException {
+        return send(Daemon.tokenDirectory(), port, args, output);
+    }
+
+
+    /**
+     * Send a request to the daemon and wait for it to complete
+     * @param tokenDirectory    directory that holds the daemon's token file
+     * @param port              port the daemon is listening on
+     * @param args              JavaDoc command line
+     * @param output            destination for the output from JavaDoc
+     * @return                  the JavaDoc exit code
+     * @throws CukeDocException if the daemon could not be contacted
+     */
+    static int send(@Nonnull Path tokenDirectory, int port, @Nonnull String[] args, @Nonnull PrintStream output)
+            throws CukeDocException {
+        int exitCode;
+
+        try (
+            Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)
+        ) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            byte[] token = Files.readAllBytes(Daemon.tokenFile(tokenDirectory, port));
+
+            out.writeUTF(new String(token, StandardCharsets.UTF_8));
+            out.writeUTF(Daemon.workingDirectory());
+            out.writeInt(args.length);
+
+            for (String arg : args) {
+                out.writeUTF(arg);
+            }
+
+            out.flush();
+
+            byte[] message = new byte[in.readInt()];
+
+            in.readFully(message);
+            output.print(new String(message, StandardCharsets.UTF_8));
+            output.flush();
+
+            exitCode = in.readInt();
+        } catch (IOException e) {
+            throw new CukeDocException("Unable to contact CukeDoc daemon on port " + port, e);
+        }
+
+        return exitCode;
+    }
+}
@@ -0,0 +1,348 @@
+package io.cucumber.doc.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+import javax.annotation.Nonnull;
+
+import io.cucumber.doc.Main;
+import io.cucumber.doc.annotation.VisibleForTesting;
+import io.cucumber.doc.config.Config;
+
+
+/**
+ * A long running CukeDoc process that generates reports on behalf of {@link Client}. Keeping the JVM running
+ * avoids paying for the JVM and JavaDoc start up, loading the annotations and translations and JIT warm up
+ * on every build.
+ * <br>
+ * The daemon only listens on the loopback interface. Requests are processed one at a time, and the configuration
+ * is reset at the start of each request, so no state leaks from one request to the next. As the JVM has a single
+ * working directory, requests are only accepted from clients running in the same directory as the daemon.
+ * <br>
+ * A client that stops sending part way through a request is disconnected after {@value #REQUEST_TIMEOUT}ms, so
+ * it can not stall later requests.
+ * <br>
+ * The loopback interface is shared by every user on the machine, so on start up the daemon writes a random token
+ * to a file that only the current user can read. Each request must start with this token; any other request is
+ * rejected before it is read.
+ * <br>
+ * Usage: {@code java -cp <classpath> io.cucumber.doc.daemon.Daemon [port]}
+ */
+public class Daemon {
+    /** The port used by the daemon and client if one is not specified */
+    public static final int DEFAULT_PORT = 7290;
+
+    /** The argument that will cause the daemon to stop */
+    public static final String STOP = "-stop-daemon";
+
+    /** Exit code returned to the client if the request could not be processed */
+    static final int FAILED = -1;
+
+    /** Time a client has to send each part of its request, in milliseconds */
+    static final int REQUEST_TIMEOUT = 10_000;
+
+    /** The most JavaDoc arguments that a single request may contain */
+    static final int MAX_ARGUMENTS = 100_000;
+
+    private static final int TOKEN_BYTES = 32;
+    private static final String REJECTED = "CukeDoc daemon rejected the request: invalid token";
+
+
+    /**
+     * Generates the reports for a single request
+     */
+    @FunctionalInterface
+    interface Generator {
+        /**
+         * Generate the reports for a single request
+         * @param output        destination for all the errors, warnings and notices
+         * @param args          the JavaDoc command line
+         * @return              the JavaDoc exit code
+         */
+        int generate(@Nonnull PrintWriter output, @Nonnull String[] args);
+    }
+
+
+    private final ServerSocket server;
+    private final Generator generator;
+    private final String directory;
+    private final Path tokenFile;
+    private final byte[] token;
+    private final int timeout;
+
+
+    /**
+     * Create a daemon that will generate reports using JavaDoc
+     * @param port          the port to listen on. If this is 0 a free port will be chosen
+     * @throws IOException  if the daemon could not listen on the port or write its token file
+     */
+    public Daemon(int port) throws IOException {
+        this(port, tokenDirectory(), REQUEST_TIMEOUT, Daemon::javadoc);
+    }
+
+
+    @VisibleForTesting
+    Daemon(int port, @Nonnull Path tokenDirectory, int timeout, @Nonnull Generator generator) throws IOException {
+        this.timeout = timeout;
+        this.server = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        this.generator = generator;
+        this.directory = workingDirectory();
+        this.tokenFile = tokenFile(tokenDirectory, getPort());
+        this.token = newToken();
+
+        try {
+            writeToken(tokenFile, token);
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Command line entry point
+     * @param args          optional port number
+     * @throws IOException  if the daemon could not listen on the port
+     */
+    public static void main(@Nonnull String[] args) throws IOException {
+        int port = (args.length == 0 ? DEFAULT_PORT : Integer.parseInt(args[0]));
+        Daemon daemon = new Daemon(port);
+
+        System.out.println("CukeDoc daemon listening on port " + daemon.getPort() + ", token in " + daemon.tokenFile);
+
+        daemon.run();
+    }
+
+
+    /**
+     * Returns the port this daemon is listening on
+     * @return the port this daemon is listening on
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+
+    /**
+     * Process requests until a client asks the daemon to stop
+     * @throws IOException  if the daemon could not accept a connection
+     */
+    public void run() throws IOException {
+        boolean running = true;
+
+        try {
+            while (running) {
+                try (
+                    Socket socket = server.accept()
+                ) {
+                    socket.setSoTimeout(timeout);
+                    running = process(socket);
+                } catch (IOException e) {
+                    System.err.println("CukeDoc daemon: request failed: " + e.getMessage());
+                }
+            }
+        } finally {
+            server.close();
+            Files.deleteIfExists(tokenFile);
+        }
+    }
+
+
+    /**
+     * Process a single request. The request is the token, the client's working directory and then the JavaDoc
+     * command line. The response is the output from JavaDoc followed by its exit code
+     * @param socket        connection to the client
+     * @return              {@code false} only if the client asked the daemon to stop
+     * @throws IOException  if the request could not be read or the response could not be written
+     */
+    private boolean process(@Nonnull Socket socket) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        boolean running;
+
+        if (MessageDigest.isEqual(token, in.readUTF().getBytes(StandardCharsets.UTF_8))) {
+            running = process(in, out);
+        } else {
+            respond(out, (REJECTED + System.lineSeparator()).getBytes(StandardCharsets.UTF_8), FAILED);
+            running = true;
+        }
+
+        return running;
+    }
+
+
+    private boolean process(@Nonnull DataInputStream in, @Nonnull DataOutputStream out) throws IOException {
+        String clientDirectory = in.readUTF();
+        int count = in.readInt();
+
+        if ((count < 0) || (count > MAX_ARGUMENTS)) {
+            throw new IOException("Invalid argument count " + count);
+        }
+
+        String[] args = new String[count];
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        int exitCode;
+
+        for (int index = 0; index < args.length; index++) {
+            args[index] = in.readUTF();
+        }
+
+        boolean stop = ((args.length == 1) && STOP.equals(args[0]));
+
+        try (
+            PrintWriter output = new PrintWriter(new OutputStreamWriter(buffer, StandardCharsets.UTF_8))
+        ) {
+            if (stop) {
+                output.println("CukeDoc daemon stopped");
+                exitCode = 0;
+            } else if (!directory.equals(clientDirectory)) {
+                output.println("CukeDoc daemon is running in '" + directory + "', not '" + clientDirectory + "'");
+                exitCode = FAILED;
+            } else {
+                exitCode = generate(output, args);
+            }
+        }
+
+        respond(out, buffer.toByteArray(), exitCode);
+
+        return !stop;
+    }
+
+
+    private void respond(@Nonnull DataOutputStream out, @Nonnull byte[] message, int exitCode) throws IOException {
+        out.writeInt(message.length);
+        out.write(message);
+        out.writeInt(exitCode);
+        out.flush();
+    }
+
+
+    private int generate(@Nonnull PrintWriter output, @Nonnull String[] args) {
+        int exitCode;
+
+        Config.newRequest();
+
+        try {
+            exitCode = generator.generate(output, args);
+        } catch (RuntimeException e) {
+            output.println("CukeDoc failed: " + e.getMessage());
+            exitCode = FAILED;
+        }
+
+        return exitCode;
+    }
+
+
+    /**
+     * Run JavaDoc in this JVM with CukeDoc as the doclet
+     * @param output        destination for all the errors, warnings and notices
+     * @param args          the JavaDoc command line
+     * @return              the JavaDoc exit code
+     */
+    static int javadoc(@Nonnull PrintWriter output, @Nonnull String[] args) {
+        return com.sun.tools.javadoc.Main.execute("javadoc",
+                                                  output,
+                                                  output,
+                                                  output,
+                                                  Main.class.getName(),
+                                                  Daemon.class.getClassLoader(),
+                                                  args);
+    }
+
+
+    /**
+     * Returns the absolute path of the current working directory
+     * @return the absolute path of the current working directory
+     */
+    @Nonnull
+    static String workingDirectory() {
+        return Paths.get("").toAbsolutePath().normalize().toString();
+    }
+
+
+    /**
+     * Returns the directory that holds the token files of the daemons started by the current user
+     * @return the directory that holds the token files
+     */
+    @Nonnull
+    static Path tokenDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".cukedoc");
+    }
+
+
+    /**
+     * Returns the file that holds the token for the daemon listening on {@code port}
+     * @param tokenDirectory    directory that holds the token files
+     * @param port              the port the daemon is listening on
+     * @return the file that holds the token
+     */
+    @Nonnull
+    static Path tokenFile(@Nonnull Path tokenDirectory, int port) {
+        return tokenDirectory.resolve("daemon-" + port + ".token");
+    }
+
+
+    @Nonnull
+    private static byte[] newToken() {
+        byte[] random = new byte[TOKEN_BYTES];
+        StringBuilder hex = new StringBuilder(TOKEN_BYTES * 2);
+
+        new SecureRandom().nextBytes(random);
+
+        for (byte value : random) {
+            hex.append(String.format("%02x", value));
+        }
+
+        return hex.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Write the token to a new file that only the current user can read. The file is created with its
+     * permissions in place, so there is no window in which another user could read it. File systems without
+     * POSIX permissions, such as on Windows, rely on the privacy of the user's home directory.
+     * @param file          the token file. Any file left behind by a daemon that was killed is replaced
+     * @param token         the token to write
+     * @throws IOException  if the file could not be written
+     */
+    private static void writeToken(@Nonnull Path file, @Nonnull byte[] token) throws IOException {
+        boolean posix = file.getFileSystem().supportedFileAttributeViews().contains("posix");
+
+        Files.createDirectories(file.getParent(), permissions(posix, "rwx------"));
+        Files.deleteIfExists(file);
+        Files.write(Files.createFile(file, permissions(posix, "rw-------")), token);
+    }
+
+
+    @Nonnull
+    private static FileAttribute<?>[] permissions(boolean posix, @Nonnull String permissions) {
+        FileAttribute<?>[] attributes;
+
+        if (posix) {
+            attributes = new FileAttribute<?>[] {
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString(permissions))
+            };
+        } else {
+            attributes = new FileAttribute<?>[0];
+        }
+
+        return attributes;
+    }
+}
@@ -0,0 +1,298 @@
+package io.cucumber.doc.daemon;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnull;
+
+import io.cucumber.doc.Main;
+import io.cucumber.doc.annotation.VisibleForTesting;
+import io.cucumber.doc.config.Config;
+import io.cucumber.doc.exception.CukeDocException;
+import io.cucumber.doc.parse.IncrementalModel;
+
+
+/**
+ * Watch mode. The reports are generated once, then the source directories are watched and each time a source
+ * file changes JavaDoc is run again over just the changed files. Only the pages for the changed types and the
+ * overview are rewritten; the rest of the output directory is left untouched.
+ * <br>
+ * Usage: {@code java -cp <classpath> io.cucumber.doc.daemon.Watch <javadoc-options> -- <packages>}
+ * <br>
+ * The JavaDoc options must include {@code -sourcepath}, which determines the directories that are watched. The
+ * packages (or {@code -subpackages} options) after the {@value #SEPARATOR} select the classes for the first run;
+ * subsequent runs replace them with the changed source files.
+ */
+public class Watch {
+    /** Separates the JavaDoc options from the package selection */
+    public static final String SEPARATOR = "--";
+
+    private static final String SOURCE_PATH = "-sourcepath";
+    private static final String SOURCE_SUFFIX = ".java";
+    private static final long SETTLE_MILLIS = 250;
+
+    private final List<String> options;
+    private final List<String> selection;
+    private final List<Path> sourcePaths;
+    private final Daemon.Generator generator;
+    private IncrementalModel model;
+
+
+    @VisibleForTesting
+    Watch(@Nonnull String[] args, @Nonnull Daemon.Generator generator) {
+        int separator = Arrays.asList(args).indexOf(SEPARATOR);
+
+        if (separator == -1) {
+            throw new CukeDocException("Watch mode requires '%s' between the JavaDoc options and the packages",
+                                       SEPARATOR);
+        }
+
+        this.options = Collections.unmodifiableList(Arrays.asList(args).subList(0, separator));
+        this.selection = Collections.unmodifiableList(Arrays.asList(args).subList(separator + 1, args.length));
+        this.sourcePaths = sourcePaths(options);
+        this.generator = generator;
+    }
+
+
+    /**
+     * Command line entry point. This will run until the process is killed
+     * @param args          JavaDoc command line, with {@value #SEPARATOR} before the packages
+     * @throws IOException  if the source directories can not be watched
+     * @throws InterruptedException if the process is interrupted
+     */
+    public static void main(@Nonnull String[] args) throws IOException, InterruptedException {
+        new Watch(args, Daemon::javadoc).run();
+    }
+
+
+    @Nonnull
+    private static List<Path> sourcePaths(@Nonnull List<String> options) {
+        int index = options.indexOf(SOURCE_PATH);
+
+        if ((index == -1) || (index + 1 == options.size())) {
+            throw new CukeDocException("Watch mode requires the '%s' option", SOURCE_PATH);
+        }
+
+        return Stream.of(options.get(index + 1).split(File.pathSeparator))
+                     .filter(path -> !path.isEmpty())
+                     .map(path -> Paths.get(path).toAbsolutePath().normalize())
+                     .collect(Collectors.toList());
+    }
+
+
+    /**
+     * Generate the reports, then keep them up to date until the thread is interrupted
+     * @throws IOException  if the source directories can not be watched
+     * @throws InterruptedException if the thread is interrupted
+     */
+    void run() throws IOException, InterruptedException {
+        try (
+            WatchService service = FileSystems.getDefault().newWatchService()
+        ) {
+            Map<WatchKey, Path> keys = new HashMap<>();
+
+            for (Path path : sourcePaths) {
+                register(service, keys, path, new TreeSet<>());
+            }
+
+            rebuild();
+
+            while (!keys.isEmpty()) {
+                Set<Path> changed = new TreeSet<>();
+                boolean overflow = false;
+                WatchKey key = service.take();
+
+                do {
+                    overflow |= collect(service, keys, key, changed);
+                    key = service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                } while (key != null);
+
+                if (overflow) {
+                    rebuild();
+                } else if (!changed.isEmpty()) {
+                    update(changed);
+                }
+            }
+        } finally {
+            Main.watch(null);
+        }
+    }
+
+
+    /**
+     * Register a directory, and all of its sub-directories, with the watch service
+     * @param service       the watch service
+     * @param keys          map of watch keys to the directory they are watching
+     * @param directory     directory to watch
+     * @param sources       any source files found in the directory are added to this collection
+     * @throws IOException  if the directory can not be watched
+     */
+    private void register(@Nonnull WatchService service,
+                          @Nonnull Map<WatchKey, Path> keys,
+                          @Nonnull Path directory,
+                          @Nonnull Collection<Path> sources) throws IOException {
+        if (Files.isDirectory(directory)) {
+            List<Path> paths;
+
+            try (
+                Stream<Path> walk = Files.walk(directory)
+            ) {
+                paths = walk.collect(Collectors.toList());
+            }
+
+            for (Path path : paths) {
+                if (Files.isDirectory(path)) {
+                    WatchKey key = path.register(service,
+                                                 StandardWatchEventKinds.ENTRY_CREATE,
+                                                 StandardWatchEventKinds.ENTRY_MODIFY,
+                                                 StandardWatchEventKinds.ENTRY_DELETE);
+
+                    keys.put(key, path);
+                } else if (isSource(path)) {
+                    sources.add(path);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Collect the source files that have changed from a single watch key
+     * @param service       the watch service
+     * @param keys          map of watch keys to the directory they are watching
+     * @param key           a signalled watch key
+     * @param changed       any changed source files are added to this set
+     * @return {@code true} only if some events were lost and a complete rebuild is required
+     * @throws IOException  if a new directory can not be watched
+     */
+    private boolean collect(@Nonnull WatchService service,
+                            @Nonnull Map<WatchKey, Path> keys,
+                            @Nonnull WatchKey key,
+                            @Nonnull Set<Path> changed) throws IOException {
+        Path directory = keys.get(key);
+        boolean overflow = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            } else if (directory != null) {
+                Path path = directory.resolve((Path) event.context());
+
+                if ((event.kind() == StandardWatchEventKinds.ENTRY_CREATE) && Files.isDirectory(path)) {
+                    register(service, keys, path, changed);
+                } else if (isSource(path)) {
+                    changed.add(path);
+                }
+            }
+        }
+
+        if (!key.reset()) {
+            keys.remove(key);
+        }
+
+        return overflow;
+    }
+
+
+    private boolean isSource(@Nonnull Path path) {
+        return path.getFileName().toString().endsWith(SOURCE_SUFFIX);
+    }
+
+
+    /**
+     * Generate a complete set of reports
+     */
+    private void rebuild() {
+        model = new IncrementalModel();
+        Main.watch(model);
+
+        generate(commandLine(Collections.emptySet()));
+    }
+
+
+    /**
+     * Update the reports after some source files have changed. If the reports have never been generated
+     * successfully they are rebuilt instead.
+     * @param changed       source files that have been created, modified or deleted
+     */
+    private void update(@Nonnull Set<Path> changed) {
+        System.out.println("CukeDoc: " + changed.size() + " source file(s) changed");
+
+        if (model.isInitialised()) {
+            model.changed(changed);
+            generate(commandLine(changed));
+        } else {
+            rebuild();
+        }
+    }
+
+
+    /**
+     * Returns the JavaDoc command line used to process the changed source files.
+     * @param changed       source files that have been created, modified or deleted
+     * @return              the JavaDoc command line. If none of the {@code changed} files exist, perhaps because
+     *                          they have all been deleted, the original packages are used.
+     */
+    @Nonnull
+    @VisibleForTesting
+    String[] commandLine(@Nonnull Collection<Path> changed) {
+        List<String> args = new ArrayList<>(options);
+        List<String> sources = changed.stream()
+                                      .filter(Files::isRegularFile)
+                                      .map(Path::toString)
+                                      .collect(Collectors.toList());
+
+        args.addAll(sources.isEmpty() ? selection : sources);
+
+        return args.toArray(new String[0]);
+    }
+
+
+    private void generate(@Nonnull String[] args) {
+        PrintWriter output = new PrintWriter(System.out, true);
+        int exitCode;
+
+        Config.newRequest();
+
+        try {
+            exitCode = generator.generate(output, args);
+        } catch (RuntimeException e) {
+            output.println("CukeDoc failed: " + e.getMessage());
+            exitCode = Daemon.FAILED;
+        }
+
+        output.println("CukeDoc: reports " + (exitCode == 0 ? "updated" : "failed with exit code " + exitCode));
+    }
+
+
+    /**
+     * Returns the absolute paths of the watched source directories
+     * @return the absolute paths of the watched source directories
+     */
+    @Nonnull
+    @VisibleForTesting
+    List<Path> getSourcePaths() {
+        return sourcePaths;
+    }
+}
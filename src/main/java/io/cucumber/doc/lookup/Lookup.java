@@ -0,0 +1,142 @@
+package io.cucumber.doc.lookup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import io.cucumber.doc.annotation.VisibleForTesting;
+import io.cucumber.doc.exception.CukeDocException;
+import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.MappingModel;
+import io.cucumber.doc.parse.ModelBuilder;
+
+
+/**
+ * Command line tool that reports which mappings match some Gherkin steps.
+ * <br>
+ * Usage: {@code java -cp <classpath> io.cucumber.doc.lookup.Lookup -link <report> [-link <report>...] [step...]}
+ * <br>
+ * The reports are XML reports or snapshots generated by CukeDoc. If no steps are given on the command line they
+ * are read from standard input, one per line. Steps may start with a keyword, such as {@code Given} or
+ * {@code And}, which is ignored.
+ */
+public class Lookup {
+    private static final String LINK = "-link";
+    private static final String ANY_KEYWORD = "*";
+
+    private final ApplicationModel model;
+    private final Set<String> keywords = new HashSet<>();
+
+
+    /**
+     * Create a lookup over a model
+     * @param model         the model to search
+     */
+    @VisibleForTesting
+    Lookup(@Nonnull ApplicationModel model) {
+        this.model = model;
+
+        keywords.add(ANY_KEYWORD);
+        keywords.add("And");
+        keywords.add("But");
+
+        for (MappingModel mapping : model.getMappings()) {
+            keywords.add(mapping.getVerb());
+        }
+    }
+
+
+    /**
+     * Command line entry point
+     * @param args          the reports to load, then the steps to look up
+     * @throws IOException  if the steps could not be read from standard input
+     */
+    public static void main(@Nonnull String[] args) throws IOException {
+        List<String> reports = new ArrayList<>();
+        List<String> steps = new ArrayList<>();
+
+        for (int index = 0; index < args.length; index++) {
+            if (!LINK.equals(args[index])) {
+                steps.add(args[index]);
+            } else if (index + 1 < args.length) {
+                reports.add(args[++index]);
+            } else {
+                throw new CukeDocException("Missing report after '%s'", LINK);
+            }
+        }
+
+        if (reports.isEmpty()) {
+            throw new CukeDocException("At least one report must be specified with '%s'", LINK);
+        }
+
+        Lookup lookup = new Lookup(ModelBuilder.load(reports));
+
+        if (steps.isEmpty()) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            String line = reader.readLine();
+
+            while (line != null) {
+                lookup.report(line, System.out);
+                line = reader.readLine();
+            }
+        } else {
+            for (String step : steps) {
+                lookup.report(step, System.out);
+            }
+        }
+    }
+
+
+    /**
+     * Write the mappings that match a step
+     * @param line          a Gherkin step, which may start with a keyword
+     * @param output        destination for the report
+     */
+    void report(@Nonnull String line, @Nonnull PrintStream output) {
+        String step = stepText(line);
+
+        if (!step.isEmpty()) {
+            List<MappingModel> matches = model.findMappings(step);
+
+            output.println(step);
+
+            if (matches.isEmpty()) {
+                output.println("  No matching mapping");
+            } else if (matches.size() > 1) {
+                output.println("  Ambiguous: " + matches.size() + " matching mappings");
+            }
+
+            for (MappingModel mapping : matches) {
+                output.println("  " + mapping.getVerb() + " " + mapping.getRegEx() +
+                               "  (" + mapping.getImplementation().getQualifiedName() + ")");
+            }
+        }
+    }
+
+
+    /**
+     * Returns the text of a step without any leading keyword
+     * @param line          a Gherkin step, which may start with a keyword
+     * @return              the text that is matched against the mappings
+     */
+    @Nonnull
+    @VisibleForTesting
+    String stepText(@Nonnull String line) {
+        String step = line.trim();
+        int space = step.indexOf(' ');
+
+        if ((space != -1) && keywords.contains(step.substring(0, space))) {
+            step = step.substring(space + 1).trim();
+        }
+
+        return step;
+    }
+}
@@ -3,6 +3,7 @@ package io.cucumber.doc.model;
 import javax.annotation.Nonnull;
 
 import io.cucumber.doc.util.Preconditions;
+import io.cucumber.doc.util.StringPool;
 
 /**
   * The model for a method parameter
@@ -21,9 +22,9 @@ class AbstractParameterModel {
         Preconditions.checkNotNull(name, "Invalid parameter name");
         Preconditions.checkNotNull(description, "Invalid parameter description");
 
-        this.name = name;
+        this.name = StringPool.intern(name);
         this.description = Friendly.description(description);
-        this.friendlyName = Friendly.parameter(name);
+        this.friendlyName = StringPool.intern(Friendly.parameter(name));
     }
 
 
@@ -5,10 +5,14 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
+import io.cucumber.doc.annotation.VisibleForTesting;
 import io.cucumber.doc.util.NoteFormat;
 import io.cucumber.doc.util.Preconditions;
 
@@ -22,6 +26,9 @@ public class ApplicationModel {
     public static class Builder {
         private List<TypeModel> types = new ArrayList<>();
         private List<NoteModel> notes = new ArrayList<>();
+        private List<ResultModel> results = new ArrayList<>();
+        private int threads = 1;
+        private boolean fuzz = false;
 
 
         /**
@@ -52,6 +59,77 @@ public class ApplicationModel {
         }
 
 
+        /**
+         * Add the results of executing a step in a Cucumber test run
+         * @param result    Model of the step results to be added
+         * @return          A flowing interface
+         */
+        @Nonnull
+        public Builder withResult(@Nonnull ResultModel result) {
+            this.results.add(result);
+
+            return this;
+        }
+
+
+        /**
+         * Add all the types, notes and results from another builder. They are added after anything already in
+         * this builder, in the order they were added to {@code other}
+         * @param other     builder to copy types, notes and results from
+         * @return          A flowing interface
+         */
+        @Nonnull
+        public Builder merge(@Nonnull Builder other) {
+            Preconditions.checkNotNull(other, "Invalid builder");
+
+            types.addAll(other.types);
+            notes.addAll(other.notes);
+            results.addAll(other.results);
+
+            return this;
+        }
+
+
+        /**
+         * Set the number of threads used to initialise the types when the model is built. The default is 1
+         * @param threads   number of threads used to initialise the types
+         * @return          A flowing interface
+         */
+        @Nonnull
+        public Builder withThreads(int threads) {
+            Preconditions.checkArgument((threads > 0), "Invalid thread count %d", threads);
+
+            this.threads = threads;
+
+            return this;
+        }
+
+
+        /**
+         * Set whether the mappings that can cause catastrophic backtracking are timed against adversarial step
+         * text. The default is {@code false}, in which case they are only flagged
+         * @param fuzz      {@code true} if the flagged mappings should be timed
+         * @return          A flowing interface
+         */
+        @Nonnull
+        public Builder withFuzzing(boolean fuzz) {
+            this.fuzz = fuzz;
+
+            return this;
+        }
+
+
+        /**
+         * Returns the types that have been added to this builder, in the order they were added. The types are not
+         * initialised until the model is built
+         * @return the types that have been added to this builder
+         */
+        @Nonnull
+        public List<TypeModel> getTypes() {
+            return Collections.unmodifiableList(types);
+        }
+
+
         /**
          * Build an ApplicationModel
          * @return a new ApplicationModel
@@ -63,32 +141,138 @@ public class ApplicationModel {
     }
 
 
+    /**
+     * Position in one of the lists being merged by {@link #merge(List)}
+     */
+    private static class Cursor implements Comparable<Cursor> {
+        private final List<MappingModel> list;
+        private final int order;
+        private int position = 0;
+
+
+        Cursor(@Nonnull List<MappingModel> list, int order) {
+            this.list = list;
+            this.order = order;
+        }
+
+
+        @Nonnull
+        MappingModel current() {
+            return list.get(position);
+        }
+
+
+        boolean advance() {
+            return (++position < list.size());
+        }
+
+
+        @Override
+        public int compareTo(@Nonnull Cursor other) {
+            int result = current().getRegEx().compareTo(other.current().getRegEx());
+
+            return (result != 0 ? result : Integer.compare(order, other.order));
+        }
+    }
+
+
     private final List<TypeModel> types;
     private final List<MappingModel> mappings;
     private final List<NoteModel> notes;
+    private final List<ResultModel> results;
+    private final int threads;
+    private final boolean fuzz;
+    private volatile StepIndex stepIndex;
+    private volatile List<ConflictModel> conflicts;
+    private volatile List<HazardModel> hazards;
+    private volatile Map<ImplementationModel, TimingModel> timings;
 
 
     private ApplicationModel(@Nonnull Builder builder) {
-        List<MappingModel> mappings = new ArrayList<>();
+        List<List<MappingModel>> sortedMappings = new ArrayList<>();
         List<TypeModel> types = new ArrayList<>(builder.types);
 
         // Sort types by name
         types.sort(Comparator.comparing(TypeModel::getSimpleName));
 
-        // Get all mappings and sort them by name
-        for (TypeModel type : types) {
-            type.initialise(this);
+        // Initialising the types generates the friendly mappings; the types are independent of each other
+        if ((builder.threads == 1) || (types.size() < 2)) {
+            for (TypeModel type : types) {
+                type.initialise(this);
+            }
+        } else {
+            initialiseParallel(types, builder.threads);
+        }
 
+        // Each implementation has already sorted its own mappings
+        for (TypeModel type : types) {
             for (ImplementationModel implementation : type.getImplementations()) {
-                mappings.addAll(implementation.getMappings());
+                sortedMappings.add(implementation.getMappings());
             }
         }
 
-        mappings.sort(Comparator.comparing(MappingModel::getRegEx));
-
-        this.mappings = Collections.unmodifiableList(mappings);
+        this.mappings = Collections.unmodifiableList(merge(sortedMappings));
         this.types = Collections.unmodifiableList(types);
         this.notes = Collections.unmodifiableList(mergeNotes(builder.notes));
+        this.results = new ArrayList<>(builder.results);
+        this.threads = builder.threads;
+        this.fuzz = builder.fuzz;
+    }
+
+
+    /**
+     * Initialise the types on a dedicated fork/join pool
+     * @param types         the types to initialise
+     * @param threads       number of threads to use
+     */
+    private void initialiseParallel(@Nonnull List<TypeModel> types, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+
+        try {
+            pool.submit(() -> types.parallelStream().forEach(type -> type.initialise(this)))
+                .join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+
+    /**
+     * K-way merge of lists of mappings that are each sorted by regular expression. Mappings with the same regular
+     * expression are returned in the order of the lists that contain them, so the result is the same as a stable
+     * sort of the concatenated lists
+     * @param sorted        lists of mappings, each sorted by regular expression
+     * @return              all of the mappings sorted by regular expression
+     */
+    @Nonnull
+    @VisibleForTesting
+    static List<MappingModel> merge(@Nonnull List<List<MappingModel>> sorted) {
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Math.max(1, sorted.size()));
+        int size = 0;
+
+        for (int index = 0; index < sorted.size(); index++) {
+            List<MappingModel> list = sorted.get(index);
+
+            size += list.size();
+
+            if (!list.isEmpty()) {
+                queue.add(new Cursor(list, index));
+            }
+        }
+
+        List<MappingModel> merged = new ArrayList<>(size);
+
+        while (!queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+
+            merged.add(cursor.current());
+
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+
+        return merged;
     }
 
 
@@ -163,6 +347,105 @@ public class ApplicationModel {
     }
 
 
+    /**
+     * Returns the mappings that match some step text, as Cucumber would match them. More than one mapping is
+     * returned if the step is ambiguous. The first call builds an index of the mappings, so subsequent calls only
+     * need to try the regular expressions of a few candidate mappings.
+     * @param step      step text, without the leading keyword
+     * @return          the matching mappings, sorted by name
+     */
+    @Nonnull
+    public List<MappingModel> findMappings(@Nonnull String step) {
+        Preconditions.checkNotNull(step, "Invalid step");
+
+        StepIndex index = stepIndex;
+
+        if (index == null) {
+            index = new StepIndex(mappings);
+            stepIndex = index;                          // Racing threads build equivalent indexes
+        }
+
+        return index.find(step);
+    }
+
+
+    /**
+     * Returns the pairs of mappings that match the same step text, which Cucumber would reject as ambiguous.
+     * The conflicts are found the first time this method is called.
+     * @return  the conflicting pairs of mappings, sorted by name
+     * @see ConflictDetector
+     */
+    @Nonnull
+    public List<ConflictModel> getConflicts() {
+        List<ConflictModel> found = conflicts;
+
+        if (found == null) {
+            found = Collections.unmodifiableList(new ConflictDetector(mappings).detect(threads));
+            conflicts = found;                          // Racing threads find equivalent conflicts
+        }
+
+        return found;
+    }
+
+
+    /**
+     * Returns the mappings whose regular expressions can cause catastrophic backtracking. If fuzzing was requested
+     * then each one is also timed against adversarial step text. The mappings are analysed the first time this
+     * method is called.
+     * @return  the flagged mappings, ordered by their regular expressions
+     * @see Builder#withFuzzing(boolean)
+     * @see HazardDetector
+     */
+    @Nonnull
+    public List<HazardModel> getHazards() {
+        List<HazardModel> found = hazards;
+
+        if (found == null) {
+            found = Collections.unmodifiableList(new HazardDetector(mappings, fuzz).detect(threads));
+            hazards = found;                            // Racing threads find equivalent hazards
+        }
+
+        return found;
+    }
+
+
+    /**
+     * Returns the execution times of the step definitions that were executed in the Cucumber test runs whose
+     * results were added to the application. The times are worked out the first time this method is called.
+     * @return  the execution times, ordered by their total execution time with the slowest first
+     * @see ResultMatcher
+     */
+    @Nonnull
+    public List<TimingModel> getTimings() {
+        return Collections.unmodifiableList(new ArrayList<>(timings().values()));
+    }
+
+
+    /**
+     * Returns the execution times of a step definition in the Cucumber test runs whose results were added to the
+     * application
+     * @param implementation    the step definition
+     * @return  the execution times of the step definition, or {@code null} if it was never executed
+     */
+    @Nullable
+    public TimingModel getTiming(@Nonnull ImplementationModel implementation) {
+        return timings().get(implementation);
+    }
+
+
+    @Nonnull
+    private Map<ImplementationModel, TimingModel> timings() {
+        Map<ImplementationModel, TimingModel> found = timings;
+
+        if (found == null) {
+            found = (results.isEmpty() ? Collections.emptyMap() : new ResultMatcher(this).match(results));
+            timings = found;                            // Racing threads find equivalent timings
+        }
+
+        return found;
+    }
+
+
     /**
      * Returns all of the notes applied to this application in their natural order. The order is based on
      * the name of the {@link NoteModel#friendlyName) with identically named notes merged in the order they were
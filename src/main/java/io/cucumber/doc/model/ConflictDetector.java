@@ -0,0 +1,405 @@
+package io.cucumber.doc.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.cucumber.doc.util.RegExAutomaton;
+import io.cucumber.doc.util.RegExLiterals;
+import io.cucumber.doc.util.Trace;
+
+/**
+ * Find pairs of mappings that match the same step text.
+ * <br>
+ * Comparing every pair of mappings is quadratic, so the mappings are first bucketed on their literal anchors: the
+ * literal text that every step they match starts and ends with, as found by {@link RegExAutomaton#prefixes} and
+ * {@link RegExAutomaton#suffixes}. Two mappings can only match the same step if one prefix starts with the other
+ * and one suffix ends with the other. Mappings with a literal prefix are held in a trie of prefixes, and are only
+ * paired with the mappings on the same path from the root. The few mappings without a literal prefix are paired
+ * with the mappings on the same path through a trie of reversed suffixes. Each candidate pair is checked by
+ * intersecting the {@link RegExAutomaton automata} of the two regular expressions, and the example step that
+ * this finds is confirmed against the real regular expressions.
+ * <br>
+ * Regular expressions that can not be expressed as an automaton, and pairs that are too complex to resolve
+ * within a fixed budget, are never reported.
+ */
+class ConflictDetector {
+    private static final int BUDGET = 20_000;
+    private static final int MAX_ANCHOR_LENGTH = 256;
+    private static final int MAX_ANCHORS = 16;
+    private static final int SHIFT = 32;
+    private static final long MASK = 0xFFFF_FFFFL;
+    private static final int INITIAL_SIZE = 16;
+    private static final int ASCII = 128;
+
+    private final List<MappingModel> mappings;
+    private final RegExAutomaton[] automata;
+    private final String[][] prefixes;
+    private final String[][] suffixes;
+    private final BitSet[] required;
+    private final BitSet[] missing;
+    private long[] pairs = new long[INITIAL_SIZE];
+    private int pairCount = 0;
+    private int[] path = new int[INITIAL_SIZE];
+    private int pathSize = 0;
+    private int[] order = new int[INITIAL_SIZE];
+    private int orderSize = 0;
+
+
+    /**
+     * Node in a trie of literal anchors
+     */
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private int[] members = new int[1];
+        private int count = 0;
+        private int first;                                  // Range of the sub-trie in the pre-order numbering
+        private int last;
+
+
+        @Nonnull
+        Node child(char key) {
+            return children.computeIfAbsent(key, k -> new Node());
+        }
+
+
+        void add(int index) {
+            if (count == members.length) {
+                members = Arrays.copyOf(members, count * 2);
+            }
+
+            members[count++] = index;
+        }
+    }
+
+
+    /**
+     * Create a detector for some mappings
+     * @param mappings      the mappings to check, in the order conflicts should be returned
+     */
+    ConflictDetector(@Nonnull List<MappingModel> mappings) {
+        this.mappings = mappings;
+        this.automata = new RegExAutomaton[mappings.size()];
+        this.prefixes = new String[mappings.size()][];
+        this.suffixes = new String[mappings.size()][];
+        this.required = new BitSet[mappings.size()];
+        this.missing = new BitSet[mappings.size()];
+    }
+
+
+    /**
+     * Find the conflicting mappings. A detector can only be used once
+     * @param threads       number of threads used to analyse the mappings and check the candidate pairs
+     * @return              the conflicts, ordered by their first and then their second mapping
+     */
+    @Nonnull
+    List<ConflictModel> detect(int threads) {
+        long started = System.currentTimeMillis();
+        List<ConflictModel> conflicts;
+
+        if (threads == 1) {
+            conflicts = detect(false);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+
+            try {
+                conflicts = pool.submit(() -> detect(true)).join();
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        Trace.message("Conflicts: %d mappings, %d candidate pairs, %d conflicts found in %d ms",
+                      mappings.size(), pairCount, conflicts.size(), System.currentTimeMillis() - started);
+
+        return conflicts;
+    }
+
+
+    @Nonnull
+    private List<ConflictModel> detect(boolean parallel) {
+        analyse(parallel);
+        pairAnchored();
+        pairUnanchored();
+        removeDuplicatePairs();
+
+        IntStream candidates = IntStream.range(0, pairCount);
+
+        return (parallel ? candidates.parallel() : candidates)
+            .mapToObj(index -> check(pairs[index]))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+
+    /**
+     * Returns the number of pairs of mappings that were checked by {@link #detect(int)}
+     * @return the number of pairs of mappings that were checked
+     */
+    int getCandidateCount() {
+        return pairCount;
+    }
+
+
+    /**
+     * Build the automaton and find the literal anchors of every mapping
+     * @param parallel      {@code true} if the mappings should be analysed in parallel
+     */
+    private void analyse(boolean parallel) {
+        IntStream indexes = IntStream.range(0, mappings.size());
+
+        (parallel ? indexes.parallel() : indexes).forEach(index -> {
+            Pattern pattern = mappings.get(index).getPattern();
+            RegExAutomaton automaton = (pattern == null ? null : RegExAutomaton.compile(pattern.pattern()));
+
+            if (automaton != null) {                    // Invalid regular expressions never match
+                automata[index] = automaton;
+                prefixes[index] = automaton.prefixes(MAX_ANCHOR_LENGTH, MAX_ANCHORS).toArray(new String[0]);
+                suffixes[index] = automaton.suffixes(MAX_ANCHOR_LENGTH, MAX_ANCHORS).toArray(new String[0]);
+                required[index] = required(pattern.pattern());
+                missing[index] = automaton.alphabet(ASCII);
+                missing[index].flip(0, ASCII);
+            }
+        });
+    }
+
+
+    /**
+     * Returns the ASCII characters that every step matched by a regular expression must contain
+     * @param regEx         the regular expression
+     * @return              the ASCII characters in its literal text
+     */
+    @Nonnull
+    private static BitSet required(@Nonnull String regEx) {
+        BitSet characters = new BitSet(ASCII);
+
+        for (String literal : RegExLiterals.of(regEx).getRequired()) {
+            literal.chars()
+                .filter(character -> character < ASCII)
+                .forEach(characters::set);
+        }
+
+        return characters;
+    }
+
+
+    private boolean isAnchored(int index) {
+        return !prefixes[index][0].isEmpty();
+    }
+
+
+    /**
+     * Pair the mappings that have literal prefixes with compatible prefixes and suffixes
+     */
+    private void pairAnchored() {
+        Node root = new Node();
+
+        for (int index = 0; index < mappings.size(); index++) {
+            if ((automata[index] != null) && isAnchored(index)) {
+                for (String prefix : prefixes[index]) {
+                    insert(root, prefix, false).add(index);
+                }
+            }
+        }
+
+        pairPaths(root);
+    }
+
+
+    /**
+     * Pair every mapping in a sub-trie of prefixes with the mappings in the same node and in the nodes above it
+     * @param node          root of the sub-trie
+     */
+    private void pairPaths(@Nonnull Node node) {
+        int mark = pathSize;
+
+        for (int member = 0; member < node.count; member++) {
+            int index = node.members[member];
+
+            for (int above = 0; above < pathSize; above++) {
+                if (isSuffixCompatible(path[above], index)) {
+                    addPair(path[above], index);
+                }
+            }
+
+            if (pathSize == path.length) {
+                path = Arrays.copyOf(path, pathSize * 2);
+            }
+
+            path[pathSize++] = index;
+        }
+
+        for (Node child : node.children.values()) {
+            pairPaths(child);
+        }
+
+        pathSize = mark;
+    }
+
+
+    private boolean isSuffixCompatible(int first, int second) {
+        boolean compatible = false;
+
+        for (String firstSuffix : suffixes[first]) {
+            for (String secondSuffix : suffixes[second]) {
+                compatible |= (firstSuffix.endsWith(secondSuffix) || secondSuffix.endsWith(firstSuffix));
+            }
+        }
+
+        return compatible;
+    }
+
+
+    /**
+     * Pair the mappings that do not have a literal prefix with every mapping that has a compatible suffix
+     */
+    private void pairUnanchored() {
+        Node root = new Node();
+
+        orderSize = 0;
+
+        for (int index = 0; index < mappings.size(); index++) {
+            if (automata[index] != null) {
+                for (String suffix : suffixes[index]) {
+                    insert(root, suffix, true).add(index);
+                }
+            }
+        }
+
+        order = new int[Math.max(1, orderSize)];
+        orderSize = 0;
+        number(root);
+
+        for (int index = 0; index < mappings.size(); index++) {
+            if ((automata[index] != null) && !isAnchored(index)) {
+                for (String suffix : suffixes[index]) {
+                    pairSuffix(root, suffix, index);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Pair a mapping with the mappings in the trie of reversed suffixes that are above or below one of its suffixes
+     * @param root          root of the trie of reversed suffixes
+     * @param suffix        one of the suffixes of the mapping
+     * @param index         index of the mapping
+     */
+    private void pairSuffix(@Nonnull Node root, @Nonnull String suffix, int index) {
+        Node node = root;
+
+        for (int offset = suffix.length() - 1; offset >= 0; offset--) {
+            for (int member = 0; member < node.count; member++) {
+                addPair(node.members[member], index);
+            }
+
+            node = node.children.get(suffix.charAt(offset));
+        }
+
+        for (int position = node.first; position < node.last; position++) {
+            addPair(order[position], index);
+        }
+    }
+
+
+    /**
+     * Returns the node for some text, adding it to the trie if necessary. When the trie is not yet numbered
+     * {@link #orderSize} counts the members that will be added
+     * @param root          root of the trie
+     * @param text          the literal text
+     * @param reversed      {@code true} if the text is added from its last character to its first
+     * @return              the node for the text
+     */
+    @Nonnull
+    private Node insert(@Nonnull Node root, @Nonnull String text, boolean reversed) {
+        Node node = root;
+        int length = text.length();
+
+        for (int offset = 0; offset < length; offset++) {
+            node = node.child(text.charAt(reversed ? length - offset - 1 : offset));
+        }
+
+        orderSize++;
+
+        return node;
+    }
+
+
+    /**
+     * Number the members of a sub-trie in pre-order, so that all the members of a sub-trie are held in a
+     * contiguous range of {@link #order}
+     * @param node          root of the sub-trie
+     */
+    private void number(@Nonnull Node node) {
+        node.first = orderSize;
+
+        for (int member = 0; member < node.count; member++) {
+            order[orderSize++] = node.members[member];
+        }
+
+        for (Node child : node.children.values()) {
+            number(child);
+        }
+
+        node.last = orderSize;
+    }
+
+
+    /**
+     * Add a candidate pair, unless one of the mappings requires a character that the other can never match
+     * @param first         index of one mapping
+     * @param second        index of the other mapping
+     */
+    private void addPair(int first, int second) {
+        if ((first != second) && !required[first].intersects(missing[second]) &&
+                !required[second].intersects(missing[first])) {
+            if (pairCount == pairs.length) {
+                pairs = Arrays.copyOf(pairs, pairCount * 2);
+            }
+
+            pairs[pairCount++] = ((long) Math.min(first, second) << SHIFT) | Math.max(first, second);
+        }
+    }
+
+
+    /**
+     * Sort the pairs by their first and then their second mapping, and remove any duplicates
+     */
+    private void removeDuplicatePairs() {
+        int unique = 0;
+
+        Arrays.sort(pairs, 0, pairCount);
+
+        for (int index = 0; index < pairCount; index++) {
+            if ((unique == 0) || (pairs[unique - 1] != pairs[index])) {
+                pairs[unique++] = pairs[index];
+            }
+        }
+
+        pairCount = unique;
+    }
+
+
+    @Nullable
+    private ConflictModel check(long pair) {
+        int first = (int) (pair >>> SHIFT);
+        int second = (int) (pair & MASK);
+        String example = automata[first].intersection(automata[second], BUDGET);
+        boolean confirmed = (example != null) &&
+                            mappings.get(first).matches(example) &&
+                            mappings.get(second).matches(example);
+
+        return (confirmed ? new ConflictModel(mappings.get(first), mappings.get(second), example) : null);
+    }
+}
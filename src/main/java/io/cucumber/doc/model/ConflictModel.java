@@ -0,0 +1,63 @@
+package io.cucumber.doc.model;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Model for a pair of mappings that both match some step text. Cucumber rejects a step that matches more
+ * than one mapping as ambiguous.
+ */
+public class ConflictModel {
+    private final MappingModel first;
+    private final MappingModel second;
+    private final String example;
+
+
+    /**
+     * Create a new ConflictModel
+     * @param first         the mapping that comes first in the application
+     * @param second        the other mapping
+     * @param example       step text that matches both mappings
+     */
+    ConflictModel(@Nonnull MappingModel first, @Nonnull MappingModel second, @Nonnull String example) {
+        this.first = first;
+        this.second = second;
+        this.example = example;
+    }
+
+
+    /**
+     * Returns the mapping that comes first in the application
+     * @return the mapping that comes first in the application
+     */
+    @Nonnull
+    public MappingModel getFirst() {
+        return first;
+    }
+
+
+    /**
+     * Returns the mapping that comes second in the application
+     * @return the mapping that comes second in the application
+     */
+    @Nonnull
+    public MappingModel getSecond() {
+        return second;
+    }
+
+
+    /**
+     * Returns some step text that matches both mappings
+     * @return some step text that matches both mappings
+     */
+    @Nonnull
+    public String getExample() {
+        return example;
+    }
+
+
+    @Override
+    public String toString() {
+        return "ConflictModel{first=" + first.getRegEx() + ", second=" + second.getRegEx() +
+               ", example='" + example + "'}";
+    }
+}
@@ -0,0 +1,259 @@
+package io.cucumber.doc.model;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.cucumber.doc.util.RegExHazards;
+import io.cucumber.doc.util.Trace;
+
+/**
+ * Find the mappings whose regular expressions can cause catastrophic backtracking, and optionally measure how slowly
+ * they match adversarial step text.
+ * <br>
+ * Each regular expression is first checked with {@link RegExHazards}, which is cheap. If fuzzing was requested the
+ * flagged mappings are then fuzzed: for every hazard, step text is built from the text that leads up to the flagged
+ * fragment, the text one repetition of the fragment matches repeated an increasing number of times, and a suffix that
+ * stops the step from matching. Each match has a fixed time budget, and no more matches are tried once a mapping has
+ * used a few times that budget. A match that is still running when its budget runs out is abandoned, by giving the
+ * matcher a {@link CharSequence} that throws once the deadline has passed. A match that overflows the stack is treated
+ * in the same way, as Cucumber could not match that step either. The measured times depend on the machine, so the
+ * mappings are reported by {@link HazardModel.Speed} and in order of their regular expressions.
+ */
+class HazardDetector {
+    private static final long BUDGET = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long TOTAL_BUDGET = BUDGET * 4;
+    private static final long SLOW = BUDGET / 5;
+    private static final int MIN_REPEAT = 4;
+    private static final int MAX_LENGTH = 1024;
+    private static final int CHECK_INTERVAL = 0x3FF;                // Check the clock every 1024 characters read
+    private static final String[] SUFFIXES = { "!", "\n!" };
+
+    private final List<MappingModel> mappings;
+    private final boolean fuzz;
+
+
+    /**
+     * Thrown by {@link Deadline} to abandon a match that has exceeded its time budget
+     */
+    private static class TimedOutException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+
+        TimedOutException() {
+            super(null, null, false, false);
+        }
+    }
+
+
+    /**
+     * Step text that can only be read until a deadline
+     */
+    private static class Deadline implements CharSequence {
+        private final String text;
+        private final long deadline;
+        private int reads = 0;
+
+
+        Deadline(@Nonnull String text, long deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+
+        @Override
+        public char charAt(int index) {
+            if (((++reads & CHECK_INTERVAL) == 0) && (System.nanoTime() > deadline)) {
+                throw new TimedOutException();
+            }
+
+            return text.charAt(index);
+        }
+
+
+        @Override
+        @Nonnull
+        public CharSequence subSequence(int start, int end) {
+            return text.subSequence(start, end);
+        }
+
+
+        @Override
+        @Nonnull
+        public String toString() {
+            return text;
+        }
+    }
+
+
+    /**
+     * The slowest match found so far for a mapping
+     */
+    private static class Worst {
+        private String step = "";
+        private long time = 0;
+        private boolean timedOut = false;
+    }
+
+
+    /**
+     * Create a detector for some mappings
+     * @param mappings      the mappings to check
+     * @param fuzz          {@code true} if the flagged mappings are timed against adversarial step text
+     */
+    HazardDetector(@Nonnull List<MappingModel> mappings, boolean fuzz) {
+        this.mappings = mappings;
+        this.fuzz = fuzz;
+    }
+
+
+    /**
+     * Find the mappings that can cause catastrophic backtracking
+     * @param threads       number of threads used to analyse and fuzz the mappings
+     * @return              the flagged mappings, ordered by their regular expressions
+     */
+    @Nonnull
+    List<HazardModel> detect(int threads) {
+        long started = System.currentTimeMillis();
+        List<HazardModel> hazards;
+
+        if (threads == 1) {
+            hazards = detect(mappings.stream());
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+
+            try {
+                hazards = pool.submit(() -> detect(mappings.parallelStream())).join();
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        Trace.message("Backtracking: %d mappings, %d flagged, %d exceeded the time budget in %d ms",
+                      mappings.size(), hazards.size(), hazards.stream().filter(HazardModel::isTimedOut).count(),
+                      System.currentTimeMillis() - started);
+
+        return hazards;
+    }
+
+
+    @Nonnull
+    private List<HazardModel> detect(@Nonnull Stream<MappingModel> stream) {
+        return stream.map(this::check)
+                     .filter(Objects::nonNull)
+                     .sorted(Comparator.comparing(hazard -> hazard.getMapping().getRegEx()))
+                     .collect(Collectors.toList());
+    }
+
+
+    @Nullable
+    private HazardModel check(@Nonnull MappingModel mapping) {
+        Pattern pattern = mapping.getPattern();
+        List<RegExHazards.Hazard> hazards = (pattern == null ? null : RegExHazards.analyse(pattern.pattern()));
+        HazardModel result = null;
+
+        if ((hazards != null) && !hazards.isEmpty()) {
+            Worst worst = (fuzz ? fuzz(pattern, hazards) : null);
+
+            result = (worst == null ?
+                new HazardModel(mapping, hazards, "", 0, HazardModel.Speed.UNTIMED) :
+                new HazardModel(mapping, hazards, worst.step, worst.time, speed(worst)));
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Match a regular expression against adversarial step text built from its hazards until a match times out,
+     * the mapping has used its total time budget, or the longest step text has been tried
+     * @param pattern       the compiled regular expression
+     * @param hazards       the hazards found in the regular expression
+     * @return              the slowest match
+     */
+    @Nonnull
+    private Worst fuzz(@Nonnull Pattern pattern, @Nonnull List<RegExHazards.Hazard> hazards) {
+        long stop = System.nanoTime() + TOTAL_BUDGET;
+        Worst worst = new Worst();
+
+        for (RegExHazards.Hazard hazard : hazards) {
+            int limit = (MAX_LENGTH - hazard.getPrefix().length()) / hazard.getPump().length();
+
+            for (String suffix : SUFFIXES) {
+                int repeats = MIN_REPEAT;
+
+                while (!worst.timedOut && (repeats <= limit) && (System.nanoTime() < stop)) {
+                    measure(pattern, step(hazard, repeats) + suffix, worst);
+
+                    // Double the repeats, but always finish with the longest step text
+                    repeats = (repeats == limit ? limit + 1 : Math.min(repeats * 2, limit));
+                }
+            }
+        }
+
+        return worst;
+    }
+
+
+    @Nonnull
+    private String step(@Nonnull RegExHazards.Hazard hazard, int repeats) {
+        StringBuilder step = new StringBuilder(hazard.getPrefix());
+
+        for (int count = 0; count < repeats; count++) {
+            step.append(hazard.getPump());
+        }
+
+        return step.toString();
+    }
+
+
+    @Nonnull
+    private HazardModel.Speed speed(@Nonnull Worst worst) {
+        HazardModel.Speed speed;
+
+        if (worst.timedOut) {
+            speed = HazardModel.Speed.TIMED_OUT;
+        } else if (worst.time >= SLOW) {
+            speed = HazardModel.Speed.SLOW;
+        } else {
+            speed = HazardModel.Speed.FAST;
+        }
+
+        return speed;
+    }
+
+
+    private void measure(@Nonnull Pattern pattern, @Nonnull String step, @Nonnull Worst worst) {
+        long start = System.nanoTime();
+        boolean timedOut;
+
+        try {
+            pattern.matcher(new Deadline(step, start + BUDGET)).matches();
+            timedOut = false;
+        } catch (TimedOutException | StackOverflowError e) {
+            timedOut = true;
+        }
+
+        long time = System.nanoTime() - start;
+
+        if (timedOut || (time > worst.time)) {
+            worst.step = step;
+            worst.time = Math.max(time, worst.time);
+            worst.timedOut = timedOut;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.cucumber.doc.model;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import io.cucumber.doc.util.RegExHazards;
+
+/**
+ * Model for a mapping whose regular expression can cause catastrophic backtracking, along with the slowest match
+ * that was found by trying it against adversarial step text. All durations are in nanoseconds
+ */
+public class HazardModel {
+    /**
+     * How slowly the mapping matched adversarial step text. Unlike the measured time these categories do not
+     * normally change between runs, so they are what the reports show
+     */
+    public enum Speed {
+        /** The mapping was not timed */
+        UNTIMED,
+
+        /** Every match finished well inside the time budget */
+        FAST,
+
+        /** A match took a significant part of the time budget */
+        SLOW,
+
+        /** A match was abandoned because it exceeded the time budget */
+        TIMED_OUT
+    }
+
+
+    private final MappingModel mapping;
+    private final List<RegExHazards.Hazard> hazards;
+    private final String worstStep;
+    private final long worstCase;
+    private final Speed speed;
+
+
+    /**
+     * Create a new HazardModel
+     * @param mapping       the mapping
+     * @param hazards       the fragments of the regular expression that were flagged
+     * @param worstStep     the step text that took longest to match
+     * @param worstCase     the time taken to match {@code worstStep}
+     * @param speed         how slowly the mapping matched
+     */
+    HazardModel(@Nonnull MappingModel mapping,
+                @Nonnull List<RegExHazards.Hazard> hazards,
+                @Nonnull String worstStep,
+                long worstCase,
+                @Nonnull Speed speed) {
+        this.mapping = mapping;
+        this.hazards = hazards;
+        this.worstStep = worstStep;
+        this.worstCase = worstCase;
+        this.speed = speed;
+    }
+
+
+    /**
+     * Returns the mapping whose regular expression was flagged
+     * @return the mapping whose regular expression was flagged
+     */
+    @Nonnull
+    public MappingModel getMapping() {
+        return mapping;
+    }
+
+
+    /**
+     * Returns the fragments of the regular expression that can cause catastrophic backtracking
+     * @return the fragments of the regular expression that were flagged
+     */
+    @Nonnull
+    public List<RegExHazards.Hazard> getHazards() {
+        return hazards;
+    }
+
+
+    /**
+     * Returns the generated step text that took longest to match, or an empty string if the mapping was not timed
+     * @return the generated step text that took longest to match
+     */
+    @Nonnull
+    public String getWorstStep() {
+        return worstStep;
+    }
+
+
+    /**
+     * Returns the longest time taken to match any of the generated step text. If {@link #isTimedOut()} then the
+     * match was abandoned, so this is a lower bound. As this varies from run to run it is not written to the reports
+     * @return the worst case match time in nanoseconds
+     */
+    public long getWorstCase() {
+        return worstCase;
+    }
+
+
+    /**
+     * Returns how slowly the mapping matched the generated step text
+     * @return how slowly the mapping matched
+     */
+    @Nonnull
+    public Speed getSpeed() {
+        return speed;
+    }
+
+
+    /**
+     * Returns {@code true} only if a match was abandoned because it exceeded the time budget
+     * @return {@code true} only if a match was abandoned because it exceeded the time budget
+     */
+    public boolean isTimedOut() {
+        return (speed == Speed.TIMED_OUT);
+    }
+
+
+    @Override
+    public String toString() {
+        return "HazardModel{" + mapping.getRegEx() + ", " + speed + ", worstCase=" + worstCase + "}";
+    }
+}
@@ -3,12 +3,17 @@ package io.cucumber.doc.model;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import io.cucumber.doc.util.HashUtils;
 import io.cucumber.doc.util.Preconditions;
+import io.cucumber.doc.util.StringPool;
 
 
 /**
@@ -20,7 +25,7 @@ public class ImplementationModel {
      */
     public static class Builder implements DescriptionModelBuilder<Builder> {
         private final String implementationName;
-        private String description;
+        private LazyDescription description;
         private String version;
         private List<MappingModel> mappings = new ArrayList<>();
         private List<ParameterModel> parameters;
@@ -48,7 +53,30 @@ public class ImplementationModel {
             Preconditions.checkNotNull(verb, "Invalid method verb");
             Preconditions.checkNotNull(regEx, "Invalid method regEx");
 
-            MappingModel mapping = new MappingModel(verb, regEx);
+            MappingModel mapping = new MappingModel(verb, regEx, null);
+
+            mappings.add(mapping);
+
+            return this;
+        }
+
+
+        /**
+         * Add a mapping whose friendly version has already been calculated, typically by a previous run that
+         * saved the model. Multiple mappings may be applied
+         * @param verb              the cucumber annotation verb
+         * @param regEx             the mapping exactly as it appears in the Java code
+         * @param friendlyMapping   the friendly version of the mapping
+         * @return                  A flowing interface
+         * @see MappingModel#getFriendlyMapping()
+         */
+        @Nonnull
+        public Builder withMapping(@Nonnull String verb, @Nonnull String regEx, @Nonnull String friendlyMapping) {
+            Preconditions.checkNotNull(verb, "Invalid method verb");
+            Preconditions.checkNotNull(regEx, "Invalid method regEx");
+            Preconditions.checkNotNull(friendlyMapping, "Invalid friendly mapping");
+
+            MappingModel mapping = new MappingModel(verb, regEx, friendlyMapping);
 
             mappings.add(mapping);
 
@@ -68,7 +96,26 @@ public class ImplementationModel {
             Preconditions.checkArgument((this.description == null),
                                         "Multiple description defined for a single implementation");
 
-            this.description = description;
+            this.description = LazyDescription.of(description);
+
+            return this;
+        }
+
+
+        /**
+         * Add an optional description to the implementation that will only be loaded when it is first needed.
+         * An implementation may have at most one description.
+         * @param description       supplier of the description as seen in the Java source code.
+         * @return                  A flowing interface
+         * @see ImplementationModel#release()
+         */
+        @Nonnull
+        public Builder withDescription(@Nonnull Supplier<String> description) {
+            Preconditions.checkNotNull(description, "Invalid method description");
+            Preconditions.checkArgument((this.description == null),
+                                        "Multiple description defined for a single implementation");
+
+            this.description = LazyDescription.of(description);
 
             return this;
         }
@@ -141,18 +188,20 @@ public class ImplementationModel {
     }
 
 
-    private static int count;
+    private static final int ID_HEX_DIGITS = 8;
+    private static final int HEX_RADIX = 16;
+    private static final long ID_MASK = 0xffffffffL;
 
     private final String implementationName;
     private final String friendlyName;
-    private final String description;
+    private final LazyDescription description;
     private final String version;
     private final List<MappingModel> mappings;
     private final List<ParameterModel> parameters;
     private final TableModel table;
-    private final String uniqueId;
 
     private TypeModel parent;
+    private String uniqueId;
 
 
     private ImplementationModel(@Nonnull Builder builder) {
@@ -161,8 +210,8 @@ public class ImplementationModel {
         mappings.sort(Comparator.comparing(MappingModel::getRegEx));
 
         this.implementationName = builder.implementationName;
-        this.description = Friendly.description(builder.description);
-        this.version = builder.version;
+        this.description = (builder.description == null ? LazyDescription.NONE : builder.description);
+        this.version = StringPool.intern(builder.version);
         this.mappings = Collections.unmodifiableList(mappings);
         this.friendlyName = Friendly.name(builder.implementationName);
         this.table = builder.table;
@@ -173,17 +222,29 @@ public class ImplementationModel {
             this.parameters = Collections.unmodifiableList(builder.parameters);
         }
 
-        this.uniqueId = "_id" + (count++) + "_";
-
         Preconditions.checkState(!mappings.isEmpty(), "No mappings defined");
     }
 
 
     @Nonnull
     ImplementationModel initialise(@Nonnull TypeModel parent) {
+        return initialise(parent, new HashSet<>());
+    }
+
+
+    /**
+     * Initialise this implementation as part of its parent type
+     * @param parent        the implementing type
+     * @param usedIds       the unique IDs already used by other implementations in the same type. The ID of this
+     *                          implementation is added to the set
+     * @return              this implementation
+     */
+    @Nonnull
+    ImplementationModel initialise(@Nonnull TypeModel parent, @Nonnull Set<String> usedIds) {
         Preconditions.checkState((this.parent == null), "%s has already been initialised", this);
 
         this.parent = parent;
+        this.uniqueId = uniqueId(usedIds);
 
         for (MappingModel mapping : mappings) {
             mapping.initialise(this);
@@ -247,11 +308,36 @@ public class ImplementationModel {
 
 
     /**
-     * Returns a unique ID for these mappings
+     * Derive the ID from a hash of the qualified name, so it does not depend on the order in which the models
+     * were built. Collisions, including overloaded methods, are resolved by probing for the next unused value;
+     * implementations are initialised in the order of {@link TypeModel#getImplementations()}, so the result is
+     * repeatable.
+     * @param usedIds       the IDs already used in the parent type
+     * @return a unique ID for these mappings
+     */
+    @Nonnull
+    private String uniqueId(@Nonnull Set<String> usedIds) {
+        long value = Long.parseLong(HashUtils.hash(getQualifiedName()).substring(0, ID_HEX_DIGITS), HEX_RADIX);
+        String id = "_id" + value + "_";
+
+        while (!usedIds.add(id)) {
+            value = (value + 1) & ID_MASK;
+            id = "_id" + value + "_";
+        }
+
+        return id;
+    }
+
+
+    /**
+     * Returns an ID for these mappings that is unique within the implementing type and is the same every time
+     * the type is documented
      * @return a unique ID for these mappings
      */
     @Nonnull
     public String getUniqueId() {
+        Preconditions.checkNotNull(uniqueId, "%s has not been initialised", this);
+
         return uniqueId;
     }
 
@@ -263,7 +349,15 @@ public class ImplementationModel {
      */
     @Nullable
     public String getDescription() {
-        return description;
+        return description.get();
+    }
+
+
+    /**
+     * Release the description if it was loaded on demand. It will be reloaded if it is needed again
+     */
+    void release() {
+        description.release();
     }
 
 
@@ -0,0 +1,82 @@
+package io.cucumber.doc.model;
+
+import java.lang.ref.SoftReference;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A description that is either held in memory or loaded on demand from the source it was read from.
+ * Descriptions that are loaded on demand are only softly referenced, so they can be released by
+ * {@link #release()} or by the garbage collector and will be reloaded the next time they are needed.
+ */
+class LazyDescription {
+    /** Description for models that do not have one */
+    static final LazyDescription NONE = new LazyDescription(null, null);
+
+    private final String value;
+    private final Supplier<String> source;
+    private volatile SoftReference<String> cache;
+
+
+    private LazyDescription(@Nullable String value, @Nullable Supplier<String> source) {
+        this.value = value;
+        this.source = source;
+    }
+
+
+    /**
+     * Returns a description that is held in memory
+     * @param description       description as seen in the Java source code.
+     * @return a description that is held in memory
+     */
+    @Nonnull
+    static LazyDescription of(@Nonnull String description) {
+        return new LazyDescription(Friendly.description(description), null);
+    }
+
+
+    /**
+     * Returns a description that is only loaded when it is first needed
+     * @param source            supplier of the description as seen in the Java source code.
+     * @return a description that is only loaded when it is first needed
+     */
+    @Nonnull
+    static LazyDescription of(@Nonnull Supplier<String> source) {
+        return new LazyDescription(null, source);
+    }
+
+
+    /**
+     * Returns the friendly version of the description, loading it if required.
+     * @return the friendly version of the description, or {@code null} if there isn't one
+     */
+    @Nullable
+    String get() {
+        String description;
+
+        if (source == null) {
+            description = value;
+        } else {
+            SoftReference<String> reference = cache;
+
+            description = (reference == null ? null : reference.get());
+
+            if (description == null) {
+                description = Friendly.description(source.get());
+                cache = new SoftReference<>(description);
+            }
+        }
+
+        return description;
+    }
+
+
+    /**
+     * Release a description that was loaded on demand. Descriptions held in memory are unaffected
+     */
+    void release() {
+        cache = null;
+    }
+}
@@ -1,8 +1,14 @@
 package io.cucumber.doc.model;
 
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import io.cucumber.doc.util.Preconditions;
+import io.cucumber.doc.util.StringPool;
+import io.cucumber.doc.util.StringUtils;
 
 /**
  * The model for a single cucumber mapping.
@@ -12,14 +18,17 @@ public class MappingModel {
     private final String regEx;
     private String friendlyMapping;
     private ImplementationModel implementation;
+    private volatile Pattern pattern;
+    private volatile boolean invalid;
 
 
-    MappingModel(@Nonnull String verb, @Nonnull String regEx) {
+    MappingModel(@Nonnull String verb, @Nonnull String regEx, @Nullable String friendlyMapping) {
         Preconditions.checkHasText(verb, "Invalid annotation verb");
         Preconditions.checkHasText(regEx, "Invalid annotation regEx");
 
-        this.verb = verb;
-        this.regEx = regEx;
+        this.verb = StringPool.intern(verb);
+        this.regEx = StringPool.intern(regEx);
+        this.friendlyMapping = StringPool.intern(friendlyMapping);
     }
 
 
@@ -27,7 +36,10 @@ public class MappingModel {
         Preconditions.checkState((this.implementation == null), "%s has already been initialised", this);
 
         this.implementation = parent;
-        this.friendlyMapping = Friendly.mapping(regEx, parent.getParameters());
+
+        if (friendlyMapping == null) {
+            friendlyMapping = StringPool.intern(Friendly.mapping(regEx, parent.getParameters()));
+        }
     }
 
 
@@ -96,6 +108,41 @@ public class MappingModel {
     }
 
 
+    /**
+     * Returns the compiled regular expression that Cucumber uses to match step text. The pattern is compiled
+     * the first time it is needed and then cached.
+     * @return the compiled regular expression or {@code null} if the mapping is not a valid regular expression
+     * @see #getRegEx()
+     */
+    @Nullable
+    public Pattern getPattern() {
+        Pattern compiled = pattern;
+
+        if ((compiled == null) && !invalid) {
+            try {
+                compiled = Pattern.compile(StringUtils.unescapeJava(regEx));
+                pattern = compiled;
+            } catch (PatternSyntaxException e) {
+                invalid = true;
+            }
+        }
+
+        return compiled;
+    }
+
+
+    /**
+     * Returns {@code true} only if the {@code step} text matches this mapping
+     * @param step      step text, without the leading keyword
+     * @return {@code true} only if the {@code step} text matches this mapping
+     */
+    public boolean matches(@Nonnull String step) {
+        Pattern compiled = getPattern();
+
+        return (compiled != null) && compiled.matcher(step).matches();
+    }
+
+
     @Override
     public String toString() {
         return "Mapping{" + verb + " " + regEx + '}';
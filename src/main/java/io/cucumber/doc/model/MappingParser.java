@@ -0,0 +1,332 @@
+package io.cucumber.doc.model;
+
+import java.util.Iterator;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Single pass parser that converts the regular expression in a mapping into its friendly form.
+ * The regular expression is read once, from left to right, and the friendly form is written to a single
+ * {@link StringBuilder}:
+ * <ul>
+ *  <li>Top level capture groups (as defined by {@link io.cucumber.doc.util.RegExSplitter}) are replaced by
+ *      the friendly parameter names, as in {@code <name>}</li>
+ *  <li>Non-capture groups are replaced by their content. The brackets are kept if the group contains
+ *      alternatives, as in {@code (is|are)}, so the alternatives stay together</li>
+ *  <li>Flags, look-ahead and look-behind constructs are removed</li>
+ *  <li>Quantified atoms are bracketed with their quantifier, as in {@code (s?)}, {@code (<name>*)} or
+ *      {@code (some text+)}</li>
+ *  <li>Escaped characters lose their escape</li>
+ * </ul>
+ * Only the quantifiers {@code ?}, {@code *} and {@code +} (optionally followed by {@code ?} or {@code +}) are
+ * recognised. Anything else, such as {@code {n,m}}, is copied as it is.
+ */
+class MappingParser {
+    private static final String MISSING_PARAMETER = "<missing-parameter>";
+    private static final String OPTIONAL_TERMINATOR = "\\\\.?";
+
+    private final String regEx;
+    private final int end;
+    private final Iterator<ParameterModel> parameters;
+    private final StringBuilder friendly;
+    private int next;
+    private int bracketedAtom = -1;
+
+
+    private MappingParser(@Nonnull String regEx, int start, int end, @Nonnull List<ParameterModel> parameters) {
+        this.regEx = regEx;
+        this.next = start;
+        this.end = end;
+        this.parameters = parameters.iterator();
+        this.friendly = new StringBuilder(end - start + 1);
+    }
+
+
+    /**
+     * Convert the regular expression in a mapping into its friendly form
+     * @param mapping       the regular expression
+     * @param parameters    parameter definitions for this mapping
+     * @return              friendly version of the mapping
+     */
+    @Nonnull
+    static String parse(@Nonnull String mapping, @Nonnull List<ParameterModel> parameters) {
+        int start = skipSpace(mapping, 0);
+        int end = skipTrailingSpace(mapping, mapping.length(), start);
+
+        if ((start != end) && (mapping.charAt(start) == '^')) {
+            start++;
+        }
+
+        if ((start != end) && (mapping.charAt(end - 1) == '$')) {
+            end--;
+        }
+
+        if (mapping.startsWith(OPTIONAL_TERMINATOR, end - OPTIONAL_TERMINATOR.length()) &&
+                (end - OPTIONAL_TERMINATOR.length() >= start)) {
+            end -= OPTIONAL_TERMINATOR.length();
+        }
+
+        start = skipSpace(mapping, start);
+        end = skipTrailingSpace(mapping, end, start);
+
+        MappingParser parser = new MappingParser(mapping, start, end, parameters);
+
+        parser.parseSequence(false);
+        parser.appendUnusedParameter();
+
+        return parser.friendly.toString();
+    }
+
+
+    private static int skipSpace(@Nonnull String text, int index) {
+        while ((index < text.length()) && (text.charAt(index) <= ' ')) {
+            index++;
+        }
+
+        return index;
+    }
+
+
+    private static int skipTrailingSpace(@Nonnull String text, int index, int start) {
+        while ((index > start) && (text.charAt(index - 1) <= ' ')) {
+            index--;
+        }
+
+        return index;
+    }
+
+
+    /**
+     * Parse a sequence of atoms, each of which may be quantified
+     * @param inGroup       {@code true} if the sequence is the content of a group, in which case it ends at the
+     *                          closing bracket, which is not consumed
+     * @return              {@code true} if the sequence contains alternatives separated by {@code |}
+     */
+    private boolean parseSequence(boolean inGroup) {
+        boolean done = false;
+        boolean alternatives = false;
+
+        while (!done && (next != end)) {
+            char in = regEx.charAt(next);
+
+            if (inGroup && (in == ')')) {
+                done = true;
+            } else {
+                int atomStart = friendly.length();
+
+                alternatives |= (in == '|');
+
+                if (parseAtom(in)) {
+                    parseQuantifier(atomStart);
+                }
+            }
+        }
+
+        return alternatives;
+    }
+
+
+    /**
+     * Parse a single atom, writing its friendly form
+     * @param in        the first character of the atom
+     * @return          {@code true} if the atom can be quantified, {@code false} if it has been removed
+     */
+    private boolean parseAtom(char in) {
+        boolean quantifiable = true;
+
+        next++;
+        bracketedAtom = -1;
+
+        if (in == '\\') {
+            parseEscape();
+        } else if (in == '[') {
+            parseCharacterClass();
+        } else if (in != '(') {
+            friendly.append(in);
+        } else if (peek(0) != '?') {
+            parseCaptureGroup();
+        } else if (peek(1) == ':') {
+            next += 2;
+            parseNonCaptureGroup();
+        } else if ((peek(1) == '<') && Character.isLetter(peek(2))) {
+            skipName();
+            parseCaptureGroup();
+        } else {
+            skipGroupContent();             // flags, look-ahead, look-behind...
+            quantifiable = false;
+        }
+
+        return quantifiable;
+    }
+
+
+    /**
+     * An escaped character loses its escape. For compatibility with earlier versions of CukeDoc the sequences
+     * {@code \\.}, {@code \\'} and {@code \\"} are reduced to the final character
+     */
+    private void parseEscape() {
+        char escaped = peek(0);
+
+        if ((escaped == '\\') && (".'\"".indexOf(peek(1)) != -1) && (next + 1 < end)) {
+            friendly.append(regEx.charAt(next + 1));
+            next += 2;
+        } else if (next != end) {
+            friendly.append(escaped);
+            next++;
+        }
+    }
+
+
+    /**
+     * Copy a character class, removing any escapes
+     */
+    private void parseCharacterClass() {
+        boolean done = false;
+
+        friendly.append('[');
+
+        while (!done && (next != end)) {
+            char in = regEx.charAt(next++);
+
+            if ((in == '\\') && (next != end)) {
+                friendly.append(regEx.charAt(next++));
+            } else {
+                friendly.append(in);
+                done = (in == ']');
+            }
+        }
+    }
+
+
+    /**
+     * The opening bracket of a capture group has been read. It is replaced by the friendly name of the next
+     * parameter. Any capture groups that it contains are part of the same parameter.
+     * A capture group that ends the mapping is left to {@link #appendUnusedParameter()}, which is how
+     * {@link io.cucumber.doc.util.RegExSplitter} based versions of CukeDoc have always treated it.
+     */
+    private void parseCaptureGroup() {
+        skipGroupContent();
+
+        if (next != end) {
+            friendly.append('<')
+                    .append(parameters.hasNext() ? parameters.next().getFriendlyName() : MISSING_PARAMETER)
+                    .append('>');
+        }
+    }
+
+
+    /**
+     * Write the friendly form of the content of a non-capture group, and skip the closing bracket. If the group
+     * contains alternatives they are bracketed
+     */
+    private void parseNonCaptureGroup() {
+        int groupStart = friendly.length();
+
+        if (parseSequence(true)) {
+            friendly.insert(groupStart, '(').append(')');
+            bracketedAtom = groupStart;
+        }
+
+        if (next != end) {
+            next++;
+        }
+    }
+
+
+    /**
+     * Add a quantifier, if there is one, to the atom that starts at {@code atomStart} in the friendly text.
+     * The quantified atom is bracketed along with its quantifier. An atom that is already bracketed, such as
+     * a group of alternatives, has the quantifier added inside its brackets
+     * @param atomStart     index of the start of the atom in {@link #friendly}
+     */
+    private void parseQuantifier(int atomStart) {
+        char in = peek(0);
+
+        if (isQuantifier(in) && (next != end)) {
+            if (bracketedAtom == atomStart) {
+                friendly.setLength(friendly.length() - 1);
+            } else {
+                friendly.insert(atomStart, '(');
+            }
+
+            friendly.append(in);
+            next++;
+
+            in = peek(0);
+            if (((in == '?') || (in == '+')) && (next != end)) {
+                friendly.append(in);
+                next++;
+            }
+
+            friendly.append(')');
+        }
+    }
+
+
+    private static boolean isQuantifier(char in) {
+        return (in == '?') || (in == '*') || (in == '+');
+    }
+
+
+    /**
+     * Skip the name of a named group. The next two characters are known to be {@code ?<}
+     */
+    private void skipName() {
+        while ((next != end) && (regEx.charAt(next) != '>')) {
+            next++;
+        }
+
+        if (next != end) {
+            next++;
+        }
+    }
+
+
+    /**
+     * Skip to, and over, the closing bracket that matches the opening bracket that has just been read, allowing
+     * for nested groups, escaped characters and character classes.
+     */
+    private void skipGroupContent() {
+        int depth = 1;
+        boolean inClass = false;
+
+        while ((depth != 0) && (next != end)) {
+            char in = regEx.charAt(next++);
+
+            if (in == '\\') {
+                next = Math.min(next + 1, end);
+            } else if (inClass) {
+                inClass = (in != ']');
+            } else if (in == '[') {
+                inClass = true;
+            } else if (in == '(') {
+                depth++;
+            } else if (in == ')') {
+                depth--;
+            }
+        }
+    }
+
+
+    /**
+     * If there are more parameters than capture groups, the next parameter is appended to the mapping
+     */
+    private void appendUnusedParameter() {
+        if (parameters.hasNext()) {
+            friendly.append('<').append(parameters.next().getFriendlyName()).append('>');
+        }
+    }
+
+
+    /**
+     * Returns a character following the one that has just been read, or 0 if it is beyond the end of the text
+     * @param offset    0 based offset from {@link #next}
+     * @return          a character following the one that has just been read
+     */
+    private char peek(int offset) {
+        int index = next + offset;
+
+        return (index < end ? regEx.charAt(index) : 0);
+    }
+}
@@ -3,6 +3,7 @@ package io.cucumber.doc.model;
 import javax.annotation.Nonnull;
 
 import io.cucumber.doc.util.Preconditions;
+import io.cucumber.doc.util.StringPool;
 
 /**
  * The model for a method parameter/a Regex capture group
@@ -25,9 +26,9 @@ public class ParameterModel extends AbstractParameterModel {
 
         Preconditions.checkNotNull(type, "Invalid parameter type");
 
-        this.type = type;
-        this.format = format;
-        this.friendlyFormat = Friendly.captureGroup(format);
+        this.type = StringPool.intern(type);
+        this.format = StringPool.intern(format);
+        this.friendlyFormat = StringPool.intern(Friendly.captureGroup(format));
     }
 
 
@@ -0,0 +1,245 @@
+package io.cucumber.doc.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.cucumber.doc.util.Trace;
+
+/**
+ * Attribute the results of Cucumber test runs to the step definitions that were executed.
+ * <br>
+ * Cucumber reports the location of the step definition that matched each step. This is usually the qualified name
+ * of the method followed by its parameter types, although older versions only give the simple name of the class.
+ * Steps whose location does not identify a step definition in the application, such as those that only give a
+ * source file and line number, are matched on their text using {@link ApplicationModel#findMappings(String)}.
+ * <br>
+ * Overloaded step definitions share a name, so they are told apart by the parameter types in the location. Types
+ * are compared by their simple names as not every version of Cucumber qualifies them. A table parameter is not part
+ * of the model's parameters, so an implementation with a table also matches one extra trailing type. If the
+ * overload can not be identified the step is matched on its text.
+ */
+class ResultMatcher {
+    private final ApplicationModel model;
+    private final Map<String, List<ImplementationModel>> byName = new HashMap<>();
+
+
+    /**
+     * Create a matcher for the step definitions in an application
+     * @param model         the application model
+     */
+    ResultMatcher(@Nonnull ApplicationModel model) {
+        this.model = model;
+
+        for (TypeModel type : model.getTypes()) {
+            for (ImplementationModel implementation : type.getImplementations()) {
+                byName.computeIfAbsent(implementation.getQualifiedName(), k -> new ArrayList<>()).add(implementation);
+                byName.computeIfAbsent(type.getSimpleName() + "." + implementation.getName(), k -> new ArrayList<>())
+                      .add(implementation);
+            }
+        }
+    }
+
+
+    /**
+     * Returns the execution times of the step definitions
+     * @param results       the results of the steps that were executed
+     * @return              the execution times of the step definitions that were executed, ordered by their total
+     *                      execution time with the slowest first
+     */
+    @Nonnull
+    Map<ImplementationModel, TimingModel> match(@Nonnull List<ResultModel> results) {
+        Map<ImplementationModel, List<ResultModel>> grouped = new HashMap<>();
+        int unmatched = 0;
+
+        for (ResultModel result : results) {
+            ImplementationModel implementation = find(result);
+
+            if (implementation == null) {
+                unmatched += result.getCount();
+            } else {
+                grouped.computeIfAbsent(implementation, k -> new ArrayList<>()).add(result);
+            }
+        }
+
+        List<TimingModel> timings = new ArrayList<>(grouped.size());
+
+        for (Map.Entry<ImplementationModel, List<ResultModel>> entry : grouped.entrySet()) {
+            timings.add(new TimingModel(entry.getKey(), durations(entry.getValue())));
+        }
+
+        timings.sort(Comparator.comparingLong(TimingModel::getTotal).reversed()
+                               .thenComparing(timing -> timing.getImplementation().getQualifiedName()));
+
+        Map<ImplementationModel, TimingModel> ordered = new LinkedHashMap<>();
+
+        for (TimingModel timing : timings) {
+            ordered.put(timing.getImplementation(), timing);
+        }
+
+        Trace.message("Results: %d step definitions executed, %d executed steps could not be matched",
+                      ordered.size(), unmatched);
+
+        return Collections.unmodifiableMap(ordered);
+    }
+
+
+    @Nullable
+    private ImplementationModel find(@Nonnull ResultModel result) {
+        String location = result.getLocation();
+        ImplementationModel found = (location == null ? null : findOverload(location));
+
+        if (found == null) {
+            List<MappingModel> mappings = model.findMappings(result.getStep());
+
+            found = (mappings.isEmpty() ? null : mappings.get(0).getImplementation());
+        }
+
+        return found;
+    }
+
+
+    /**
+     * Returns the step definition at a location reported by Cucumber
+     * @param location      the location, such as {@code a.b.Steps.method(int)}
+     * @return              the step definition, or {@code null} if it is not known or it is one of several
+     *                      overloads and the parameter types do not say which
+     */
+    @Nullable
+    private ImplementationModel findOverload(@Nonnull String location) {
+        List<ImplementationModel> candidates = byName.get(methodName(location));
+        List<String> types = parameterTypes(location);
+        ImplementationModel found = null;
+
+        if ((candidates != null) && (candidates.size() == 1)) {
+            found = candidates.get(0);
+        } else if ((candidates != null) && (types != null)) {
+            for (ImplementationModel candidate : candidates) {
+                if ((found == null) && isSignature(candidate, types)) {
+                    found = candidate;
+                }
+            }
+        }
+
+        return found;
+    }
+
+
+    private static boolean isSignature(@Nonnull ImplementationModel implementation, @Nonnull List<String> types) {
+        List<String> declared = new ArrayList<>();
+
+        for (ParameterModel parameter : implementation.getParameters()) {
+            declared.add(simpleType(parameter.getType()));
+        }
+
+        return types.equals(declared) ||
+               ((implementation.getTable() != null) &&
+                    (types.size() == declared.size() + 1) &&
+                    types.subList(0, declared.size()).equals(declared));
+    }
+
+
+    /**
+     * Returns the name of the method in a location reported by Cucumber
+     * @param location      the location, such as {@code a.b.Steps.method(int)}
+     * @return              the location without the parameter types, such as {@code a.b.Steps.method}
+     */
+    @Nonnull
+    static String methodName(@Nonnull String location) {
+        int bracket = location.indexOf('(');
+
+        return (bracket == -1 ? location : location.substring(0, bracket)).trim();
+    }
+
+
+    /**
+     * Returns the simple names of the parameter types in a location reported by Cucumber
+     * @param location      the location, such as {@code a.b.Steps.method(int,java.lang.String)}
+     * @return              the simple parameter types, such as {@code [int, String]}, or {@code null} if the location
+     *                      does not give them
+     */
+    @Nullable
+    static List<String> parameterTypes(@Nonnull String location) {
+        int open = location.indexOf('(');
+        int close = location.lastIndexOf(')');
+        List<String> types = null;
+
+        if ((open != -1) && (close > open)) {
+            String list = withoutTypeArguments(location.substring(open + 1, close)).trim();
+
+            types = new ArrayList<>();
+
+            if (!list.isEmpty()) {
+                for (String type : list.split(",")) {
+                    types.add(simpleType(type));
+                }
+            }
+        }
+
+        return types;
+    }
+
+
+    /**
+     * Remove the type arguments, which may contain commas, from a list of types
+     * @param types         a list of types, such as {@code java.util.Map<K,V>,int}
+     * @return              the list without type arguments, such as {@code java.util.Map,int}
+     */
+    @Nonnull
+    private static String withoutTypeArguments(@Nonnull String types) {
+        StringBuilder raw = new StringBuilder(types.length());
+        int depth = 0;
+
+        for (char in : types.toCharArray()) {
+            if (in == '<') {
+                depth++;
+            } else if (in == '>') {
+                depth = Math.max(depth - 1, 0);
+            } else if (depth == 0) {
+                raw.append(in);
+            }
+        }
+
+        return raw.toString();
+    }
+
+
+    /**
+     * Returns the simple name of a type, without any package or array dimensions
+     * @param type          a qualified or simple type name, such as {@code java.lang.String[]}
+     * @return              the simple name, such as {@code String}
+     */
+    @Nonnull
+    private static String simpleType(@Nonnull String type) {
+        String raw = type.replace("[]", "").replace("...", "").trim();
+
+        return raw.substring(raw.lastIndexOf('.') + 1);
+    }
+
+
+    @Nonnull
+    private static long[] durations(@Nonnull List<ResultModel> results) {
+        int size = 0;
+
+        for (ResultModel result : results) {
+            size += result.getCount();
+        }
+
+        long[] durations = new long[size];
+        int offset = 0;
+
+        for (ResultModel result : results) {
+            result.copyDurations(durations, offset);
+            offset += result.getCount();
+        }
+
+        return durations;
+    }
+}
@@ -0,0 +1,84 @@
+package io.cucumber.doc.model;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Model for the executions of a single step, as reported in the results of a Cucumber test run
+ */
+public class ResultModel {
+    private final String location;
+    private final String step;
+    private final long[] durations;
+
+
+    /**
+     * Create a new ResultModel
+     * @param location      the location of the step definition reported by Cucumber, which is typically the
+     *                      qualified name of the method with its parameter types, or {@code null} if it is unknown
+     * @param step          the text of the step, without its keyword
+     * @param durations     the duration of each execution of the step in nanoseconds
+     */
+    public ResultModel(@Nullable String location, @Nonnull String step, @Nonnull long[] durations) {
+        this.location = location;
+        this.step = step;
+        this.durations = Arrays.copyOf(durations, durations.length);
+    }
+
+
+    /**
+     * Returns the location of the step definition reported by Cucumber
+     * @return the location of the step definition, or {@code null} if it is unknown
+     */
+    @Nullable
+    public String getLocation() {
+        return location;
+    }
+
+
+    /**
+     * Returns the text of the step, without its keyword
+     * @return the text of the step, without its keyword
+     */
+    @Nonnull
+    public String getStep() {
+        return step;
+    }
+
+
+    /**
+     * Returns the duration of each execution of the step in nanoseconds
+     * @return the duration of each execution of the step in nanoseconds
+     */
+    @Nonnull
+    public long[] getDurations() {
+        return Arrays.copyOf(durations, durations.length);
+    }
+
+
+    /**
+     * Returns the number of times the step was executed
+     * @return the number of times the step was executed
+     */
+    int getCount() {
+        return durations.length;
+    }
+
+
+    /**
+     * Copy the durations into an array
+     * @param target        the destination array
+     * @param offset        the index of the first duration in {@code target}
+     */
+    void copyDurations(@Nonnull long[] target, int offset) {
+        System.arraycopy(durations, 0, target, offset, durations.length);
+    }
+
+
+    @Override
+    public String toString() {
+        return "ResultModel{" + (location == null ? "'" + step + "'" : location) + " x" + durations.length + "}";
+    }
+}
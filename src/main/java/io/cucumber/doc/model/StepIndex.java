@@ -0,0 +1,224 @@
+package io.cucumber.doc.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+
+import io.cucumber.doc.util.RegExLiterals;
+
+/**
+ * Index used to find the mappings that match some step text without trying every regular expression.
+ * <br>
+ * The literal text that every match of a mapping must contain is extracted by {@link RegExLiterals}. Mappings
+ * that start with literal text are held in a trie of their prefixes, which is walked once along the step text.
+ * Mappings that only contain literal text further in are held in an Aho-Corasick automaton built from their
+ * longest literal, which finds every one that occurs in the step text in a single pass. Only mappings without
+ * any literal text at all need to be tried against every step. The candidates are then filtered on all of their
+ * literals before the regular expression is matched.
+ * <br>
+ * Instances are immutable, so a single index can be shared between threads.
+ */
+class StepIndex {
+    private final List<MappingModel> mappings;
+    private final List<List<String>> required;
+    private final Node prefixes = new Node();
+    private final Node literals = new Node();
+    private final BitSet unindexed = new BitSet();
+
+
+    /**
+     * Node in either the prefix trie or the Aho-Corasick automaton
+     */
+    private static class Node {
+        private static final int[] NONE = new int[0];
+
+        private final Map<Character, Node> children = new HashMap<>();
+        private int[] mappings = NONE;
+        private int count = 0;
+        private Node failure;
+        private Node output;                        // Nearest node on the failure chain that has mappings
+
+
+        @Nonnull
+        Node child(char key) {
+            return children.computeIfAbsent(key, k -> new Node());
+        }
+
+
+        void add(int index) {
+            if (count == mappings.length) {
+                mappings = Arrays.copyOf(mappings, Math.max(1, count * 2));
+            }
+
+            mappings[count++] = index;
+        }
+
+
+        void addTo(@Nonnull BitSet candidates) {
+            for (int index = 0; index < count; index++) {
+                candidates.set(mappings[index]);
+            }
+        }
+    }
+
+
+    /**
+     * Build an index for some mappings
+     * @param mappings      the mappings to index, in the order matches should be returned
+     */
+    StepIndex(@Nonnull List<MappingModel> mappings) {
+        this.mappings = mappings;
+        this.required = new ArrayList<>(mappings.size());
+
+        for (int index = 0; index < mappings.size(); index++) {
+            Pattern pattern = mappings.get(index).getPattern();
+            RegExLiterals extracted = (pattern == null ? null : RegExLiterals.of(pattern.pattern()));
+
+            required.add(extracted == null ? Collections.emptyList() : extracted.getRequired());
+
+            if (extracted != null) {                // Invalid regular expressions never match
+                index(extracted, index);
+            }
+        }
+
+        linkFailures(literals);
+    }
+
+
+    private void index(@Nonnull RegExLiterals extracted, int index) {
+        if (!extracted.getPrefix().isEmpty()) {
+            add(prefixes, extracted.getPrefix(), index);
+        } else if (!extracted.getLongest().isEmpty()) {
+            add(literals, extracted.getLongest(), index);
+        } else {
+            unindexed.set(index);
+        }
+    }
+
+
+    private static void add(@Nonnull Node root, @Nonnull String key, int index) {
+        Node node = root;
+
+        for (int offset = 0; offset < key.length(); offset++) {
+            node = node.child(key.charAt(offset));
+        }
+
+        node.add(index);
+    }
+
+
+    /**
+     * Turn a trie into an Aho-Corasick automaton by adding the failure and output links. The output links
+     * skip the nodes on the failure chain that have no mappings
+     * @param root          root of the trie
+     */
+    private static void linkFailures(@Nonnull Node root) {
+        Queue<Node> queue = new ArrayDeque<>();
+
+        root.failure = root;
+
+        for (Node child : root.children.values()) {
+            child.failure = root;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+
+            for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+                Node child = entry.getValue();
+                Node failure = node.failure;
+
+                while ((failure != root) && !failure.children.containsKey(entry.getKey())) {
+                    failure = failure.failure;
+                }
+
+                Node target = failure.children.get(entry.getKey());
+
+                child.failure = ((target == null) || (target == child) ? root : target);
+                child.output = (child.failure.count != 0 ? child.failure : child.failure.output);
+                queue.add(child);
+            }
+        }
+    }
+
+
+    /**
+     * Returns the mappings that match the step text
+     * @param step          step text, without the leading keyword
+     * @return              the matching mappings in the order they were indexed
+     */
+    @Nonnull
+    List<MappingModel> find(@Nonnull String step) {
+        BitSet candidates = candidates(step);
+        List<MappingModel> matches = new ArrayList<>();
+
+        for (int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1)) {
+            MappingModel mapping = mappings.get(index);
+
+            if (containsAll(step, required.get(index)) && mapping.matches(step)) {
+                matches.add(mapping);
+            }
+        }
+
+        return matches;
+    }
+
+
+    /**
+     * Returns the indexes of the mappings that might match the step text
+     * @param step          step text, without the leading keyword
+     * @return              the indexes of the mappings that might match the step text
+     */
+    @Nonnull
+    BitSet candidates(@Nonnull String step) {
+        BitSet candidates = (BitSet) unindexed.clone();
+        Node node = prefixes;
+        int length = step.length();
+
+        for (int offset = 0; (node != null) && (offset < length); offset++) {
+            node = node.children.get(step.charAt(offset));
+
+            if (node != null) {
+                node.addTo(candidates);
+            }
+        }
+
+        node = literals;
+        for (int offset = 0; offset < length; offset++) {
+            char in = step.charAt(offset);
+
+            while ((node != literals) && !node.children.containsKey(in)) {
+                node = node.failure;
+            }
+
+            node = node.children.getOrDefault(in, literals);
+
+            for (Node output = node; output != null; output = output.output) {
+                output.addTo(candidates);
+            }
+        }
+
+        return candidates;
+    }
+
+
+    private static boolean containsAll(@Nonnull String step, @Nonnull List<String> literals) {
+        boolean found = true;
+
+        for (int index = 0; found && (index < literals.size()); index++) {
+            found = step.contains(literals.get(index));
+        }
+
+        return found;
+    }
+}
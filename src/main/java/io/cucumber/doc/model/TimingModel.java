@@ -0,0 +1,102 @@
+package io.cucumber.doc.model;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Model for the execution times of a step definition across the results of one or more Cucumber test runs.
+ * All durations are in nanoseconds
+ */
+public class TimingModel {
+    private static final int PERCENTILE = 95;
+    private static final int PERCENT = 100;
+
+    private final ImplementationModel implementation;
+    private final int count;
+    private final long total;
+    private final long percentile;
+
+
+    /**
+     * Create a new TimingModel
+     * @param implementation    the step definition
+     * @param durations         the duration of each execution of the step definition, which are sorted in place
+     */
+    TimingModel(@Nonnull ImplementationModel implementation, @Nonnull long[] durations) {
+        long sum = 0;
+
+        Arrays.sort(durations);
+
+        for (long duration : durations) {
+            sum += duration;
+        }
+
+        this.implementation = implementation;
+        this.count = durations.length;
+        this.total = sum;
+        this.percentile = (count == 0 ? 0 : durations[nearestRank(count) - 1]);
+    }
+
+
+    /**
+     * Returns the rank of the 95th percentile, using the nearest rank method
+     * @param count         the number of durations
+     * @return              the 1 based rank of the 95th percentile
+     */
+    private static int nearestRank(int count) {
+        return (int) ((((long) count * PERCENTILE) + PERCENT - 1) / PERCENT);
+    }
+
+
+    /**
+     * Returns the step definition that was executed
+     * @return the step definition that was executed
+     */
+    @Nonnull
+    public ImplementationModel getImplementation() {
+        return implementation;
+    }
+
+
+    /**
+     * Returns the number of times the step definition was executed
+     * @return the number of times the step definition was executed
+     */
+    public int getCount() {
+        return count;
+    }
+
+
+    /**
+     * Returns the total execution time of the step definition
+     * @return the total execution time in nanoseconds
+     */
+    public long getTotal() {
+        return total;
+    }
+
+
+    /**
+     * Returns the mean execution time of the step definition
+     * @return the mean execution time in nanoseconds
+     */
+    public long getMean() {
+        return (count == 0 ? 0 : total / count);
+    }
+
+
+    /**
+     * Returns the 95th percentile of the execution times of the step definition
+     * @return the 95th percentile of the execution times in nanoseconds
+     */
+    public long getPercentile95() {
+        return percentile;
+    }
+
+
+    @Override
+    public String toString() {
+        return "TimingModel{" + implementation.getQualifiedName() + " x" + count + ", total=" + total + "}";
+    }
+}
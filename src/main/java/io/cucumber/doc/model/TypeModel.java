@@ -3,12 +3,16 @@ package io.cucumber.doc.model;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import io.cucumber.doc.util.Preconditions;
+import io.cucumber.doc.util.StringPool;
 import io.cucumber.doc.util.StringUtils;
 
 /**
@@ -22,7 +26,7 @@ public class TypeModel {
         private final String qualifiedName;
         private final String simpleName;
         private final List<ImplementationModel> implementations = new ArrayList<>();
-        private String description;
+        private LazyDescription description;
         private String version;
 
 
@@ -78,7 +82,23 @@ public class TypeModel {
         public Builder withDescription(@Nonnull String description) {
             Preconditions.checkNotNull(description, "Invalid type description");
 
-            this.description = description;
+            this.description = LazyDescription.of(description);
+
+            return this;
+        }
+
+
+        /**
+         * Add an optional description to the type that will only be loaded when it is first needed
+         * @param description       supplier of the description as seen in the Java source code.
+         * @return                  A flowing interface
+         * @see TypeModel#release()
+         */
+        @Nonnull
+        public Builder withDescription(@Nonnull Supplier<String> description) {
+            Preconditions.checkNotNull(description, "Invalid type description");
+
+            this.description = LazyDescription.of(description);
 
             return this;
         }
@@ -115,9 +135,10 @@ public class TypeModel {
     private final String simpleName;
     private final String friendlyName;
     private final List<ImplementationModel> implementations;
-    private final String description;
-    private final String summary;
+    private final LazyDescription description;
     private final String version;
+    private volatile String summary;
+    private volatile boolean summarised;
     private ApplicationModel application;
 
 
@@ -129,9 +150,8 @@ public class TypeModel {
         this.qualifiedName = builder.qualifiedName;
         this.simpleName = builder.simpleName;
         this.friendlyName = Friendly.name(builder.simpleName);
-        this.description = Friendly.description(builder.description);
-        this.summary = (description == null ? null : StringUtils.firstSentence(description));
-        this.version = builder.version;
+        this.description = (builder.description == null ? LazyDescription.NONE : builder.description);
+        this.version = StringPool.intern(builder.version);
         this.implementations = Collections.unmodifiableList(implementations);
     }
 
@@ -143,8 +163,10 @@ public class TypeModel {
 
         this.application = application;
 
+        Set<String> usedIds = new HashSet<>();
+
         for (ImplementationModel implementation : implementations) {
-            implementation.initialise(this);
+            implementation.initialise(this, usedIds);
         }
 
         return this;
@@ -189,17 +211,27 @@ public class TypeModel {
      */
     @Nullable
     public String getDescription() {
-        return description;
+        return description.get();
     }
 
 
     /**
      * If a description has been set, return the first sentence. If no description has been set return {@code null}
      * Note that this may still contain embedded tags in the form {@code {@____}}
+     * <br>
+     * The summary is kept once it has been found, so it survives {@link #release()} and a description loaded on
+     * demand is not reloaded just to summarise it again.
      * @return      An optional summary of the class
      */
     @Nullable
     public String getSummary() {
+        if (!summarised) {
+            String text = description.get();
+
+            summary = (text == null ? null : StringUtils.firstSentence(text));
+            summarised = true;
+        }
+
         return summary;
     }
 
@@ -224,6 +256,20 @@ public class TypeModel {
     }
 
 
+    /**
+     * Release any descriptions in this type that were loaded on demand. Report builders call this once they have
+     * finished with a type so that large linked reports do not have to be held in memory. Anything that has been
+     * released will be reloaded if it is needed again.
+     */
+    public void release() {
+        description.release();
+
+        for (ImplementationModel implementation : implementations) {
+            implementation.release();
+        }
+    }
+
+
     @Override
     public String toString() {
         return "MappedType{" + qualifiedName + '}';
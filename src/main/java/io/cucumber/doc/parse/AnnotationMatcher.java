@@ -0,0 +1,56 @@
+package io.cucumber.doc.parse;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import com.sun.javadoc.AnnotationDesc;
+import com.sun.javadoc.AnnotationTypeDoc;
+import io.cucumber.doc.util.StringUtils;
+
+/**
+ * Determine if an annotation is one of the cucumber mapping annotations.
+ * Most of the annotations on a method ({@code @Override}, {@code @Nonnull}, Lombok annotations, etc) are not
+ * cucumber mappings, so the annotations are first filtered on their simple name, which is cheap to obtain and
+ * rejects almost everything. The qualified name is only resolved for the few annotations that survive.
+ */
+class AnnotationMatcher {
+    private final Map<String, Set<String>> bySimpleName;
+
+
+    /**
+     * Create a matcher
+     * @param qualifiedNames    fully qualified names of all the annotations to match
+     */
+    AnnotationMatcher(@Nonnull Collection<String> qualifiedNames) {
+        Map<String, Set<String>> index = new HashMap<>();
+
+        for (String qualifiedName : qualifiedNames) {
+            String simpleName = StringUtils.getTail(qualifiedName, ".");
+
+            index.computeIfAbsent(simpleName, k -> new HashSet<>()).add(qualifiedName);
+        }
+
+        index.replaceAll((k, v) -> Collections.unmodifiableSet(v));
+
+        this.bySimpleName = Collections.unmodifiableMap(index);
+    }
+
+
+    /**
+     * Returns {@code true} only if {@code annotation} is one of the annotations this matcher was built from
+     * @param annotation    annotation to test
+     * @return {@code true} only if {@code annotation} is one of the annotations this matcher was built from
+     */
+    boolean matches(@Nonnull AnnotationDesc annotation) {
+        AnnotationTypeDoc type = annotation.annotationType();
+        Set<String> candidates = bySimpleName.get(type.simpleTypeName());
+
+        return ((candidates != null) && candidates.contains(type.qualifiedName()));
+    }
+}
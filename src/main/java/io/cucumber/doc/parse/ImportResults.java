@@ -0,0 +1,246 @@
+package io.cucumber.doc.parse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.cucumber.doc.exception.CukeDocException;
+import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.ResultModel;
+import io.cucumber.doc.util.JsonReader;
+import io.cucumber.doc.util.Trace;
+
+/**
+ * Import the results of Cucumber test runs from the JSON reports written by the Cucumber {@code json} plugin.
+ * <br>
+ * The reports are streamed, so only the step that is currently being read is held in memory. The duration of
+ * each step that passed or failed is collected against its text and the location of the step definition that
+ * Cucumber matched it with. Hooks, and steps that were skipped or have no step definition, are ignored.
+ */
+class ImportResults {
+    private static final String EXTENSION = ".json";
+    private static final int INITIAL_SIZE = 4;
+
+    private final Map<String, Durations> steps = new LinkedHashMap<>();
+    private int fileCount = 0;
+
+
+    /**
+     * The durations of the executions of a step
+     */
+    private static class Durations {
+        private final String location;
+        private final String step;
+        private long[] values = new long[INITIAL_SIZE];
+        private int count = 0;
+
+
+        Durations(@Nullable String location, @Nonnull String step) {
+            this.location = location;
+            this.step = step;
+        }
+
+
+        void add(long duration) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+
+            values[count++] = duration;
+        }
+    }
+
+
+    /**
+     * Reads an element of an array
+     */
+    @FunctionalInterface
+    private interface ElementReader {
+        void read() throws IOException;
+    }
+
+
+    /**
+     * Read a JSON report, or all of the JSON reports in a directory and its sub-directories
+     * @param path          the report or directory
+     * @return              A flowing interface
+     * @throws CukeDocException if a report could not be read
+     */
+    @Nonnull
+    ImportResults read(@Nonnull String path) throws CukeDocException {
+        for (Path file : reports(Paths.get(path))) {
+            Trace.message("Reading results %s", file);
+
+            try (JsonReader reader = new JsonReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+                readFeatures(reader);
+                fileCount++;
+            } catch (IOException | RuntimeException e) {
+                throw new CukeDocException("Failed to read results from '" + file + "': " + e.getMessage(), e);
+            }
+        }
+
+        return this;
+    }
+
+
+    /**
+     * Add the results that have been read to an application
+     * @param builder       application builder
+     */
+    void addTo(@Nonnull ApplicationModel.Builder builder) {
+        int count = 0;
+
+        for (Durations durations : steps.values()) {
+            builder.withResult(new ResultModel(durations.location,
+                                               durations.step,
+                                               Arrays.copyOf(durations.values, durations.count)));
+            count += durations.count;
+        }
+
+        Trace.message("Read %d executed steps (%d distinct) from %d results files", count, steps.size(), fileCount);
+    }
+
+
+    @Nonnull
+    private List<Path> reports(@Nonnull Path path) {
+        List<Path> reports;
+
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> paths = Files.walk(path)) {
+                reports = paths.filter(Files::isRegularFile)
+                               .filter(file -> file.toString().toLowerCase(Locale.ROOT).endsWith(EXTENSION))
+                               .sorted()
+                               .collect(Collectors.toList());
+            } catch (IOException e) {
+                throw new CukeDocException("Failed to read results in '" + path + "'", e);
+            }
+        } else {
+            reports = new ArrayList<>();
+            reports.add(path);
+        }
+
+        return reports;
+    }
+
+
+    private void readFeatures(@Nonnull JsonReader reader) throws IOException {
+        reader.beginArray();
+
+        while (reader.hasNext()) {
+            readChildren(reader, "elements", () -> readChildren(reader, "steps", () -> readStep(reader)));
+        }
+
+        reader.endArray();
+    }
+
+
+    /**
+     * Read an object, passing each element of the array called {@code name} to a reader
+     * @param reader        the JSON reader, positioned at the start of the object
+     * @param name          the name of the array
+     * @param elements      called to read each element of the array
+     * @throws IOException  if the report could not be read
+     */
+    private void readChildren(@Nonnull JsonReader reader,
+                              @Nonnull String name,
+                              @Nonnull ElementReader elements) throws IOException {
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            if (name.equals(reader.nextName()) && (reader.peek() == JsonReader.Token.BEGIN_ARRAY)) {
+                reader.beginArray();
+
+                while (reader.hasNext()) {
+                    elements.read();
+                }
+
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+    }
+
+
+    private void readStep(@Nonnull JsonReader reader) throws IOException {
+        String text = null;
+        String location = null;
+        String status = null;
+        long duration = 0;
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+
+            if ("name".equals(name)) {
+                text = reader.nextString();
+            } else if ("match".equals(name)) {
+                location = readProperty(reader, "location");
+            } else if ("result".equals(name)) {
+                reader.beginObject();
+
+                while (reader.hasNext()) {
+                    String property = reader.nextName();
+
+                    if ("status".equals(property)) {
+                        status = reader.nextString();
+                    } else if ("duration".equals(property)) {
+                        duration = reader.nextLong();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+
+        if ((text != null) && ("passed".equals(status) || "failed".equals(status))) {
+            String step = text;
+            String definition = location;
+
+            steps.computeIfAbsent(definition + "\n" + step, key -> new Durations(definition, step))
+                 .add(duration);
+        }
+    }
+
+
+    @Nullable
+    private String readProperty(@Nonnull JsonReader reader, @Nonnull String property) throws IOException {
+        String value = null;
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            if (property.equals(reader.nextName()) && (reader.peek() == JsonReader.Token.STRING)) {
+                value = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+
+        return value;
+    }
+}
@@ -0,0 +1,296 @@
+package io.cucumber.doc.parse;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.cucumber.doc.exception.CukeDocException;
+import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.ImplementationModel;
+import io.cucumber.doc.model.NoteModel;
+import io.cucumber.doc.model.TypeModel;
+import io.cucumber.doc.report.snapshot.SnapshotReport;
+import io.cucumber.doc.util.EnumUtils;
+import io.cucumber.doc.util.NoteFormat;
+
+
+/**
+ * Import the configuration from a binary snapshot written by {@link SnapshotReport}.
+ * The file is memory mapped and strings are only decoded when they are first used. Type and implementation
+ * descriptions, which make up most of a typical snapshot, are not decoded during the import at all; the models
+ * hold an index into the mapped file and load them when a report builder asks for them.
+ */
+class ImportSnapshot {
+    private ByteBuffer buffer;
+    private StringTable strings;
+
+
+    /**
+     * The strings in a snapshot, decoded on demand from the mapped file
+     */
+    private static class StringTable {
+        private final ByteBuffer buffer;
+        private final int[] offsets;
+        private final String[] decoded;
+
+
+        StringTable(@Nonnull ByteBuffer buffer, @Nonnull int[] offsets) {
+            this.buffer = buffer;
+            this.offsets = offsets;
+            this.decoded = new String[offsets.length];
+        }
+
+
+        /**
+         * Check that {@code index} refers to a string in the table
+         * @param index     index of a string in the table
+         * @throws CukeDocException if the index is not valid
+         */
+        void checkIndex(int index) throws CukeDocException {
+            if ((index < 0) || (index >= offsets.length)) {
+                throw new CukeDocException("Malformed snapshot: Invalid string index %d", index);
+            }
+        }
+
+
+        /**
+         * Returns the string at {@code index}, which is retained so it is shared by all the models that use it
+         * @param index     index of the string in the table
+         * @return the string at {@code index}
+         */
+        @Nonnull
+        String get(int index) {
+            String value = decoded[index];
+
+            if (value == null) {
+                value = load(index);
+                decoded[index] = value;
+            }
+
+            return value;
+        }
+
+
+        /**
+         * Decode the string at {@code index} without retaining it. This is safe to call from any thread
+         * @param index     index of the string in the table
+         * @return the string at {@code index}
+         */
+        @Nonnull
+        String load(int index) {
+            ByteBuffer view = buffer.duplicate();
+            byte[] raw;
+
+            view.position(offsets[index]);
+            raw = new byte[view.getInt()];
+            view.get(raw);
+
+            return new String(raw, StandardCharsets.UTF_8);
+        }
+    }
+
+
+    /**
+     * Returns {@code true} only if {@code filePath} starts with the snapshot file header
+     * @param filePath      File to check
+     * @return {@code true} only if {@code filePath} starts with the snapshot file header
+     */
+    static boolean isSnapshot(@Nonnull String filePath) {
+        boolean snapshot;
+
+        try (
+            InputStream in = Files.newInputStream(Paths.get(filePath));
+            DataInputStream data = new DataInputStream(in)
+        ) {
+            snapshot = (data.readInt() == SnapshotReport.MAGIC);
+        } catch (IOException e) {
+            snapshot = false;
+        }
+
+        return snapshot;
+    }
+
+
+    /**
+     * Import settings from a binary snapshot
+     * @param builder           builder to import settings into
+     * @param filePath          File to read settings from
+     */
+    void importSnapshot(@Nonnull ApplicationModel.Builder builder, @Nonnull String filePath) {
+        Path file = Paths.get(filePath);
+
+        try (
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)
+        ) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            buffer = mapped;
+            readHeader();
+            readStringTable();
+            importNotes(builder);
+            importTypes(builder);
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new CukeDocException("Malformed snapshot", e);
+        } finally {
+            buffer = null;
+            strings = null;
+        }
+    }
+
+
+    private void readHeader() {
+        if (buffer.getInt() != SnapshotReport.MAGIC) {
+            throw new CukeDocException("Malformed snapshot: Invalid header");
+        }
+
+        int version = buffer.getInt();
+        if (version != SnapshotReport.VERSION) {
+            throw new CukeDocException("Unsupported snapshot version %d", version);
+        }
+    }
+
+
+    private void readStringTable() {
+        int count = buffer.getInt();
+        int[] offsets = new int[count];
+
+        for (int index = 0; index < count; index++) {
+            int offset = buffer.position();
+            int length = buffer.getInt();
+
+            if ((length < 0) || (length > buffer.remaining())) {
+                throw new CukeDocException("Malformed snapshot: Invalid string at offset %d", offset);
+            }
+
+            offsets[index] = offset;
+            buffer.position(buffer.position() + length);
+        }
+
+        strings = new StringTable(buffer.asReadOnlyBuffer(), offsets);
+    }
+
+
+    private void importNotes(@Nonnull ApplicationModel.Builder builder) {
+        int count = buffer.getInt();
+
+        for (int index = 0; index < count; index++) {
+            String name = readString();
+            String text = readString();
+            NoteFormat format = EnumUtils.toEnum(NoteFormat.class, readString());
+
+            builder.withNote(new NoteModel(name, text, format));
+        }
+    }
+
+
+    private void importTypes(@Nonnull ApplicationModel.Builder builder) {
+        int count = buffer.getInt();
+
+        for (int index = 0; index < count; index++) {
+            TypeModel.Builder type = new TypeModel.Builder(readString(), readString());
+            Supplier<String> description = readLazyString();
+            String since = readOptionalString();
+            int implementations = buffer.getInt();
+
+            if (description != null) {
+                type.withDescription(description);
+            }
+
+            if (since != null) {
+                type.since(since);
+            }
+
+            for (int implementation = 0; implementation < implementations; implementation++) {
+                type.withImplementation(importImplementation());
+            }
+
+            builder.withType(type.build());
+        }
+    }
+
+
+    @Nonnull
+    private ImplementationModel importImplementation() {
+        ImplementationModel.Builder builder = new ImplementationModel.Builder(readString());
+        Supplier<String> description = readLazyString();
+        String since = readOptionalString();
+        String tableName = readOptionalString();
+        String tableDescription = readOptionalString();
+
+        if (description != null) {
+            builder.withDescription(description);
+        }
+
+        if (since != null) {
+            builder.since(since);
+        }
+
+        if (tableName != null) {
+            builder.withTable(tableName, (tableDescription == null ? "" : tableDescription));
+        }
+
+        int mappings = buffer.getInt();
+        for (int index = 0; index < mappings; index++) {
+            builder.withMapping(readString(), readString(), readString());
+        }
+
+        int parameters = buffer.getInt();
+        for (int index = 0; index < parameters; index++) {
+            builder.withParameter(readString(), readString(), readString(), readString());
+        }
+
+        return builder.build();
+    }
+
+
+    @Nonnull
+    private String readString() {
+        String value = readOptionalString();
+
+        if (value == null) {
+            throw new CukeDocException("Malformed snapshot: Missing value at offset %d",
+                                       buffer.position() - Integer.BYTES);
+        }
+
+        return value;
+    }
+
+
+    @Nullable
+    private String readOptionalString() {
+        int index = buffer.getInt();
+
+        return (index == SnapshotReport.NO_STRING ? null : strings.get(index));
+    }
+
+
+    @Nullable
+    private Supplier<String> readLazyString() {
+        int index = buffer.getInt();
+        Supplier<String> supplier;
+
+        if (index == SnapshotReport.NO_STRING) {
+            supplier = null;
+        } else {
+            StringTable table = strings;
+
+            table.checkIndex(index);
+            supplier = () -> table.load(index);
+        }
+
+        return supplier;
+    }
+}
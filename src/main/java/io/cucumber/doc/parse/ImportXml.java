@@ -1,15 +1,23 @@
 package io.cucumber.doc.parse;
 
-import java.io.File;
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import io.cucumber.doc.exception.CukeDocException;
 import io.cucumber.doc.model.ApplicationModel;
@@ -18,94 +26,194 @@ import io.cucumber.doc.model.NoteModel;
 import io.cucumber.doc.model.TypeModel;
 import io.cucumber.doc.util.EnumUtils;
 import io.cucumber.doc.util.NoteFormat;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.xml.sax.SAXException;
 
 
 /**
- * Import the configuration from an XML document
+ * Import the configuration from an XML document.
+ * The document is streamed, so only the type that is currently being read is held in memory. Each note and
+ * type is passed to the {@link ApplicationModel.Builder} as soon as its closing tag has been read.
  */
 class ImportXml {
+    /** The StAX API does not promise that a factory is thread safe, and linked reports are imported concurrently */
+    private static final ThreadLocal<XMLInputFactory> FACTORY = ThreadLocal.withInitial(ImportXml::createFactory);
+
+
     /**
-     * Import settings from an XML document
-     * @param builder           builder to import settings into
-     * @param filePath          File to read settings from
+     * Called for each child element of the element being read. When it is called the reader is positioned on
+     * the START_ELEMENT of the child; on return it must be positioned on the matching END_ELEMENT.
      */
-    void importXml(@Nonnull ApplicationModel.Builder builder, @Nonnull String filePath) {
-        try {
-            Document document = getDocument(filePath);
-            Element element = document.getDocumentElement();
+    @FunctionalInterface
+    private interface ChildHandler {
+        void accept(@Nonnull String name) throws XMLStreamException;
+    }
 
-            importApplication(builder, element);
-        } catch (SAXException | ParserConfigurationException | IOException e) {
-            throw new CukeDocException("Malformed XML", e);
+
+    /**
+     * The simple (text only) children of a single element and the names of its complex children
+     */
+    private static class Fields {
+        private final Map<String, String> values = new HashMap<>();
+        private final Set<String> children = new HashSet<>();
+
+
+        void readText(@Nonnull XMLStreamReader reader, @Nonnull String name) throws XMLStreamException {
+            if (values.put(name, reader.getElementText()) != null) {
+                throw new CukeDocException("Malformed XML: Duplicate element for '%s'", name);
+            }
+        }
+
+
+        void addChild(@Nonnull String name) {
+            if (!children.add(name)) {
+                throw new CukeDocException("Malformed XML: Duplicate '%s' element", name);
+            }
+        }
+
+
+        void checkChild(@Nonnull String name) {
+            if (!children.contains(name)) {
+                throw new CukeDocException("Malformed XML: Missing '%s' element", name);
+            }
+        }
+
+
+        @Nonnull
+        String read(@Nonnull String name) {
+            String value = values.get(name);
+
+            if (value == null) {
+                throw new CukeDocException("Malformed XML: Missing element '%s'", name);
+            }
+
+            return value;
+        }
+
+
+        @Nonnull
+        <T extends Enum<T>> T read(@Nonnull String name, @Nonnull Class<T> type) {
+            String raw = read(name);
+            T value = EnumUtils.toEnum(type, raw);
+
+            return value;
+        }
+
+
+        @Nullable
+        String readOptional(@Nonnull String name) {
+            return values.get(name);
         }
     }
 
 
     @Nonnull
-    private Document getDocument(@Nonnull String fileName)
-                throws ParserConfigurationException, SAXException, IOException {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        File xmlFile = new File(fileName);
-        Document document = builder.parse(xmlFile);
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
 
-        document.getDocumentElement().normalize();
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
 
-        return document;
+        return factory;
     }
 
 
-    private void importApplication(@Nonnull ApplicationModel.Builder builder, @Nonnull Element element) {
-        importNotes(builder, element);
-        importTypes(builder, element);
+    /**
+     * Import settings from an XML document
+     * @param builder           builder to import settings into
+     * @param filePath          File to read settings from
+     */
+    void importXml(@Nonnull ApplicationModel.Builder builder, @Nonnull String filePath) {
+        try (
+            InputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(filePath)))
+        ) {
+            XMLStreamReader reader = FACTORY.get().createXMLStreamReader(in);
+
+            try {
+                reader.nextTag();
+                importApplication(builder, reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | IOException e) {
+            throw new CukeDocException("Malformed XML", e);
+        }
     }
 
 
-    private void importNotes(@Nonnull ApplicationModel.Builder builder, @Nonnull Element element) {
-        Element notes = getOptionalChild(element, "notes");
+    private void importApplication(@Nonnull ApplicationModel.Builder builder,
+                                   @Nonnull XMLStreamReader reader) throws XMLStreamException {
+        Fields fields = new Fields();
 
-        if (notes != null) {
-            for (Element note : getChildren(notes, "note")) {
-                NoteModel noteModel = importNote(note);
+        readChildren(reader, name -> {
+            if ("notes".equals(name)) {
+                fields.addChild(name);
+                importNotes(builder, reader);
+            } else if ("types".equals(name)) {
+                fields.addChild(name);
+                importTypes(builder, reader);
+            } else {
+                skipElement(reader);
+            }
+        });
 
-                builder.withNote(noteModel);
+        fields.checkChild("types");
+    }
+
+
+    private void importNotes(@Nonnull ApplicationModel.Builder builder,
+                             @Nonnull XMLStreamReader reader) throws XMLStreamException {
+        readChildren(reader, name -> {
+            if ("note".equals(name)) {
+                builder.withNote(importNote(reader));
+            } else {
+                skipElement(reader);
             }
-        }
+        });
     }
 
 
     @Nonnull
-    private NoteModel importNote(@Nonnull Element child) {
-        String name = readChild(child, "name");
-        String text = readChild(child, "text");
-        NoteFormat format = readChild(child, "format", NoteFormat.class);
+    private NoteModel importNote(@Nonnull XMLStreamReader reader) throws XMLStreamException {
+        Fields fields = readFields(reader, "name", "text", "format");
+        String name = fields.read("name");
+        String text = fields.read("text");
+        NoteFormat format = fields.read("format", NoteFormat.class);
         NoteModel model = new NoteModel(name, text, format);
 
         return model;
     }
 
 
-
-    private void importTypes(@Nonnull ApplicationModel.Builder builder, @Nonnull Element element) {
-        Element types = getChild(element, "types");
-
-        for (Element type : getChildren(types, "type")) {
-            TypeModel typeModel = importType(type);
-
-            builder.withType(typeModel);
-        }
+    private void importTypes(@Nonnull ApplicationModel.Builder builder,
+                             @Nonnull XMLStreamReader reader) throws XMLStreamException {
+        readChildren(reader, name -> {
+            if ("type".equals(name)) {
+                builder.withType(importType(reader));
+            } else {
+                skipElement(reader);
+            }
+        });
     }
 
 
     @Nonnull
-    private TypeModel importType(@Nonnull Element element) {
-        String name = readChild(element, "name");
-        String description = readOptionalChild(element, "description");
-        String since = readOptionalChild(element, "since");
+    private TypeModel importType(@Nonnull XMLStreamReader reader) throws XMLStreamException {
+        Fields fields = new Fields();
+        List<ImplementationModel> implementations = new ArrayList<>();
+
+        readChildren(reader, name -> {
+            if ("implementations".equals(name)) {
+                fields.addChild(name);
+                importImplementations(implementations, reader);
+            } else if (isOneOf(name, "name", "description", "since")) {
+                fields.readText(reader, name);
+            } else {
+                skipElement(reader);
+            }
+        });
+
+        String name = fields.read("name");
+        String description = fields.readOptional("description");
+        String since = fields.readOptional("since");
         TypeModel.Builder builder = new TypeModel.Builder(name);
 
         if (since != null) {
@@ -116,31 +224,53 @@ class ImportXml {
             builder.withDescription(description);
         }
 
-        importImplementations(builder, element);
+        for (ImplementationModel implementation : implementations) {
+            builder.withImplementation(implementation);
+        }
 
         return builder.build();
     }
 
 
-    private void importImplementations(@Nonnull TypeModel.Builder builder, @Nonnull Element element) {
-        Element implementations = getOptionalChild(element, "implementations");
-
-        if (implementations != null) {
-            for (Element type : getChildren(implementations, "implementation")) {
-                ImplementationModel implementation = importImplementation(type);
-
-                builder.withImplementation(implementation);
+    private void importImplementations(@Nonnull List<ImplementationModel> implementations,
+                                       @Nonnull XMLStreamReader reader) throws XMLStreamException {
+        readChildren(reader, name -> {
+            if ("implementation".equals(name)) {
+                implementations.add(importImplementation(reader));
+            } else {
+                skipElement(reader);
             }
-        }
+        });
     }
 
 
     @Nonnull
-    private ImplementationModel importImplementation(@Nonnull Element element) {
-        String name = readChild(element, "name");
-        String description = readOptionalChild(element, "description");
-        String since = readOptionalChild(element, "since");
-        Element table = getOptionalChild(element, "table");
+    private ImplementationModel importImplementation(@Nonnull XMLStreamReader reader) throws XMLStreamException {
+        Fields fields = new Fields();
+        List<Fields> parameters = new ArrayList<>();
+        List<Fields> mappings = new ArrayList<>();
+        List<Fields> table = new ArrayList<>(1);
+
+        readChildren(reader, name -> {
+            if ("table".equals(name)) {
+                fields.addChild(name);
+                table.add(readFields(reader, "name", "description"));
+            } else if ("parameters".equals(name)) {
+                fields.addChild(name);
+                readRepeatedFields(reader, parameters, "parameter", "name", "type", "format", "description");
+            } else if ("mappings".equals(name)) {
+                fields.addChild(name);
+                readRepeatedFields(reader, mappings, "mapping", "verb", "regEx");
+            } else if (isOneOf(name, "name", "description", "since")) {
+                fields.readText(reader, name);
+            } else {
+                skipElement(reader);
+            }
+        });
+
+        String name = fields.read("name");
+        String description = fields.readOptional("description");
+        String since = fields.readOptional("since");
         ImplementationModel.Builder builder = new ImplementationModel.Builder(name);
 
         if (since != null) {
@@ -151,149 +281,114 @@ class ImportXml {
             builder.withDescription(description);
         }
 
-        if (table != null) {
-            importTable(table, builder);
+        if (!table.isEmpty()) {
+            builder.withTable(table.get(0).read("name"), table.get(0).read("description"));
         }
 
-        importParameters(builder, element);
-        importMappings(builder, element);
-
-        return builder.build();
-    }
-
-
-    private void importTable(@Nonnull Element element, @Nonnull ImplementationModel.Builder builder) {
-        String name = readChild(element, "name");
-        String description = readChild(element, "description");
-
-        builder.withTable(name, description);
-    }
-
-
-    private void importParameters(@Nonnull ImplementationModel.Builder builder, @Nonnull Element element) {
-        Element parameters = getOptionalChild(element, "parameters");
-
-        if (parameters != null) {
-            for (Element type : getChildren(parameters, "parameter")) {
-                importParameter(builder, type);
-            }
+        for (Fields parameter : parameters) {
+            builder.withParameter(parameter.read("name"),
+                                  parameter.read("type"),
+                                  parameter.read("format"),
+                                  parameter.read("description"));
         }
-    }
 
+        for (Fields mapping : mappings) {
+            builder.withMapping(mapping.read("verb"), mapping.read("regEx"));
+        }
 
-    private void importParameter(@Nonnull ImplementationModel.Builder builder, @Nonnull Element element) {
-        String name = readChild(element, "name");
-        String type = readChild(element, "type");
-        String format = readChild(element, "format");
-        String description = readChild(element, "description");
-
-        builder.withParameter(name, type, format, description);
+        return builder.build();
     }
 
 
-    private void importMappings(@Nonnull ImplementationModel.Builder builder, @Nonnull Element element) {
-        Element mappings = getOptionalChild(element, "mappings");
-
-        if (mappings != null) {
-            for (Element type : getChildren(mappings, "mapping")) {
-                importMapping(builder, type);
+    /**
+     * Read the children of the current element, each of which is expected to be named {@code element} and
+     * contain the simple text elements {@code names}
+     * @param reader        XML reader, positioned on the START_ELEMENT of the parent
+     * @param results       list that each child is appended to
+     * @param element       name of the child elements
+     * @param names         names of the simple text elements in each child
+     * @throws XMLStreamException if the XML could not be read
+     */
+    private void readRepeatedFields(@Nonnull XMLStreamReader reader,
+                                    @Nonnull List<Fields> results,
+                                    @Nonnull String element,
+                                    @Nonnull String... names) throws XMLStreamException {
+        readChildren(reader, name -> {
+            if (element.equals(name)) {
+                results.add(readFields(reader, names));
+            } else {
+                skipElement(reader);
             }
-        }
-    }
-
-
-    private void importMapping(@Nonnull ImplementationModel.Builder builder, @Nonnull Element element) {
-        String verb = readChild(element, "verb");
-        String regEx = readChild(element, "regEx");
-
-        builder.withMapping(verb, regEx);
+        });
     }
 
 
+    /**
+     * Read the simple text elements that are children of the current element
+     * @param reader        XML reader, positioned on the START_ELEMENT of the parent
+     * @param names         names of the simple text elements to read. Any other elements are skipped
+     * @return              the text of the child elements
+     * @throws XMLStreamException if the XML could not be read
+     */
     @Nonnull
-    private List<Element> getChildren(@Nonnull Element element, @Nonnull String name) {
-        List<Element> children = new ArrayList<>();
-        Node child = element.getFirstChild();
-
-        while (child != null) {
-            String nodeName = child.getNodeName();
-
-            if (name.equals(nodeName)) {
-                children.add((Element) child);
+    private Fields readFields(@Nonnull XMLStreamReader reader, @Nonnull String... names) throws XMLStreamException {
+        Fields fields = new Fields();
+
+        readChildren(reader, name -> {
+            if (isOneOf(name, names)) {
+                fields.readText(reader, name);
+            } else {
+                skipElement(reader);
             }
+        });
 
-            child = child.getNextSibling();
-        }
-
-        return children;
+        return fields;
     }
 
 
-    @Nonnull
-    private Element getChild(@Nonnull Element element, @Nonnull String name) {
-        Element child = getOptionalChild(element, name);
-
-        if (child == null) {
-            throw new CukeDocException("Malformed XML: Missing '%s' element", name);
+    /**
+     * Pass each child of the current element to the {@code handler}
+     * @param reader        XML reader, positioned on the START_ELEMENT of the parent.
+     *                          On return it will be positioned on the END_ELEMENT of the parent
+     * @param handler       called for each child element
+     * @throws XMLStreamException if the XML could not be read
+     */
+    private void readChildren(@Nonnull XMLStreamReader reader,
+                              @Nonnull ChildHandler handler) throws XMLStreamException {
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            handler.accept(reader.getLocalName());
         }
-
-        return child;
     }
 
 
-    @Nullable
-    private Element getOptionalChild(@Nonnull Element element, @Nonnull String name) {
-        List<Element> children = getChildren(element, name);
-        Element child;
-
-        if (children.isEmpty()) {
-            child = null;
-        } else if (children.size() == 1) {
-            child = children.get(0);
-        } else {
-            throw new CukeDocException("Malformed XML: Duplicate '%s' element", name);
-        }
-
-        return child;
-    }
-
+    /**
+     * Skip the current element along with all of its content
+     * @param reader        XML reader, positioned on the START_ELEMENT to skip.
+     *                          On return it will be positioned on the matching END_ELEMENT
+     * @throws XMLStreamException if the XML could not be read
+     */
+    private void skipElement(@Nonnull XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
 
-    @Nonnull
-    private String readChild(@Nonnull Element element, @Nonnull String name) {
-        String child = readOptionalChild(element, name);
+        while (depth != 0) {
+            int event = reader.next();
 
-        if (child == null) {
-            throw new CukeDocException("Malformed XML: Missing element '%s'", name);
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
         }
-
-        return child;
-    }
-
-
-    @Nonnull
-    private <T extends Enum<T>> T readChild(@Nonnull Element element,
-                                            @Nonnull String name,
-                                            @Nonnull Class<T> type) {
-        String raw = readChild(element, name);
-        T value = EnumUtils.toEnum(type, raw);
-
-        return value;
     }
 
 
-    @Nullable
-    private String readOptionalChild(@Nonnull Element element, @Nonnull String name) {
-        List<Element> children = getChildren(element, name);
-        String content;
+    private static boolean isOneOf(@Nonnull String name, @Nonnull String... names) {
+        boolean found = false;
 
-        if (children.isEmpty()) {
-            content = null;
-        } else if (children.size() == 1) {
-            content = children.get(0).getTextContent();
-        } else {
-            throw new CukeDocException("Malformed XML: Duplicate element for '%s'", name);
+        for (String candidate : names) {
+            found |= candidate.equals(name);
         }
 
-        return content;
+        return found;
     }
 }
@@ -0,0 +1,143 @@
+package io.cucumber.doc.parse;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.Nonnull;
+
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.RootDoc;
+import com.sun.javadoc.SourcePosition;
+import io.cucumber.doc.config.Config;
+import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.TypeModel;
+import io.cucumber.doc.util.Trace;
+
+/**
+ * A model that is kept between runs in watch mode. The first run scans every class; subsequent runs only scan
+ * the classes in the source files that have changed since the previous run. Types from unchanged files are
+ * retained, so a complete {@link ApplicationModel} can be built after every run.
+ * <br>
+ * Each {@link ApplicationModel} takes ownership of its types, so the retained types are held in a
+ * {@link ScanCache} from which new copies are built for each model.
+ */
+public class IncrementalModel {
+    private static final String UNKNOWN_FILE = "";
+
+    private final ScanCache types = new ScanCache();
+    private final Set<String> typeNames = new TreeSet<>();
+    private final Map<String, Set<String>> typesByFile = new HashMap<>();
+    private final Set<String> changedFiles = new HashSet<>();
+    private boolean initialised = false;
+
+
+    /**
+     * Record source files that have been created, modified or deleted since the previous run
+     * @param files         the changed source files
+     */
+    public synchronized void changed(@Nonnull Collection<Path> files) {
+        for (Path file : files) {
+            changedFiles.add(normalise(file.toFile()));
+        }
+    }
+
+
+    /**
+     * Returns {@code true} only if the model has been populated by a complete scan
+     * @return {@code true} only if the model has been populated by a complete scan
+     */
+    public synchronized boolean isInitialised() {
+        return initialised;
+    }
+
+
+    /**
+     * Update the model from a JavaDoc run. The first run must include every source file. Subsequent runs should
+     * include the changed source files that still exist; any other classes in the {@code root} document are
+     * ignored
+     * @param root          root of the parse tree
+     * @return              the qualified names of the types that were added, changed or removed
+     */
+    @Nonnull
+    public synchronized Set<String> update(@Nonnull RootDoc root) {
+        Set<String> affected = new TreeSet<>();
+        Map<String, String> fileByClass = new HashMap<>();
+
+        for (ClassDoc classDoc : root.classes()) {
+            fileByClass.put(classDoc.qualifiedName(), sourceFile(classDoc));
+        }
+
+        for (String file : changedFiles) {
+            Set<String> previous = typesByFile.remove(file);
+
+            if (previous != null) {
+                affected.addAll(previous);
+                typeNames.removeAll(previous);
+            }
+        }
+
+        ApplicationModel.Builder scanned = new Scanner(root, Config.getInstance().getThreads(), null).scan();
+
+        for (TypeModel type : scanned.getTypes()) {
+            String name = type.getQualifiedName();
+            String file = fileByClass.getOrDefault(name, UNKNOWN_FILE);
+
+            if (!initialised || changedFiles.contains(file)) {
+                types.put(name, "", type);            // Entries are never checked, so they don't need a hash
+                typeNames.add(name);
+                typesByFile.computeIfAbsent(file, k -> new HashSet<>()).add(name);
+                affected.add(name);
+            }
+        }
+
+        Trace.message("Incremental scan of %d changed files updated %d types", changedFiles.size(), affected.size());
+
+        changedFiles.clear();
+        initialised = true;
+
+        return affected;
+    }
+
+
+    /**
+     * Build a complete application model from the retained types, the notes, the linked reports and the results
+     * @return a complete application model
+     */
+    @Nonnull
+    public synchronized ApplicationModel build() {
+        ApplicationModel.Builder builder = new ApplicationModel.Builder();
+
+        for (String name : typeNames) {
+            builder.withType(types.get(name));
+        }
+
+        ModelBuilder.addNotes(builder);
+        ModelBuilder.addLinks(builder);
+        ModelBuilder.addResults(builder);
+
+        return builder.withThreads(Config.getInstance().getThreads())
+                      .withFuzzing(Config.getInstance().isFuzz())
+                      .build();
+    }
+
+
+    @Nonnull
+    private static String sourceFile(@Nonnull ClassDoc classDoc) {
+        SourcePosition position = classDoc.position();
+        File file = (position == null ? null : position.file());
+
+        return (file == null ? UNKNOWN_FILE : normalise(file));
+    }
+
+
+    @Nonnull
+    private static String normalise(@Nonnull File file) {
+        return file.toPath().toAbsolutePath().normalize().toString();
+    }
+}
@@ -1,10 +1,19 @@
 package io.cucumber.doc.parse;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import javax.annotation.Nonnull;
 
 import com.sun.javadoc.RootDoc;
 import io.cucumber.doc.config.Config;
 import io.cucumber.doc.config.NoteDescription;
+import io.cucumber.doc.exception.CukeDocException;
 import io.cucumber.doc.model.ApplicationModel;
 import io.cucumber.doc.model.NoteModel;
 import io.cucumber.doc.util.FileUtils;
@@ -32,22 +41,45 @@ public class ModelBuilder {
      */
     @Nonnull
     public ApplicationModel build() {
-        ApplicationModel.Builder builder = new Scanner(root).scan();
+        ApplicationModel.Builder builder = scan();
 
         addNotes(builder);
         addLinks(builder);
+        addResults(builder);
 
-        return builder.build();
+        return builder.withThreads(Config.getInstance().getThreads())
+                      .withFuzzing(Config.getInstance().isFuzz())
+                      .build();
     }
 
 
 
+    /**
+     * Scan the root document, reusing the results of the previous run for any unchanged classes
+     * if a scan cache has been configured
+     * @return an application builder that contains all the scanned types
+     */
+    @Nonnull
+    private ApplicationModel.Builder scan() {
+        Config config = Config.getInstance();
+        String cachePath = config.getCachePath();
+        ScanCache cache = (cachePath == null ? null : ScanCache.load(cachePath));
+        ApplicationModel.Builder builder = new Scanner(root, config.getThreads(), cache).scan();
+
+        if (cache != null) {
+            cache.save(cachePath);
+        }
+
+        return builder;
+    }
+
+
     /**
      * Add the notes indicated from the command line options. Notes from referenced projects will be managed
      * through their XML reports
      * @param builder       application builder.
      */
-    private void addNotes(@Nonnull ApplicationModel.Builder builder) {
+    static void addNotes(@Nonnull ApplicationModel.Builder builder) {
         for (NoteDescription note : Config.getInstance().getNotes()) {
             String name = note.getName();
             String notesPath = note.getPath();
@@ -60,11 +92,115 @@ public class ModelBuilder {
     }
 
 
-    private void addLinks(@Nonnull ApplicationModel.Builder builder) {
-        for (String xmlFile : Config.getInstance().getLinks()) {
-            Trace.message("Linking to xml report %s", xmlFile);
+    /**
+     * Import the linked XML reports and snapshots. If more than one thread has been configured the reports are imported
+     * concurrently, each into its own builder. The builders are always merged in the order the links were
+     * specified so the model does not depend on which report finished first.
+     * @param builder       application builder.
+     */
+    static void addLinks(@Nonnull ApplicationModel.Builder builder) {
+        List<String> links = new ArrayList<>(Config.getInstance().getLinks());
+        int threads = Math.min(Config.getInstance().getThreads(), links.size());
+
+        if (threads <= 1) {
+            for (String xmlFile : links) {
+                builder.merge(importLink(xmlFile));
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+            try {
+                List<Future<ApplicationModel.Builder>> results = new ArrayList<>(links.size());
+
+                for (String xmlFile : links) {
+                    results.add(executor.submit(() -> importLink(xmlFile)));
+                }
+
+                for (Future<ApplicationModel.Builder> result : results) {
+                    builder.merge(waitFor(result));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+
+    /**
+     * Add the results of the Cucumber test runs indicated from the command line options
+     * @param builder       application builder.
+     */
+    static void addResults(@Nonnull ApplicationModel.Builder builder) {
+        Collection<String> results = Config.getInstance().getResults();
 
-            new ImportXml().importXml(builder, xmlFile);
+        if (!results.isEmpty()) {
+            ImportResults importer = new ImportResults();
+
+            for (String path : results) {
+                importer.read(path);
+            }
+
+            importer.addTo(builder);
         }
     }
+
+
+    /**
+     * Load a model from XML reports or snapshots generated by previous runs
+     * @param reports       the XML reports and snapshots to load
+     * @return a report model
+     */
+    @Nonnull
+    public static ApplicationModel load(@Nonnull List<String> reports) {
+        ApplicationModel.Builder builder = new ApplicationModel.Builder();
+
+        for (String report : reports) {
+            builder.merge(importLink(report));
+        }
+
+        return builder.build();
+    }
+
+
+    @Nonnull
+    private static ApplicationModel.Builder importLink(@Nonnull String xmlFile) {
+        ApplicationModel.Builder partial = new ApplicationModel.Builder();
+
+        Trace.message("Linking to report %s", xmlFile);
+
+        try {
+            if (ImportSnapshot.isSnapshot(xmlFile)) {
+                new ImportSnapshot().importSnapshot(partial, xmlFile);
+            } else {
+                new ImportXml().importXml(partial, xmlFile);
+            }
+        } catch (RuntimeException e) {
+            throw new CukeDocException("Failed to link to '" + xmlFile + "': " + e.getMessage(), e);
+        }
+
+        return partial;
+    }
+
+
+    @Nonnull
+    private static ApplicationModel.Builder waitFor(@Nonnull Future<ApplicationModel.Builder> result) {
+        ApplicationModel.Builder partial;
+
+        try {
+            partial = result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new CukeDocException("Failed to link to XML report", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CukeDocException("Interrupted while linking to XML reports", e);
+        }
+
+        return partial;
+    }
 }
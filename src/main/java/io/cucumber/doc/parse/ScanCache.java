@@ -0,0 +1,432 @@
+package io.cucumber.doc.parse;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.cucumber.doc.exception.CukeDocException;
+import io.cucumber.doc.model.ImplementationModel;
+import io.cucumber.doc.model.MappingModel;
+import io.cucumber.doc.model.ParameterModel;
+import io.cucumber.doc.model.TableModel;
+import io.cucumber.doc.model.TypeModel;
+import io.cucumber.doc.util.FileUtils;
+import io.cucumber.doc.util.HashUtils;
+import io.cucumber.doc.util.Trace;
+
+/**
+ * On-disk cache of scanned types, keyed by the qualified class name and a hash of everything the
+ * {@link Scanner} reads from the class. If the hash of a class is unchanged since the previous run the type is
+ * rebuilt from the cache instead of being scanned.
+ * <br>
+ * Only the entries that were looked up or added during this run are saved, so classes that have been deleted
+ * drop out of the cache.
+ * <br>
+ * The whole cache is discarded if it was written by a different version of CukeDoc or with a different set of
+ * cucumber annotations, as either could change the types that are found in an unchanged class.
+ */
+class ScanCache {
+    private static final int MAGIC = 0x43756b65;                    // "Cuke"
+    private static final int VERSION = 2;
+    private static final int NO_TYPE = -1;
+    private static final String DEVELOPMENT = "development";
+    private static final String KEY = buildKey();
+
+    private final String key;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+
+
+    /**
+     * Immutable cache entry
+     */
+    private static class Entry {
+        private final String hash;
+        private final byte[] type;                  // null if the class has no mappings
+
+        Entry(@Nonnull String hash, @Nullable byte[] type) {
+            this.hash = hash;
+            this.type = type;
+        }
+    }
+
+
+    private ScanCache(@Nonnull String key, @Nonnull Map<String, Entry> previous) {
+        this.key = key;
+        this.previous = previous;
+    }
+
+
+    /**
+     * Create an empty cache
+     */
+    ScanCache() {
+        this(KEY);
+    }
+
+
+    /**
+     * Create an empty cache with an explicit key
+     * @param key       identifies the configuration the cache is valid for
+     */
+    ScanCache(@Nonnull String key) {
+        this(key, new HashMap<>());
+    }
+
+
+    /**
+     * Returns a key that identifies everything other than the classes themselves that the scanned types depend
+     * on: the cache format, the version of CukeDoc and the cucumber annotations it looks for. Builds that are not
+     * run from a packaged jar do not have a version, so they all share a key.
+     * @return a key for the current configuration
+     */
+    @Nonnull
+    private static String buildKey() {
+        String version = ScanCache.class.getPackage().getImplementationVersion();
+        StringBuilder content = new StringBuilder();
+
+        content.append(VERSION).append('\n')
+               .append(version == null ? DEVELOPMENT : version).append('\n');
+
+        for (String annotation : FileUtils.readLines(FileUtils.findFile("annotations.txt"))) {
+            content.append(annotation).append('\n');
+        }
+
+        return HashUtils.hash(content.toString());
+    }
+
+
+    /**
+     * Load the cache saved by a previous run. If the file does not exist, or was written by an incompatible
+     * version of CukeDoc, an empty cache is returned
+     * @param path      location of the cache file
+     * @return          the loaded cache
+     */
+    @Nonnull
+    static ScanCache load(@Nonnull String path) {
+        return load(path, KEY);
+    }
+
+
+    /**
+     * Load the cache saved by a previous run. If the file does not exist, or was written with a different
+     * {@code key}, an empty cache is returned
+     * @param path      location of the cache file
+     * @param key       identifies the configuration the cache is valid for
+     * @return          the loaded cache
+     */
+    @Nonnull
+    static ScanCache load(@Nonnull String path, @Nonnull String key) {
+        Path file = Paths.get(path);
+        Map<String, Entry> entries = new HashMap<>();
+
+        if (Files.isReadable(file)) {
+            try (
+                DataInputStream data = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file)))
+            ) {
+                if ((data.readInt() == MAGIC) && (data.readInt() == VERSION) && key.equals(readString(data))) {
+                    int count = data.readInt();
+
+                    for (int index = 0; index < count; index++) {
+                        String name = readString(data);
+                        String hash = readString(data);
+                        int length = data.readInt();
+                        byte[] type = (length == NO_TYPE ? null : new byte[checkLength(data, length)]);
+
+                        if (type != null) {
+                            data.readFully(type);
+                        }
+
+                        entries.put(name, new Entry(hash, type));
+                    }
+                } else {
+                    Trace.message("Ignoring incompatible scan cache %s", path);
+                }
+            } catch (IOException e) {
+                Trace.message("Ignoring unreadable scan cache %s: %s", path, e.getMessage());
+                entries.clear();
+            }
+        }
+
+        Trace.message("Loaded %d entries from scan cache %s", entries.size(), path);
+
+        return new ScanCache(key, entries);
+    }
+
+
+    /**
+     * Save the entries that were used or added in this run
+     * @param path      location of the cache file
+     * @throws CukeDocException if the cache could not be written
+     */
+    void save(@Nonnull String path) throws CukeDocException {
+        Path file = Paths.get(path).toAbsolutePath();
+        Map<String, Entry> sorted = new TreeMap<>(current);
+
+        FileUtils.createDirectory(file.getParent().toString());
+
+        try (
+            OutputStream out = Files.newOutputStream(file);
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out))
+        ) {
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            writeString(data, key);
+            data.writeInt(sorted.size());
+
+            for (Map.Entry<String, Entry> entry : sorted.entrySet()) {
+                byte[] type = entry.getValue().type;
+
+                writeString(data, entry.getKey());
+                writeString(data, entry.getValue().hash);
+
+                if (type == null) {
+                    data.writeInt(NO_TYPE);
+                } else {
+                    data.writeInt(type.length);
+                    data.write(type);
+                }
+            }
+        } catch (IOException e) {
+            throw new CukeDocException("Failed to write scan cache '" + path + "'", e);
+        }
+
+        Trace.message("Saved %d entries to scan cache %s", sorted.size(), path);
+    }
+
+
+    /**
+     * Returns {@code true} only if the cache holds an up to date entry for a class. If it does then the entry
+     * is retained when the cache is saved
+     * @param qualifiedName     fully qualified name of the class
+     * @param hash              hash of the class content
+     * @return {@code true} only if the cache holds an up to date entry for a class.
+     */
+    boolean contains(@Nonnull String qualifiedName, @Nonnull String hash) {
+        Entry entry = previous.get(qualifiedName);
+        boolean found = ((entry != null) && entry.hash.equals(hash));
+
+        if (found) {
+            current.put(qualifiedName, entry);
+        }
+
+        return found;
+    }
+
+
+    /**
+     * Returns a new type model rebuilt from the cache, or {@code null} if the class has no mappings.
+     * The caller must have already checked the entry is current with {@link #contains(String, String)}
+     * @param qualifiedName     fully qualified name of the class
+     * @return a new type model rebuilt from the cache, or {@code null} if the class has no mappings.
+     */
+    @Nullable
+    TypeModel get(@Nonnull String qualifiedName) {
+        Entry entry = current.get(qualifiedName);
+
+        if (entry == null) {
+            throw new CukeDocException("Scan cache does not contain '%s'", qualifiedName);
+        }
+
+        return (entry.type == null ? null : readType(entry.type));
+    }
+
+
+    /**
+     * Add the result of scanning a class to the cache
+     * @param qualifiedName     fully qualified name of the class
+     * @param hash              hash of the class content
+     * @param type              the scanned type, or {@code null} if the class has no mappings
+     */
+    void put(@Nonnull String qualifiedName, @Nonnull String hash, @Nullable TypeModel type) {
+        current.put(qualifiedName, new Entry(hash, (type == null ? null : writeType(type))));
+    }
+
+
+    @Nonnull
+    private static byte[] writeType(@Nonnull TypeModel type) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        try (
+            DataOutputStream data = new DataOutputStream(buffer)
+        ) {
+            writeString(data, type.getSimpleName());
+            writeString(data, type.getQualifiedName());
+            writeOptionalString(data, type.getDescription());
+            writeOptionalString(data, type.getSince());
+            data.writeInt(type.getImplementations().size());
+
+            for (ImplementationModel implementation : type.getImplementations()) {
+                writeImplementation(data, implementation);
+            }
+        } catch (IOException e) {
+            throw new CukeDocException("Failed to cache " + type.getQualifiedName(), e);
+        }
+
+        return buffer.toByteArray();
+    }
+
+
+    private static void writeImplementation(@Nonnull DataOutputStream data,
+                                            @Nonnull ImplementationModel implementation) throws IOException {
+        TableModel table = implementation.getTable();
+
+        writeString(data, implementation.getName());
+        writeOptionalString(data, implementation.getDescription());
+        writeOptionalString(data, implementation.getSince());
+        writeOptionalString(data, (table == null ? null : table.getName()));
+        writeOptionalString(data, (table == null ? null : table.getDescription()));
+
+        data.writeInt(implementation.getMappings().size());
+        for (MappingModel mapping : implementation.getMappings()) {
+            writeString(data, mapping.getVerb());
+            writeString(data, mapping.getRegEx());
+        }
+
+        data.writeInt(implementation.getParameters().size());
+        for (ParameterModel parameter : implementation.getParameters()) {
+            writeString(data, parameter.getName());
+            writeString(data, parameter.getType());
+            writeString(data, parameter.getFormat());
+            writeString(data, parameter.getDescription());
+        }
+    }
+
+
+    @Nonnull
+    private static TypeModel readType(@Nonnull byte[] raw) {
+        TypeModel.Builder builder;
+
+        try (
+            DataInputStream data = new DataInputStream(new ByteArrayInputStream(raw))
+        ) {
+            builder = new TypeModel.Builder(readString(data), readString(data));
+
+            String description = readOptionalString(data);
+            String since = readOptionalString(data);
+            int count = data.readInt();
+
+            if (description != null) {
+                builder.withDescription(description);
+            }
+
+            if (since != null) {
+                builder.since(since);
+            }
+
+            for (int index = 0; index < count; index++) {
+                builder.withImplementation(readImplementation(data));
+            }
+        } catch (IOException e) {
+            throw new CukeDocException("Corrupt scan cache entry", e);
+        }
+
+        return builder.build();
+    }
+
+
+    @Nonnull
+    private static ImplementationModel readImplementation(@Nonnull DataInputStream data) throws IOException {
+        ImplementationModel.Builder builder = new ImplementationModel.Builder(readString(data));
+        String description = readOptionalString(data);
+        String since = readOptionalString(data);
+        String tableName = readOptionalString(data);
+        String tableDescription = readOptionalString(data);
+
+        if (description != null) {
+            builder.withDescription(description);
+        }
+
+        if (since != null) {
+            builder.since(since);
+        }
+
+        if (tableName != null) {
+            builder.withTable(tableName, (tableDescription == null ? "" : tableDescription));
+        }
+
+        int mappings = data.readInt();
+        for (int index = 0; index < mappings; index++) {
+            builder.withMapping(readString(data), readString(data));
+        }
+
+        int parameters = data.readInt();
+        for (int index = 0; index < parameters; index++) {
+            builder.withParameter(readString(data), readString(data), readString(data), readString(data));
+        }
+
+        return builder.build();
+    }
+
+
+    private static void writeString(@Nonnull DataOutputStream data, @Nonnull String value) throws IOException {
+        byte[] raw = value.getBytes(StandardCharsets.UTF_8);
+
+        data.writeInt(raw.length);
+        data.write(raw);
+    }
+
+
+    private static void writeOptionalString(@Nonnull DataOutputStream data,
+                                            @Nullable String value) throws IOException {
+        data.writeBoolean(value != null);
+
+        if (value != null) {
+            writeString(data, value);
+        }
+    }
+
+
+    @Nonnull
+    private static String readString(@Nonnull DataInputStream data) throws IOException {
+        byte[] raw = new byte[checkLength(data, data.readInt())];
+
+        data.readFully(raw);
+
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Check a length read from the cache before it is used to allocate an array. The cache is always read from
+     * memory, so the bytes that are available are exactly the bytes that remain
+     * @param data          the cache being read
+     * @param length        the length that was read
+     * @return              {@code length}
+     * @throws IOException  if the length is negative or longer than the rest of the cache
+     */
+    private static int checkLength(@Nonnull DataInputStream data, int length) throws IOException {
+        if ((length < 0) || (length > data.available())) {
+            throw new IOException("Invalid length " + length);
+        }
+
+        return length;
+    }
+
+
+    @Nullable
+    private static String readOptionalString(@Nonnull DataInputStream data) throws IOException {
+        return (data.readBoolean() ? readString(data) : null);
+    }
+
+
+    @Override
+    public String toString() {
+        return "ScanCache{previous=" + previous.size() + ", current=" + current.size() + '}';
+    }
+}
@@ -1,10 +1,12 @@
 package io.cucumber.doc.parse;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -23,33 +25,179 @@ import io.cucumber.doc.model.ImplementationModel;
 import io.cucumber.doc.model.TypeModel;
 import io.cucumber.doc.util.Check;
 import io.cucumber.doc.util.FileUtils;
+import io.cucumber.doc.util.HashUtils;
+import io.cucumber.doc.util.Preconditions;
 import io.cucumber.doc.util.RegExSplitter;
-import io.cucumber.doc.util.SetUtils;
 import io.cucumber.doc.util.StringUtils;
 
 /**
  * Extract the data we are interested in from a {@link RootDoc} and store it in a {@link TypeModel}
+ * <br>
+ * The JavaDoc API completes its symbols lazily and is not thread safe, so it is only ever used on the calling
+ * thread. Everything the models need is first read from the classes into plain {@link ClassData} objects; only the
+ * construction of the models from that data, and restoring unchanged classes from the cache, is shared between
+ * threads.
  */
 class Scanner {
-    private final Set<String> annotations;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final AnnotationMatcher ANNOTATIONS = loadAnnotations();
+
+    private final AnnotationMatcher annotations;
     private final RootDoc root;
+    private final int threads;
+    private final ScanCache cache;
 
 
     /**
-     * Create a scanner
+     * The comment on a class or method
+     */
+    private static class CommentData {
+        private final String text;
+        private final String since;
+
+
+        CommentData(@Nonnull Doc description) {
+            Tag[] tags = description.tags("@since");
+
+            this.text = description.commentText();
+            this.since = (Check.hasElement(tags, 0) ? tags[0].text() : null);
+        }
+    }
+
+
+    /**
+     * A cucumber annotation on a method
+     */
+    private static class AnnotationData {
+        private final String verb;
+        private final String regEx;
+
+
+        AnnotationData(@Nonnull AnnotationDesc description) {
+            AnnotationDesc.ElementValuePair[] values = description.elementValues();
+
+            this.verb = description.annotationType().simpleTypeName();
+            this.regEx = (values.length != 1 ? null : values[0].value().toString());
+        }
+    }
+
+
+    /**
+     * A formal parameter of a method
+     */
+    private static class ParameterData {
+        private final String name;
+        private final String type;
+
+
+        ParameterData(@Nonnull Parameter parameter) {
+            this.name = parameter.name();
+            this.type = parameter.type().qualifiedTypeName();
+        }
+    }
+
+
+    /**
+     * A method with at least one cucumber annotation
+     */
+    private static class MethodData {
+        private final String name;
+        private final List<AnnotationData> annotations;
+        private final List<ParameterData> parameters = new ArrayList<>();
+        private final Map<String, String> comments = new HashMap<>();
+        private final CommentData comment;
+
+
+        MethodData(@Nonnull MethodDoc description, @Nonnull List<AnnotationData> annotations) {
+            Parameter[] parameters = description.parameters();
+            ParamTag[] paramTags = description.paramTags();
+
+            this.name = description.name();
+            this.annotations = annotations;
+            this.comment = new CommentData(description);
+
+            if (parameters != null) {
+                for (Parameter parameter : parameters) {
+                    this.parameters.add(new ParameterData(parameter));
+                }
+            }
+
+            if (paramTags != null) {
+                for (ParamTag tag : paramTags) {
+                    comments.put(tag.parameterName(), tag.parameterComment());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Everything that is needed to build the model of a class, or to restore it from the cache
+     */
+    private static class ClassData {
+        private final String name;
+        private final String qualifiedName;
+        private final String hash;
+        private final boolean cached;
+        private final List<MethodData> methods = new ArrayList<>();
+        private CommentData comment = null;
+
+
+        ClassData(@Nonnull ClassDoc description, @Nullable String hash, boolean cached) {
+            this.name = description.name();
+            this.qualifiedName = description.qualifiedName();
+            this.hash = hash;
+            this.cached = cached;
+        }
+    }
+
+
+    /**
+     * Scans the classes in the parse tree, one at a time, without a cache.
+     * This is the same as calling {@code new Scanner(root, 1, null)}
      * @param root          root of the parse tree
      */
     Scanner(@Nonnull RootDoc root) {
+        this(root, 1, null);
+    }
+
+
+    /**
+     * Create a scanner
+     * @param root          root of the parse tree
+     * @param threads       number of threads used to build the models of the classes. If this is 1 the models are
+     *                          built sequentially on the calling thread. The classes themselves are always read
+     *                          on the calling thread.
+     * @param cache         optional cache of the types found by previous runs. Unchanged classes are restored
+     *                          from the cache, everything else is scanned and added to it.
+     */
+    Scanner(@Nonnull RootDoc root, int threads, @Nullable ScanCache cache) {
+        Preconditions.checkArgument((threads > 0), "Invalid thread count %d", threads);
+
+        this.root = root;
+        this.threads = threads;
+        this.cache = cache;
+        this.annotations = ANNOTATIONS;
+    }
+
+
+    /**
+     * The annotations are the same for every scan, so they are read once and shared by all scanners. This saves
+     * re-reading them for each request when CukeDoc is running as a daemon
+     * @return a matcher for all the cucumber mapping annotations
+     */
+    @Nonnull
+    private static AnnotationMatcher loadAnnotations() {
         URL file = FileUtils.findFile("annotations.txt");
         List<String> annotationList = FileUtils.readLines(file);
 
-        this.root = root;
-        this.annotations = SetUtils.toUnmodifiableSet(annotationList);
+        return new AnnotationMatcher(annotationList);
     }
 
 
     /**
-     * Scan the {@code root} document for cucumber annotations
+     * Scan the {@code root} document for cucumber annotations. The types are added to the builder in the same
+     * order as the classes in the {@code root} document regardless of the number of threads used.
      * @return          A mapper for all the classes that have cucumber mappings
      */
     @Nonnull
@@ -58,12 +206,11 @@ class Scanner {
         ClassDoc[] classes = root.classes();
 
         if (classes != null) {
-            for (ClassDoc classDoc : classes) {
-                TypeModel typeModel = scanClass(classDoc);
+            List<ClassData> data = readClasses(classes);
+            List<TypeModel> types = (threads == 1 ? buildTypes(data, 0, data.size()) : buildParallel(data));
 
-                if (typeModel != null) {
-                    builder.withType(typeModel);
-                }
+            for (TypeModel typeModel : types) {
+                builder.withType(typeModel);
             }
         }
 
@@ -72,87 +219,269 @@ class Scanner {
 
 
     /**
-     * Scan a class which <i>may</i> implement some cucumber mappings
+     * Read everything the models need from the classes. This uses the JavaDoc API, so it must be called on the
+     * thread that called {@link #scan()}
+     * @param classes       all of the classes to scan
+     * @return              the data for the classes that have to be built or restored, in the same order as
+     *                          {@code classes}
+     */
+    @Nonnull
+    private List<ClassData> readClasses(@Nonnull ClassDoc[] classes) {
+        List<ClassData> data = new ArrayList<>();
+
+        for (ClassDoc description : classes) {
+            ClassData classData = (cache == null ? readClass(description, null) : readCachedClass(description));
+
+            if (classData != null) {
+                data.add(classData);
+            }
+        }
+
+        return data;
+    }
+
+
+    /**
+     * Read a class unless the cache holds an up to date entry for it
      * @param description       Description of a class
-     * @return                  if the class implements cucumber mapping(s) then return a DTO that describes
-     *                              the class. If no mappings are implemented then return {@code null}
+     * @return                  the data for the class
      */
-    @Nullable
-    private TypeModel scanClass(@Nonnull ClassDoc description) {
-        TypeModel.Builder builder = null;
+    @Nonnull
+    private ClassData readCachedClass(@Nonnull ClassDoc description) {
+        String hash = fingerprint(description);
+        ClassData data;
+
+        if (cache.contains(description.qualifiedName(), hash)) {
+            data = new ClassData(description, hash, true);
+        } else {
+            data = readClass(description, hash);
+        }
+
+        return data;
+    }
+
+
+    /**
+     * Returns a hash of everything in a class that can change the type model: the class and method names,
+     * their comments (including any tags), the cucumber annotations and the parameter names and types.
+     * Source positions are not included, so moving a class within a file does not invalidate the cache.
+     * Other annotations can not change the model, and are not resolved as that is expensive.
+     * @param description       Description of a class
+     * @return                  a hash of the class content
+     */
+    @Nonnull
+    private String fingerprint(@Nonnull ClassDoc description) {
+        StringBuilder content = new StringBuilder();
         MethodDoc[] methods = description.methods();
 
+        content.append(description.qualifiedName()).append('\n')
+               .append(description.name()).append('\n')
+               .append(description.getRawCommentText()).append('\n');
+
         if (methods != null) {
             for (MethodDoc method : methods) {
-                ImplementationModel implementationModel = scanMethod(method);
+                AnnotationDesc[] annotations = method.annotations();
+                Parameter[] parameters = method.parameters();
+
+                content.append(method.name()).append('\n')
+                       .append(method.getRawCommentText()).append('\n');
 
-                if (implementationModel != null) {
-                    if (builder == null) {
-                        builder = new TypeModel.Builder(description.name(), description.qualifiedName());
-                        scanComment(builder, description);
+                if (annotations != null) {
+                    for (AnnotationDesc annotation : annotations) {
+                        if (this.annotations.matches(annotation)) {
+                            content.append(annotation).append('\n');
+                        }
                     }
+                }
 
-                    builder.withImplementation(implementationModel);
+                if (parameters != null) {
+                    for (Parameter parameter : parameters) {
+                        content.append(parameter.type().qualifiedTypeName())
+                               .append(' ')
+                               .append(parameter.name())
+                               .append('\n');
+                    }
                 }
             }
         }
 
-        return (builder == null ? null : builder.build());
+        return HashUtils.hash(content.toString());
     }
 
 
     /**
-     * Scan a method which <i>may</i> implement one or more cucumber mappings
-     * @param description       Description of a method
-     * @return                  if the method implements cucumber mapping(s) then return a DTO that describes
-     *                              the mapping. If no mappings are implemented then return {@code null}
+     * Read a class which <i>may</i> implement some cucumber mappings
+     * @param description       Description of a class
+     * @param hash              hash of the class content if the class is to be added to the cache
+     * @return                  the data for the class. If no mappings are implemented and the class is not being
+     *                              cached then return {@code null}
      */
     @Nullable
-    private ImplementationModel scanMethod(@Nonnull MethodDoc description) {
-        ImplementationModel.Builder builder = null;
-        String regEx = null;
+    private ClassData readClass(@Nonnull ClassDoc description, @Nullable String hash) {
+        ClassData data = new ClassData(description, hash, false);
+        MethodDoc[] methods = description.methods();
+
+        if (methods != null) {
+            for (MethodDoc method : methods) {
+                List<AnnotationData> mappings = readAnnotations(method);
+
+                if (!mappings.isEmpty()) {
+                    data.methods.add(new MethodData(method, mappings));
+                }
+            }
+        }
+
+        if (!data.methods.isEmpty()) {
+            data.comment = new CommentData(description);
+        }
+
+        return ((data.methods.isEmpty() && (hash == null)) ? null : data);
+    }
+
+
+    @Nonnull
+    private List<AnnotationData> readAnnotations(@Nonnull MethodDoc description) {
+        List<AnnotationData> mappings = new ArrayList<>();
         AnnotationDesc[] annotations = description.annotations();
 
         if (annotations != null) {
             for (AnnotationDesc annotation : annotations) {
-                String annotationClass = annotation.annotationType().qualifiedName();
+                if (this.annotations.matches(annotation)) {
+                    mappings.add(new AnnotationData(annotation));
+                }
+            }
+        }
 
-                if (this.annotations.contains(annotationClass)) {
-                    if (builder == null) {
-                        builder = new ImplementationModel.Builder(description.name());
-                    }
+        return mappings;
+    }
 
-                    regEx = scanAnnotation(builder, annotation, description.name());
-                }
+
+    /**
+     * Build the models on a dedicated fork/join pool
+     * @param data          the data for all of the classes
+     * @return              the types found in the classes, in the same order as {@code data}
+     */
+    @Nonnull
+    private List<TypeModel> buildParallel(@Nonnull List<ClassData> data) {
+        int chunkSize = Math.max(1, data.size() / (threads * CHUNKS_PER_THREAD));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<TypeModel> types;
+
+        try {
+            types = pool.invoke(new BuildTask(data, 0, data.size(), chunkSize));
+        } finally {
+            pool.shutdown();
+        }
+
+        return types;
+    }
+
+
+    /**
+     * Build the models for a contiguous block of classes
+     * @param data          the data for all of the classes
+     * @param start         index of the first class to build (inclusive)
+     * @param end           index of the last class to build (exclusive)
+     * @return              the types found in the block, in the same order as {@code data}
+     */
+    @Nonnull
+    private List<TypeModel> buildTypes(@Nonnull List<ClassData> data, int start, int end) {
+        List<TypeModel> types = new ArrayList<>();
+
+        for (int index = start; index < end; index++) {
+            TypeModel typeModel = buildCachedType(data.get(index));
+
+            if (typeModel != null) {
+                types.add(typeModel);
             }
         }
 
-        if (builder != null) {
-            scanParameters(builder, description, regEx);
-            scanComment(builder, description);
+        return types;
+    }
+
+
+    /**
+     * Restore a class from the cache if it has not changed, otherwise build it and update the cache
+     * @param data              the data for a class
+     * @return                  if the class implements cucumber mapping(s) then return a DTO that describes
+     *                              the class. If no mappings are implemented then return {@code null}
+     */
+    @Nullable
+    private TypeModel buildCachedType(@Nonnull ClassData data) {
+        TypeModel typeModel;
+
+        if (data.cached) {
+            typeModel = cache.get(data.qualifiedName);
+        } else {
+            typeModel = buildType(data);
+
+            if (data.hash != null) {
+                cache.put(data.qualifiedName, data.hash, typeModel);
+            }
+        }
+
+        return typeModel;
+    }
+
+
+    /**
+     * Build the model of a class which <i>may</i> implement some cucumber mappings
+     * @param data              the data for a class
+     * @return                  if the class implements cucumber mapping(s) then return a DTO that describes
+     *                              the class. If no mappings are implemented then return {@code null}
+     */
+    @Nullable
+    private TypeModel buildType(@Nonnull ClassData data) {
+        TypeModel.Builder builder = null;
+
+        if (!data.methods.isEmpty()) {
+            builder = new TypeModel.Builder(data.name, data.qualifiedName);
+            scanComment(builder, data.comment);
+
+            for (MethodData method : data.methods) {
+                builder.withImplementation(scanMethod(method));
+            }
         }
 
         return (builder == null ? null : builder.build());
     }
 
 
+    /**
+     * Build the model of a method that implements one or more cucumber mappings
+     * @param data              the data for a method
+     * @return                  a DTO that describes the mapping
+     */
+    @Nonnull
+    private ImplementationModel scanMethod(@Nonnull MethodData data) {
+        ImplementationModel.Builder builder = new ImplementationModel.Builder(data.name);
+        String regEx = null;
+
+        for (AnnotationData annotation : data.annotations) {
+            regEx = scanAnnotation(builder, annotation, data.name);
+        }
+
+        scanParameters(builder, data, regEx);
+        scanComment(builder, data.comment);
+
+        return builder.build();
+    }
+
+
     /**
      * Scan an cucumber annotation description to populate the DTO builder
      * @param builder               builder to populate
-     * @param description           cucumber annotation description
+     * @param annotation            cucumber annotation
      * @param methodName            name of method associated with the annotation
      * @return                      The Regular expression for cucumber mapping
      */
     @Nonnull
     private String scanAnnotation(
             @Nonnull ImplementationModel.Builder builder,
-            @Nonnull AnnotationDesc description,
+            @Nonnull AnnotationData annotation,
             @Nonnull String methodName) {
-        String verb = description.annotationType().simpleTypeName();
-        AnnotationDesc.ElementValuePair[] values = description.elementValues();
-        String regEx = (values.length != 1 ? null : values[0].value().toString());
-
-        regEx = (regEx == null ? null : StringUtils.trim(regEx, "\""));
+        String verb = annotation.verb;
+        String regEx = (annotation.regEx == null ? null : StringUtils.trim(annotation.regEx, "\""));
 
         if (!Check.hasText(regEx)) {
             throw new IllegalStateException("Annotation '" + verb + "' on method " + methodName + " is broken");
@@ -167,40 +496,26 @@ class Scanner {
     /**
      * Scan an cucumber mapping method description to populate the DTO builder
      * @param builder               builder to populate
-     * @param description           Description of a method that implementation at least one cucumber annotation
+     * @param data                  A method that implements at least one cucumber annotation
      * @param regEx                 A regular expression for the mapping
      */
     private void scanParameters(@Nonnull ImplementationModel.Builder builder,
-                                @Nonnull MethodDoc description,
+                                @Nonnull MethodData data,
                                 @Nonnull String regEx) {
-        Map<String, String> comments = new HashMap<>();
         List<String> captureGroups = RegExSplitter.compile(regEx).getCaptureGroups();
-        ParamTag[] paramTags = description.paramTags();
-
-        // Loop over the @param comments in the JavaDoc
-        if (paramTags != null) {
-            for (ParamTag tag : paramTags) {
-                comments.put(tag.parameterName(), tag.parameterComment());
-            }
-        }
-
-        Parameter[] parameters = description.parameters();
+        int index = 0;
 
         // Loop over the formal parameters matching them (in order) to their descriptions
-        if (parameters != null) {
-            int index = 0;
-            for (Parameter p : parameters) {
-                String name = p.name();
-                String type = p.type().qualifiedTypeName();
-                String comment = comments.get(name);
-                comment = Check.hasText(comment) ? comment : name;
-
-                if (index == captureGroups.size()) {
-                    builder.withTable(name, comment);
-                } else {
-                    String captureGroup = (index >= captureGroups.size() ? "<unknown>" : captureGroups.get(index++));
-                    builder.withParameter(name, type, captureGroup, comment);
-                }
+        for (ParameterData p : data.parameters) {
+            String name = p.name;
+            String comment = data.comments.get(name);
+            comment = Check.hasText(comment) ? comment : name;
+
+            if (index == captureGroups.size()) {
+                builder.withTable(name, comment);
+            } else {
+                String captureGroup = (index >= captureGroups.size() ? "<unknown>" : captureGroups.get(index++));
+                builder.withParameter(name, p.type, captureGroup, comment);
             }
         }
     }
@@ -209,24 +524,59 @@ class Scanner {
     /**
      * Scan an comment associated with an element to populate the builder
      * @param builder               builder to populate
-     * @param description           Description of a comment.
+     * @param comment               the comment on the element
      */
-    private void scanComment(@Nonnull DescriptionModelBuilder builder, @Nonnull Doc description) {
-        String comment = description.commentText();
-        Tag[] since = description.tags("@since");
+    private void scanComment(@Nonnull DescriptionModelBuilder builder, @Nonnull CommentData comment) {
+        if (Check.hasText(comment.text)) {
+            builder.withDescription(comment.text);
+        }
 
-        if (Check.hasText(comment)) {
-            builder.withDescription(comment);
+        if (Check.hasText(comment.since)) {
+            builder.since(comment.since);
         }
+    }
 
-        if (Check.hasElement(since, 0)) {
-            String version = since[0].text();
 
-            if (Check.hasText(version)) {
-                builder.since(version);
+    /**
+     * Fork/Join task that splits a block of classes in half until it is small enough to be built directly.
+     * Each task returns its own list, so no state is shared between the threads and the results can be
+     * concatenated in the original class order.
+     */
+    private class BuildTask extends RecursiveTask<List<TypeModel>> {
+        private static final long serialVersionUID = 0x01;
+
+        private final transient List<ClassData> data;
+        private final int start;
+        private final int end;
+        private final int chunkSize;
+
+
+        BuildTask(@Nonnull List<ClassData> data, int start, int end, int chunkSize) {
+            this.data = data;
+            this.start = start;
+            this.end = end;
+            this.chunkSize = chunkSize;
+        }
+
+
+        @Override
+        @Nonnull
+        protected List<TypeModel> compute() {
+            List<TypeModel> types;
+
+            if ((end - start) <= chunkSize) {
+                types = buildTypes(data, start, end);
+            } else {
+                int middle = (start + end) >>> 1;
+                BuildTask head = new BuildTask(data, start, middle, chunkSize);
+                BuildTask tail = new BuildTask(data, middle, end, chunkSize);
+
+                tail.fork();
+                types = head.compute();
+                types.addAll(tail.join());
             }
+
+            return types;
         }
     }
 }
-
-
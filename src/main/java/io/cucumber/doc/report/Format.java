@@ -7,6 +7,7 @@ import javax.annotation.Nonnull;
 import io.cucumber.doc.model.ApplicationModel;
 import io.cucumber.doc.report.basic.BasicReport;
 import io.cucumber.doc.report.html.HtmlReport;
+import io.cucumber.doc.report.snapshot.SnapshotReport;
 import io.cucumber.doc.report.xml.XmlReport;
 
 /**
@@ -20,7 +21,10 @@ public enum Format {
     XML(XmlReport::new),
 
     /** Report as a set of HTML pages */
-    HTML(HtmlReport::new);
+    HTML(HtmlReport::new),
+
+    /** Report as a compact binary snapshot that can be linked to by other projects */
+    SNAPSHOT(SnapshotReport::new);
 
 
     private final Function<ApplicationModel, ReportBuilder> constructor;
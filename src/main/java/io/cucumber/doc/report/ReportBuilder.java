@@ -1,5 +1,9 @@
 package io.cucumber.doc.report;
 
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
 /**
  * Create a CukeDoc report.
  */
@@ -8,4 +12,15 @@ public interface ReportBuilder {
      * Write the content of the data model in a format determined by the implementation
      */
     void writeReport();
+
+
+    /**
+     * Update a report that was previously written to the same directory after some of the types have changed.
+     * By default the whole report is rewritten; implementations that write a page per type may only rewrite
+     * the pages that have changed.
+     * @param changedTypes      qualified names of the types that have been added, changed or removed
+     */
+    default void updateReport(@Nonnull Set<String> changedTypes) {
+        writeReport();
+    }
 }
@@ -42,15 +42,16 @@ public class BasicReport implements ReportBuilder {
     @Override
     public void writeReport() {
         String target = Config.getInstance().getDirectory() + "/mappings.txt";
-        String report = generatedReport();
+        Date buildDate = DateUtils.localDate();
+        String buildStamp = Translate.message(LanguageKey.FOOTER_BUILD_STAMP, buildDate, buildDate);
+        String report = generatedReport(buildStamp);
 
-        FileUtils.delete(target);
-        FileUtils.write(target, report);
+        FileUtils.write(target, writer -> writer.write(report), buildStamp);
     }
 
 
     @Nonnull
-    private String generatedReport() {
+    private String generatedReport(@Nonnull String buildStamp) {
         StringBuilder builder = new StringBuilder();
         String title = Config.getInstance().getTitle();
 
@@ -59,7 +60,7 @@ public class BasicReport implements ReportBuilder {
                .append(EOL).append(EOL);
         describeMappings(builder);
         addNotes(builder);
-        addDate(builder);
+        addDate(builder, buildStamp);
 
         return builder.toString();
     }
@@ -125,10 +126,7 @@ public class BasicReport implements ReportBuilder {
     }
 
 
-    private void addDate(@Nonnull StringBuilder builder) {
-        Date buildDate = DateUtils.localDate();
-        String message = Translate.message(LanguageKey.FOOTER_BUILD_STAMP, buildDate, buildDate);
-
+    private void addDate(@Nonnull StringBuilder builder, @Nonnull String message) {
         builder.append(INDENT).append(INDENT)
                .append(HORIZONTAL_LINE)
                .append(EOL)
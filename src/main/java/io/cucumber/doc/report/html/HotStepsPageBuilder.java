@@ -0,0 +1,137 @@
+package io.cucumber.doc.report.html;
+
+import java.util.EnumSet;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.cucumber.doc.config.LanguageKey;
+import io.cucumber.doc.config.Translate;
+import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.ImplementationModel;
+import io.cucumber.doc.model.TimingModel;
+import io.cucumber.doc.util.EnumSets;
+import j2html.tags.ContainerTag;
+import j2html.tags.DomContent;
+import j2html.tags.Tag;
+
+import static j2html.TagCreator.a;
+import static j2html.TagCreator.caption;
+import static j2html.TagCreator.div;
+import static j2html.TagCreator.each;
+import static j2html.TagCreator.h2;
+import static j2html.TagCreator.iff;
+import static j2html.TagCreator.table;
+import static j2html.TagCreator.tbody;
+import static j2html.TagCreator.td;
+import static j2html.TagCreator.th;
+import static j2html.TagCreator.tr;
+
+/**
+ * Builder for the "hot steps" page, which lists the step definitions that were executed in the Cucumber test
+ * runs, slowest first. The table can be sorted on any column by clicking its heading.
+ */
+class HotStepsPageBuilder extends PageBuilder {
+    private static final String TABLE_ID = "hotSteps";
+    private static final int FIRST_NUMERIC_COLUMN = 2;
+
+
+    HotStepsPageBuilder(@Nonnull ApplicationModel model) {
+        super(Translate.message(LanguageKey.HOT_STEPS_TITLE), model, "");
+    }
+
+
+    @Nonnull
+    @Override
+    public EnumSet<MenuItem> menuOptions() {
+        return EnumSets.allExcept(MenuItem.HOT_STEPS);
+    }
+
+
+    @Nullable
+    @Override
+    public DomContent buildPageContent() {
+        DomContent result =
+            iff((!getModel().getTimings().isEmpty()),
+              div(
+                h2(Translate.message(LanguageKey.HOT_STEPS_TITLE)).withClass("title"),
+                timingTable()
+              ).withId("docBody")
+            );
+
+        return result;
+    }
+
+
+    @Nonnull
+    private Tag timingTable() {
+        int column = FIRST_NUMERIC_COLUMN;
+
+        return
+            div(
+              table(
+                caption(
+                  a(
+                    Translate.message(LanguageKey.HOT_STEPS_TITLE)
+                  )
+                ).withClasses("hotStepsTable", "hotStepsPanel", "panelTab", "activeTab"),
+                tbody(
+                  tr(
+                    heading(LanguageKey.HOT_STEPS_DEFINITION, 0, "colTypes"),
+                    heading(LanguageKey.OVERVIEW_TYPE, 1, "colTypes"),
+                    heading(LanguageKey.HOT_STEPS_CALLS, column++, "colNumber"),
+                    heading(LanguageKey.HOT_STEPS_TOTAL, column++, "colNumber"),
+                    heading(LanguageKey.HOT_STEPS_MEAN, column++, "colNumber"),
+                    heading(LanguageKey.HOT_STEPS_P95, column, "colNumber")
+                  ),
+                  each(getModel().getTimings(), timing ->
+                    tr(
+                      td(implementationLink(timing.getImplementation())).withClass("colTypes"),
+                      td(timing.getImplementation().getMappingType().getFriendlyName()).withClass("colTypes"),
+                      td(Integer.toString(timing.getCount()))
+                        .attr("data-value", timing.getCount())
+                        .withClass("colNumber"),
+                      duration(timing, TimingModel::getTotal),
+                      duration(timing, TimingModel::getMean),
+                      duration(timing, TimingModel::getPercentile95)
+                    )
+                  )
+                ).withClass("contentBody")
+              ).withId(TABLE_ID)
+               .withClass("summaryHotSteps")
+            ).withClass("contentContainer");
+    }
+
+
+    @Nonnull
+    private ContainerTag heading(@Nonnull LanguageKey key, int column, @Nonnull String className) {
+        return
+            th(
+              a(
+                Translate.message(key)
+              ).withHref("javascript:sortTable('" + TABLE_ID + "', " + column + ");")
+            ).withClass(className);
+    }
+
+
+    @Nonnull
+    private ContainerTag duration(@Nonnull TimingModel timing, @Nonnull ToLongFunction<TimingModel> value) {
+        long nanos = value.applyAsLong(timing);
+
+        return
+            td(HtmlUtils.formatDuration(nanos))
+              .attr("data-value", nanos)
+              .withClass("colNumber");
+    }
+
+
+    @Nonnull
+    private Tag implementationLink(@Nonnull ImplementationModel implementation) {
+        return
+            a(
+              implementation.getFriendlyName()
+            ).withHref(implementation.getMappingType().getQualifiedName() + ".html#" + implementation.getUniqueId())
+             .withClass("contentLink");
+    }
+}
@@ -1,6 +1,11 @@
 package io.cucumber.doc.report.html;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.annotation.Nonnull;
 
@@ -12,11 +17,16 @@ import io.cucumber.doc.model.NoteModel;
 import io.cucumber.doc.model.TypeModel;
 import io.cucumber.doc.report.ReportBuilder;
 import io.cucumber.doc.util.FileUtils;
+import io.cucumber.doc.util.Trace;
 
 
 /**
  * A report builder for pages of HTML
  * <b>Note:</b> This class and it's children use <a href="https://j2html.com/">j2html</a>
+ * <br>
+ * Pages do not depend on each other, so if more than one thread is configured the pages are rendered in parallel.
+ * No more pages than there are threads are held in memory at once. Everything in the model that is worked out on
+ * demand and shared by several pages is worked out before the pages are rendered.
  */
 public class HtmlReport implements ReportBuilder {
     private final ApplicationModel model;
@@ -32,14 +42,75 @@ public class HtmlReport implements ReportBuilder {
 
     @Override
     public void writeReport() {
-        writeOverview();
-        writeTypes();
-        writeNotes();
+        List<Runnable> pages = new ArrayList<>();
 
+        pages.add(this::writeOverview);
+        pages.add(this::writeHotSteps);
+        addTypes(pages);
+        addNotes(pages);
+
+        render(pages);
         copyResources();
     }
 
 
+    /**
+     * Rewrite the overview and the pages for the changed types. Pages for types that have been removed are
+     * deleted. All other pages are left untouched.
+     * @param changedTypes      qualified names of the types that have been added, changed or removed
+     */
+    @Override
+    public void updateReport(@Nonnull Set<String> changedTypes) {
+        Set<String> removed = new HashSet<>(changedTypes);
+        List<Runnable> pages = new ArrayList<>();
+
+        pages.add(this::writeOverview);
+        pages.add(this::writeHotSteps);
+
+        for (TypeModel type : model.getTypes()) {
+            if (changedTypes.contains(type.getQualifiedName())) {
+                pages.add(() -> writeType(type));
+                removed.remove(type.getQualifiedName());
+            }
+        }
+
+        render(pages);
+
+        for (String type : removed) {
+            FileUtils.delete(Config.getInstance().getDirectory() + "/" + type + ".html");
+        }
+    }
+
+
+    /**
+     * Render some pages, in parallel if more than one thread is configured
+     * @param pages     writes each page
+     */
+    private void render(@Nonnull List<Runnable> pages) {
+        long started = System.currentTimeMillis();
+        int threads = Config.getInstance().getThreads();
+
+        model.getTimings();                     // Shared by the menu of every page, so don't race to work it out
+        model.getConflicts();                   // Keep the analysis off the threads that render pages
+        model.getHazards();
+
+        if ((threads == 1) || (pages.size() == 1)) {
+            pages.forEach(Runnable::run);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+
+            try {
+                pool.submit(() -> pages.parallelStream().forEach(Runnable::run)).join();
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        Trace.message("Rendered %d HTML pages using %d threads in %d ms",
+                      pages.size(), threads, System.currentTimeMillis() - started);
+    }
+
+
     private void writeOverview() {
         String name = Translate.message(LanguageKey.OVERVIEW_TITLE);
         OverviewPageBuilder builder = new OverviewPageBuilder(name, model);
@@ -48,7 +119,12 @@ public class HtmlReport implements ReportBuilder {
     }
 
 
-    private void writeNotes() {
+    private void writeHotSteps() {
+        writePage(new HotStepsPageBuilder(model), MenuItem.HOT_STEPS.getHref());
+    }
+
+
+    private void addNotes(@Nonnull List<Runnable> pages) {
         Collection<NoteModel> notes = model.getNotes();
 
         if (!notes.isEmpty()) {
@@ -57,37 +133,37 @@ public class HtmlReport implements ReportBuilder {
             for (NoteModel note : notes) {
                 String targetFile = (singleNote ? "_index" : note.getFriendlyName());
                 String name = (singleNote ? Translate.message(LanguageKey.NOTES_TITLE) : targetFile);
-                NotesPageBuilder builder = new NotesPageBuilder(name, model, note);
 
-                writePage(builder, "notes/" + targetFile + ".html");
+                pages.add(() -> writePage(new NotesPageBuilder(name, model, note), "notes/" + targetFile + ".html"));
             }
 
             if (!singleNote) {
-                NotesIndexBuilder builder = new NotesIndexBuilder(model);
-                writePage(builder, MenuItem.NOTES.getHref());
+                pages.add(() -> writePage(new NotesIndexBuilder(model), MenuItem.NOTES.getHref()));
             }
         }
     }
 
 
-    private void writeTypes() {
+    private void addTypes(@Nonnull List<Runnable> pages) {
         for (TypeModel type : model.getTypes()) {
-            String name = type.getFriendlyName();
-            TypePageBuilder builder = new TypePageBuilder(name, model, type);
-            String targetFile = type.getQualifiedName() + ".html";
-
-            writePage(builder, targetFile);
+            pages.add(() -> writeType(type));
         }
     }
 
 
+    private void writeType(@Nonnull TypeModel type) {
+        String name = type.getFriendlyName();
+        TypePageBuilder builder = new TypePageBuilder(name, model, type);
+        String targetFile = type.getQualifiedName() + ".html";
+
+        writePage(builder, targetFile);
+        type.release();
+    }
+
+
     private void writePage(@Nonnull PageBuilder pageBuilder,
                            @Nonnull String targetFile) {
-        String html = pageBuilder.buildPage();
-
-        if (html != null) {
-            FileUtils.write(Config.getInstance().getDirectory() + "/" + targetFile, html);
-        }
+        pageBuilder.writePage(Config.getInstance().getDirectory() + "/" + targetFile);
     }
 
 
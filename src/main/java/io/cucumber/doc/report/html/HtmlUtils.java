@@ -1,5 +1,6 @@
 package io.cucumber.doc.report.html;
 
+import java.util.Locale;
 import java.util.function.Function;
 
 import javax.annotation.Nonnull;
@@ -9,10 +10,25 @@ import javax.annotation.Nullable;
  * Utility class for generating cleaned up versions of the text for a HTML report
  */
 class HtmlUtils {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+
     private HtmlUtils() {
     }
 
 
+    /**
+     * Returns a duration in milliseconds, to one decimal place. The format does not depend on the default locale,
+     * so the reports are the same on every machine
+     * @param nanos             the duration in nanoseconds
+     * @return                  the formatted duration, such as {@literal "12.3 ms"}
+     */
+    @Nonnull
+    static String formatDuration(long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / NANOS_PER_MILLI);
+    }
+
+
     /**
      * Remove embedded tags in the form {@code {@____} from descriptions. As the translation may introduce
      * HTML sequences the returned string should be added to the page using {@link j2html.TagCreator#rawHtml}.
@@ -21,6 +21,14 @@ enum MenuItem {
         }
     },
 
+    /** Menu item for a link to the step definitions with the longest execution times */
+    HOT_STEPS(LanguageKey.HOT_STEPS_TITLE, "hot-steps.html") {
+        @Override
+        public boolean isAvailable(@Nonnull ApplicationModel model) {
+            return (!model.getTimings().isEmpty());
+        }
+    },
+
     /** Menu item for a link to the Cucumber website */
     CUCUMBER(LanguageKey.MENU_CUCUMBER, "http://cucumber.io/");
 
@@ -1,6 +1,7 @@
 package io.cucumber.doc.report.html;
 
 import java.util.EnumSet;
+import java.util.List;
 import java.util.function.Function;
 
 import javax.annotation.Nonnull;
@@ -10,8 +11,11 @@ import io.cucumber.doc.config.Config;
 import io.cucumber.doc.config.LanguageKey;
 import io.cucumber.doc.config.Translate;
 import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.ConflictModel;
+import io.cucumber.doc.model.HazardModel;
 import io.cucumber.doc.model.MappingModel;
 import io.cucumber.doc.util.FileUtils;
+import io.cucumber.doc.util.RegExHazards;
 import j2html.tags.DomContent;
 import j2html.tags.Tag;
 import j2html.tags.Text;
@@ -63,7 +67,9 @@ class OverviewPageBuilder extends PageBuilder {
             h2(Translate.message(LanguageKey.OVERVIEW_TITLE)).withClass("title"),
             implementationDescription(),
             typeTable(),
-            mappingTable()
+            mappingTable(),
+            conflictTable(),
+            hazardTable()
           ).withId("docBody");
     }
 
@@ -146,6 +152,119 @@ class OverviewPageBuilder extends PageBuilder {
     }
 
 
+    @Nullable
+    private Tag conflictTable() {
+        List<ConflictModel> conflicts = getModel().getConflicts();
+
+        return
+          iff((!conflicts.isEmpty()),
+            div(
+              table(
+                caption(
+                  a(
+                    Translate.message(LanguageKey.OVERVIEW_CONFLICTS)
+                  ).withHref("javascript:showPanel('conflictTable', 'conflictPanel', 'conflictPanel');")
+                ).withClasses("conflictTable", "conflictPanel", "panelTab", "activeTab"),
+                tbody(
+                  tr(
+                    th(Translate.message(LanguageKey.GENERAL_MAPPING)).withClass("colMappings"),
+                    th(Translate.message(LanguageKey.GENERAL_MAPPING)).withClass("colMappings"),
+                    th(Translate.message(LanguageKey.OVERVIEW_EXAMPLE)).withClass("colDescription")
+                  ),
+                  each(conflicts, conflict ->
+                    tr(
+                      td(mappingLink(conflict.getFirst())).withClass("colMappings"),
+                      td(mappingLink(conflict.getSecond())).withClass("colMappings"),
+                      td(conflict.getExample()).withClass("colDescription")
+                    )
+                  )
+                ).withClass("contentBody")
+              ).withClass("summaryConflicts")
+            ).withClass("contentContainer")
+          );
+    }
+
+
+    @Nullable
+    private Tag hazardTable() {
+        List<HazardModel> hazards = getModel().getHazards();
+
+        return
+          iff((!hazards.isEmpty()),
+            div(
+              table(
+                caption(
+                  a(
+                    Translate.message(LanguageKey.OVERVIEW_HAZARDS)
+                  ).withHref("javascript:showPanel('hazardTable', 'hazardPanel', 'hazardPanel');")
+                ).withClasses("hazardTable", "hazardPanel", "panelTab", "activeTab"),
+                tbody(
+                  tr(
+                    th(Translate.message(LanguageKey.GENERAL_MAPPING)).withClass("colMappings"),
+                    th(Translate.message(LanguageKey.OVERVIEW_HAZARD)).withClass("colDescription"),
+                    th(Translate.message(LanguageKey.OVERVIEW_SPEED)).withClass("colNumber")
+                  ),
+                  each(hazards, hazard ->
+                    tr(
+                      td(mappingLink(hazard.getMapping())).withClass("colMappings"),
+                      td(
+                        each(hazard.getHazards(), fragment ->
+                          div(
+                            b(fragment.getFragment()),
+                            text(" " + hazardKind(fragment.getKind()))
+                          )
+                        )
+                      ).withClass("colDescription"),
+                      td(hazardSpeed(hazard.getSpeed())).withClass("colNumber")
+                    )
+                  )
+                ).withClass("contentBody")
+              ).withClass("summaryHazards")
+            ).withClass("contentContainer")
+          );
+    }
+
+
+    @Nonnull
+    private String hazardSpeed(@Nonnull HazardModel.Speed speed) {
+        LanguageKey key;
+
+        if (speed == HazardModel.Speed.TIMED_OUT) {
+            key = LanguageKey.OVERVIEW_TIMED_OUT;
+        } else if (speed == HazardModel.Speed.SLOW) {
+            key = LanguageKey.OVERVIEW_SLOW;
+        } else if (speed == HazardModel.Speed.FAST) {
+            key = LanguageKey.OVERVIEW_FAST;
+        } else {
+            key = LanguageKey.OVERVIEW_UNTIMED;
+        }
+
+        return Translate.message(key);
+    }
+
+
+    @Nonnull
+    private String hazardKind(@Nonnull RegExHazards.Kind kind) {
+        LanguageKey key = (kind == RegExHazards.Kind.NESTED_QUANTIFIER ?
+                              LanguageKey.OVERVIEW_NESTED_QUANTIFIER :
+                              LanguageKey.OVERVIEW_OVERLAPPING_ALTERNATION);
+
+        return Translate.message(key);
+    }
+
+
+    @Nonnull
+    private Tag mappingLink(@Nonnull MappingModel mapping) {
+        return
+            a(
+              i(text("@"), text(mapping.getVerb())),
+              b(mapping.getRegEx())
+            ).withHref(mapping.getMappingType().getQualifiedName() + ".html#"
+                              + mapping.getImplementation().getUniqueId())
+             .withClasses("contentLink", "mappingLink");
+    }
+
+
     @Nonnull
     private DomContent mappingPanel(@Nonnull String panelName,
                                     @Nonnull Text prefix,
@@ -13,7 +13,9 @@ import io.cucumber.doc.config.Translate;
 import io.cucumber.doc.model.ApplicationModel;
 import io.cucumber.doc.util.Check;
 import io.cucumber.doc.util.DateUtils;
+import io.cucumber.doc.util.FileUtils;
 import io.cucumber.doc.util.Trace;
+import j2html.tags.ContainerTag;
 import j2html.tags.DomContent;
 
 import static io.cucumber.doc.config.Translate.message;
@@ -88,10 +90,40 @@ abstract class PageBuilder {
     }
 
 
+    /**
+     * Render the page and stream it to a file. Unless compact pages have been requested the page is indented.
+     * j2html only indents a page into a String, so a formatted page is built in memory before it is written; the
+     * indented output remains the default so the pages are unchanged, and {@code -compact} bounds the memory for
+     * very large harnesses. The build time stamp is not part of the content hash, so a page that is otherwise
+     * unchanged is not rewritten.
+     * @param fileName      file name to write
+     * @return {@code true} only if the page exists and was written
+     */
+    boolean writePage(@Nonnull String fileName) {
+        ContainerTag page = buildPage();
+
+        if (page != null) {
+            boolean compact = Config.getInstance().isCompact();
+
+            FileUtils.write(fileName, writer -> {
+                writer.write(document().render());
+
+                if (compact) {
+                    page.render(writer);
+                } else {
+                    writer.write(page.renderFormatted());
+                }
+            }, buildStamp());
+        }
+
+        return (page != null);
+    }
+
+
     @Nullable
-    String buildPage() {
+    private ContainerTag buildPage() {
         DomContent content = buildPageContent();
-        String page;
+        ContainerTag page;
 
         if (content == null) {
             page = null;
@@ -101,7 +133,7 @@ abstract class PageBuilder {
 
             Trace.message("Creating page %s", pageName);
 
-            page = document().render() +
+            page =
                 html(
                   head(
                     title(Config.getInstance().getTitle() + " - " + pageName),
@@ -119,7 +151,7 @@ abstract class PageBuilder {
                     cukeDocFooter(),
                     bottom()
                   ).attr("onload", loadAction)
-                ).renderFormatted();
+                );
         }
 
         return page;
@@ -188,13 +220,19 @@ abstract class PageBuilder {
     }
 
 
+    @Nonnull
+    private String buildStamp() {
+        return message(LanguageKey.FOOTER_BUILD_STAMP, BUILD_DATE, BUILD_DATE);
+    }
+
+
     @Nonnull
     private DomContent cukeDocFooter() {
         return
             footer(
               span(Config.getInstance().getFooter()).withClass("customFooter"),
               span(
-                message(LanguageKey.FOOTER_BUILD_STAMP, BUILD_DATE, BUILD_DATE)
+                buildStamp()
               ).withId("buildDate")
             ).withId("footer");
     }
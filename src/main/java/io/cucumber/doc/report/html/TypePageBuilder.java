@@ -11,6 +11,7 @@ import io.cucumber.doc.config.Translate;
 import io.cucumber.doc.model.ApplicationModel;
 import io.cucumber.doc.model.ImplementationModel;
 import io.cucumber.doc.model.MappingModel;
+import io.cucumber.doc.model.TimingModel;
 import io.cucumber.doc.model.TypeModel;
 import j2html.tags.ContainerTag;
 import j2html.tags.DomContent;
@@ -182,7 +183,8 @@ class TypePageBuilder extends PageBuilder {
               implementationSince(implementationModel),
               mappings(implementationModel),
               implementationParameters(implementationModel),
-              implementationTable(implementationModel)
+              implementationTable(implementationModel),
+              implementationTiming(implementationModel)
             ).withClass("descriptionContainer")
           ).withClass("implementationDetail");
     }
@@ -283,4 +285,36 @@ class TypePageBuilder extends PageBuilder {
               ).withClass("implementationElement")
             );
     }
+
+
+    @Nullable
+    private Tag implementationTiming(@Nonnull ImplementationModel implementation) {
+        TimingModel timing = getModel().getTiming(implementation);
+
+        return
+            iff((timing != null),
+              div(
+                h5(Translate.message(LanguageKey.TYPE_TIMING)).withClass("elementSubtitle"),
+                ul(
+                  li(
+                    b(Translate.message(LanguageKey.HOT_STEPS_CALLS) + ":"),
+                    text(" " + (timing == null ? 0 : timing.getCount()))
+                  ),
+                  timingItem(LanguageKey.HOT_STEPS_TOTAL, (timing == null ? 0 : timing.getTotal())),
+                  timingItem(LanguageKey.HOT_STEPS_MEAN, (timing == null ? 0 : timing.getMean())),
+                  timingItem(LanguageKey.HOT_STEPS_P95, (timing == null ? 0 : timing.getPercentile95()))
+                )
+              ).withClass("implementationElement")
+            );
+    }
+
+
+    @Nonnull
+    private Tag timingItem(@Nonnull LanguageKey key, long nanos) {
+        return
+            li(
+              b(Translate.message(key) + ":"),
+              text(" " + HtmlUtils.formatDuration(nanos))
+            );
+    }
 }
@@ -0,0 +1,183 @@
+package io.cucumber.doc.report.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.cucumber.doc.config.Config;
+import io.cucumber.doc.exception.CukeDocException;
+import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.ImplementationModel;
+import io.cucumber.doc.model.MappingModel;
+import io.cucumber.doc.model.NoteModel;
+import io.cucumber.doc.model.ParameterModel;
+import io.cucumber.doc.model.TableModel;
+import io.cucumber.doc.model.TypeModel;
+import io.cucumber.doc.report.ReportBuilder;
+import io.cucumber.doc.util.FileUtils;
+
+
+/**
+ * A report builder for a compact binary snapshot of the model that can be linked to by other projects.
+ * <br>
+ * The file starts with a header ({@link #MAGIC}, {@link #VERSION}) followed by a table of every distinct string
+ * in the model, each written as a length prefixed UTF-8 byte sequence. The notes and types follow, with every
+ * string replaced by its index in the table ({@link #NO_STRING} for a missing value). The friendly version of
+ * each mapping is included so that it does not have to be recalculated when the snapshot is loaded.
+ */
+public class SnapshotReport implements ReportBuilder {
+    /** Marks the start of a snapshot file - "CkSn" */
+    public static final int MAGIC = 0x436b536e;
+
+    /** Version of the snapshot file format */
+    public static final int VERSION = 1;
+
+    /** String index used for a value that is not set */
+    public static final int NO_STRING = -1;
+
+    /** Name of the snapshot file in the output directory */
+    public static final String FILE_NAME = "cuke-doc.snapshot";
+
+    private final ApplicationModel model;
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+
+    /**
+     * Create a Report for a binary snapshot
+     * @param model         application model
+     */
+    public SnapshotReport(@Nonnull ApplicationModel model) {
+        this.model = model;
+    }
+
+
+    @Override
+    public void writeReport() {
+        String target = Config.getInstance().getDirectory() + "/" + FILE_NAME;
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        try {
+            try (
+                DataOutputStream data = new DataOutputStream(body)
+            ) {
+                processNotes(data);
+                processTypes(data);
+            }
+
+            FileUtils.writeBytes(target, out -> {
+                DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+
+                data.writeInt(MAGIC);
+                data.writeInt(VERSION);
+                writeStringTable(data);
+                body.writeTo(data);
+                data.flush();
+            });
+        } catch (IOException e) {
+            throw new CukeDocException("Unable to generate snapshot report", e);
+        }
+    }
+
+
+    private void writeStringTable(@Nonnull DataOutputStream data) throws IOException {
+        data.writeInt(strings.size());
+
+        for (String value : strings) {
+            byte[] raw = value.getBytes(StandardCharsets.UTF_8);
+
+            data.writeInt(raw.length);
+            data.write(raw);
+        }
+    }
+
+
+    private void processNotes(@Nonnull DataOutputStream data) throws IOException {
+        List<NoteModel> notes = model.getNotes();
+
+        data.writeInt(notes.size());
+
+        for (NoteModel note : notes) {
+            writeString(data, note.getFriendlyName());
+            writeString(data, note.getText());
+            writeString(data, note.getFormat().name());
+        }
+    }
+
+
+    private void processTypes(@Nonnull DataOutputStream data) throws IOException {
+        List<TypeModel> types = model.getTypes();
+
+        data.writeInt(types.size());
+
+        for (TypeModel type : types) {
+            writeString(data, type.getSimpleName());
+            writeString(data, type.getQualifiedName());
+            writeString(data, type.getDescription());
+            writeString(data, type.getSince());
+
+            data.writeInt(type.getImplementations().size());
+            for (ImplementationModel implementation : type.getImplementations()) {
+                processImplementation(data, implementation);
+            }
+        }
+    }
+
+
+    private void processImplementation(@Nonnull DataOutputStream data,
+                                       @Nonnull ImplementationModel implementation) throws IOException {
+        TableModel table = implementation.getTable();
+
+        writeString(data, implementation.getName());
+        writeString(data, implementation.getDescription());
+        writeString(data, implementation.getSince());
+        writeString(data, (table == null ? null : table.getName()));
+        writeString(data, (table == null ? null : table.getDescription()));
+
+        data.writeInt(implementation.getMappings().size());
+        for (MappingModel mapping : implementation.getMappings()) {
+            writeString(data, mapping.getVerb());
+            writeString(data, mapping.getRegEx());
+            writeString(data, mapping.getFriendlyMapping());
+        }
+
+        data.writeInt(implementation.getParameters().size());
+        for (ParameterModel parameter : implementation.getParameters()) {
+            writeString(data, parameter.getName());
+            writeString(data, parameter.getType());
+            writeString(data, parameter.getFormat());
+            writeString(data, parameter.getDescription());
+        }
+    }
+
+
+    /**
+     * Write the index of a string in the string table, adding it to the table if this is the first time it is used
+     * @param data          destination stream
+     * @param value         string to write. This may be {@code null}
+     * @throws IOException  if the index could not be written
+     */
+    private void writeString(@Nonnull DataOutputStream data, @Nullable String value) throws IOException {
+        int index;
+
+        if (value == null) {
+            index = NO_STRING;
+        } else {
+            index = indexes.computeIfAbsent(value, v -> {
+                strings.add(v);
+                return strings.size() - 1;
+            });
+        }
+
+        data.writeInt(index);
+    }
+}
@@ -1,25 +1,22 @@
 package io.cucumber.doc.report.xml;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Result;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 import io.cucumber.doc.config.Config;
 import io.cucumber.doc.exception.CukeDocException;
 import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.ConflictModel;
+import io.cucumber.doc.model.HazardModel;
 import io.cucumber.doc.model.ImplementationModel;
 import io.cucumber.doc.model.MappingModel;
 import io.cucumber.doc.model.NoteModel;
@@ -29,18 +26,36 @@ import io.cucumber.doc.model.TypeModel;
 import io.cucumber.doc.report.ReportBuilder;
 import io.cucumber.doc.util.DateUtils;
 import io.cucumber.doc.util.FileUtils;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Text;
+import io.cucumber.doc.util.RegExHazards;
 
 
 /**
- * A report builder for pages of XML
+ * A report builder for pages of XML.
+ * <br>
+ * The report is streamed to disk with an {@link XMLStreamWriter} as the application model is walked, so only the
+ * element that is being written is held in memory. Elements are indented in the same way as the earlier DOM based
+ * writer, and elements without content are written as empty elements.
  */
 public class XmlReport implements ReportBuilder {
     private static final String VERSION = "1.0.1";
+    private static final String ENCODING = "UTF-8";
+    private static final String INDENT = "    ";
+    private static final String EOL = System.lineSeparator();
 
     private final ApplicationModel model;
+    private final List<String> indents = new ArrayList<>();
+    private XMLStreamWriter writer;
+    private int depth;
+
+
+    /**
+     * Writes an element for an item in a list
+     * @param <T>       type of the items in the list
+     */
+    @FunctionalInterface
+    private interface ItemWriter<T> {
+        void write(@Nonnull T item) throws XMLStreamException;
+    }
 
 
     /**
@@ -56,217 +71,255 @@ public class XmlReport implements ReportBuilder {
     public void writeReport() {
         String target = Config.getInstance().getDirectory() + "/cuke-doc.xml";
 
-        try {
-            Document document = createDocument();
-
-            processApplication(document, model);
+        FileUtils.write(target, this::writeDocument);
+    }
 
-            Transformer transformer = createTransformer();
-            DOMSource source = new DOMSource(document);
-            File destination = new File(target);
-            Result file = new StreamResult(destination);
 
-            FileUtils.createDirectory(destination.getParent());
-            transformer.transform(source, file);
-        } catch (ParserConfigurationException | TransformerException e) {
+    private void writeDocument(@Nonnull Writer out) throws IOException {
+        try {
+            writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+            depth = 0;
+
+            writer.writeStartDocument(ENCODING, "1.0");
+            processApplication(model);
+            writer.writeEndDocument();
+            writer.close();                                 // Flushes the writer, but does not close the file
+            out.write(EOL);
+        } catch (XMLStreamException e) {
             throw new CukeDocException("Unable to generate XML report", e);
         }
     }
 
 
-    @Nonnull
-    private Document createDocument() throws ParserConfigurationException {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder builder = factory.newDocumentBuilder();
+    private void processApplication(@Nonnull ApplicationModel model) throws XMLStreamException {
+        startElement("cuke-doc");
+
+        processMeta();
+        processNotes(model);
+        processTypes(model);
+        processConflicts(model);
+        processHazards(model);
 
-        return builder.newDocument();
+        endElement();
     }
 
 
-    @Nonnull
-    private Transformer createTransformer() throws TransformerConfigurationException {
-        TransformerFactory transformerFactory = TransformerFactory.newInstance();
-        Transformer transformer = transformerFactory.newTransformer();
+    private void processMeta() throws XMLStreamException {
+        startElement("meta");
 
-        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        addNode("version", VERSION);
+        addNode("date", DateUtils.localDate().toString());
 
-        return transformer;
+        endElement();
     }
 
 
-    private void processApplication(@Nonnull Document document, @Nonnull ApplicationModel model) {
-        Element element = document.createElement("cuke-doc");
-        document.appendChild(element);
+    private void processNotes(@Nonnull ApplicationModel model) throws XMLStreamException {
+        Collection<NoteModel> notes = model.getNotes();
 
-        processMeta(document, element);
-        processNotes(document, element, model);
-        processTypes(document, element, model);
+        if (!notes.isEmpty()) {
+            processList("notes", notes, this::processNote);
+        }
     }
 
 
-    private void processMeta(@Nonnull Document document, @Nonnull Element parent) {
-        Element element = document.createElement("meta");
+    private void processNote(@Nonnull NoteModel model) throws XMLStreamException {
+        startElement("note");
 
-        addNode(document, element, "version", VERSION);
-        addNode(document, element, "date", DateUtils.localDate().toString());
+        addNode("name", model.getFriendlyName());
+        addNode("text", model.getText());
+        addNode("format", model.getFormat().name());
 
-        parent.appendChild(element);
+        endElement();
     }
 
 
-    private void processNotes(@Nonnull Document document, @Nonnull Element parent, @Nonnull ApplicationModel model) {
-        Collection<NoteModel> notes = model.getNotes();
+    private void processTypes(@Nonnull ApplicationModel model) throws XMLStreamException {
+        processList("types", model.getTypes(), this::processType);
+    }
 
-        if (!notes.isEmpty()) {
-            Element element = document.createElement("notes");
 
-            for (NoteModel note : notes) {
-                processNote(document, element, note);
-            }
+    private void processType(@Nonnull TypeModel model) throws XMLStreamException {
+        startElement("type");
 
-            parent.appendChild(element);
-        }
-    }
+        addNode("name", model.getQualifiedName());
+        addNode("description", model.getDescription());
+        addNode("since", model.getSince());
 
+        processList("implementations", model.getImplementations(), this::processImplementation);
 
-    private void processNote(@Nonnull Document document, @Nonnull Element parent, @Nonnull NoteModel model) {
-        Element element = document.createElement("note");
+        endElement();
+    }
 
-        addNode(document, element, "name", model.getFriendlyName());
-        addNode(document, element, "text", model.getText());
-        addNode(document, element, "format", model.getFormat().name());
 
-        parent.appendChild(element);
-    }
+    private void processImplementation(@Nonnull ImplementationModel model) throws XMLStreamException {
+        startElement("implementation");
 
+        addNode("name", model.getName());
+        addNode("description", model.getDescription());
+        addNode("since", model.getSince());
 
-    private void processTypes(@Nonnull Document document, @Nonnull Element parent, @Nonnull ApplicationModel model) {
-        Element element = document.createElement("types");
+        processList("mappings", model.getMappings(), this::processMapping);
+        processList("parameters", model.getParameters(), this::processParameter);
 
-        for (TypeModel type : model.getTypes()) {
-            processType(document, element, type);
+        if (model.getTable() != null) {
+            processTable(model.getTable());
         }
 
-        parent.appendChild(element);
+        endElement();
     }
 
 
-    private void processType(@Nonnull Document document, @Nonnull Element parent, @Nonnull TypeModel model) {
-        Element element = document.createElement("type");
+    private void processMapping(@Nonnull MappingModel model) throws XMLStreamException {
+        startElement("mapping");
 
-        addNode(document, element, "name", model.getQualifiedName());
-        addNode(document, element, "description", model.getDescription());
-        addNode(document, element, "since", model.getSince());
+        addNode("verb", model.getVerb());
+        addNode("regEx", model.getRegEx());
 
-        processImplementations(document, model, element);
-
-        parent.appendChild(element);
+        endElement();
     }
 
 
-    private void processImplementations(@Nonnull Document document,
-                                        @Nonnull TypeModel model,
-                                        @Nonnull Element parent) {
-        Element element = document.createElement("implementations");
+    private void processParameter(@Nonnull ParameterModel model) throws XMLStreamException {
+        startElement("parameter");
 
-        for (ImplementationModel implementation : model.getImplementations()) {
-            processImplementation(document, element, implementation);
-        }
+        addNode("type", model.getType());
+        addNode("format", model.getFormat());
+        addNode("name", model.getName());
+        addNode("description", model.getDescription());
 
-        parent.appendChild(element);
+        endElement();
     }
 
 
-    private void processImplementation(@Nonnull Document document,
-                                       @Nonnull Element parent,
-                                       @Nonnull ImplementationModel model) {
-        Element element = document.createElement("implementation");
+    private void processConflicts(@Nonnull ApplicationModel model) throws XMLStreamException {
+        Collection<ConflictModel> conflicts = model.getConflicts();
+
+        if (!conflicts.isEmpty()) {
+            processList("conflicts", conflicts, this::processConflict);
+        }
+    }
 
-        addNode(document, element, "name", model.getName());
-        addNode(document, element, "description", model.getDescription());
-        addNode(document, element, "since", model.getSince());
 
-        processMappings(document, model, element);
-        processParameters(document, model, element);
+    private void processConflict(@Nonnull ConflictModel model) throws XMLStreamException {
+        startElement("conflict");
 
-        if (model.getTable() != null) {
-            processTable(document, element, model.getTable());
-        }
+        processMappingReference(model.getFirst());
+        processMappingReference(model.getSecond());
+        addNode("example", model.getExample());
 
-        parent.appendChild(element);
+        endElement();
     }
 
 
-    private void processMappings(@Nonnull Document document,
-                                 @Nonnull ImplementationModel model,
-                                 @Nonnull Element parent) {
-        Element element = document.createElement("mappings");
+    private void processMappingReference(@Nonnull MappingModel model) throws XMLStreamException {
+        startElement("mapping");
 
-        for (MappingModel mapping : model.getMappings()) {
-            processMapping(document, element, mapping);
-        }
+        addNode("verb", model.getVerb());
+        addNode("regEx", model.getRegEx());
+        addNode("implementation", model.getImplementation().getQualifiedName());
 
-        parent.appendChild(element);
+        endElement();
     }
 
 
-    private void processMapping(@Nonnull Document document, @Nonnull Element parent, @Nonnull MappingModel model) {
-        Element element = document.createElement("mapping");
-
-        addNode(document, element, "verb", model.getVerb());
-        addNode(document, element, "regEx", model.getRegEx());
+    private void processHazards(@Nonnull ApplicationModel model) throws XMLStreamException {
+        Collection<HazardModel> hazards = model.getHazards();
 
-        parent.appendChild(element);
+        if (!hazards.isEmpty()) {
+            processList("hazards", hazards, this::processHazard);
+        }
     }
 
 
-    private void processParameters(@Nonnull Document document,
-                                   @Nonnull ImplementationModel model,
-                                   @Nonnull Element parent) {
-        Element element = document.createElement("parameters");
+    private void processHazard(@Nonnull HazardModel model) throws XMLStreamException {
+        startElement("hazard");
 
-        for (ParameterModel parameter : model.getParameters()) {
-            processParameter(document, element, parameter);
+        processMappingReference(model.getMapping());
+
+        for (RegExHazards.Hazard hazard : model.getHazards()) {
+            startElement("fragment");
+            addNode("kind", hazard.getKind().name().toLowerCase());
+            addNode("regEx", hazard.getFragment());
+            endElement();
         }
 
-        parent.appendChild(element);
+        addNode("speed", model.getSpeed().name().toLowerCase());
+
+        endElement();
     }
 
 
-    private void processParameter(@Nonnull Document document, @Nonnull Element parent, @Nonnull ParameterModel model) {
-        Element element = document.createElement("parameter");
+    private void processTable(@Nonnull TableModel model) throws XMLStreamException {
+        startElement("table");
 
-        addNode(document, element, "type", model.getType());
-        addNode(document, element, "format", model.getFormat());
-        addNode(document, element, "name", model.getName());
-        addNode(document, element, "description", model.getDescription());
+        addNode("name", model.getName());
+        addNode("description", model.getDescription());
 
-        parent.appendChild(element);
+        endElement();
     }
 
 
-    private void processTable(@Nonnull Document document, @Nonnull Element parent, @Nonnull TableModel model) {
-        Element element = document.createElement("table");
+    /**
+     * Write an element that contains an element for each item in a list, or an empty element if the list is empty
+     * @param name          name of the list element
+     * @param items         the items in the list
+     * @param itemWriter    writes the element for each item
+     * @param <T>           type of the items in the list
+     * @throws XMLStreamException if the elements could not be written
+     */
+    private <T> void processList(@Nonnull String name,
+                                 @Nonnull Collection<T> items,
+                                 @Nonnull ItemWriter<T> itemWriter) throws XMLStreamException {
+        if (items.isEmpty()) {
+            indent();
+            writer.writeEmptyElement(name);
+        } else {
+            startElement(name);
+
+            for (T item : items) {
+                itemWriter.write(item);
+            }
+
+            endElement();
+        }
+    }
 
-        addNode(document, element, "name", model.getName());
-        addNode(document, element, "description", model.getDescription());
 
-        parent.appendChild(element);
+    private void startElement(@Nonnull String name) throws XMLStreamException {
+        indent();
+        writer.writeStartElement(name);
+        depth++;
     }
 
 
-    private void addNode(@Nonnull Document document,
-                         @Nonnull Element element,
-                         @Nonnull String name,
-                         @Nullable String value) {
-        if (value != null) {
-            Element node = document.createElement(name);
-            Text text = document.createTextNode(value);
+    private void endElement() throws XMLStreamException {
+        depth--;
+        indent();
+        writer.writeEndElement();
+    }
+
 
-            node.appendChild(text);
-            element.appendChild(node);
+    private void addNode(@Nonnull String name, @Nullable String value) throws XMLStreamException {
+        if (value != null) {
+            indent();
+
+            if (value.isEmpty()) {
+                writer.writeEmptyElement(name);
+            } else {
+                writer.writeStartElement(name);
+                writer.writeCharacters(value);
+                writer.writeEndElement();
+            }
         }
     }
-}
 
 
+    private void indent() throws XMLStreamException {
+        while (indents.size() <= depth) {
+            indents.add(indents.isEmpty() ? EOL : indents.get(indents.size() - 1) + INDENT);
+        }
+
+        writer.writeCharacters(indents.get(depth));
+    }
+}
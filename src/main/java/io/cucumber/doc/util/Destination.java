@@ -0,0 +1,28 @@
+package io.cucumber.doc.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Where the content of a file is sent while it is being written. The file only replaces its target once the
+ * destination has been committed; closing a destination that has not been committed abandons the content.
+ */
+interface Destination extends Closeable {
+    /**
+     * Returns the stream that the content is written to
+     * @return the stream that the content is written to
+     */
+    @Nonnull
+    OutputStream getStream();
+
+
+    /**
+     * Complete the file, replacing the target unless the open {@link OutputManifest} shows that it is unchanged
+     * @param hash          the hash of the content of the file
+     * @throws IOException if the file could not be completed
+     */
+    void commit(@Nonnull String hash) throws IOException;
+}
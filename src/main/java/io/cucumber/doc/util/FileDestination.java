@@ -0,0 +1,59 @@
+package io.cucumber.doc.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Writes a file through a temporary file in the same directory, which replaces the target when it is committed
+ */
+class FileDestination implements Destination {
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path target;
+    private final Path temporary;
+    private final OutputStream stream;
+
+
+    /**
+     * Create a temporary file for a target
+     * @param target        the absolute path of the file that is being written
+     * @throws IOException if the temporary file could not be created
+     */
+    FileDestination(@Nonnull Path target) throws IOException {
+        this.target = target;
+        this.temporary = target.resolveSibling(
+            "." + target.getFileName() + "." + Thread.currentThread().getId() + TEMPORARY_SUFFIX);
+        this.stream = Channels.newOutputStream(FileChannel.open(temporary,
+                                                                StandardOpenOption.CREATE,
+                                                                StandardOpenOption.TRUNCATE_EXISTING,
+                                                                StandardOpenOption.WRITE));
+    }
+
+
+    @Override
+    @Nonnull
+    public OutputStream getStream() {
+        return stream;
+    }
+
+
+    @Override
+    public void commit(@Nonnull String hash) throws IOException {
+        stream.close();
+        OutputManifest.commit(temporary, target, hash);
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+        Files.deleteIfExists(temporary);                    // Does nothing if the target was replaced
+    }
+}
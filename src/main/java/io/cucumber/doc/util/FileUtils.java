@@ -1,24 +1,30 @@
 package io.cucumber.doc.util;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import io.cucumber.doc.exception.CukeDocException;
 
@@ -29,6 +35,119 @@ public class FileUtils {
     private static final ClassLoader CLASS_LOADER = FileUtils.class.getClassLoader();
     private static final String SEPARATOR = File.separator;
     private static final Charset FILE_ENCODING = StandardCharsets.UTF_8;
+    private static final int BUFFER_SIZE = 8192;
+
+
+    /**
+     * Writes the content of a file
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        /**
+         * Write the content of a file
+         * @param writer        buffered writer for the file
+         * @throws IOException if the content could not be written
+         */
+        void write(@Nonnull Writer writer) throws IOException;
+    }
+
+
+    /**
+     * Writes the content of a binary file
+     */
+    @FunctionalInterface
+    public interface DataWriter {
+        /**
+         * Write the content of a file
+         * @param out           stream for the file. This does not need to be closed
+         * @throws IOException if the content could not be written
+         */
+        void write(@Nonnull OutputStream out) throws IOException;
+    }
+
+
+    /**
+     * Writes the content of a file while it is hashed
+     */
+    @FunctionalInterface
+    private interface HashedWriter {
+        void write(@Nonnull OutputStream out, @Nonnull MessageDigest digest) throws IOException;
+    }
+
+
+    /**
+     * Passes text to a writer and adds it to a digest, except for one piece of text, such as a time stamp,
+     * that should not affect the hash
+     */
+    private static class HashingWriter extends Writer {
+        private final Writer out;
+        private final MessageDigest digest;
+        private final String unhashed;
+        private final byte[] scratch = new byte[BUFFER_SIZE];
+
+
+        HashingWriter(@Nonnull Writer out, @Nonnull MessageDigest digest, @Nonnull String unhashed) {
+            this.out = out;
+            this.digest = digest;
+            this.unhashed = unhashed;
+        }
+
+
+        @Override
+        public void write(@Nonnull char[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+            hash(CharBuffer.wrap(buffer), offset, offset + length);
+        }
+
+
+        @Override
+        public void write(@Nonnull String text, int offset, int length) throws IOException {
+            int end = offset + length;
+            int from = offset;
+            int found = text.indexOf(unhashed, from);
+
+            out.write(text, offset, length);
+
+            while ((found != -1) && (found + unhashed.length() <= end)) {
+                hash(text, from, found);
+                from = found + unhashed.length();
+                found = text.indexOf(unhashed, from);
+            }
+
+            hash(text, from, end);
+        }
+
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+
+        private void hash(@Nonnull CharSequence text, int start, int end) {
+            int used = 0;
+
+            for (int index = start; index < end; index++) {
+                char next = text.charAt(index);
+
+                if (used == scratch.length) {
+                    digest.update(scratch, 0, used);
+                    used = 0;
+                }
+
+                scratch[used++] = (byte) (next >> Byte.SIZE);
+                scratch[used++] = (byte) next;
+            }
+
+            digest.update(scratch, 0, used);
+        }
+    }
 
 
     /** Hide utility class constructor */
@@ -169,13 +288,76 @@ public class FileUtils {
      * @throws CukeDocException if the file could not be written
      */
     public static void write(@Nonnull String fileName, @Nonnull String content) throws CukeDocException {
-        byte[] raw = content.getBytes(FILE_ENCODING);
-        Path path = Paths.get(fileName);
+        write(fileName, writer -> writer.write(content));
+    }
 
-        createParentDirectory(path);
 
+    /**
+     * Stream content to a new file. If the file already exists it will be over written; if it does not exist it
+     * will be created along with any required parent directories. The content is encoded as it is written, so
+     * the memory used is bounded by the size of the buffers rather than the size of the file
+     * @param fileName      file name to write.
+     * @param content       writes the content of the generated file
+     * @throws CukeDocException if the file could not be written
+     */
+    public static void write(@Nonnull String fileName, @Nonnull ContentWriter content) throws CukeDocException {
+        write(fileName, content, null);
+    }
+
+
+    /**
+     * Stream content to a new file. If the file already exists it will be over written; if it does not exist it
+     * will be created along with any required parent directories. The content is encoded as it is written, so
+     * the memory used is bounded by the size of the buffers rather than the size of the file.
+     * If an {@link OutputManifest} is open then the file is only replaced if its content has changed
+     * @param fileName      file name to write.
+     * @param content       writes the content of the generated file
+     * @param unhashed      optional text, such as a time stamp, that is ignored when deciding if the content of
+     *                      the file has changed. It is only recognised if it is written in a single call
+     * @throws CukeDocException if the file could not be written
+     */
+    public static void write(@Nonnull String fileName,
+                             @Nonnull ContentWriter content,
+                             @Nullable String unhashed) throws CukeDocException {
         try {
-            Files.write(path, raw, StandardOpenOption.CREATE_NEW);
+            publish(Paths.get(fileName), (out, digest) -> {
+                Writer writer;
+
+                if (Check.hasText(unhashed)) {
+                    Writer encoder = new BufferedWriter(new OutputStreamWriter(out, FILE_ENCODING), BUFFER_SIZE);
+
+                    writer = new HashingWriter(encoder, digest, unhashed);
+                } else {
+                    OutputStream hashed = new DigestOutputStream(out, digest);
+
+                    writer = new BufferedWriter(new OutputStreamWriter(hashed, FILE_ENCODING), BUFFER_SIZE);
+                }
+
+                content.write(writer);
+                writer.flush();
+            });
+        } catch (IOException e) {
+            throw new CukeDocException("Failed to write file '" + fileName + "'", e);
+        }
+    }
+
+
+    /**
+     * Stream binary content to a new file. If the file already exists it will be over written; if it does not
+     * exist it will be created along with any required parent directories.
+     * If an {@link OutputManifest} is open then the file is only replaced if its content has changed
+     * @param fileName      file name to write.
+     * @param content       writes the content of the generated file
+     * @throws CukeDocException if the file could not be written
+     */
+    public static void writeBytes(@Nonnull String fileName, @Nonnull DataWriter content) throws CukeDocException {
+        try {
+            publish(Paths.get(fileName), (out, digest) -> {
+                OutputStream hashed = new DigestOutputStream(out, digest);
+
+                content.write(hashed);
+                hashed.flush();
+            });
         } catch (IOException e) {
             throw new CukeDocException("Failed to write file '" + fileName + "'", e);
         }
@@ -204,20 +386,61 @@ public class FileUtils {
      */
     public static void copyResource(@Nonnull String sourceFileName,
                                     @Nonnull String targetPathName) throws CukeDocException {
-        Path target = Paths.get(targetPathName);
+        try {
+            publish(Paths.get(targetPathName), (out, digest) -> {
+                try (
+                    InputStream in = CLASS_LOADER.getResourceAsStream(sourceFileName)
+                ) {
+                    if (in == null) {
+                        throw new IOException("Resource not found");
+                    }
+
+                    copy(in, new DigestOutputStream(out, digest));
+                }
+            });
+        } catch (IOException e) {
+            throw new CukeDocException("Failed to copy file '" + sourceFileName + "' to '" + targetPathName + "'", e);
+        }
+    }
+
 
-        createParentDirectory(target);
+    /**
+     * Write a file through a temporary file in the same directory, which then replaces the target unless the open
+     * {@link OutputManifest} shows that the target already has the same content. If a {@link WritePipeline} is
+     * open then the content is passed to it and the file is written in the background
+     * @param target        the file to write
+     * @param content       writes the content of the file and adds it to the digest
+     * @throws IOException if the file could not be written
+     */
+    private static void publish(@Nonnull Path target, @Nonnull HashedWriter content) throws IOException {
+        Path path = target.toAbsolutePath();
+        WritePipeline pipeline = WritePipeline.getActive();
+        MessageDigest digest = HashUtils.newDigest();
+
+        createParentDirectory(path);
 
         try (
-            InputStream in = CLASS_LOADER.getResourceAsStream(sourceFileName)
+            Destination destination = (pipeline == null ? new FileDestination(path) : pipeline.newDestination(path))
         ) {
-            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            throw new CukeDocException("Failed to copy file '" + sourceFileName + "' to '" + targetPathName + "'", e);
+            content.write(destination.getStream(), digest);
+            destination.commit(HashUtils.toHex(digest.digest()));
         }
     }
 
 
+    private static void copy(@Nonnull InputStream in, @Nonnull OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int count = in.read(buffer);
+
+        while (count != -1) {
+            out.write(buffer, 0, count);
+            count = in.read(buffer);
+        }
+
+        out.flush();
+    }
+
+
     /**
      * Create any/all parent directories required for {@code path}. Does nothing if the directories already exist
      * @param path      child path
@@ -0,0 +1,83 @@
+package io.cucumber.doc.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.annotation.Nonnull;
+
+import io.cucumber.doc.exception.CukeDocException;
+
+/**
+ * Utility methods for generating content hashes
+ */
+public class HashUtils {
+    private static final String ALGORITHM = "SHA-256";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+
+    /** Hide utility class constructor. */
+    private HashUtils() {
+    }
+
+
+    /**
+     * Returns the SHA-256 hash of the UTF-8 encoding of {@code text} as a lower case hex string
+     * @param text      text to hash
+     * @return          the SHA-256 hash of {@code text}
+     */
+    @Nonnull
+    public static String hash(@Nonnull String text) {
+        return hash(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Returns the SHA-256 hash of {@code data} as a lower case hex string
+     * @param data      data to hash
+     * @return          the SHA-256 hash of {@code data}
+     */
+    @Nonnull
+    public static String hash(@Nonnull byte[] data) {
+        return toHex(newDigest().digest(data));
+    }
+
+
+    /**
+     * Returns a digest as a lower case hex string
+     * @param digest    the completed digest
+     * @return          the digest as a hex string
+     */
+    @Nonnull
+    public static String toHex(@Nonnull byte[] digest) {
+        char[] hex = new char[digest.length * 2];
+
+        for (int index = 0; index < digest.length; index++) {
+            int value = digest[index] & 0xff;
+
+            hex[index * 2] = HEX[value >>> 4];
+            hex[index * 2 + 1] = HEX[value & 0x0f];
+        }
+
+        return new String(hex);
+    }
+
+
+    /**
+     * Returns a new SHA-256 message digest
+     * @return a new SHA-256 message digest
+     * @throws CukeDocException if the JVM does not support SHA-256
+     */
+    @Nonnull
+    public static MessageDigest newDigest() throws CukeDocException {
+        MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new CukeDocException("Unable to create " + ALGORITHM + " digest", e);
+        }
+
+        return digest;
+    }
+}
@@ -0,0 +1,513 @@
+package io.cucumber.doc.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import io.cucumber.doc.exception.CukeDocException;
+
+/**
+ * Pull parser that reads a JSON document one token at a time, so that documents much larger than the available
+ * memory can be processed. Only the value being read is held in memory; anything the caller is not interested in
+ * is passed over with {@link #skipValue()}.
+ * <br>
+ * The separators between values are not checked, so some malformed documents will be accepted.
+ */
+public class JsonReader implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int HEX_DIGITS = 4;
+    private static final int HEX_RADIX = 16;
+    private static final int INITIAL_DEPTH = 32;
+    private static final int END = -1;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder();
+    private int position = 0;
+    private int limit = 0;
+    private int line = 1;
+    private boolean[] objects = new boolean[INITIAL_DEPTH];       // true for objects, false for arrays
+    private int depth = 0;
+    private boolean nameNext = false;
+    private Token peeked = null;
+
+
+    /**
+     * The types of token in a JSON document
+     */
+    public enum Token {
+        /** The start of an object */
+        BEGIN_OBJECT,
+
+        /** The end of an object */
+        END_OBJECT,
+
+        /** The start of an array */
+        BEGIN_ARRAY,
+
+        /** The end of an array */
+        END_ARRAY,
+
+        /** The name of a property in an object */
+        NAME,
+
+        /** A string value */
+        STRING,
+
+        /** A numeric value */
+        NUMBER,
+
+        /** A {@code true} or {@code false} value */
+        BOOLEAN,
+
+        /** A {@code null} value */
+        NULL,
+
+        /** The end of the document */
+        END_DOCUMENT
+    }
+
+
+    /**
+     * Create a JSON reader
+     * @param reader        source of the JSON document. There is no need to buffer it
+     */
+    public JsonReader(@Nonnull Reader reader) {
+        this.reader = reader;
+    }
+
+
+    /**
+     * Returns the type of the next token without consuming it
+     * @return the type of the next token
+     * @throws IOException if the document could not be read
+     */
+    @Nonnull
+    public Token peek() throws IOException {
+        if (peeked == null) {
+            int next = skipSeparators();
+
+            if (next == END) {
+                peeked = Token.END_DOCUMENT;
+            } else if (next == '{') {
+                peeked = Token.BEGIN_OBJECT;
+            } else if (next == '}') {
+                peeked = Token.END_OBJECT;
+            } else if (next == '[') {
+                peeked = Token.BEGIN_ARRAY;
+            } else if (next == ']') {
+                peeked = Token.END_ARRAY;
+            } else if (next == '"') {
+                peeked = (nameNext ? Token.NAME : Token.STRING);
+            } else if ((next == 't') || (next == 'f')) {
+                peeked = Token.BOOLEAN;
+            } else if (next == 'n') {
+                peeked = Token.NULL;
+            } else if ((next == '-') || Character.isDigit(next)) {
+                peeked = Token.NUMBER;
+            } else {
+                throw error("Unexpected character '" + (char) next + "'");
+            }
+        }
+
+        return peeked;
+    }
+
+
+    /**
+     * Returns {@code true} only if the current object or array has more elements
+     * @return {@code true} only if the current object or array has more elements
+     * @throws IOException if the document could not be read
+     */
+    public boolean hasNext() throws IOException {
+        Token next = peek();
+
+        return (next != Token.END_OBJECT) && (next != Token.END_ARRAY) && (next != Token.END_DOCUMENT);
+    }
+
+
+    /**
+     * Consume the start of an object
+     * @throws IOException if the document could not be read
+     */
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(true);
+    }
+
+
+    /**
+     * Consume the end of an object
+     * @throws IOException if the document could not be read
+     */
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        pop();
+    }
+
+
+    /**
+     * Consume the start of an array
+     * @throws IOException if the document could not be read
+     */
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(false);
+    }
+
+
+    /**
+     * Consume the end of an array
+     * @throws IOException if the document could not be read
+     */
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        pop();
+    }
+
+
+    /**
+     * Consume the name of the next property in an object
+     * @return the name of the property
+     * @throws IOException if the document could not be read
+     */
+    @Nonnull
+    public String nextName() throws IOException {
+        expect(Token.NAME);
+
+        String name = readString();
+
+        nameNext = false;
+
+        return name;
+    }
+
+
+    /**
+     * Consume a string or number value
+     * @return the text of the value
+     * @throws IOException if the document could not be read
+     */
+    @Nonnull
+    public String nextString() throws IOException {
+        String value;
+
+        if (peek() == Token.NUMBER) {
+            peeked = null;
+            value = readLiteral();
+        } else {
+            expect(Token.STRING);
+            value = readString();
+        }
+
+        afterValue();
+
+        return value;
+    }
+
+
+    /**
+     * Consume a numeric value. Fractions are rounded to the nearest whole number
+     * @return the value
+     * @throws IOException if the document could not be read
+     */
+    public long nextLong() throws IOException {
+        expect(Token.NUMBER);
+
+        String value = readLiteral();
+        long result;
+
+        try {
+            result = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            try {
+                result = Math.round(Double.parseDouble(value));
+            } catch (NumberFormatException e2) {
+                throw error("Invalid number '" + value + "'");
+            }
+        }
+
+        afterValue();
+
+        return result;
+    }
+
+
+    /**
+     * Consume a boolean value
+     * @return the value
+     * @throws IOException if the document could not be read
+     */
+    public boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+
+        String value = readLiteral();
+
+        if (!"true".equals(value) && !"false".equals(value)) {
+            throw error("Invalid boolean '" + value + "'");
+        }
+
+        afterValue();
+
+        return "true".equals(value);
+    }
+
+
+    /**
+     * Consume a {@code null} value
+     * @throws IOException if the document could not be read
+     */
+    public void nextNull() throws IOException {
+        expect(Token.NULL);
+
+        String value = readLiteral();
+
+        if (!"null".equals(value)) {
+            throw error("Invalid literal '" + value + "'");
+        }
+
+        afterValue();
+    }
+
+
+    /**
+     * Consume the next value, including all of its elements if it is an object or an array. If the next token is
+     * the name of a property then both the name and its value are consumed
+     * @throws IOException if the document could not be read
+     */
+    public void skipValue() throws IOException {
+        int level = 0;
+
+        do {
+            Token next = peek();
+
+            if ((next == Token.BEGIN_OBJECT) || (next == Token.BEGIN_ARRAY)) {
+                level++;
+                consumeContainer(next);
+            } else if ((next == Token.END_OBJECT) || (next == Token.END_ARRAY)) {
+                level--;
+                consumeContainer(next);
+            } else if (next == Token.NAME) {
+                nextName();
+                skipValue();
+            } else if ((next == Token.STRING) || (next == Token.NUMBER)) {
+                nextString();
+            } else if (next == Token.BOOLEAN) {
+                nextBoolean();
+            } else if (next == Token.NULL) {
+                nextNull();
+            } else {
+                throw error("Unexpected end of document");
+            }
+        } while (level > 0);
+    }
+
+
+    /**
+     * Returns the line number of the current position in the document, starting from 1
+     * @return the line number of the current position in the document
+     */
+    public int getLine() {
+        return line;
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+
+    private void consumeContainer(@Nonnull Token token) throws IOException {
+        if (token == Token.BEGIN_OBJECT) {
+            beginObject();
+        } else if (token == Token.BEGIN_ARRAY) {
+            beginArray();
+        } else if (token == Token.END_OBJECT) {
+            endObject();
+        } else {
+            endArray();
+        }
+    }
+
+
+    private void expect(@Nonnull Token expected) throws IOException {
+        Token actual = peek();
+
+        if (actual != expected) {
+            throw error("Expected " + expected + " but found " + actual);
+        }
+
+        peeked = null;
+
+        if ((expected == Token.BEGIN_OBJECT) || (expected == Token.END_OBJECT) ||
+                (expected == Token.BEGIN_ARRAY) || (expected == Token.END_ARRAY)) {
+            position++;                                     // Strings and literals are consumed as they are read
+        }
+    }
+
+
+    private void push(boolean object) {
+        if (depth == objects.length) {
+            objects = Arrays.copyOf(objects, depth * 2);
+        }
+
+        objects[depth++] = object;
+        nameNext = object;
+    }
+
+
+    private void pop() throws IOException {
+        if (depth == 0) {
+            throw error("Unbalanced brackets");
+        }
+
+        depth--;
+        afterValue();
+    }
+
+
+    private void afterValue() {
+        nameNext = (depth != 0) && objects[depth - 1];
+    }
+
+
+    /**
+     * Skip over white space, commas and colons
+     * @return the next character, which has not been consumed, or {@link #END} at the end of the document
+     * @throws IOException if the document could not be read
+     */
+    private int skipSeparators() throws IOException {
+        int next = current();
+
+        while ((next == ',') || (next == ':') || Character.isWhitespace(next)) {
+            if (next == '\n') {
+                line++;
+            }
+
+            position++;
+            next = current();
+        }
+
+        return next;
+    }
+
+
+    /**
+     * Returns the character at the current position without consuming it
+     * @return the current character or {@link #END} at the end of the document
+     * @throws IOException if the document could not be read
+     */
+    private int current() throws IOException {
+        if (position == limit) {
+            limit = Math.max(0, reader.read(buffer, 0, buffer.length));
+            position = 0;
+        }
+
+        return (position < limit ? buffer[position] : END);
+    }
+
+
+    /**
+     * Read a quoted string, starting with the opening quote
+     * @return the unescaped string
+     * @throws IOException if the document could not be read
+     */
+    @Nonnull
+    private String readString() throws IOException {
+        boolean done = false;
+
+        text.setLength(0);
+        position++;                                         // Opening quote
+
+        while (!done) {
+            int next = current();
+
+            position++;
+
+            if (next == END) {
+                throw error("Unterminated string");
+            } else if (next == '"') {
+                done = true;
+            } else if (next == '\\') {
+                text.append(readEscape());
+            } else {
+                line += (next == '\n' ? 1 : 0);
+                text.append((char) next);
+            }
+        }
+
+        return text.toString();
+    }
+
+
+    private char readEscape() throws IOException {
+        int next = current();
+        char escaped;
+
+        position++;
+
+        if (next == 'n') {
+            escaped = '\n';
+        } else if (next == 't') {
+            escaped = '\t';
+        } else if (next == 'r') {
+            escaped = '\r';
+        } else if (next == 'b') {
+            escaped = '\b';
+        } else if (next == 'f') {
+            escaped = '\f';
+        } else if (next == 'u') {
+            int value = 0;
+
+            for (int digit = 0; digit < HEX_DIGITS; digit++) {
+                int hex = Character.digit(current(), HEX_RADIX);
+
+                if (hex == -1) {
+                    throw error("Invalid unicode escape");
+                }
+
+                value = (value * HEX_RADIX) + hex;
+                position++;
+            }
+
+            escaped = (char) value;
+        } else if (next == END) {
+            throw error("Unterminated string");
+        } else {
+            escaped = (char) next;                          // Quote, back slash and slash
+        }
+
+        return escaped;
+    }
+
+
+    /**
+     * Read an unquoted number, boolean or null
+     * @return the text of the literal
+     * @throws IOException if the document could not be read
+     */
+    @Nonnull
+    private String readLiteral() throws IOException {
+        int next = current();
+
+        text.setLength(0);
+
+        while ((next != END) && (Character.isLetterOrDigit(next) || (next == '-') || (next == '+') || (next == '.'))) {
+            text.append((char) next);
+            position++;
+            next = current();
+        }
+
+        return text.toString();
+    }
+
+
+    @Nonnull
+    private CukeDocException error(@Nonnull String message) {
+        return new CukeDocException("Invalid JSON at line %d: %s", line, message);
+    }
+}
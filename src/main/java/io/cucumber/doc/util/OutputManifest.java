@@ -0,0 +1,228 @@
+package io.cucumber.doc.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.cucumber.doc.exception.CukeDocException;
+
+/**
+ * Record of the content hash of every file written to the report directory, so that a file whose content has not
+ * changed since the previous run is left untouched and files that are no longer generated can be removed
+ * individually. This allows the reports to be published incrementally, as only the files that have really
+ * changed get a new time stamp.
+ * <br>
+ * While a manifest is open every file written by {@link FileUtils} into its directory is written to a temporary
+ * file and hashed first. The temporary file only replaces the target if the hash differs from the one recorded
+ * by the previous run or the target no longer exists. The manifest is stored in the report directory as a text
+ * file with a line for each file, holding the hash and the path relative to the directory.
+ */
+public class OutputManifest implements Closeable {
+    /** Name of the manifest file in the report directory */
+    public static final String FILE_NAME = ".cuke-doc.manifest";
+
+    private static volatile OutputManifest active = null;
+
+    private final Path directory;
+    private final Map<String, String> previous;
+    private final Map<String, String> current = new ConcurrentHashMap<>();
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+
+
+    private OutputManifest(@Nonnull Path directory, @Nonnull Map<String, String> previous) {
+        this.directory = directory;
+        this.previous = previous;
+    }
+
+
+    /**
+     * Open the manifest for a report directory, reading the hashes recorded by the previous run if there are any.
+     * Files written to the directory are checked against this manifest until it is closed.
+     * @param directory     the report directory
+     * @return              the open manifest
+     * @throws CukeDocException if the previous manifest could not be read
+     */
+    @Nonnull
+    public static OutputManifest open(@Nonnull String directory) throws CukeDocException {
+        Path root = Paths.get(directory).toAbsolutePath().normalize();
+        Map<String, String> previous = new HashMap<>();
+        String fileName = root.resolve(FILE_NAME).toString();
+
+        if (FileUtils.canRead(fileName)) {
+            for (String line : FileUtils.readLines(fileName)) {
+                int split = line.indexOf(' ');
+
+                if (split != -1) {
+                    previous.put(line.substring(split + 1), line.substring(0, split));
+                }
+            }
+        }
+
+        Trace.message("Read %d entries from the output manifest for %s", previous.size(), root);
+
+        active = new OutputManifest(root, previous);
+
+        return active;
+    }
+
+
+    /**
+     * Returns {@code true} only if a manifest has been written to {@code directory} by a previous run
+     * @param directory     the report directory
+     * @return {@code true} only if a manifest has been written to {@code directory}
+     */
+    public static boolean exists(@Nonnull String directory) {
+        return FileUtils.canRead(Paths.get(directory, FILE_NAME).toString());
+    }
+
+
+    /**
+     * Move a newly written temporary file to its target, unless the open manifest shows that the target already
+     * has the same content. If there is no open manifest, or the target is outside of its directory, then the
+     * temporary file always replaces the target.
+     * @param temporary     the newly written file
+     * @param target        the file that is being written
+     * @param hash          the hash of the content of the temporary file
+     * @return {@code true} only if the target was replaced
+     * @throws IOException if the target could not be replaced
+     */
+    static boolean commit(@Nonnull Path temporary, @Nonnull Path target, @Nonnull String hash) throws IOException {
+        OutputManifest manifest = active;
+        String key = (manifest == null ? null : manifest.relative(target));
+        boolean replace;
+
+        if (key == null) {
+            replace = true;
+        } else {
+            replace = !hash.equals(manifest.previous.get(key)) || !Files.isRegularFile(target);
+
+            manifest.current.put(key, hash);
+            manifest.record(replace);
+        }
+
+        if (replace) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        return replace;
+    }
+
+
+    /**
+     * Save the manifest and close it.
+     * @param prune     {@code true} if every file was written during this run, in which case files that were
+     *                  recorded by the previous run but have not been written again are deleted. If only some of
+     *                  the files were written then the entries for the others are kept.
+     * @throws CukeDocException if the manifest could not be saved
+     */
+    public void publish(boolean prune) throws CukeDocException {
+        Map<String, String> entries = new TreeMap<>();
+        int pruned = 0;
+
+        close();
+
+        for (Map.Entry<String, String> entry : previous.entrySet()) {
+            String key = entry.getKey();
+
+            boolean stale = !current.containsKey(key);
+
+            if (stale && prune) {
+                pruned += (delete(key) ? 1 : 0);
+            } else if (stale && Files.isRegularFile(directory.resolve(key))) {
+                entries.put(key, entry.getValue());
+            }
+        }
+
+        entries.putAll(current);
+
+        if (!entries.isEmpty() || !previous.isEmpty()) {
+            StringBuilder content = new StringBuilder();
+
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                content.append(entry.getValue()).append(' ').append(entry.getKey()).append('\n');
+            }
+
+            FileUtils.write(directory.resolve(FILE_NAME).toString(), content.toString());
+        }
+
+        Trace.message("Output manifest: %d files written, %d unchanged, %d pruned",
+                      written.get(), unchanged.get(), pruned);
+    }
+
+
+    /**
+     * Stop checking written files against this manifest without saving it.
+     */
+    @Override
+    public void close() {
+        if (active == this) {
+            active = null;
+        }
+    }
+
+
+    private void record(boolean replaced) {
+        if (replaced) {
+            written.incrementAndGet();
+        } else {
+            unchanged.incrementAndGet();
+        }
+    }
+
+
+    /**
+     * Returns the path of {@code target} relative to the manifest directory, or {@code null} if it is not in the
+     * directory
+     * @param target        a file that is being written
+     * @return the path of {@code target} relative to the manifest directory
+     */
+    @Nullable
+    private String relative(@Nonnull Path target) {
+        Path path = target.toAbsolutePath().normalize();
+        String key;
+
+        if (path.startsWith(directory) && !path.equals(directory.resolve(FILE_NAME))) {
+            key = directory.relativize(path).toString().replace(File.separatorChar, '/');
+        } else {
+            key = null;
+        }
+
+        return key;
+    }
+
+
+    /**
+     * Delete a file that is no longer generated, along with any parent directories that are left empty
+     * @param key           the path of the file relative to the manifest directory
+     * @return {@code true} only if the file was deleted
+     */
+    private boolean delete(@Nonnull String key) {
+        Path file = directory.resolve(key).normalize();
+        boolean deleted = file.startsWith(directory) && file.toFile().delete();
+
+        if (deleted) {
+            Trace.message("Pruning %s", key);
+
+            Path parent = file.getParent();
+
+            while ((parent != null) && !parent.equals(directory) && parent.toFile().delete()) {
+                parent = parent.getParent();
+            }
+        }
+
+        return deleted;
+    }
+}
@@ -0,0 +1,1038 @@
+package io.cucumber.doc.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Nondeterministic finite automaton that accepts the same strings as a Java regular expression. Two automata can
+ * be intersected to find a string that both regular expressions match, which is how overlapping mappings are found.
+ * <br>
+ * Only the regular subset of the Java syntax is supported: literals, character classes, {@code .}, groups,
+ * alternation and greedy or reluctant quantifiers. Look-arounds, back references, possessive quantifiers, embedded
+ * flags and Unicode properties can not be expressed, so {@link #compile(String)} returns {@code null} for them.
+ * Word boundaries are ignored, so a string returned by {@link #intersection(RegExAutomaton, int)} should be
+ * checked against the real regular expressions before it is relied on.
+ */
+public class RegExAutomaton {
+    private static final int MAX_REPEAT = 32;                   // Bounded repeats are built by copying
+    private static final int MAX_STATES = 10_000;
+    private static final int MAX_CHAR = Character.MAX_VALUE;
+    private static final int OCTAL_RADIX = 8;
+    private static final int DECIMAL_RADIX = 10;
+    private static final int HEX_RADIX = 16;
+    private static final int HEX_DIGITS = 2;
+    private static final int UNICODE_DIGITS = 4;
+    private static final int MAX_OCTAL_DIGITS = 3;
+    private static final int CONTROL_MASK = 0x40;
+    private static final char BELL = '\u0007';
+    private static final char ESCAPE = '\u001B';
+    private static final int SHIFT = 32;
+    private static final long MASK = 0xFFFF_FFFFL;
+    private static final long HASH_MULTIPLIER = 0x9E37_79B9_7F4A_7C15L;
+    private static final int INITIAL_SIZE = 64;
+
+    private static final int[] DIGIT = { '0', '9' };
+    private static final int[] WORD = { '0', '9', 'A', 'Z', '_', '_', 'a', 'z' };
+    private static final int[] SPACE = { '\t', '\r', ' ', ' ' };
+    private static final int[] DOT = { 0, '\n' - 1, '\n' + 1, '\r' - 1, '\r' + 1, 0x0084, 0x0086, 0x2027,
+                                       0x202A, MAX_CHAR };
+    private static final int[] PREFERRED = { 'a', 'z', '0', '9', 'A', 'Z', ' ', '~' };
+
+    private final int start;
+    private final int accept;
+    private final int[] epsilonOffsets;                 // Transitions from state n are at [offsets[n], offsets[n + 1])
+    private final int[] epsilonTargets;
+    private final int[] labelOffsets;
+    private final int[] labelTargets;
+    private final int[][] labels;
+
+
+    /**
+     * A fragment of the regular expression that can be turned into states of the automaton
+     */
+    private interface Term {
+        /**
+         * Add states that match this term to the automaton
+         * @param builder   the automaton being built
+         * @param next      the state that follows a match of this term
+         * @return          the state that starts a match of this term
+         */
+        int build(@Nonnull Builder builder, int next);
+    }
+
+
+    /**
+     * Thrown internally when a regular expression uses syntax that the automaton can not express
+     */
+    private static class UnsupportedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+
+
+    /**
+     * Mutable state used while an automaton is built
+     */
+    private static class Builder {
+        private int states = 0;
+        private int[] froms = new int[INITIAL_SIZE];
+        private int[] tos = new int[INITIAL_SIZE];
+        private int[][] edgeLabels = new int[INITIAL_SIZE][];        // null for epsilon transitions
+        private int edges = 0;
+
+
+        int state() {
+            if (states == MAX_STATES) {
+                throw new UnsupportedException();
+            }
+
+            return states++;
+        }
+
+
+        void epsilon(int from, int to) {
+            transition(from, null, to);
+        }
+
+
+        void transition(int from, @Nullable int[] label, int to) {
+            if (edges == froms.length) {
+                froms = Arrays.copyOf(froms, edges * 2);
+                tos = Arrays.copyOf(tos, edges * 2);
+                edgeLabels = Arrays.copyOf(edgeLabels, edges * 2);
+            }
+
+            froms[edges] = from;
+            tos[edges] = to;
+            edgeLabels[edges] = label;
+            edges++;
+        }
+
+
+        @Nonnull
+        RegExAutomaton build(int start, int accept) {
+            int[] epsilonCounts = new int[states];
+            int[] targetCounts = new int[states];
+
+            for (int edge = 0; edge < edges; edge++) {
+                if (edgeLabels[edge] == null) {
+                    epsilonCounts[froms[edge]]++;
+                } else {
+                    targetCounts[froms[edge]]++;
+                }
+            }
+
+            int[] epsilonOffsets = offsets(epsilonCounts);
+            int[] labelOffsets = offsets(targetCounts);
+            int[] epsilonTargets = new int[epsilonOffsets[states]];
+            int[] labelTargets = new int[labelOffsets[states]];
+            int[][] labels = new int[labelOffsets[states]][];
+            int[] nextEpsilon = Arrays.copyOf(epsilonOffsets, states);
+            int[] nextLabel = Arrays.copyOf(labelOffsets, states);
+
+            for (int edge = 0; edge < edges; edge++) {
+                int from = froms[edge];
+
+                if (edgeLabels[edge] == null) {
+                    epsilonTargets[nextEpsilon[from]++] = tos[edge];
+                } else {
+                    labelTargets[nextLabel[from]] = tos[edge];
+                    labels[nextLabel[from]++] = edgeLabels[edge];
+                }
+            }
+
+            return new RegExAutomaton(start, accept,
+                                      epsilonOffsets, epsilonTargets, labelOffsets, labelTargets, labels);
+        }
+
+
+        @Nonnull
+        private int[] offsets(@Nonnull int[] counts) {
+            int[] offsets = new int[counts.length + 1];
+
+            for (int state = 0; state < counts.length; state++) {
+                offsets[state + 1] = offsets[state] + counts[state];
+            }
+
+            return offsets;
+        }
+    }
+
+
+    /**
+     * Breadth first search over pairs of states from two automata. Each visited pair records the pair it was
+     * reached from, and the character consumed on the way, so that the path to it can be recovered
+     */
+    private static class Search {
+        private int[] firsts = new int[INITIAL_SIZE];
+        private int[] seconds = new int[INITIAL_SIZE];
+        private int[] parents = new int[INITIAL_SIZE];
+        private int[] characters = new int[INITIAL_SIZE];
+        private int size = 0;
+        private long[] keys = new long[INITIAL_SIZE * 2];      // Open addressing hash set of visited pairs
+        private int mask = INITIAL_SIZE * 2 - 1;
+
+
+        void visit(int first, int second, int parent, int character) {
+            long key = (((long) first << SHIFT) | second) + 1;     // Zero marks an empty slot
+            int slot = hash(key);
+
+            while ((keys[slot] != 0) && (keys[slot] != key)) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+
+                if (size == firsts.length) {
+                    grow();
+                }
+
+                firsts[size] = first;
+                seconds[size] = second;
+                parents[size] = parent;
+                characters[size] = character;
+                size++;
+            }
+        }
+
+
+        private int hash(long key) {
+            long mixed = key * HASH_MULTIPLIER;
+
+            return (int) (mixed >>> SHIFT) & mask;
+        }
+
+
+        private void grow() {
+            int capacity = firsts.length * 2;
+            long[] old = keys;
+
+            firsts = Arrays.copyOf(firsts, capacity);
+            seconds = Arrays.copyOf(seconds, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            characters = Arrays.copyOf(characters, capacity);
+            keys = new long[capacity * 2];
+            mask = capacity * 2 - 1;
+
+            for (long key : old) {
+                if (key != 0) {
+                    int slot = hash(key);
+
+                    while (keys[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+
+                    keys[slot] = key;
+                }
+            }
+        }
+
+
+        @Nonnull
+        String witness(int found) {
+            StringBuilder text = new StringBuilder();
+
+            for (int index = found; index != -1; index = parents[index]) {
+                if (characters[index] != -1) {
+                    text.append((char) characters[index]);
+                }
+            }
+
+            return text.reverse().toString();
+        }
+    }
+
+
+    private RegExAutomaton(int start,
+                           int accept,
+                           @Nonnull int[] epsilonOffsets,
+                           @Nonnull int[] epsilonTargets,
+                           @Nonnull int[] labelOffsets,
+                           @Nonnull int[] labelTargets,
+                           @Nonnull int[][] labels) {
+        this.start = start;
+        this.accept = accept;
+        this.epsilonOffsets = epsilonOffsets;
+        this.epsilonTargets = epsilonTargets;
+        this.labelOffsets = labelOffsets;
+        this.labelTargets = labelTargets;
+        this.labels = labels;
+    }
+
+
+    /**
+     * Static Factory method to build the automaton for a regular expression
+     * @param regEx     Regular expression in its runtime (unescaped) form
+     * @return          An automaton that accepts the same strings as {@code regEx}, or {@code null} if the regular
+     *                      expression can not be expressed as an automaton
+     */
+    @Nullable
+    public static RegExAutomaton compile(@Nonnull String regEx) {
+        RegExAutomaton automaton;
+
+        try {
+            Term term = new Parser(regEx).parse();
+            Builder builder = new Builder();
+            int accept = builder.state();
+            int start = term.build(builder, accept);
+
+            automaton = builder.build(start, accept);
+        } catch (UnsupportedException e) {
+            automaton = null;
+        }
+
+        return automaton;
+    }
+
+
+    /**
+     * Returns the number of states in the automaton
+     * @return the number of states in the automaton
+     */
+    public int size() {
+        return epsilonOffsets.length - 1;
+    }
+
+
+    /**
+     * Returns the characters below {@code limit} that can appear in an accepted string
+     * @param limit     one more than the highest character of interest
+     * @return          the characters that can appear in an accepted string
+     */
+    @Nonnull
+    public BitSet alphabet(int limit) {
+        BitSet alphabet = new BitSet(limit);
+
+        for (int[] label : labels) {
+            for (int index = 0; (index < label.length) && (label[index] < limit); index += 2) {
+                alphabet.set(label[index], Math.min(label[index + 1] + 1, limit));
+            }
+        }
+
+        return alphabet;
+    }
+
+
+    /**
+     * Returns the literal text that the accepted strings start with. Alternatives and optional characters lead to
+     * more than one prefix; a prefix that starts with another prefix is not returned.
+     * @param maxLength maximum length of a prefix
+     * @param maxCount  maximum number of prefixes
+     * @return          the prefixes, or a single empty string if some accepted strings have no literal prefix or if
+     *                      there are more than {@code maxCount} of them
+     */
+    @Nonnull
+    public List<String> prefixes(int maxLength, int maxCount) {
+        SortedSet<String> found = new TreeSet<>();
+        Deque<BitSet> sets = new ArrayDeque<>();
+        Deque<String> texts = new ArrayDeque<>();
+        BitSet initial = new BitSet();
+
+        initial.set(start);
+        sets.push(closure(initial));
+        texts.push("");
+
+        while (!sets.isEmpty() && (found.size() + sets.size() <= maxCount) && !found.contains("")) {
+            BitSet current = sets.pop();
+            String text = texts.pop();
+            Map<Character, BitSet> next = new TreeMap<>();
+
+            if (current.get(accept)) {
+                found.add(text);
+            }
+
+            for (int state = current.nextSetBit(0); state >= 0; state = current.nextSetBit(state + 1)) {
+                for (int index = labelOffsets[state]; index < labelOffsets[state + 1]; index++) {
+                    int[] label = labels[index];
+
+                    if ((label.length == 2) && (label[0] == label[1]) && (text.length() < maxLength)) {
+                        next.computeIfAbsent((char) label[0], k -> new BitSet()).set(labelTargets[index]);
+                    } else {
+                        found.add(text);
+                    }
+                }
+            }
+
+            for (Map.Entry<Character, BitSet> entry : next.entrySet()) {
+                sets.push(closure(entry.getValue()));
+                texts.push(text + entry.getKey());
+            }
+        }
+
+        boolean known = sets.isEmpty() && (found.size() <= maxCount) && !found.contains("");
+
+        return (known ? shortest(found) : Collections.singletonList(""));
+    }
+
+
+    /**
+     * Add the states that can be reached by epsilon transitions to a set of states
+     * @param states    a set of states, which is updated
+     * @return          the updated set of states
+     */
+    @Nonnull
+    private BitSet closure(@Nonnull BitSet states) {
+        Deque<Integer> pending = new ArrayDeque<>();
+
+        states.stream().forEach(pending::push);
+
+        while (!pending.isEmpty()) {
+            int state = pending.pop();
+
+            for (int index = epsilonOffsets[state]; index < epsilonOffsets[state + 1]; index++) {
+                int target = epsilonTargets[index];
+
+                if (!states.get(target)) {
+                    states.set(target);
+                    pending.push(target);
+                }
+            }
+        }
+
+        return states;
+    }
+
+
+    /**
+     * Returns the literal text that the accepted strings end with.
+     * @param maxLength maximum length of a suffix
+     * @param maxCount  maximum number of suffixes
+     * @return          the suffixes, or a single empty string if some accepted strings have no literal suffix or if
+     *                      there are more than {@code maxCount} of them
+     * @see #prefixes(int, int)
+     */
+    @Nonnull
+    public List<String> suffixes(int maxLength, int maxCount) {
+        List<String> suffixes = new ArrayList<>();
+
+        for (String reversed : reverse().prefixes(maxLength, maxCount)) {
+            suffixes.add(new StringBuilder(reversed).reverse().toString());
+        }
+
+        return suffixes;
+    }
+
+
+    /**
+     * Returns the sorted strings that do not start with another of the strings
+     * @param sorted    some sorted strings
+     * @return          the sorted strings that do not start with another of the strings
+     */
+    @Nonnull
+    private static List<String> shortest(@Nonnull SortedSet<String> sorted) {
+        List<String> shortest = new ArrayList<>();
+
+        for (String text : sorted) {
+            if (shortest.isEmpty() || !text.startsWith(shortest.get(shortest.size() - 1))) {
+                shortest.add(text);
+            }
+        }
+
+        return shortest;
+    }
+
+
+    /**
+     * Returns an automaton that accepts the reverse of every string accepted by this automaton
+     * @return an automaton that accepts the reversed strings
+     */
+    @Nonnull
+    private RegExAutomaton reverse() {
+        Builder builder = new Builder();
+
+        for (int state = 0; state < size(); state++) {
+            builder.state();
+        }
+
+        for (int state = 0; state < size(); state++) {
+            for (int index = epsilonOffsets[state]; index < epsilonOffsets[state + 1]; index++) {
+                builder.epsilon(epsilonTargets[index], state);
+            }
+
+            for (int index = labelOffsets[state]; index < labelOffsets[state + 1]; index++) {
+                builder.transition(labelTargets[index], labels[index], state);
+            }
+        }
+
+        return builder.build(accept, start);
+    }
+
+
+    /**
+     * Returns one of the shortest strings accepted by both this automaton and {@code other}. The search explores
+     * pairs of states from the two automata, so it gives up once {@code budget} pairs have been visited.
+     * @param other     another automaton
+     * @param budget    maximum number of pairs of states to visit
+     * @return          a string accepted by both automata, or {@code null} if there isn't one or the budget was
+     *                      exhausted before one was found
+     */
+    @Nullable
+    public String intersection(@Nonnull RegExAutomaton other, int budget) {
+        Search search = new Search();
+        int found = -1;
+
+        search.visit(start, other.start, -1, -1);
+
+        for (int head = 0; (found == -1) && (head < search.size) && (search.size <= budget); head++) {
+            int first = search.firsts[head];
+            int second = search.seconds[head];
+
+            if ((first == accept) && (second == other.accept)) {
+                found = head;
+            } else {
+                for (int index = epsilonOffsets[first]; index < epsilonOffsets[first + 1]; index++) {
+                    search.visit(epsilonTargets[index], second, head, -1);
+                }
+
+                for (int index = other.epsilonOffsets[second]; index < other.epsilonOffsets[second + 1]; index++) {
+                    search.visit(first, other.epsilonTargets[index], head, -1);
+                }
+
+                for (int index = labelOffsets[first]; index < labelOffsets[first + 1]; index++) {
+                    for (int otherIndex = other.labelOffsets[second];
+                             otherIndex < other.labelOffsets[second + 1];
+                             otherIndex++) {
+                        int common = pick(labels[index], other.labels[otherIndex]);
+
+                        if (common != -1) {
+                            search.visit(labelTargets[index], other.labelTargets[otherIndex], head, common);
+                        }
+                    }
+                }
+            }
+        }
+
+        return (found == -1 ? null : search.witness(found));
+    }
+
+
+    /**
+     * Returns a readable character that is in both sets, or -1 if the sets are disjoint
+     * @param first     a sorted set of inclusive character ranges
+     * @param second    a sorted set of inclusive character ranges
+     * @return          a character in both sets, or -1
+     */
+    private static int pick(@Nonnull int[] first, @Nonnull int[] second) {
+        int common = firstCommon(first, second, 0, MAX_CHAR);          // Most pairs of labels are disjoint
+        int preferred = -1;
+
+        for (int index = 0; (common != -1) && (preferred == -1) && (index < PREFERRED.length); index += 2) {
+            preferred = firstCommon(first, second, PREFERRED[index], PREFERRED[index + 1]);
+        }
+
+        return (preferred != -1 ? preferred : common);
+    }
+
+
+    private static int firstCommon(@Nonnull int[] first, @Nonnull int[] second, int low, int high) {
+        int common = -1;
+        int index = 0;
+        int otherIndex = 0;
+
+        while ((common == -1) && (index < first.length) && (otherIndex < second.length)) {
+            int from = Math.max(low, Math.max(first[index], second[otherIndex]));
+            int to = Math.min(high, Math.min(first[index + 1], second[otherIndex + 1]));
+
+            if (from <= to) {
+                common = from;
+            } else if (first[index + 1] < second[otherIndex + 1]) {
+                index += 2;
+            } else {
+                otherIndex += 2;
+            }
+        }
+
+        return common;
+    }
+
+
+    /**
+     * Returns a sorted set of disjoint ranges that covers the same characters as some ranges
+     * @param ranges    pairs of inclusive character ranges in any order
+     * @return          the normalised set
+     */
+    @Nonnull
+    private static int[] normalise(@Nonnull int[] ranges) {
+        int count = ranges.length / 2;
+        long[] sorted = new long[count];
+
+        for (int index = 0; index < count; index++) {
+            sorted[index] = ((long) ranges[index * 2] << SHIFT) | ranges[index * 2 + 1];
+        }
+
+        Arrays.sort(sorted);
+
+        int[] merged = new int[ranges.length];
+        int size = 0;
+
+        for (long range : sorted) {
+            int low = (int) (range >>> SHIFT);
+            int high = (int) (range & MASK);
+
+            if ((size != 0) && (low <= merged[size - 1] + 1)) {
+                merged[size - 1] = Math.max(merged[size - 1], high);
+            } else {
+                merged[size++] = low;
+                merged[size++] = high;
+            }
+        }
+
+        return Arrays.copyOf(merged, size);
+    }
+
+
+    @Nonnull
+    private static int[] complement(@Nonnull int[] set) {
+        int[] result = new int[set.length + 2];
+        int size = 0;
+        int next = 0;
+
+        for (int index = 0; index < set.length; index += 2) {
+            if (set[index] > next) {
+                result[size++] = next;
+                result[size++] = set[index] - 1;
+            }
+
+            next = set[index + 1] + 1;
+        }
+
+        if (next <= MAX_CHAR) {
+            result[size++] = next;
+            result[size++] = MAX_CHAR;
+        }
+
+        return Arrays.copyOf(result, size);
+    }
+
+
+    /**
+     * Single use recursive descent parser that turns a regular expression into {@link Term Terms}
+     */
+    private static class Parser {
+        private final String regEx;
+        private int next = 0;
+
+
+        Parser(@Nonnull String regEx) {
+            this.regEx = regEx;
+        }
+
+
+        @Nonnull
+        Term parse() {
+            Term term = alternation();
+
+            if (next != regEx.length()) {
+                throw new UnsupportedException();                   // Unbalanced ')'
+            }
+
+            return term;
+        }
+
+
+        @Nonnull
+        private Term alternation() {
+            List<Term> alternatives = new ArrayList<>();
+
+            alternatives.add(sequence());
+
+            while (peek() == '|') {
+                next++;
+                alternatives.add(sequence());
+            }
+
+            return (alternatives.size() == 1 ? alternatives.get(0) : alternatives(alternatives));
+        }
+
+
+        @Nonnull
+        private Term sequence() {
+            List<Term> terms = new ArrayList<>();
+
+            while ((next != regEx.length()) && (peek() != '|') && (peek() != ')')) {
+                terms.add(quantified(atom()));
+            }
+
+            return (builder, following) -> {
+                int state = following;
+
+                for (int index = terms.size() - 1; index >= 0; index--) {
+                    state = terms.get(index).build(builder, state);
+                }
+
+                return state;
+            };
+        }
+
+
+        @Nonnull
+        private Term atom() {
+            int position = next;
+            char in = regEx.charAt(next++);
+            Term term;
+
+            if (in == '(') {
+                term = group();
+            } else if (in == '[') {
+                term = chars(characterClass());
+            } else if (in == '.') {
+                term = chars(DOT);
+            } else if (in == '\\') {
+                term = escape();
+            } else if ((in == '^') && ((position == 0) || (regEx.charAt(position - 1) == '('))) {
+                term = empty();                                     // Approximated; matches must be verified
+            } else if ((in == '$') && ((next == regEx.length()) || (peek() == ')') || (peek() == '|'))) {
+                term = empty();
+            } else if ((in == '^') || (in == '$') || isQuantifier(in)) {
+                throw new UnsupportedException();
+            } else {
+                term = chars(new int[] { in, in });
+            }
+
+            return term;
+        }
+
+
+        @Nonnull
+        private Term group() {
+            if (regEx.startsWith("?:", next)) {
+                next += 2;
+            } else if (regEx.startsWith("?<", next) && Character.isLetter(charAt(next + 2))) {
+                next = regEx.indexOf('>', next) + 1;
+
+                if (next == 0) {
+                    throw new UnsupportedException();               // Unterminated group name
+                }
+            } else if (peek() == '?') {
+                throw new UnsupportedException();                   // Look-arounds, flags and atomic groups
+            }
+
+            Term body = alternation();
+
+            if (peek() != ')') {
+                throw new UnsupportedException();
+            }
+
+            next++;
+
+            return body;
+        }
+
+
+        @Nonnull
+        private Term escape() {
+            char in = take();
+            Term term;
+
+            if ((in == 'b') || (in == 'B')) {
+                term = empty();                                     // Approximated; matches must be verified
+            } else if (in == 'Q') {
+                int end = regEx.indexOf("\\E", next);
+                int finish = (end == -1 ? regEx.length() : end);
+                String quoted = regEx.substring(next, finish);
+
+                next = (end == -1 ? finish : end + 2);
+                term = literal(quoted);
+            } else {
+                term = chars(escapedSet(in));
+            }
+
+            return term;
+        }
+
+
+        /**
+         * Returns the characters matched by an escape sequence, outside or inside a character class
+         * @param in        the character after the backslash
+         * @return          the set of characters matched
+         */
+        @Nonnull
+        private int[] escapedSet(char in) {
+            int[] set;
+
+            if ((in == 'd') || (in == 'w') || (in == 's')) {
+                set = (in == 'd' ? DIGIT : (in == 'w' ? WORD : SPACE));
+            } else if ((in == 'D') || (in == 'W') || (in == 'S')) {
+                set = complement(escapedSet(Character.toLowerCase(in)));
+            } else {
+                int single = escapedChar(in);
+
+                set = new int[] { single, single };
+            }
+
+            return set;
+        }
+
+
+        private int escapedChar(char in) {
+            int result;
+
+            switch (in) {
+                case 't':
+                    result = '\t';
+                    break;
+                case 'n':
+                    result = '\n';
+                    break;
+                case 'r':
+                    result = '\r';
+                    break;
+                case 'f':
+                    result = '\f';
+                    break;
+                case 'a':
+                    result = BELL;
+                    break;
+                case 'e':
+                    result = ESCAPE;
+                    break;
+                case '0':
+                    result = number(OCTAL_RADIX, MAX_OCTAL_DIGITS);
+                    break;
+                case 'x':
+                    result = number(HEX_RADIX, HEX_DIGITS);
+                    break;
+                case 'u':
+                    result = number(HEX_RADIX, UNICODE_DIGITS);
+                    break;
+                case 'c':
+                    result = take() ^ CONTROL_MASK;
+                    break;
+                default:
+                    if (Character.isLetterOrDigit(in)) {
+                        throw new UnsupportedException();           // Back references, properties, anchors...
+                    }
+
+                    result = in;
+                    break;
+            }
+
+            return result;
+        }
+
+
+        private int number(int radix, int maxDigits) {
+            int value = 0;
+            int digits = 0;
+
+            while ((digits < maxDigits) && (Character.digit(peek(), radix) != -1)) {
+                value = value * radix + Character.digit(take(), radix);
+                digits++;
+            }
+
+            if (digits == 0) {
+                throw new UnsupportedException();
+            }
+
+            return value;
+        }
+
+
+        @Nonnull
+        private int[] characterClass() {
+            boolean negated = (peek() == '^');
+            List<Integer> ranges = new ArrayList<>();
+
+            if (negated) {
+                next++;
+            }
+
+            boolean first = true;
+            while (first || (peek() != ']')) {
+                if ((next == regEx.length()) || (peek() == '[') || regEx.startsWith("&&", next)) {
+                    throw new UnsupportedException();               // Unterminated, unions or intersections
+                }
+
+                char in = take();
+                int[] item = (in == '\\' ? escapedSet(take()) : new int[] { in, in });
+
+                if ((item.length == 2) && (item[0] == item[1]) && (peek() == '-') && (charAt(next + 1) != ']')) {
+                    next++;
+
+                    char upper = take();
+                    int high = (upper == '\\' ? escapedChar(take()) : upper);
+
+                    item = new int[] { item[0], high };
+                }
+
+                for (int value : item) {
+                    ranges.add(value);
+                }
+
+                first = false;
+            }
+
+            next++;
+
+            int[] set = normalise(ranges.stream().mapToInt(Integer::intValue).toArray());
+
+            return (negated ? complement(set) : set);
+        }
+
+
+        @Nonnull
+        private Term quantified(@Nonnull Term atom) {
+            char in = peek();
+            int min = -1;
+            int max = -1;
+
+            if (in == '?') {
+                min = 0;
+                max = 1;
+            } else if (in == '*') {
+                min = 0;
+            } else if (in == '+') {
+                min = 1;
+            } else if (in == '{') {
+                next++;
+                min = number(DECIMAL_RADIX, Integer.MAX_VALUE);
+                max = min;
+
+                if (peek() == ',') {
+                    next++;
+                    max = (peek() == '}' ? -1 : number(DECIMAL_RADIX, Integer.MAX_VALUE));
+                }
+
+                if (peek() != '}') {
+                    throw new UnsupportedException();
+                }
+            }
+
+            Term term = atom;
+
+            if (min != -1) {
+                next++;
+
+                if (peek() == '+') {
+                    throw new UnsupportedException();               // Possessive quantifiers backtrack differently
+                } else if (peek() == '?') {
+                    next++;                                         // Reluctant quantifiers match the same strings
+                }
+
+                term = repeat(atom, min, max);
+            }
+
+            return term;
+        }
+
+
+        @Nonnull
+        private Term repeat(@Nonnull Term atom, int min, int max) {
+            if ((min > MAX_REPEAT) || (max > MAX_REPEAT)) {
+                throw new UnsupportedException();
+            }
+
+            return (builder, following) -> {
+                int tail;
+
+                if (max == -1) {
+                    tail = builder.state();
+                    builder.epsilon(tail, following);
+                    builder.epsilon(tail, atom.build(builder, tail));
+                } else {
+                    tail = following;
+
+                    for (int count = min; count < max; count++) {
+                        int optional = builder.state();
+
+                        builder.epsilon(optional, following);
+                        builder.epsilon(optional, atom.build(builder, tail));
+                        tail = optional;
+                    }
+                }
+
+                for (int count = 0; count < min; count++) {
+                    tail = atom.build(builder, tail);
+                }
+
+                return tail;
+            };
+        }
+
+
+        @Nonnull
+        private static Term alternatives(@Nonnull List<Term> alternatives) {
+            return (builder, following) -> {
+                int state = builder.state();
+
+                for (Term alternative : alternatives) {
+                    builder.epsilon(state, alternative.build(builder, following));
+                }
+
+                return state;
+            };
+        }
+
+
+        @Nonnull
+        private static Term chars(@Nonnull int[] set) {
+            return (builder, following) -> {
+                int state = builder.state();
+
+                builder.transition(state, set, following);
+
+                return state;
+            };
+        }
+
+
+        @Nonnull
+        private static Term literal(@Nonnull String text) {
+            return (builder, following) -> {
+                int state = following;
+
+                for (int index = text.length() - 1; index >= 0; index--) {
+                    int from = builder.state();
+                    char in = text.charAt(index);
+
+                    builder.transition(from, new int[] { in, in }, state);
+                    state = from;
+                }
+
+                return state;
+            };
+        }
+
+
+        @Nonnull
+        private static Term empty() {
+            return (builder, following) -> following;
+        }
+
+
+        private static boolean isQuantifier(char in) {
+            return (in == '?') || (in == '*') || (in == '+') || (in == '{');
+        }
+
+
+        private char take() {
+            if (next == regEx.length()) {
+                throw new UnsupportedException();
+            }
+
+            return regEx.charAt(next++);
+        }
+
+
+        private char peek() {
+            return charAt(next);
+        }
+
+
+        private char charAt(int index) {
+            return (index < regEx.length() ? regEx.charAt(index) : 0);
+        }
+    }
+}
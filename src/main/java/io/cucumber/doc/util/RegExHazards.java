@@ -0,0 +1,705 @@
+package io.cucumber.doc.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Static analysis of a Java regular expression for the constructs that can make a backtracking matcher, such as
+ * {@link java.util.regex.Pattern}, take exponential time on text that almost matches. Two constructs are flagged,
+ * both only when they are repeated by an unbounded quantifier that is not possessive:
+ * <ul>
+ *  <li>an operand that itself contains an unbounded quantifier, such as {@code (.*)+} or {@code (\w+\s?)*}</li>
+ *  <li>an alternation whose alternatives can start with the same character, such as {@code (\w|\d)+}</li>
+ * </ul>
+ * Each hazard comes with some text that the repeated fragment matches, and the text that leads up to it, so that
+ * adversarial input can be built by repeating the fragment text. The analysis is approximate: case insensitivity,
+ * back references and look-arounds are not modelled, and a flagged regular expression may still be matched
+ * quickly. Atomic groups are assumed to be safe.
+ */
+public class RegExHazards {
+    private static final char EOS = (char) -1;
+    private static final int ASCII = 128;
+    private static final int OTHER = ASCII;                         // Stands for every character outside ASCII
+    private static final int SET_SIZE = ASCII + 1;
+    private static final int UNBOUNDED = -1;
+    private static final int MAX_SAMPLE_REPEAT = 8;
+    private static final int OCTAL_RADIX = 8;
+    private static final int DECIMAL_RADIX = 10;
+    private static final int HEX_RADIX = 16;
+    private static final int HEX_DIGITS = 2;
+    private static final int UNICODE_DIGITS = 4;
+    private static final int MAX_OCTAL_DIGITS = 3;
+    private static final int CONTROL_MASK = 0x40;
+    private static final char BELL = '\u0007';
+    private static final char ESCAPE = '\u001B';
+    private static final char NON_ASCII = '\u00e9';
+
+    private static final int[] DIGIT = { '0', '9' };
+    private static final int[] WORD = { '0', '9', 'A', 'Z', '_', '_', 'a', 'z' };
+    private static final int[] SPACE = { '\t', '\r', ' ', ' ' };
+    private static final int[] PREFERRED = { 'a', 'z', '0', '9', 'A', 'Z', ' ', '~' };
+
+    private final String regEx;
+    private final List<Hazard> hazards = new ArrayList<>();
+    private int next = 0;
+
+
+    /**
+     * The constructs that can cause catastrophic backtracking
+     */
+    public enum Kind {
+        /** An unbounded quantifier that repeats an unbounded quantifier */
+        NESTED_QUANTIFIER,
+
+        /** An unbounded quantifier that repeats alternatives that can start with the same character */
+        OVERLAPPING_ALTERNATION
+    }
+
+
+    /**
+     * A fragment of a regular expression that can cause catastrophic backtracking
+     */
+    public static class Hazard {
+        private final Kind kind;
+        private final String fragment;
+        private final String prefix;
+        private final String pump;
+
+
+        Hazard(@Nonnull Kind kind, @Nonnull String fragment, @Nonnull String prefix, @Nonnull String pump) {
+            this.kind = kind;
+            this.fragment = fragment;
+            this.prefix = prefix;
+            this.pump = pump;
+        }
+
+
+        /**
+         * Returns the type of construct that was found
+         * @return the type of construct that was found
+         */
+        @Nonnull
+        public Kind getKind() {
+            return kind;
+        }
+
+
+        /**
+         * Returns the repeated fragment of the regular expression, including its quantifier
+         * @return the repeated fragment of the regular expression
+         */
+        @Nonnull
+        public String getFragment() {
+            return fragment;
+        }
+
+
+        /**
+         * Returns some text that the regular expression can match before it reaches the fragment
+         * @return text that leads up to the fragment
+         */
+        @Nonnull
+        public String getPrefix() {
+            return prefix;
+        }
+
+
+        /**
+         * Returns some text that one repetition of the fragment matches
+         * @return text that can be repeated to build adversarial input
+         */
+        @Nonnull
+        public String getPump() {
+            return pump;
+        }
+
+
+        @Override
+        public String toString() {
+            return "Hazard{" + kind + " '" + fragment + "'}";
+        }
+    }
+
+
+    /**
+     * The properties of a parsed fragment of the regular expression that the analysis needs
+     */
+    private static class Term {
+        private final BitSet first = new BitSet(SET_SIZE);      // Characters a match can start with
+        private boolean nullable = true;                        // Can match the empty string
+        private boolean unbounded = false;                      // Contains a backtracking unbounded quantifier
+        private boolean overlapping = false;                    // Is an alternation with overlapping alternatives
+        private String sample = "";                             // Shortest text the fragment is known to match
+    }
+
+
+    private RegExHazards(@Nonnull String regEx) {
+        this.regEx = regEx;
+    }
+
+
+    /**
+     * Find the fragments of a regular expression that can cause catastrophic backtracking
+     * @param regEx     the regular expression, as it would be passed to {@link java.util.regex.Pattern#compile}
+     * @return          the hazards, in the order their fragments end in the regular expression. This list will be
+     *                  empty if the regular expression is considered safe
+     */
+    @Nonnull
+    public static List<Hazard> analyse(@Nonnull String regEx) {
+        RegExHazards analyser = new RegExHazards(regEx);
+
+        while (analyser.peek(0) != EOS) {
+            analyser.alternation("");
+            analyser.nextChar();                                    // Skip any unbalanced ')'
+        }
+
+        return Collections.unmodifiableList(analyser.hazards);
+    }
+
+
+    @Nonnull
+    private Term alternation(@Nonnull String before) {
+        List<Term> alternatives = new ArrayList<>();
+
+        alternatives.add(sequence(before));
+
+        while (peek(0) == '|') {
+            nextChar();
+            alternatives.add(sequence(before));
+        }
+
+        Term result = alternatives.get(0);
+
+        if (alternatives.size() != 1) {
+            result = new Term();
+            result.nullable = false;
+            result.sample = alternatives.get(0).sample;
+
+            for (Term alternative : alternatives) {
+                result.overlapping |= result.first.intersects(alternative.first);
+                result.first.or(alternative.first);
+                result.nullable |= alternative.nullable;
+                result.unbounded |= alternative.unbounded;
+            }
+        }
+
+        return result;
+    }
+
+
+    @Nonnull
+    private Term sequence(@Nonnull String before) {
+        Term result = new Term();
+        StringBuilder sample = new StringBuilder();
+        int count = 0;
+        Term last = null;
+
+        while ((peek(0) != EOS) && (peek(0) != '|') && (peek(0) != ')')) {
+            int start = next;
+            String leading = before + sample;
+            Term term = quantified(atom(leading), start, leading);
+
+            if (result.nullable) {
+                result.first.or(term.first);
+            }
+
+            result.nullable &= term.nullable;
+            result.unbounded |= term.unbounded;
+            sample.append(term.sample);
+            last = term;
+            count++;
+        }
+
+        result.overlapping = (count == 1) && last.overlapping;
+        result.sample = sample.toString();
+
+        return result;
+    }
+
+
+    @Nonnull
+    private Term atom(@Nonnull String before) {
+        char in = nextChar();
+        Term term;
+
+        if (in == '(') {
+            term = group(before);
+        } else if (in == '[') {
+            term = chars(characterClass());
+        } else if (in == '.') {
+            term = chars(dot());
+        } else if (in == '\\') {
+            term = escape();
+        } else if ((in == '^') || (in == '$')) {
+            term = new Term();
+        } else {
+            term = literal(String.valueOf(in));
+        }
+
+        return term;
+    }
+
+
+    /**
+     * As we've just read a '(', parse any kind of group
+     * @param before    text that the regular expression matches before the group
+     * @return          the parsed group
+     */
+    @Nonnull
+    private Term group(@Nonnull String before) {
+        boolean zeroWidth = false;
+        boolean atomic = false;
+        boolean flagsOnly = false;
+
+        if (peek(0) == '?') {
+            char kind = peek(1);
+
+            if ((kind == '=') || (kind == '!')) {
+                zeroWidth = true;
+                next += 2;
+            } else if ((kind == '<') && ((peek(2) == '=') || (peek(2) == '!'))) {
+                zeroWidth = true;
+                next += 3;
+            } else if (kind == '<') {
+                skipPast('>');
+            } else if (kind == '>') {
+                atomic = true;
+                next += 2;
+            } else {
+                flagsOnly = skipFlags();
+            }
+        }
+
+        Term result = (flagsOnly ? new Term() : alternation(before));
+
+        if (!flagsOnly) {
+            nextChar();                                             // Closing ')'
+        }
+
+        if (zeroWidth) {
+            result = new Term();
+        } else if (atomic) {
+            result.unbounded = false;
+            result.overlapping = false;
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Skip the embedded flags in a group that starts "(?"
+     * @return  {@code true} if the group only sets flags, so the closing bracket has also been skipped
+     */
+    private boolean skipFlags() {
+        char in = nextChar();                                       // The '?'
+
+        while ((in != EOS) && (in != ':') && (in != ')')) {
+            in = nextChar();
+        }
+
+        return (in == ')');
+    }
+
+
+    private void skipPast(char end) {
+        char in = nextChar();
+
+        while ((in != EOS) && (in != end)) {
+            in = nextChar();
+        }
+    }
+
+
+    /**
+     * As we've just read a '\', parse an escape sequence outside a character class
+     * @return          the parsed escape sequence
+     */
+    @Nonnull
+    private Term escape() {
+        char in = nextChar();
+        Term term;
+
+        if ("bBAzZG".indexOf(in) != -1) {
+            term = new Term();                                      // Anchors and boundaries
+        } else if ((in == 'k') || ((in >= '1') && (in <= '9'))) {
+            if (in == 'k') {
+                skipPast('>');
+            }
+
+            term = chars(all());                                    // Back references may match anything
+            term.nullable = true;
+            term.sample = "";
+        } else if (in == 'Q') {
+            int end = regEx.indexOf("\\E", next);
+            int finish = (end == -1 ? regEx.length() : end);
+
+            term = literal(regEx.substring(next, finish));
+            next = (end == -1 ? finish : end + 2);
+        } else {
+            term = chars(escapedSet(in));
+        }
+
+        return term;
+    }
+
+
+    /**
+     * Returns the characters matched by an escape sequence, outside or inside a character class
+     * @param in        the character after the backslash
+     * @return          the set of characters matched
+     */
+    @Nonnull
+    private BitSet escapedSet(char in) {
+        BitSet set;
+
+        if ((in == 'd') || (in == 'w') || (in == 's')) {
+            set = ranges(in == 'd' ? DIGIT : (in == 'w' ? WORD : SPACE));
+        } else if ((in == 'D') || (in == 'W') || (in == 'S')) {
+            set = escapedSet(Character.toLowerCase(in));
+            set.flip(0, SET_SIZE);
+        } else if ((in == 'p') || (in == 'P') || (in == 'h') || (in == 'H') || (in == 'v') || (in == 'V') ||
+                   (in == 'R') || (in == 'X')) {
+            if (peek(0) == '{') {
+                skipPast('}');
+            } else if ((in == 'p') || (in == 'P')) {
+                nextChar();                                         // Single letter property name
+            }
+
+            set = all();                                            // Approximated
+        } else {
+            set = single(escapedChar(in));
+        }
+
+        return set;
+    }
+
+
+    private int escapedChar(char in) {
+        int result;
+
+        switch (in) {
+            case 't':
+                result = '\t';
+                break;
+            case 'n':
+                result = '\n';
+                break;
+            case 'r':
+                result = '\r';
+                break;
+            case 'f':
+                result = '\f';
+                break;
+            case 'a':
+                result = BELL;
+                break;
+            case 'e':
+                result = ESCAPE;
+                break;
+            case '0':
+                result = number(OCTAL_RADIX, MAX_OCTAL_DIGITS);
+                break;
+            case 'x':
+                result = number(HEX_RADIX, HEX_DIGITS);
+                break;
+            case 'u':
+                result = number(HEX_RADIX, UNICODE_DIGITS);
+                break;
+            case 'c':
+                result = nextChar() ^ CONTROL_MASK;
+                break;
+            default:
+                result = in;
+                break;
+        }
+
+        return result;
+    }
+
+
+    private int number(int radix, int maxDigits) {
+        int value = 0;
+        int digits = 0;
+
+        while ((digits < maxDigits) && (Character.digit(peek(0), radix) != -1)) {
+            value = value * radix + Character.digit(nextChar(), radix);
+            digits++;
+        }
+
+        return value;
+    }
+
+
+    /**
+     * As we've just read a '[', parse a character class, including any nested classes
+     * @return          the characters in the class
+     */
+    @Nonnull
+    private BitSet characterClass() {
+        boolean negated = (peek(0) == '^');
+        boolean first = true;
+        BitSet set = new BitSet(SET_SIZE);
+
+        if (negated) {
+            nextChar();
+        }
+
+        while ((peek(0) != EOS) && (first || (peek(0) != ']'))) {
+            char in = nextChar();
+
+            if ((in == '[') && !first) {
+                set.or(characterClass());
+            } else if ((in == '&') && (peek(0) == '&')) {
+                set = all();                                        // Intersections are approximated
+                nextChar();
+            } else {
+                BitSet item = (in == '\\' ? escapedSet(nextChar()) : single(in));
+                int low = item.nextSetBit(0);
+
+                if ((item.cardinality() == 1) && (peek(0) == '-') && (peek(1) != ']') && (peek(1) != EOS)) {
+                    nextChar();
+
+                    char upper = nextChar();
+                    int high = (upper == '\\' ? escapedChar(nextChar()) : upper);
+
+                    item = range(low == OTHER ? ASCII : low, high);
+                }
+
+                set.or(item);
+            }
+
+            first = false;
+        }
+
+        nextChar();                                                 // Closing ']'
+
+        if (negated) {
+            set.flip(0, SET_SIZE);
+            set.set(OTHER);
+        }
+
+        return set;
+    }
+
+
+    /**
+     * Apply any quantifier that follows a term, and record the hazards it introduces
+     * @param atom      the term that may be quantified
+     * @param start     position of the term in the regular expression
+     * @param before    text that the regular expression matches before the term
+     * @return          the quantified term
+     */
+    @Nonnull
+    private Term quantified(@Nonnull Term atom, int start, @Nonnull String before) {
+        char in = peek(0);
+        int min = -1;
+        int max = UNBOUNDED;
+        int mark = next;
+
+        if (in == '?') {
+            min = 0;
+            max = 1;
+        } else if (in == '*') {
+            min = 0;
+        } else if (in == '+') {
+            min = 1;
+        } else if ((in == '{') && Character.isDigit(peek(1))) {
+            nextChar();
+            min = number(DECIMAL_RADIX, Integer.MAX_VALUE);
+            max = min;
+
+            if (peek(0) == ',') {
+                nextChar();
+                max = (peek(0) == '}' ? UNBOUNDED : number(DECIMAL_RADIX, Integer.MAX_VALUE));
+            }
+
+            if (peek(0) != '}') {
+                min = -1;                                           // Not a quantifier; Pattern rejects it anyway
+                next = mark;
+            }
+        }
+
+        Term result = atom;
+
+        if (min != -1) {
+            nextChar();                                             // The '?', '*', '+' or closing '}'
+
+            boolean possessive = (peek(0) == '+');
+
+            if (possessive || (peek(0) == '?')) {
+                nextChar();
+            }
+
+            result = repeat(atom, min, max, possessive);
+
+            if ((max == UNBOUNDED) && !possessive) {
+                record(atom, regEx.substring(start, next), before);
+            }
+        }
+
+        return result;
+    }
+
+
+    @Nonnull
+    private Term repeat(@Nonnull Term atom, int min, int max, boolean possessive) {
+        Term result = new Term();
+        StringBuilder sample = new StringBuilder();
+
+        for (int count = Math.min(min, MAX_SAMPLE_REPEAT); count > 0; count--) {
+            sample.append(atom.sample);
+        }
+
+        result.first.or(atom.first);
+        result.nullable = atom.nullable || (min == 0);
+        result.unbounded = !possessive && (atom.unbounded || (max == UNBOUNDED));
+        result.sample = sample.toString();
+
+        return result;
+    }
+
+
+    private void record(@Nonnull Term repeated, @Nonnull String fragment, @Nonnull String before) {
+        String pump = (repeated.sample.isEmpty() ? String.valueOf(representative(repeated.first)) : repeated.sample);
+
+        if (repeated.unbounded) {
+            hazards.add(new Hazard(Kind.NESTED_QUANTIFIER, fragment, before, pump));
+        }
+
+        if (repeated.overlapping) {
+            hazards.add(new Hazard(Kind.OVERLAPPING_ALTERNATION, fragment, before, pump));
+        }
+    }
+
+
+    @Nonnull
+    private static Term chars(@Nonnull BitSet set) {
+        Term term = new Term();
+
+        term.first.or(set);
+        term.nullable = false;
+        term.sample = String.valueOf(representative(set));
+
+        return term;
+    }
+
+
+    @Nonnull
+    private static Term literal(@Nonnull String text) {
+        Term term = new Term();
+
+        if (!text.isEmpty()) {
+            term.first.set(Math.min(text.charAt(0), OTHER));
+            term.nullable = false;
+        }
+
+        term.sample = text;
+
+        return term;
+    }
+
+
+    /**
+     * Returns the character that is used to stand for a set in sample text. Letters and digits are preferred
+     * @param set       set of characters
+     * @return          a member of the set, or 'a' if it is empty
+     */
+    private static char representative(@Nonnull BitSet set) {
+        int found = -1;
+
+        for (int index = 0; (found == -1) && (index < PREFERRED.length); index += 2) {
+            int member = set.nextSetBit(PREFERRED[index]);
+
+            found = ((member != -1) && (member <= PREFERRED[index + 1]) ? member : -1);
+        }
+
+        if (found == -1) {
+            found = set.nextSetBit(0);
+        }
+
+        return (found == -1 ? 'a' : (found == OTHER ? NON_ASCII : (char) found));
+    }
+
+
+    @Nonnull
+    private static BitSet single(int character) {
+        BitSet set = new BitSet(SET_SIZE);
+
+        set.set(Math.min(character, OTHER));
+
+        return set;
+    }
+
+
+    @Nonnull
+    private static BitSet range(int low, int high) {
+        BitSet set = new BitSet(SET_SIZE);
+
+        if (low <= high) {
+            set.set(Math.min(low, OTHER), Math.min(high, OTHER) + 1);
+        }
+
+        return set;
+    }
+
+
+    @Nonnull
+    private static BitSet ranges(@Nonnull int[] ranges) {
+        BitSet set = new BitSet(SET_SIZE);
+
+        for (int index = 0; index < ranges.length; index += 2) {
+            set.set(ranges[index], ranges[index + 1] + 1);
+        }
+
+        return set;
+    }
+
+
+    @Nonnull
+    private static BitSet dot() {
+        BitSet set = all();
+
+        set.clear('\n');
+        set.clear('\r');
+
+        return set;
+    }
+
+
+    @Nonnull
+    private static BitSet all() {
+        BitSet set = new BitSet(SET_SIZE);
+
+        set.set(0, SET_SIZE);
+
+        return set;
+    }
+
+
+    /**
+     * Returns the next character in the regular expression or {@link #EOS} if there are none. Move the
+     * {@link #next} index on as required
+     * @return          The next character in the {@link #regEx}
+     */
+    private char nextChar() {
+        return (next >= regEx.length() ? EOS : regEx.charAt(next++));
+    }
+
+
+    /**
+     * Returns characters in the regular expression or {@link #EOS} if there are none. The
+     * {@link #next} index will not be modified
+     * @param offset    0 based offset from {@link #next}
+     * @return          next character in the {@link #regEx} to process
+     */
+    private char peek(int offset) {
+        int index = next + offset;
+
+        return (index >= regEx.length() ? EOS : regEx.charAt(index));
+    }
+}
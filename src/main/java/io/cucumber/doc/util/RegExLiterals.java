@@ -0,0 +1,354 @@
+package io.cucumber.doc.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Extract the literal text that every match of a regular expression must contain. These are used to find the
+ * handful of mappings that could match some step text without trying every regular expression.
+ * <br>
+ * Only the top level of the regular expression is examined; groups, character classes, escaped character
+ * classes and optional characters all break the literal text. Regular expressions with a top level alternation
+ * or embedded flags (which might make them case insensitive) have no literals.
+ * <br>
+ * The literals must be sound: if the regular expression matches some text then the text contains every literal.
+ * Anything that is not understood therefore breaks the literal text rather than being added to it.
+ */
+public class RegExLiterals {
+    private static final String NON_LITERAL_ESCAPES = "dDwWsSbBAzZGEpPxuctnrfeak0123456789hHvVRXN";
+    private static final String OCTAL_DIGITS = "01234567";
+    private static final String HEX_DIGITS = "0123456789abcdefABCDEF";
+
+    private final String prefix;
+    private final List<String> required;
+
+
+    private RegExLiterals(@Nonnull String prefix, @Nonnull List<String> required) {
+        this.prefix = prefix;
+        this.required = Collections.unmodifiableList(required);
+    }
+
+
+    /**
+     * Static Factory method to extract the literals from a regular expression
+     * @param regEx     Regular expression to examine
+     * @return          An instance of {@link RegExLiterals}
+     */
+    @Nonnull
+    public static RegExLiterals of(@Nonnull String regEx) {
+        return new Parser(regEx).parse();
+    }
+
+
+    /**
+     * Returns the literal text that every match must start with. This may be empty
+     * @return the literal text that every match must start with
+     */
+    @Nonnull
+    public String getPrefix() {
+        return prefix;
+    }
+
+
+    /**
+     * Returns the blocks of literal text that every match must contain, in the order they appear in the regular
+     * expression. If there is a {@link #getPrefix() prefix} it is the first element.
+     * @return the blocks of literal text that every match must contain
+     */
+    @Nonnull
+    public List<String> getRequired() {
+        return required;
+    }
+
+
+    /**
+     * Returns the longest block of literal text that every match must contain, or an empty string if there isn't one
+     * @return the longest block of literal text that every match must contain
+     */
+    @Nonnull
+    public String getLongest() {
+        String longest = "";
+
+        for (String literal : required) {
+            if (literal.length() > longest.length()) {
+                longest = literal;
+            }
+        }
+
+        return longest;
+    }
+
+
+    @Override
+    public String toString() {
+        return "RegExLiterals{prefix='" + prefix + "', required=" + required + '}';
+    }
+
+
+    /**
+     * Single use parser for the top level of a regular expression
+     */
+    private static class Parser {
+        private final String regEx;
+        private final int end;
+        private final List<String> required = new ArrayList<>();
+        private final StringBuilder run = new StringBuilder();
+        private int next;
+        private boolean inPrefix = true;
+        private String prefix = "";
+
+
+        Parser(@Nonnull String regEx) {
+            String trimmed = regEx.trim();
+            int start = (trimmed.startsWith("^") ? 1 : 0);
+            int finish = trimmed.length();
+
+            if ((finish > start) && (trimmed.charAt(finish - 1) == '$') && !isEscaped(trimmed, finish - 1)) {
+                finish--;
+            }
+
+            this.regEx = trimmed;
+            this.next = start;
+            this.end = finish;
+        }
+
+
+        private static boolean isEscaped(@Nonnull String text, int index) {
+            int slashes = 0;
+
+            while ((index - slashes > 0) && (text.charAt(index - slashes - 1) == '\\')) {
+                slashes++;
+            }
+
+            return ((slashes & 1) == 1);
+        }
+
+
+        @Nonnull
+        RegExLiterals parse() {
+            boolean literal = true;
+
+            while (literal && (next != end)) {
+                char in = regEx.charAt(next++);
+
+                if ((in == '\\') && (peek() == 'Q')) {
+                    literal = false;                        // Quoted text is too rare to be worth parsing
+                } else if (in == '\\') {
+                    parseEscape();
+                } else if (in == '[') {
+                    skipCharacterClass();
+                    breakRun();
+                } else if (in == '(') {
+                    literal = (peek() != '?') || (regEx.startsWith("?:", next) || regEx.startsWith("?<", next));
+                    skipGroup();
+                    breakRun();
+                } else if (in == '|') {
+                    literal = false;
+                } else if ((in == '.') || (in == '^') || (in == '$') || (in == ')')) {
+                    breakRun();
+                } else if (isQuantifier(in)) {
+                    skipQuantifier(in);
+                    breakRun();
+                } else {
+                    appendLiteral(in);
+                }
+            }
+
+            breakRun();
+
+            return (literal ? new RegExLiterals(prefix, required) : new RegExLiterals("", new ArrayList<>()));
+        }
+
+
+        private void parseEscape() {
+            char escaped = peek();
+
+            if (next == end) {
+                breakRun();
+            } else if (NON_LITERAL_ESCAPES.indexOf(escaped) != -1) {
+                next++;
+                skipEscapeOperand(escaped);
+                breakRun();
+            } else {
+                next++;
+                appendLiteral(escaped);
+            }
+        }
+
+
+        /**
+         * Skip the operand of an escape that has just been read, so that it is not mistaken for literal text.
+         * Octal, hex and unicode escapes, control characters, back references and unicode classes all have
+         * an operand
+         * @param escaped       the character that followed the back slash
+         */
+        private void skipEscapeOperand(char escaped) {
+            if (escaped == '0') {
+                skipDigits(OCTAL_DIGITS, (peek() <= '3' ? 3 : 2));
+            } else if ((escaped >= '1') && (escaped <= '9')) {
+                skipDigits("0123456789", Integer.MAX_VALUE);
+            } else if ((escaped == 'x') && (peek() == '{')) {
+                skipPast('}');
+            } else if (escaped == 'x') {
+                skipDigits(HEX_DIGITS, 2);
+            } else if (escaped == 'u') {
+                skipDigits(HEX_DIGITS, 4);
+            } else if (escaped == 'c') {
+                next = Math.min(next + 1, end);
+            } else if ((escaped == 'k') && (peek() == '<')) {
+                skipPast('>');
+            } else if (((escaped == 'p') || (escaped == 'P')) && (peek() == '{')) {
+                skipPast('}');
+            } else if ((escaped == 'p') || (escaped == 'P')) {
+                next = Math.min(next + 1, end);
+            }
+        }
+
+
+        private void skipDigits(@Nonnull String digits, int limit) {
+            int count = 0;
+
+            while ((count != limit) && (next != end) && (digits.indexOf(regEx.charAt(next)) != -1)) {
+                next++;
+                count++;
+            }
+        }
+
+
+        private void skipPast(char terminator) {
+            while ((next != end) && (regEx.charAt(next) != terminator)) {
+                next++;
+            }
+
+            next = Math.min(next + 1, end);
+        }
+
+
+        /**
+         * Add a literal character to the current run, allowing for any quantifier that follows it
+         * @param in        a literal character
+         */
+        private void appendLiteral(char in) {
+            char following = peek();
+
+            if ((following == '?') || (following == '*') || isOptionalRepeat()) {
+                breakRun();                                 // The character may not appear at all
+            } else if ((following == '+') || (following == '{')) {
+                run.append(in);                             // The character appears at least once...
+                breakRun();                                 // ... but we don't know how often
+            } else {
+                run.append(in);
+            }
+        }
+
+
+        private boolean isOptionalRepeat() {
+            return regEx.startsWith("{0", next) || regEx.startsWith("{,", next);
+        }
+
+
+        private static boolean isQuantifier(char in) {
+            return (in == '?') || (in == '*') || (in == '+') || (in == '{');
+        }
+
+
+        private void skipQuantifier(char in) {
+            if (in == '{') {
+                skipPast('}');
+            }
+
+            char suffix = peek();
+            if ((suffix == '?') || (suffix == '+')) {
+                next++;
+            }
+        }
+
+
+        /**
+         * Skip to, and over, the closing bracket of a character class whose opening bracket has just been read.
+         * A closing bracket at the start of the class is part of the class, and classes may be nested, as in
+         * {@code []a]} and {@code [a[bc]]}
+         */
+        private void skipCharacterClass() {
+            int depth = 1;
+
+            if (peek() == '^') {
+                next++;
+            }
+
+            if (peek() == ']') {
+                next++;
+            }
+
+            while ((depth != 0) && (next != end)) {
+                char in = regEx.charAt(next++);
+
+                if (in == '\\') {
+                    skipEscaped();
+                } else if (in == '[') {
+                    depth++;
+                } else if (in == ']') {
+                    depth--;
+                }
+            }
+        }
+
+
+        /**
+         * Skip the character after a back slash that has just been read. Quoted text is skipped as a whole so
+         * that any brackets it contains are ignored
+         */
+        private void skipEscaped() {
+            if (peek() == 'Q') {
+                int quoteEnd = regEx.indexOf("\\E", next);
+
+                next = (((quoteEnd == -1) || (quoteEnd + 2 > end)) ? end : quoteEnd + 2);
+            } else {
+                next = Math.min(next + 1, end);
+            }
+        }
+
+
+        private void skipGroup() {
+            int depth = 1;
+
+            while ((depth != 0) && (next != end)) {
+                char in = regEx.charAt(next++);
+
+                if (in == '\\') {
+                    skipEscaped();
+                } else if (in == '[') {
+                    skipCharacterClass();
+                } else if (in == '(') {
+                    depth++;
+                } else if (in == ')') {
+                    depth--;
+                }
+            }
+        }
+
+
+        private void breakRun() {
+            if (run.length() != 0) {
+                String text = run.toString();
+
+                if (inPrefix) {
+                    prefix = text;
+                }
+
+                required.add(text);
+                run.setLength(0);
+            }
+
+            inPrefix = false;
+        }
+
+
+        private char peek() {
+            return (next < end ? regEx.charAt(next) : 0);
+        }
+    }
+}
@@ -2,16 +2,36 @@ package io.cucumber.doc.util;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.Nonnull;
 
+import io.cucumber.doc.annotation.VisibleForTesting;
+
 /**
  * Split a regular expression into its component parts. These can be read via calls to
  * {@link #getUncapturedText()} and {@link #getCaptureGroups()}.
+ * <br>
+ * Instances are immutable once compiled, so the most recently used instances are cached and shared; the same
+ * regular expression is often used by several mappings.
  */
 public class RegExSplitter {
     private static final char EOS = (char) -1;
+    private static final int CACHE_SIZE = 1024;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private static final Map<String, RegExSplitter> CACHE = Collections.synchronizedMap(
+        new LinkedHashMap<String, RegExSplitter>(CACHE_SIZE, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(@Nonnull Map.Entry<String, RegExSplitter> eldest) {
+                return (size() > CACHE_SIZE);
+            }
+        });
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
 
     private final String regEx;
 
@@ -35,14 +55,65 @@ public class RegExSplitter {
      */
     @Nonnull
     public static RegExSplitter compile(@Nonnull String regEx) {
-        RegExSplitter parser = new RegExSplitter(regEx);
+        RegExSplitter parser = CACHE.get(regEx);
+
+        if (parser != null) {
+            HITS.incrementAndGet();
+        } else {
+            MISSES.incrementAndGet();
 
-        parser.parse();
+            parser = new RegExSplitter(regEx);          // Parsed outside the lock. Races just duplicate effort
+            parser.parse();
+
+            CACHE.put(regEx, parser);
+        }
 
         return parser;
     }
 
 
+    /**
+     * If trace is enabled, write the number of cache hits and misses since the last call, then reset the counts
+     */
+    public static void traceStatistics() {
+        long hits = HITS.getAndSet(0);
+        long misses = MISSES.getAndSet(0);
+
+        Trace.message("Regular expression cache: %d hits, %d misses, %d entries", hits, misses, CACHE.size());
+    }
+
+
+    /**
+     * Returns the number of times {@link #compile(String)} found a cached instance since the last reset
+     * @return the number of cache hits
+     */
+    @VisibleForTesting
+    static long getHits() {
+        return HITS.get();
+    }
+
+
+    /**
+     * Returns the number of times {@link #compile(String)} had to parse the regular expression since the last reset
+     * @return the number of cache misses
+     */
+    @VisibleForTesting
+    static long getMisses() {
+        return MISSES.get();
+    }
+
+
+    /**
+     * Empty the cache and reset the statistics
+     */
+    @VisibleForTesting
+    static void clearCache() {
+        CACHE.clear();
+        HITS.set(0);
+        MISSES.set(0);
+    }
+
+
     private void parse() {
         parse(EOS);
 
@@ -0,0 +1,119 @@
+package io.cucumber.doc.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+import io.cucumber.doc.annotation.VisibleForTesting;
+
+/**
+ * Pool of canonical strings used while building a model. Large harnesses repeat the same verbs, parameter
+ * types, capture group formats and versions in thousands of places, and every copy read from JavaDoc or a linked
+ * report is a separate instance. Unlike {@link String#intern()} the pool is scoped to a single run: it is emptied
+ * by {@link #release()} once the reports have been written.
+ * <br>
+ * Memory sizes are estimates for a 64 bit JVM with compressed references.
+ */
+public class StringPool {
+    private static final int STRING_BYTES = 24;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int ALIGNMENT = 8;
+    private static final int BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private static final Map<String, String> POOL = new ConcurrentHashMap<>();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong SAVED = new AtomicLong();
+
+
+    /** Hide utility class constructor. */
+    private StringPool() {
+    }
+
+
+    /**
+     * Returns the canonical instance of {@code text}
+     * @param text      text to look up. This may be {@code null}
+     * @return          an instance equal to {@code text} that is shared with all other equal strings in the pool,
+     *                      or {@code null} if {@code text} is {@code null}
+     */
+    @Nullable
+    public static String intern(@Nullable String text) {
+        String canonical;
+
+        if (text == null) {
+            canonical = null;
+        } else {
+            canonical = POOL.putIfAbsent(text, text);
+
+            if (canonical == null) {
+                canonical = text;
+            } else if (canonical != text) {
+                HITS.incrementAndGet();
+                SAVED.addAndGet(size(text));
+            }
+        }
+
+        return canonical;
+    }
+
+
+    /**
+     * If trace is enabled, report the memory saved by the pool and the heap usage, then empty the pool.
+     * Strings already returned by {@link #intern(String)} are unaffected.
+     */
+    public static void release() {
+        long retained = 0;
+
+        for (String text : POOL.keySet()) {
+            retained += size(text);
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+
+        Trace.message("String pool: %d strings (%d bytes), %d duplicates removed (%d bytes saved)",
+                      POOL.size(), retained, HITS.get(), SAVED.get());
+        Trace.message("Heap: %d MB used of %d MB",
+                      used / BYTES_PER_MEGABYTE,
+                      runtime.totalMemory() / BYTES_PER_MEGABYTE);
+
+        POOL.clear();
+        HITS.set(0);
+        SAVED.set(0);
+    }
+
+
+    /**
+     * Returns the estimated number of bytes used by a string, including its character array
+     * @param text      a string
+     * @return          the estimated number of bytes used by {@code text}
+     */
+    @VisibleForTesting
+    static long size(@Nullable String text) {
+        long array = ARRAY_HEADER_BYTES + 2L * (text == null ? 0 : text.length());
+
+        return STRING_BYTES + ((array + ALIGNMENT - 1) / ALIGNMENT) * ALIGNMENT;
+    }
+
+
+    /**
+     * Returns the number of duplicate strings removed since the pool was last released
+     * @return the number of duplicate strings removed
+     */
+    @VisibleForTesting
+    static long getHits() {
+        return HITS.get();
+    }
+
+
+    /**
+     * Returns the estimated number of bytes saved since the pool was last released
+     * @return the estimated number of bytes saved
+     */
+    @VisibleForTesting
+    static long getSaved() {
+        return SAVED.get();
+    }
+}
@@ -17,6 +17,10 @@ public class StringUtils {
     private static final Set<String> END_OF_SENTENCE =
         SetUtils.toUnmodifiableSet(". ", "! ", "? ",
                                    ".\n", "!\n", "?\n");
+    private static final int MAX_OCTAL_DIGITS = 3;
+    private static final int OCTAL_RADIX = 8;
+    private static final int HEX_RADIX = 16;
+    private static final int UNICODE_DIGITS = 4;
 
 
     /** Hide utility class constructor */
@@ -292,4 +296,95 @@ public class StringUtils {
 
         return new String(buffer);
     }
+
+
+    /**
+     * Returns the value of the text between the quotes of a Java string literal. For example
+     * {@code a \\d \" \u0041} becomes {@code a \d " A}. Malformed escape sequences are retained as they are.
+     * @param literal           the content of a Java string literal, exactly as it appears in the source
+     * @return                  the value of the string
+     */
+    @Nonnull
+    public static String unescapeJava(@Nonnull String literal) {
+        String value;
+        int index = literal.indexOf('\\');
+
+        if (index == -1) {
+            value = literal;
+        } else {
+            StringBuilder builder = new StringBuilder(literal.length());
+            int length = literal.length();
+
+            builder.append(literal, 0, index);
+
+            while (index < length) {
+                char in = literal.charAt(index++);
+
+                if ((in != '\\') || (index == length)) {
+                    builder.append(in);
+                } else {
+                    index = unescape(literal, index, builder);
+                }
+            }
+
+            value = builder.toString();
+        }
+
+        return value;
+    }
+
+
+    /**
+     * Append the value of a single escape sequence
+     * @param literal           the content of a Java string literal
+     * @param index             index of the character after the back slash
+     * @param builder           destination for the value
+     * @return                  index of the character after the escape sequence
+     */
+    private static int unescape(@Nonnull String literal, int index, @Nonnull StringBuilder builder) {
+        char escaped = literal.charAt(index++);
+        int octalEnd = index;
+
+        while ((octalEnd < literal.length()) &&
+               (octalEnd - index < MAX_OCTAL_DIGITS - 1) &&
+               (literal.charAt(octalEnd) >= '0') &&
+               (literal.charAt(octalEnd) <= '7')) {
+            octalEnd++;
+        }
+
+        if (escaped == 'b') {
+            builder.append('\b');
+        } else if (escaped == 't') {
+            builder.append('\t');
+        } else if (escaped == 'n') {
+            builder.append('\n');
+        } else if (escaped == 'f') {
+            builder.append('\f');
+        } else if (escaped == 'r') {
+            builder.append('\r');
+        } else if ((escaped >= '0') && (escaped <= '7')) {
+            builder.append((char) Integer.parseInt(literal.substring(index - 1, octalEnd), OCTAL_RADIX));
+            index = octalEnd;
+        } else if ((escaped == 'u') && isHex(literal, index, UNICODE_DIGITS)) {
+            builder.append((char) Integer.parseInt(literal.substring(index, index + UNICODE_DIGITS), HEX_RADIX));
+            index += UNICODE_DIGITS;
+        } else if ((escaped == '\\') || (escaped == '"') || (escaped == '\'')) {
+            builder.append(escaped);
+        } else {
+            builder.append('\\').append(escaped);
+        }
+
+        return index;
+    }
+
+
+    private static boolean isHex(@Nonnull String text, int index, int length) {
+        boolean hex = (index + length <= text.length());
+
+        for (int offset = 0; hex && (offset < length); offset++) {
+            hex = (Character.digit(text.charAt(index + offset), HEX_RADIX) != -1);
+        }
+
+        return hex;
+    }
 }
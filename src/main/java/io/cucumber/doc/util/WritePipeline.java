@@ -0,0 +1,451 @@
+package io.cucumber.doc.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.cucumber.doc.exception.CukeDocException;
+
+/**
+ * Overlaps rendering the reports with writing them to disk. While a pipeline is open the content of each file
+ * written by {@link FileUtils} is split into chunks, which are pushed onto a bounded queue and written to disk by
+ * a small pool of writer threads. All the chunks of a file go to the same writer, so they are written in order.
+ * <br>
+ * When a writer falls behind its queue fills up and the threads that are rendering the reports wait for it, so
+ * no more than a few chunks per writer are held in memory. As the files are written in the background, any
+ * failure to write them is reported when the pipeline is closed. If a writer thread stops unexpectedly then the
+ * threads that are waiting for it fail with the writer's exception, rather than waiting forever.
+ */
+public class WritePipeline implements Closeable {
+    private static final int KILOBYTE = 1024;
+    private static final int CHUNK_SIZE = 64 * KILOBYTE;
+    private static final int QUEUE_CAPACITY = 16;
+    private static final long POLL_INTERVAL = 100;                  // Milliseconds between checks on a writer
+
+    private static volatile WritePipeline active = null;
+
+    private final Opener opener;
+    private final List<BlockingQueue<Chunk>> queues = new ArrayList<>();
+    private final List<Thread> writers = new ArrayList<>();
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+    private final AtomicLong files = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong totalDepth = new AtomicLong();
+    private final AtomicLong maxDepth = new AtomicLong();
+    private final AtomicLong stalls = new AtomicLong();
+    private final AtomicLong stallTime = new AtomicLong();
+
+
+    /**
+     * Opens the file that the chunks of a target are written to
+     */
+    @FunctionalInterface
+    interface Opener {
+        /**
+         * Open a file
+         * @param target        the absolute path of the file to write
+         * @return              the destination for the content of the file
+         * @throws IOException if the file could not be opened
+         */
+        @Nonnull
+        Destination open(@Nonnull Path target) throws IOException;
+    }
+
+
+    /**
+     * A part of the content of a file
+     */
+    private static class Chunk {
+        private static final Chunk END = new Chunk(null, null, 0, null, true);
+
+        private final Path target;
+        private final byte[] data;
+        private final int length;
+        private final String hash;
+        private final boolean last;
+
+
+        Chunk(@Nullable Path target, @Nullable byte[] data, int length, @Nullable String hash, boolean last) {
+            this.target = target;
+            this.data = data;
+            this.length = length;
+            this.hash = hash;
+            this.last = last;
+        }
+    }
+
+
+    /**
+     * Splits the content of a file into chunks and pushes them onto the queue of a writer
+     */
+    private class PipedDestination extends OutputStream implements Destination {
+        private final Path target;
+        private final int writer;
+        private byte[] buffer = new byte[CHUNK_SIZE];
+        private int used = 0;
+        private boolean finished = false;
+
+
+        PipedDestination(@Nonnull Path target) {
+            this.target = target;
+            this.writer = Math.floorMod(target.hashCode(), queues.size());
+        }
+
+
+        @Override
+        @Nonnull
+        public OutputStream getStream() {
+            return this;
+        }
+
+
+        @Override
+        public void write(int value) throws IOException {
+            if (used == buffer.length) {
+                push(null, false);
+            }
+
+            buffer[used++] = (byte) value;
+        }
+
+
+        @Override
+        public void write(@Nonnull byte[] data, int offset, int length) throws IOException {
+            int written = 0;
+
+            while (written < length) {
+                if (used == buffer.length) {
+                    push(null, false);
+                }
+
+                int count = Math.min(length - written, buffer.length - used);
+
+                System.arraycopy(data, offset + written, buffer, used, count);
+                used += count;
+                written += count;
+            }
+        }
+
+
+        @Override
+        public void commit(@Nonnull String hash) throws IOException {
+            push(hash, true);
+            finished = true;
+            files.incrementAndGet();
+        }
+
+
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                finished = true;
+                push(null, true);                           // A last chunk without a hash abandons the file
+            }
+        }
+
+
+        private void push(@Nullable String hash, boolean last) throws IOException {
+            enqueue(writer, new Chunk(target, buffer, used, hash, last));
+
+            buffer = (last ? null : new byte[CHUNK_SIZE]);  // The writer now owns the old buffer
+            used = 0;
+        }
+    }
+
+
+    private WritePipeline(int writerCount, @Nonnull Opener opener) {
+        this.opener = opener;
+
+        for (int index = 0; index < writerCount; index++) {
+            BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            Thread writer = new Thread(() -> run(queue), "cuke-doc-writer-" + index);
+
+            writer.setDaemon(true);
+            writer.start();
+
+            queues.add(queue);
+            writers.add(writer);
+        }
+    }
+
+
+    /**
+     * Open a pipeline. Files written by {@link FileUtils} are written by the pipeline until it is closed
+     * @param writerCount   number of threads that write files to disk
+     * @return              the open pipeline
+     */
+    @Nonnull
+    public static WritePipeline open(int writerCount) {
+        return open(writerCount, FileDestination::new);
+    }
+
+
+    /**
+     * Open a pipeline that writes its files through {@code opener}
+     * @param writerCount   number of threads that write files to disk
+     * @param opener        opens the files on the writer threads
+     * @return              the open pipeline
+     */
+    @Nonnull
+    static WritePipeline open(int writerCount, @Nonnull Opener opener) {
+        Preconditions.checkArgument(writerCount > 0, "Invalid writer count %d", writerCount);
+
+        active = new WritePipeline(writerCount, opener);
+
+        return active;
+    }
+
+
+    /**
+     * Returns the open pipeline, or {@code null} if files should be written directly
+     * @return the open pipeline
+     */
+    @Nullable
+    static WritePipeline getActive() {
+        return active;
+    }
+
+
+    /**
+     * Start writing a file through the pipeline
+     * @param target        the absolute path of the file to write
+     * @return              a destination for the content of the file
+     */
+    @Nonnull
+    Destination newDestination(@Nonnull Path target) {
+        return new PipedDestination(target);
+    }
+
+
+    /**
+     * Wait for every file that has been passed to the pipeline to be written, then stop the writer threads.
+     * @throws CukeDocException if a file could not be written
+     */
+    @Override
+    public void close() throws CukeDocException {
+        if (active == this) {
+            active = null;
+        }
+
+        try {
+            for (int index = 0; index < queues.size(); index++) {
+                end(index);
+            }
+
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, new InterruptedIOException("Interrupted while writing files"));
+        }
+
+        long count = chunks.get();
+
+        Trace.message("Write pipeline: %d files, %d chunks, %d KB using %d writers. " +
+                      "Queue depth: mean %d, max %d. Stalled %d times for %d ms",
+                      files.get(), count, bytes.get() / KILOBYTE, writers.size(),
+                      (count == 0 ? 0 : totalDepth.get() / count), maxDepth.get(),
+                      stalls.get(), TimeUnit.NANOSECONDS.toMillis(stallTime.get()));
+
+        IOException error = failure.get();
+
+        if (error != null) {
+            throw new CukeDocException("Failed to write file: " + error.getMessage(), error);
+        }
+    }
+
+
+    /**
+     * Push a chunk onto the queue of a writer, waiting for space if the queue is full
+     * @param writer        index of the writer that writes the file
+     * @param chunk         part of the file
+     * @throws IOException if the writer has stopped or the thread was interrupted while it was waiting
+     */
+    private void enqueue(int writer, @Nonnull Chunk chunk) throws IOException {
+        BlockingQueue<Chunk> queue = queues.get(writer);
+        long start = System.nanoTime();
+
+        try {
+            if (push(writer, chunk)) {
+                stalls.incrementAndGet();
+                stallTime.addAndGet(System.nanoTime() - start);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing " + chunk.target);
+        }
+
+        long depth = queue.size();
+
+        chunks.incrementAndGet();
+        bytes.addAndGet(chunk.length);
+        totalDepth.addAndGet(depth);
+        maxDepth.accumulateAndGet(depth, Math::max);
+    }
+
+
+    /**
+     * Tell a writer that there are no more files to write
+     * @param writer        index of the writer
+     * @throws InterruptedException if the thread was interrupted while it was waiting
+     */
+    private void end(int writer) throws InterruptedException {
+        try {
+            push(writer, Chunk.END);
+        } catch (IOException e) {
+            failure.compareAndSet(null, e);                 // The writer has already stopped
+        }
+    }
+
+
+    /**
+     * Push a chunk onto the queue of a writer. If the queue is full then wait for space, checking that the writer
+     * is still running so that a writer that has stopped cannot block the caller forever.
+     * @param writer        index of the writer
+     * @param chunk         the chunk to push
+     * @return {@code true} if the caller had to wait for space on the queue
+     * @throws IOException if the writer has stopped
+     * @throws InterruptedException if the thread was interrupted while it was waiting
+     */
+    private boolean push(int writer, @Nonnull Chunk chunk) throws IOException, InterruptedException {
+        BlockingQueue<Chunk> queue = queues.get(writer);
+        boolean waited = !queue.offer(chunk);
+        boolean queued = !waited;
+
+        while (!queued) {
+            Thread thread = writers.get(writer);
+
+            if (!thread.isAlive()) {
+                IOException cause = failure.get();
+
+                throw new IOException(thread.getName() + " has stopped" +
+                                      (cause == null ? "" : ": " + cause.getMessage()), cause);
+            }
+
+            queued = queue.offer(chunk, POLL_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+
+        return waited;
+    }
+
+
+    /**
+     * Write the chunks on a queue until the end is reached. If the writer fails unexpectedly then the failure is
+     * recorded, so that it can be reported by the threads that are using the pipeline.
+     * @param queue         the queue of a writer
+     */
+    private void run(@Nonnull BlockingQueue<Chunk> queue) {
+        Map<Path, Destination> open = new HashMap<>();
+
+        try {
+            drain(queue, open);
+        } catch (RuntimeException | Error e) {
+            failure.compareAndSet(null, new IOException(Thread.currentThread().getName() + " failed: " + e, e));
+        } finally {
+            for (Destination destination : open.values()) {
+                abandon(destination);
+            }
+        }
+    }
+
+
+    /**
+     * Write the chunks on a queue until the end of the queue is reached. A file that could not be written is
+     * abandoned and the rest of its chunks are ignored.
+     * @param queue         the queue of a writer
+     * @param open          the files that are being written, by target
+     */
+    private void drain(@Nonnull BlockingQueue<Chunk> queue, @Nonnull Map<Path, Destination> open) {
+        Set<Path> failed = new HashSet<>();
+        Chunk chunk = take(queue);
+
+        while (chunk != Chunk.END) {
+            if (failed.contains(chunk.target)) {
+                if (chunk.last) {
+                    failed.remove(chunk.target);            // Later files with the same name are written
+                }
+            } else {
+                try {
+                    write(open, chunk);
+                } catch (IOException e) {
+                    failure.compareAndSet(null, new IOException(chunk.target + ": " + e.getMessage(), e));
+                    abandon(open.remove(chunk.target));
+
+                    if (!chunk.last) {
+                        failed.add(chunk.target);
+                    }
+                }
+            }
+
+            chunk = take(queue);
+        }
+    }
+
+
+    @Nonnull
+    private Chunk take(@Nonnull BlockingQueue<Chunk> queue) {
+        Chunk chunk;
+
+        try {
+            chunk = queue.take();
+        } catch (InterruptedException e) {
+            failure.compareAndSet(null, new InterruptedIOException("Writer interrupted"));
+            chunk = Chunk.END;
+        }
+
+        return chunk;
+    }
+
+
+    private void write(@Nonnull Map<Path, Destination> open, @Nonnull Chunk chunk) throws IOException {
+        Destination destination = open.get(chunk.target);
+
+        if (destination == null) {
+            destination = opener.open(chunk.target);
+            open.put(chunk.target, destination);
+        }
+
+        destination.getStream().write(chunk.data, 0, chunk.length);
+
+        if (chunk.last) {
+            open.remove(chunk.target);
+
+            try {
+                if (chunk.hash != null) {
+                    destination.commit(chunk.hash);
+                }
+            } finally {
+                destination.close();
+            }
+        }
+    }
+
+
+    private void abandon(@Nullable Destination destination) {
+        if (destination != null) {
+            try {
+                destination.close();
+            } catch (IOException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.cucumber.doc;
 
+import java.io.File;
 import java.util.EnumSet;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -10,10 +11,15 @@ import io.cucumber.doc.config.Config;
 import io.cucumber.doc.exception.CukeDocException;
 import io.cucumber.doc.parse.ModelBuilder;
 import io.cucumber.doc.report.Format;
+import io.cucumber.doc.util.FileUtils;
+import io.cucumber.doc.util.OutputManifest;
+import io.cucumber.doc.util.StringPool;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import test_helper.utils.Sample;
 
 import static org.mockito.Matchers.any;
@@ -27,6 +33,9 @@ import static org.mockito.Mockito.when;
  * Unit test for {@link Main}
  */
 public class MainTest {
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
     private Config config;
     private ModelBuilder modelBuilder;
     private Function<RootDoc, ModelBuilder> modelBuilderConstructor;
@@ -131,4 +140,77 @@ public class MainTest {
         verify(delete).accept("/home/cuke/target");
         verify(modelBuilder).build();
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Unit test {@link Main#start} does not delete a directory that has an output manifest
+     */
+    @Test
+    public void test_Start_WithManifest() throws Exception {
+        RootDoc rootDoc = Sample.rootDoc();
+        String directory = temp.getRoot().getAbsolutePath();
+
+        temp.newFile(OutputManifest.FILE_NAME);
+        when(config.getDirectory()).thenReturn(directory);
+
+        boolean actual = Main.start(rootDoc);
+
+        Assert.assertTrue("Expected success", actual);
+
+        verify(delete, never()).accept(anyString());
+        verify(modelBuilder).build();
+    }
+
+
+    /**
+     * Unit test {@link Main#start} releases the string pool when the reports could not be generated
+     */
+    @Test
+    public void test_Start_Failed() {
+        RootDoc rootDoc = Sample.rootDoc();
+        String pooled = new String("Pooled by failed run");
+        String later = new String(pooled);
+
+        when(modelBuilder.build()).then(invocation -> {
+            StringPool.intern(pooled);
+            throw new CukeDocException("Test Exception");
+        });
+
+        try {
+            Main.start(rootDoc);
+            Assert.fail("Expected the run to fail");
+        } catch (CukeDocException e) {
+            Assert.assertEquals("Unexpected exception", "Test Exception", e.getMessage());
+        }
+
+        Assert.assertSame("String pool was not released", later, StringPool.intern(later));
+    }
+
+
+    /**
+     * Unit test {@link Main#start} reports the original failure if the write pipeline also fails
+     */
+    @Test
+    public void test_Start_FailedPipeline() throws Exception {
+        RootDoc rootDoc = Sample.rootDoc();
+        String directory = temp.getRoot().getAbsolutePath();
+
+        Assert.assertTrue("Failed to create directory", new File(temp.newFolder("blocked"), "child").mkdir());
+        when(config.getDirectory()).thenReturn(directory);
+        when(config.getThreads()).thenReturn(2);
+        when(modelBuilder.build()).then(invocation -> {
+            FileUtils.write(directory + "/blocked", "Content");
+            throw new CukeDocException("Test Exception");
+        });
+
+        try {
+            Main.start(rootDoc);
+            Assert.fail("Expected the run to fail");
+        } catch (CukeDocException e) {
+            Assert.assertEquals("Unexpected exception", "Test Exception", e.getMessage());
+            Assert.assertEquals("Pipeline failure not suppressed", 1, e.getSuppressed().length);
+            Assert.assertTrue("Bad suppressed message: " + e.getSuppressed()[0].getMessage(),
+                              e.getSuppressed()[0].getMessage().contains("blocked"));
+        }
+    }
+}
@@ -63,6 +63,12 @@ public class ConfigTest {
         Assert.assertEquals("Unexpected option count '-format'", 2, config.requestOption("-format"));
         Assert.assertEquals("Unexpected option count '-icon'", 2, config.requestOption("-icon"));
         Assert.assertEquals("Unexpected option count '-note'", 3, config.requestOption("-note"));
+        Assert.assertEquals("Unexpected option count '-threads'", 2, config.requestOption("-threads"));
+        Assert.assertEquals("Unexpected option count '-cache'", 2, config.requestOption("-cache"));
+        Assert.assertEquals("Unexpected option count '-features'", 2, config.requestOption("-features"));
+        Assert.assertEquals("Unexpected option count '-results'", 2, config.requestOption("-results"));
+        Assert.assertEquals("Unexpected option count '-compact'", 1, config.requestOption("-compact"));
+        Assert.assertEquals("Unexpected option count '-fuzz'", 1, config.requestOption("-fuzz"));
         Assert.assertEquals("Unexpected option count '-trace'", 1, config.requestOption("-trace"));
         Assert.assertEquals("Unexpected option count '-unknown_option'", 0, config.requestOption("-unknown_option"));
     }
@@ -491,6 +497,192 @@ public class ConfigTest {
    }
 
 
+    /**
+     * Unit test {@link Config#getThreads}
+     */
+    @Test
+    public void test_GetThreads_default() {
+        boolean valid = config.applyOptions(new String[0][], reporter);
+
+        Assert.assertTrue("Invalid default options", valid);
+        Assert.assertEquals("Unexpected threads", 1, config.getThreads());
+    }
+
+
+    /**
+     * Unit test {@link Config#getThreads}
+     */
+    @Test
+    public void test_GetThreads() {
+        boolean valid = config.applyOptions(new String[][]{{"-threads", "8"}}, reporter);
+
+        Assert.assertTrue("Invalid '-threads' options", valid);
+        Assert.assertEquals("Unexpected threads", 8, config.getThreads());
+    }
+
+
+    /**
+     * Unit test {@link Config#getThreads}
+     */
+    @Test
+    public void test_GetThreads_Invalid() {
+        Assert.assertFalse("'-threads 0' should be invalid",
+                           Config.newInstance().applyOptions(new String[][]{{"-threads", "0"}}, reporter));
+        Assert.assertFalse("'-threads many' should be invalid",
+                           Config.newInstance().applyOptions(new String[][]{{"-threads", "many"}}, reporter));
+    }
+
+
+    /**
+     * Unit test {@link Config#getCachePath}
+     */
+    @Test
+    public void test_GetCachePath_default() {
+        boolean valid = config.applyOptions(new String[0][], reporter);
+
+        Assert.assertTrue("Invalid default options", valid);
+        Assert.assertNull("Unexpected cache path", config.getCachePath());
+    }
+
+
+    /**
+     * Unit test {@link Config#getCachePath}
+     */
+    @Test
+    public void test_GetCachePath() {
+        boolean valid = config.applyOptions(new String[][]{{"-cache", "target/cuke-doc.cache"}}, reporter);
+
+        Assert.assertTrue("Invalid '-cache' options", valid);
+        Assert.assertEquals("Unexpected cache path", "target/cuke-doc.cache", config.getCachePath());
+    }
+
+
+    /**
+     * Unit test {@link Config#getFeatures}
+     */
+    @Test
+    public void test_GetFeatures_Default() {
+        boolean valid = config.applyOptions(new String[0][], reporter);
+
+        Assert.assertTrue("Invalid default options", valid);
+        Assert.assertEquals("Unexpected features", Collections.emptyList(), new ArrayList<>(config.getFeatures()));
+    }
+
+
+    /**
+     * Unit test {@link Config#getFeatures}
+     */
+    @Test
+    public void test_GetFeatures_Valid() throws Exception {
+        URL location = getClass().getClassLoader().getResource("sample");
+        String directory = new File(location.toURI()).getAbsolutePath();
+
+        boolean valid = config.applyOptions(new String[][]{{"-features", directory}}, reporter);
+
+        Assert.assertTrue("Invalid '-features' options", valid);
+        Assert.assertEquals("Unexpected features",
+                            Arrays.asList(directory),
+                            new ArrayList<>(config.getFeatures()));
+    }
+
+
+    /**
+     * Unit test {@link Config#getFeatures}
+     */
+    @Test
+    public void test_GetFeatures_Invalid() {
+        boolean valid = config.applyOptions(new String[][]{{"-features", "a/b/c"}}, reporter);
+
+        Assert.assertFalse("Invalid '-features' options", valid);
+    }
+
+
+    /**
+     * Unit test {@link Config#getResults}
+     */
+    @Test
+    public void test_GetResults_Default() {
+        boolean valid = config.applyOptions(new String[0][], reporter);
+
+        Assert.assertTrue("Invalid default options", valid);
+        Assert.assertEquals("Unexpected results", Collections.emptyList(), new ArrayList<>(config.getResults()));
+    }
+
+
+    /**
+     * Unit test {@link Config#getResults}
+     */
+    @Test
+    public void test_GetResults_Valid() throws Exception {
+        URL location = getClass().getClassLoader().getResource("results/cucumber.json");
+        String file = new File(location.toURI()).getAbsolutePath();
+
+        boolean valid = config.applyOptions(new String[][]{{"-results", file}}, reporter);
+
+        Assert.assertTrue("Invalid '-results' options", valid);
+        Assert.assertEquals("Unexpected results", Arrays.asList(file), new ArrayList<>(config.getResults()));
+    }
+
+
+    /**
+     * Unit test {@link Config#getResults}
+     */
+    @Test
+    public void test_GetResults_Invalid() {
+        boolean valid = config.applyOptions(new String[][]{{"-results", "a/b/c.json"}}, reporter);
+
+        Assert.assertFalse("Invalid '-results' options", valid);
+    }
+
+
+    /**
+     * Unit test {@link Config#isCompact}
+     */
+    @Test
+    public void test_IsCompact_Default() {
+        boolean valid = config.applyOptions(new String[0][], reporter);
+
+        Assert.assertTrue("Invalid default options", valid);
+        Assert.assertFalse("Unexpected compact", config.isCompact());
+    }
+
+
+    /**
+     * Unit test {@link Config#isCompact}
+     */
+    @Test
+    public void test_IsCompact_Set() {
+        boolean valid = config.applyOptions(new String[][]{{"-compact"}}, reporter);
+
+        Assert.assertTrue("Invalid '-compact' options", valid);
+        Assert.assertTrue("Unexpected compact", config.isCompact());
+    }
+
+
+    /**
+     * Unit test {@link Config#isFuzz}
+     */
+    @Test
+    public void test_IsFuzz_Default() {
+        boolean valid = config.applyOptions(new String[0][], reporter);
+
+        Assert.assertTrue("Invalid default options", valid);
+        Assert.assertFalse("Unexpected fuzz", config.isFuzz());
+    }
+
+
+    /**
+     * Unit test {@link Config#isFuzz}
+     */
+    @Test
+    public void test_IsFuzz_Set() {
+        boolean valid = config.applyOptions(new String[][]{{"-fuzz"}}, reporter);
+
+        Assert.assertTrue("Invalid '-fuzz' options", valid);
+        Assert.assertTrue("Unexpected fuzz", config.isFuzz());
+    }
+
+
     /**
      * Unit test {@link Config#applyOptions(String[][], DocErrorReporter)}
      */
@@ -523,4 +715,24 @@ public class ConfigTest {
 
         Assert.assertTrue("Option '-unknown_option' should be ignored", valid);
    }
-}
\ No newline at end of file
+
+
+    /**
+     * Unit test {@link Config#newRequest()}
+     */
+    @Test
+    public void test_NewRequest() {
+        config.applyOptions(new String[][]{{"-i18n", "fr"}, {"-d", "somewhere"}}, reporter);
+
+        Config request = Config.newRequest();
+
+        Assert.assertNotSame("Config not reset", config, request);
+        Assert.assertSame("Unexpected instance", request, Config.getInstance());
+
+        request.applyOptions(new String[0][], reporter);
+
+        Assert.assertEquals("Unexpected directory", "target/site/cuke-doc", request.getDirectory());
+        Assert.assertEquals("Unexpected language", I18n.EN, request.getI18n());
+        Assert.assertEquals("Unexpected translation", "Overview", Translate.message(LanguageKey.OVERVIEW_TITLE));
+    }
+}
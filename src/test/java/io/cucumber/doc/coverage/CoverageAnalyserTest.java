@@ -0,0 +1,107 @@
+package io.cucumber.doc.coverage;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.cucumber.doc.exception.CukeDocException;
+import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.ImplementationModel;
+import io.cucumber.doc.model.MappingModel;
+import io.cucumber.doc.model.TypeModel;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link CoverageAnalyser}
+ */
+public class CoverageAnalyserTest {
+    private ApplicationModel model;
+    private String directory;
+
+
+    @Before
+    public void setUp() throws Exception {
+        model = new ApplicationModel.Builder()
+                .withType(new TypeModel.Builder("a.b.Steps")
+                        .withImplementation(new ImplementationModel.Builder("have")
+                                .withMapping("Given", "^I have (\\\\d+) cukes?$")
+                                .build())
+                        .withImplementation(new ImplementationModel.Builder("eat")
+                                .withMapping("When", "^I eat (\\\\d+) cukes?$")
+                                .build())
+                        .withImplementation(new ImplementationModel.Builder("say")
+                                .withMapping("Then", "^I say \"(.*)\"$")
+                                .build())
+                        .withImplementation(new ImplementationModel.Builder("unused")
+                                .withMapping("Then", "^I am unused$")
+                                .build())
+                        .build())
+                .build();
+        directory = new File(getClass().getClassLoader().getResource("coverage").toURI()).getAbsolutePath();
+    }
+
+
+    /**
+     * Unit test {@link CoverageAnalyser#analyse}
+     */
+    @Test
+    public void test_analyse() {
+        assertCoverage(new CoverageAnalyser(model).analyse(Collections.singletonList(directory), 1));
+    }
+
+
+    /**
+     * Unit test {@link CoverageAnalyser#analyse} with more than one thread
+     */
+    @Test
+    public void test_analyse_Parallel() {
+        assertCoverage(new CoverageAnalyser(model).analyse(Collections.singletonList(directory), 4));
+    }
+
+
+    /**
+     * Unit test {@link CoverageAnalyser#analyse} with a directory that does not exist
+     */
+    @Test(expected = CukeDocException.class)
+    public void test_analyse_Missing() {
+        new CoverageAnalyser(model).analyse(Collections.singletonList(directory + "/missing"), 1);
+    }
+
+
+    private void assertCoverage(CoverageModel coverage) {
+        MappingModel have = mapping("have");
+        MappingModel eat = mapping("eat");
+        MappingModel say = mapping("say");
+        MappingModel unused = mapping("unused");
+        List<StepUsage> unmatched = coverage.getUnmatchedSteps();
+
+        Assert.assertEquals("Bad file count", 2, coverage.getFileCount());
+        Assert.assertEquals("Bad step count", 10, coverage.getStepCount());
+        Assert.assertEquals("Bad matched", Arrays.asList(eat, have, say), coverage.getMatchedMappings());
+        Assert.assertEquals("Bad usage of have", 5, coverage.getUsage(have));
+        Assert.assertEquals("Bad usage of eat", 1, coverage.getUsage(eat));
+        Assert.assertEquals("Bad usage of say", 2, coverage.getUsage(say));
+        Assert.assertEquals("Bad usage of unused", 0, coverage.getUsage(unused));
+        Assert.assertEquals("Bad unused", Collections.singletonList(unused), coverage.getUnusedMappings());
+        Assert.assertEquals("Bad unmatched",
+                            Arrays.asList("I eat it with the following:", "nothing matches this"),
+                            unmatched.stream().map(StepUsage::getText).collect(Collectors.toList()));
+        Assert.assertTrue("Bad file", unmatched.get(0).getFile().endsWith("cukes.feature"));
+        Assert.assertEquals("Bad line", 11, unmatched.get(0).getLine());
+        Assert.assertTrue("Bad file", unmatched.get(1).getFile().endsWith("missing.feature"));
+        Assert.assertEquals("Bad line", 5, unmatched.get(1).getLine());
+    }
+
+
+    private MappingModel mapping(String method) {
+        return model.getMappings()
+                    .stream()
+                    .filter(mapping -> mapping.getImplementation().getName().equals(method))
+                    .findFirst()
+                    .orElseThrow(AssertionError::new);
+    }
+}
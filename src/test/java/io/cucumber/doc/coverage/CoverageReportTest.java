@@ -0,0 +1,75 @@
+package io.cucumber.doc.coverage;
+
+import java.io.File;
+import java.util.Collections;
+
+import com.sun.javadoc.DocErrorReporter;
+import io.cucumber.doc.config.Config;
+import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.ImplementationModel;
+import io.cucumber.doc.model.TypeModel;
+import io.cucumber.doc.util.FileUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit test for {@link CoverageReport}
+ */
+public class CoverageReportTest {
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private CoverageModel coverage;
+    private String tempDirectory;
+
+
+    @Before
+    public void setUp() throws Exception {
+        ApplicationModel model = new ApplicationModel.Builder()
+                .withType(new TypeModel.Builder("a.b.Steps")
+                        .withImplementation(new ImplementationModel.Builder("have")
+                                .withMapping("Given", "^I have (\\\\d+) cukes?$")
+                                .build())
+                        .withImplementation(new ImplementationModel.Builder("unused")
+                                .withMapping("Then", "^I am unused$")
+                                .build())
+                        .build())
+                .build();
+        String directory = new File(getClass().getClassLoader().getResource("coverage/more").toURI()).getAbsolutePath();
+
+        coverage = new CoverageAnalyser(model).analyse(Collections.singletonList(directory), 1);
+        tempDirectory = temp.getRoot().getAbsolutePath();
+
+        Config.newInstance().applyOptions(new String[][]{{"-d", tempDirectory}, {"-windowtitle", "Title"}},
+                                          mock(DocErrorReporter.class));
+    }
+
+
+    /**
+     * Unit test {@link CoverageReport#writeReport}
+     */
+    @Test
+    public void test_WriteReport() {
+        new CoverageReport(coverage).writeReport();
+
+        String report = FileUtils.read(tempDirectory + "/coverage.txt");
+        String eol = System.lineSeparator();
+
+        Assert.assertTrue("Missing title", report.contains("--==| Title |==--"));
+        Assert.assertTrue("Missing summary", report.contains("2 steps in 1 feature files"));
+        Assert.assertTrue("Missing matched",
+                          report.contains("--==| Matched mappings |==--" + eol + eol +
+                                          "    1\tGiven \t^I have (\\\\d+) cukes?$\t(a.b.Steps.have)" + eol));
+        Assert.assertTrue("Missing unmatched",
+                          report.contains("--==| Unmatched steps |==--" + eol + eol + "    1\tnothing matches this\t("));
+        Assert.assertTrue("Missing unmatched location", report.contains("missing.feature:5)"));
+        Assert.assertTrue("Missing unused",
+                          report.contains("--==| Unused mappings |==--" + eol + eol +
+                                          "    Then \t^I am unused$\t(a.b.Steps.unused)" + eol));
+    }
+}
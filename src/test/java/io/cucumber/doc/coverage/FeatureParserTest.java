@@ -0,0 +1,90 @@
+package io.cucumber.doc.coverage;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link FeatureParser}
+ */
+public class FeatureParserTest {
+    private final FeatureParser parser = new FeatureParser(Collections.singleton("Soit"));
+
+
+    /**
+     * Unit test {@link FeatureParser#stepText(String)}
+     */
+    @Test
+    public void test_stepText() {
+        Assert.assertEquals("Given", "I have 3 cukes", parser.stepText("Given I have 3 cukes"));
+        Assert.assertEquals("But", "I have 3 cukes", parser.stepText("But  I have 3 cukes"));
+        Assert.assertEquals("Star", "I have 3 cukes", parser.stepText("* I have 3 cukes"));
+        Assert.assertEquals("Verb", "I have 3 cukes", parser.stepText("Soit I have 3 cukes"));
+        Assert.assertNull("Description", parser.stepText("Some description"));
+        Assert.assertNull("No text", parser.stepText("Given"));
+    }
+
+
+    /**
+     * Unit test {@link FeatureParser#cells(String)}
+     */
+    @Test
+    public void test_cells() {
+        Assert.assertEquals("Simple", Arrays.asList("a", "b c"), FeatureParser.cells("| a |  b c |"));
+        Assert.assertEquals("Empty", Arrays.asList("", "x"), FeatureParser.cells("||x|"));
+        Assert.assertEquals("Escaped", Arrays.asList("a|b", "c\\d", "e\nf"), FeatureParser.cells("|a\\|b|c\\\\d|e\\nf|"));
+    }
+
+
+    /**
+     * Unit test {@link FeatureParser#parse}
+     */
+    @Test
+    public void test_parse() throws Exception {
+        String feature = "@tag\n" +
+                         "Feature: Test\n" +
+                         "  Description\n" +
+                         "  Background:\n" +
+                         "    Given a background\n" +
+                         "  Scenario: Plain\n" +
+                         "    When a step\n" +
+                         "      | a | table |\n" +
+                         "    Then a doc string\n" +
+                         "      ```\n" +
+                         "      Given not a step\n" +
+                         "      ```\n" +
+                         "  # Then a comment\n" +
+                         "  Scenario Outline: Outline\n" +
+                         "    Given <count> cukes in <where>\n" +
+                         "    Examples:\n" +
+                         "      | count | where |\n" +
+                         "      | 1     | a box |\n" +
+                         "    Scenarios: More\n" +
+                         "      | where | count |\n" +
+                         "      | here  | 2     |\n" +
+                         "  Example: Empty outline\n" +
+                         "    Then <never>\n" +
+                         "    Examples:\n" +
+                         "      | never |\n" +
+                         "  Rule: Last\n" +
+                         "    Then the last step";
+        List<String> steps = new ArrayList<>();
+
+        parser.parse(new BufferedReader(new StringReader(feature)), (text, line) -> steps.add(line + ":" + text));
+
+        Assert.assertEquals("Unexpected steps",
+                            Arrays.asList("5:a background",
+                                          "7:a step",
+                                          "9:a doc string",
+                                          "15:1 cukes in a box",
+                                          "15:2 cukes in here",
+                                          "27:the last step"),
+                            steps);
+    }
+}
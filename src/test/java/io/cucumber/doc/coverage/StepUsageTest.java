@@ -0,0 +1,29 @@
+package io.cucumber.doc.coverage;
+
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StepUsage}
+ */
+public class StepUsageTest {
+    /**
+     * Unit test {@link StepUsage#add(String, int)}
+     */
+    @Test
+    public void test_add() {
+        StepUsage usage = new StepUsage("a step", Collections.emptyList());
+
+        usage.add("b.feature", 2);
+        usage.add("a.feature", 9);
+        usage.add("a.feature", 4);
+        usage.add("c.feature", 1);
+
+        Assert.assertEquals("Bad text", "a step", usage.getText());
+        Assert.assertEquals("Bad count", 4, usage.getCount());
+        Assert.assertEquals("Bad file", "a.feature", usage.getFile());
+        Assert.assertEquals("Bad line", 4, usage.getLine());
+    }
+}
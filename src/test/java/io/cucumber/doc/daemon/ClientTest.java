@@ -0,0 +1,39 @@
+package io.cucumber.doc.daemon;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+
+import io.cucumber.doc.exception.CukeDocException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Unit test for {@link Client}
+ */
+public class ClientTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+
+    /**
+     * Unit test {@link Client#send(int, String[], PrintStream)}
+     */
+    @Test
+    public void test_Send_NoDaemon() throws Exception {
+        int port;
+
+        try (
+            ServerSocket socket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())
+        ) {
+            port = socket.getLocalPort();
+        }
+
+        expectedException.expect(CukeDocException.class);
+        expectedException.expectMessage("Unable to contact CukeDoc daemon on port " + port);
+
+        Client.send(port, new String[] {"-help"}, new PrintStream(new ByteArrayOutputStream()));
+    }
+}
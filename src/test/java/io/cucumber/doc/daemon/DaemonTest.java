@@ -0,0 +1,224 @@
+package io.cucumber.doc.daemon;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.javadoc.DocErrorReporter;
+import io.cucumber.doc.config.Config;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit test for {@link Daemon}
+ */
+public class DaemonTest {
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private final List<String> requests = new ArrayList<>();
+    private final List<Config> configs = new ArrayList<>();
+    private ExecutorService executor;
+    private Daemon daemon;
+    private Future<?> running;
+    private Path tokens;
+
+
+    @Before
+    public void setUp() throws Exception {
+        tokens = temp.getRoot().toPath().resolve("tokens");
+        daemon = new Daemon(0, tokens, 500, (output, args) -> {
+            requests.add(String.join(" ", args));
+            configs.add(Config.getInstance());
+
+            if (args.length == 0) {
+                throw new IllegalStateException("No arguments");
+            }
+
+            output.println("Generated " + args[0]);
+
+            return args.length;
+        });
+
+        executor = Executors.newSingleThreadExecutor();
+        running = executor.submit(() -> {
+            daemon.run();
+            return null;
+        });
+    }
+
+
+    @After
+    public void tearDown() {
+        if (!running.isDone()) {
+            Client.send(tokens,
+                        daemon.getPort(),
+                        new String[] {Daemon.STOP},
+                        new PrintStream(new ByteArrayOutputStream()));
+        }
+
+        executor.shutdownNow();
+    }
+
+
+    /**
+     * Unit test {@link Daemon#run()}
+     */
+    @Test
+    public void test_Run() throws Exception {
+        DocErrorReporter reporter = mock(DocErrorReporter.class);
+
+        Config before = Config.newInstance();
+
+        before.applyOptions(new String[][]{{"-d", "somewhere"}}, reporter);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int port = daemon.getPort();
+        int exitCode1 = Client.send(tokens, port, new String[] {"-d", "target"}, new PrintStream(output, true));
+        int exitCode2 = Client.send(tokens, port, new String[] {"one"}, new PrintStream(output, true));
+        int exitCode3 = Client.send(tokens, port, new String[0], new PrintStream(output, true));
+        int stopCode = Client.send(tokens, port, new String[] {Daemon.STOP}, new PrintStream(output, true));
+
+        running.get(10, TimeUnit.SECONDS);
+
+        Assert.assertEquals("Unexpected exit code 1", 2, exitCode1);
+        Assert.assertEquals("Unexpected exit code 2", 1, exitCode2);
+        Assert.assertEquals("Unexpected exit code 3", Daemon.FAILED, exitCode3);
+        Assert.assertEquals("Unexpected stop code", 0, stopCode);
+        Assert.assertEquals("Unexpected requests", Arrays.asList("-d target", "one", ""), requests);
+
+        String[] lines = output.toString("UTF-8").split("\\R");
+
+        Assert.assertEquals("Unexpected output",
+                            Arrays.asList("Generated -d",
+                                          "Generated one",
+                                          "CukeDoc failed: No arguments",
+                                          "CukeDoc daemon stopped"),
+                            Arrays.asList(lines));
+
+        Assert.assertNotSame("Config leaked into the first request", before, configs.get(0));
+        Assert.assertNotSame("Config not reset for the second request", configs.get(0), configs.get(1));
+        Assert.assertNotSame("Config not reset for the third request", configs.get(1), configs.get(2));
+        Assert.assertFalse("Token file not removed", Files.exists(Daemon.tokenFile(tokens, daemon.getPort())));
+    }
+
+
+    /**
+     * Unit test {@link Daemon#run()} rejects requests that do not have the token
+     */
+    @Test
+    public void test_Run_InvalidToken() throws Exception {
+        Path tokenFile = Daemon.tokenFile(tokens, daemon.getPort());
+        byte[] token = Files.readAllBytes(tokenFile);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        Files.write(tokenFile, "guessed".getBytes(StandardCharsets.UTF_8));
+
+        int rejectedCode = Client.send(tokens, daemon.getPort(), new String[] {Daemon.STOP}, new PrintStream(output));
+
+        Files.write(tokenFile, token);
+
+        int stopCode = Client.send(tokens, daemon.getPort(), new String[] {Daemon.STOP}, new PrintStream(output));
+
+        running.get(10, TimeUnit.SECONDS);
+
+        Assert.assertEquals("Unexpected rejected code", Daemon.FAILED, rejectedCode);
+        Assert.assertEquals("Unexpected stop code", 0, stopCode);
+        Assert.assertTrue("Unexpected requests", requests.isEmpty());
+        Assert.assertEquals("Unexpected output",
+                            Arrays.asList("CukeDoc daemon rejected the request: invalid token",
+                                          "CukeDoc daemon stopped"),
+                            Arrays.asList(output.toString("UTF-8").split("\\R")));
+    }
+
+
+    /**
+     * Unit test the daemon's token file can only be read by the current user
+     */
+    @Test
+    public void test_TokenFile() throws Exception {
+        Path tokenFile = Daemon.tokenFile(tokens, daemon.getPort());
+
+        Assume.assumeTrue("POSIX permissions are not supported",
+                          tokenFile.getFileSystem().supportedFileAttributeViews().contains("posix"));
+
+        Assert.assertEquals("Unexpected file permissions",
+                            "rw-------",
+                            PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenFile)));
+        Assert.assertEquals("Unexpected directory permissions",
+                            "rwx------",
+                            PosixFilePermissions.toString(Files.getPosixFilePermissions(tokens)));
+        Assert.assertEquals("Unexpected token length", 64, Files.size(tokenFile));
+    }
+
+
+    /**
+     * Unit test {@link Daemon#run()} is not stalled by a client that does not send a request
+     */
+    @Test(timeout = 10_000)
+    public void test_Run_SilentClient() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (
+            Socket silent = new Socket(InetAddress.getLoopbackAddress(), daemon.getPort())
+        ) {
+            int exitCode = Client.send(tokens, daemon.getPort(), new String[] {"one"}, new PrintStream(output));
+
+            Assert.assertEquals("Unexpected exit code", 1, exitCode);
+            Assert.assertEquals("Silent client not disconnected", -1, silent.getInputStream().read());
+        }
+
+        Assert.assertEquals("Unexpected requests", Collections.singletonList("one"), requests);
+    }
+
+
+    /**
+     * Unit test {@link Daemon#run()} survives a request with an invalid argument count
+     */
+    @Test(timeout = 10_000)
+    public void test_Run_InvalidCount() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        for (int count : new int[] { -1, Daemon.MAX_ARGUMENTS + 1 }) {
+            try (
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemon.getPort())
+            ) {
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                byte[] token = Files.readAllBytes(Daemon.tokenFile(tokens, daemon.getPort()));
+
+                out.writeUTF(new String(token, StandardCharsets.UTF_8));
+                out.writeUTF(Daemon.workingDirectory());
+                out.writeInt(count);
+                out.flush();
+
+                Assert.assertEquals("Invalid request not closed", -1, socket.getInputStream().read());
+            }
+        }
+
+        int exitCode = Client.send(tokens, daemon.getPort(), new String[] {"one"}, new PrintStream(output));
+
+        Assert.assertEquals("Unexpected exit code", 1, exitCode);
+        Assert.assertFalse("Daemon stopped", running.isDone());
+    }
+}
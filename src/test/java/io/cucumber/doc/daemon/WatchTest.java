@@ -0,0 +1,86 @@
+package io.cucumber.doc.daemon;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.cucumber.doc.exception.CukeDocException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link Watch}
+ */
+public class WatchTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private final Daemon.Generator generator = (output, args) -> 0;
+
+
+    /**
+     * Unit test {@link Watch#getSourcePaths()}
+     */
+    @Test
+    public void test_GetSourcePaths() {
+        String sourcePath = "src/main/java" + File.pathSeparator + "/tmp/other";
+        Watch watch = new Watch(new String[] {"-sourcepath", sourcePath, "-d", "out", "--", "a.b"}, generator);
+
+        Assert.assertEquals("Unexpected source paths",
+                            Arrays.asList(Paths.get("src/main/java").toAbsolutePath(), Paths.get("/tmp/other")),
+                            watch.getSourcePaths());
+    }
+
+
+    /**
+     * Unit test {@link Watch#Watch(String[], Daemon.Generator)}
+     */
+    @Test
+    public void test_NoSeparator() {
+        expectedException.expect(CukeDocException.class);
+        expectedException.expectMessage("Watch mode requires '--' between the JavaDoc options and the packages");
+
+        new Watch(new String[] {"-sourcepath", "src", "a.b"}, generator);
+    }
+
+
+    /**
+     * Unit test {@link Watch#Watch(String[], Daemon.Generator)}
+     */
+    @Test
+    public void test_NoSourcePath() {
+        expectedException.expect(CukeDocException.class);
+        expectedException.expectMessage("Watch mode requires the '-sourcepath' option");
+
+        new Watch(new String[] {"-d", "out", "--", "a.b"}, generator);
+    }
+
+
+    /**
+     * Unit test {@link Watch#commandLine(java.util.Collection)}
+     */
+    @Test
+    public void test_CommandLine() throws Exception {
+        Path changed = temp.newFile("Changed.java").toPath();
+        Path deleted = temp.getRoot().toPath().resolve("Deleted.java");
+        Watch watch = new Watch(new String[] {"-sourcepath", "src", "--", "-subpackages", "a.b"}, generator);
+
+        Assert.assertEquals("Unexpected initial command line",
+                            Arrays.asList("-sourcepath", "src", "-subpackages", "a.b"),
+                            Arrays.asList(watch.commandLine(Collections.emptySet())));
+        Assert.assertEquals("Unexpected changed command line",
+                            Arrays.asList("-sourcepath", "src", changed.toString()),
+                            Arrays.asList(watch.commandLine(Arrays.asList(changed, deleted))));
+        Assert.assertEquals("Unexpected deleted command line",
+                            Arrays.asList("-sourcepath", "src", "-subpackages", "a.b"),
+                            Arrays.asList(watch.commandLine(Collections.singleton(deleted))));
+    }
+}
@@ -0,0 +1,75 @@
+package io.cucumber.doc.lookup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.ImplementationModel;
+import io.cucumber.doc.model.TypeModel;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link Lookup}
+ */
+public class LookupTest {
+    private Lookup lookup;
+
+
+    @Before
+    public void setUp() {
+        ApplicationModel model = new ApplicationModel.Builder()
+                .withType(new TypeModel.Builder("a.b.Steps")
+                        .withImplementation(new ImplementationModel.Builder("cukes")
+                                .withMapping("Given", "^I have (\\\\d+) cukes$")
+                                .build())
+                        .withImplementation(new ImplementationModel.Builder("anything")
+                                .withMapping("Then", "^I have (.*)$")
+                                .build())
+                        .build())
+                .build();
+
+        lookup = new Lookup(model);
+    }
+
+
+    /**
+     * Unit test {@link Lookup#stepText(String)}
+     */
+    @Test
+    public void test_stepText() {
+        Assert.assertEquals("Verb", "I have 3 cukes", lookup.stepText("  Given I have 3 cukes "));
+        Assert.assertEquals("And", "I have 3 cukes", lookup.stepText("And I have 3 cukes"));
+        Assert.assertEquals("Star", "I have 3 cukes", lookup.stepText("* I have 3 cukes"));
+        Assert.assertEquals("No keyword", "I have 3 cukes", lookup.stepText("I have 3 cukes"));
+        Assert.assertEquals("Unknown keyword", "When I have 3 cukes", lookup.stepText("When I have 3 cukes"));
+    }
+
+
+    /**
+     * Unit test {@link Lookup#report(String, PrintStream)}
+     */
+    @Test
+    public void test_report() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream output = new PrintStream(buffer, true);
+
+        lookup.report("Given I have 3 cukes", output);
+        lookup.report("Then I have nothing", output);
+        lookup.report("Then you have 3 cukes", output);
+        lookup.report("   ", output);
+
+        Assert.assertEquals("Bad report",
+                            "I have 3 cukes\n" +
+                            "  Ambiguous: 2 matching mappings\n" +
+                            "  Then ^I have (.*)$  (a.b.Steps.anything)\n" +
+                            "  Given ^I have (\\\\d+) cukes$  (a.b.Steps.cukes)\n" +
+                            "I have nothing\n" +
+                            "  Then ^I have (.*)$  (a.b.Steps.anything)\n" +
+                            "you have 3 cukes\n" +
+                            "  No matching mapping\n",
+                            new String(buffer.toByteArray(), StandardCharsets.UTF_8).replace(System.lineSeparator(), "\n"));
+    }
+}
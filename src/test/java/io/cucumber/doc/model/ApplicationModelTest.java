@@ -1,6 +1,9 @@
 package io.cucumber.doc.model;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 
 import io.cucumber.doc.util.NoteFormat;
 import org.junit.Assert;
@@ -67,6 +70,31 @@ public class ApplicationModelTest {
     }
 
 
+    /**
+     * Unit test {@link ApplicationModel.Builder#getTypes}
+     */
+    @Test
+    public void test_Builder_GetTypes() {
+        TypeModel type1 = new TypeModel.Builder("z-Class1").build();
+        TypeModel type2 = new TypeModel.Builder("a-Class2").build();
+        ApplicationModel.Builder builder = new ApplicationModel.Builder()
+                        .withType(type1)
+                        .withType(type2);
+
+        // Types are returned in the order they were added
+        Assert.assertEquals("Unexpected types", Arrays.asList(type1, type2), builder.getTypes());
+    }
+
+
+    /**
+     * Unit test {@link ApplicationModel.Builder#getTypes} returns a read only view
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_Builder_GetTypes_ReadOnly() {
+        new ApplicationModel.Builder().getTypes().add(new TypeModel.Builder("Class1").build());
+    }
+
+
     /**
      * Unit test {@link ApplicationModel#getMappings}
      */
@@ -121,4 +149,152 @@ public class ApplicationModelTest {
         Assert.assertEquals("Unexpected app3 notes 2 format", NoteFormat.TEXT, note.getFormat());
         Assert.assertEquals("Unexpected app3 notes 2 content", "c-note4\na-note3", note.getText());
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Unit test {@link ApplicationModel.Builder#merge}
+     */
+    @Test
+    public void test_Merge() {
+        ApplicationModel.Builder other = new ApplicationModel.Builder()
+                        .withType(new TypeModel.Builder("Class2")
+                                .withImplementation(new ImplementationModel.Builder("method2")
+                                        .withMapping("Given", "mapping2")
+                                        .build())
+                                .build())
+                        .withNote(new NoteModel("name-1", "note2", NoteFormat.TEXT));
+        ApplicationModel merged = new ApplicationModel.Builder()
+                        .withType(new TypeModel.Builder("Class1")
+                                .withImplementation(new ImplementationModel.Builder("method1")
+                                        .withMapping("Given", "mapping1")
+                                        .build())
+                                .build())
+                        .withNote(new NoteModel("name-1", "note1", NoteFormat.TEXT))
+                        .merge(other)
+                        .build();
+
+        Assert.assertEquals("Unexpected type count", 2, merged.getTypes().size());
+        Assert.assertEquals("Unexpected type 2", "Class2", merged.getTypes().get(1).getSimpleName());
+        Assert.assertEquals("Unexpected mapping count", 2, merged.getMappings().size());
+        Assert.assertEquals("Unexpected note count", 1, merged.getNotes().size());
+        Assert.assertEquals("Notes merged in wrong order", "note1\nnote2", merged.getNotes().get(0).getText());
+    }
+
+
+    /**
+     * Unit test {@link ApplicationModel.Builder#withThreads(int)}
+     */
+    @Test
+    public void test_Threads() {
+        ApplicationModel.Builder serial = new ApplicationModel.Builder();
+        ApplicationModel.Builder parallel = new ApplicationModel.Builder().withThreads(4);
+
+        for (int type = 0; type < 20; type++) {
+            for (ApplicationModel.Builder builder : Arrays.asList(serial, parallel)) {
+                builder.withType(new TypeModel.Builder("Class" + type)
+                        .withImplementation(new ImplementationModel.Builder("method")
+                                .withMapping("Given", "mapping " + (type % 7) + " (\\d+)")
+                                .withMapping("When", "a mapping " + type)
+                                .withParameter("value", "int", "\\d+", "")
+                                .build())
+                        .build());
+            }
+        }
+
+        List<MappingModel> expected = serial.build().getMappings();
+        List<MappingModel> actual = parallel.build().getMappings();
+
+        Assert.assertEquals("Unexpected mapping count", expected.size(), actual.size());
+
+        for (int index = 0; index < expected.size(); index++) {
+            Assert.assertEquals("Bad regEx at " + index, expected.get(index).getRegEx(), actual.get(index).getRegEx());
+            Assert.assertEquals("Bad type at " + index,
+                                expected.get(index).getMappingType().getQualifiedName(),
+                                actual.get(index).getMappingType().getQualifiedName());
+            Assert.assertEquals("Bad friendly mapping at " + index,
+                                expected.get(index).getFriendlyMapping(),
+                                actual.get(index).getFriendlyMapping());
+        }
+    }
+
+
+    /**
+     * Unit test {@link ApplicationModel#merge(List)} is stable
+     */
+    @Test
+    public void test_Merge_Mappings() {
+        MappingModel a1 = new MappingModel("Given", "a", null);
+        MappingModel b1 = new MappingModel("Given", "b", null);
+        MappingModel a2 = new MappingModel("When", "a", null);
+        MappingModel c2 = new MappingModel("When", "c", null);
+        MappingModel b3 = new MappingModel("Then", "b", null);
+
+        List<MappingModel> merged = ApplicationModel.merge(Arrays.asList(Arrays.asList(a1, b1),
+                                                                         Collections.emptyList(),
+                                                                         Arrays.asList(a2, c2),
+                                                                         Collections.singletonList(b3)));
+
+        Assert.assertEquals("Bad merge", Arrays.asList(a1, a2, b1, b3, c2), merged);
+        Assert.assertEquals("Bad empty merge", Collections.emptyList(), ApplicationModel.merge(Collections.emptyList()));
+    }
+
+
+    /**
+     * Unit test {@link ApplicationModel#findMappings(String)}
+     */
+    @Test
+    public void test_FindMappings() {
+        Assert.assertEquals("Bad match", app2.getMappings(), app2.findMappings("mapping1"));
+        Assert.assertEquals("Unexpected match", Collections.emptyList(), app2.findMappings("mapping2"));
+        Assert.assertEquals("Empty model", Collections.emptyList(), app1.findMappings("mapping1"));
+    }
+
+
+    /**
+     * Unit test {@link ApplicationModel#getConflicts()}
+     */
+    @Test
+    public void test_GetConflicts() {
+        TypeModel type = new TypeModel.Builder("a.b.Steps")
+            .withImplementation(new ImplementationModel.Builder("first")
+                                    .withMapping("Given", "^I have (\\\\d+) cukes$")
+                                    .build())
+            .withImplementation(new ImplementationModel.Builder("second")
+                                    .withMapping("When", "^I have (.*)$")
+                                    .build())
+            .build();
+        ApplicationModel app = new ApplicationModel.Builder().withType(type).build();
+        List<ConflictModel> conflicts = app.getConflicts();
+
+        Assert.assertEquals("Unexpected conflicts", 1, conflicts.size());
+        Assert.assertEquals("Bad first", "^I have (.*)$", conflicts.get(0).getFirst().getRegEx());
+        Assert.assertEquals("Bad second", "^I have (\\\\d+) cukes$", conflicts.get(0).getSecond().getRegEx());
+        Assert.assertEquals("Bad example", "I have 0 cukes", conflicts.get(0).getExample());
+        Assert.assertSame("Not cached", conflicts, app.getConflicts());
+        Assert.assertEquals("No conflicts", Collections.emptyList(), app2.getConflicts());
+    }
+
+
+    /**
+     * Unit test {@link ApplicationModel#getHazards()}
+     */
+    @Test
+    public void test_GetHazards() {
+        TypeModel type = new TypeModel.Builder("a.b.Steps")
+            .withImplementation(new ImplementationModel.Builder("first")
+                                    .withMapping("Given", "^I have (\\\\d+) cukes$")
+                                    .build())
+            .withImplementation(new ImplementationModel.Builder("second")
+                                    .withMapping("When", "^I have (\\\\w+ ?)+$")
+                                    .build())
+            .build();
+        ApplicationModel app = new ApplicationModel.Builder().withType(type).build();
+        List<HazardModel> hazards = app.getHazards();
+
+        Assert.assertEquals("Unexpected hazards", 1, hazards.size());
+        Assert.assertEquals("Bad mapping", "^I have (\\\\w+ ?)+$", hazards.get(0).getMapping().getRegEx());
+        Assert.assertEquals("Timed by default", HazardModel.Speed.UNTIMED, hazards.get(0).getSpeed());
+        Assert.assertSame("Not cached", hazards, app.getHazards());
+        Assert.assertEquals("No hazards", Collections.emptyList(), app2.getHazards());
+    }
+}
@@ -0,0 +1,88 @@
+package io.cucumber.doc.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ConflictDetector}
+ */
+public class ConflictDetectorTest {
+    /**
+     * Unit test {@link ConflictDetector#detect(int)}
+     */
+    @Test
+    public void test_Detect() {
+        List<MappingModel> mappings = mappings(
+                "^I have (\\\\d+) cukes? in my belly$",
+                "^I have 1 cuke in my (\\\\w+)$",
+                "^I have (\\\\d+) cukes in my stomach$",
+                "^(.*) is logged in$",
+                "^the user \"([^\"]*)\" is logged in$",
+                "^the (\\\\w+) is logged in$",
+                "^(?i)case insensitive$",
+                "^(.*) contains (\\\\d+) rows$",
+                "broken (");
+        List<ConflictModel> conflicts = new ConflictDetector(mappings).detect(1);
+
+        Assert.assertEquals("Unexpected conflicts " + conflicts, 3, conflicts.size());
+        assertConflict(conflicts.get(0), "^(.*) is logged in$", "^the (\\\\w+) is logged in$", "the a is logged in");
+        assertConflict(conflicts.get(1),
+                       "^(.*) is logged in$",
+                       "^the user \"([^\"]*)\" is logged in$",
+                       "the user \"\" is logged in");
+        assertConflict(conflicts.get(2),
+                       "^I have (\\\\d+) cukes? in my belly$",
+                       "^I have 1 cuke in my (\\\\w+)$",
+                       "I have 1 cuke in my belly");
+    }
+
+
+    /**
+     * Unit test {@link ConflictDetector#detect(int)} only checks mappings with compatible literal text
+     */
+    @Test
+    public void test_Detect_Candidates() {
+        List<String> regExs = new ArrayList<>();
+
+        for (int index = 0; index < 500; index++) {
+            regExs.add("^step " + index + " takes (\\\\d+) arguments$");
+            regExs.add("^step " + index + " is (on|off)$");
+        }
+
+        regExs.add("^(.*) is on$");
+
+        ConflictDetector detector = new ConflictDetector(mappings(regExs.toArray(new String[0])));
+        List<ConflictModel> conflicts = detector.detect(4);
+
+        Assert.assertEquals("Unexpected conflicts", 500, conflicts.size());
+        Assert.assertEquals("Unexpected candidates", 500, detector.getCandidateCount());
+
+        for (ConflictModel conflict : conflicts) {
+            Assert.assertTrue("Bad example " + conflict.getExample(), conflict.getExample().endsWith(" is on"));
+        }
+    }
+
+
+    private void assertConflict(ConflictModel conflict, String first, String second, String example) {
+        Assert.assertEquals("Bad first", first, conflict.getFirst().getRegEx());
+        Assert.assertEquals("Bad second", second, conflict.getSecond().getRegEx());
+        Assert.assertEquals("Bad example", example, conflict.getExample());
+    }
+
+
+    private List<MappingModel> mappings(String... regExs) {
+        TypeModel.Builder type = new TypeModel.Builder("a.b.Steps");
+
+        for (int index = 0; index < regExs.length; index++) {
+            type.withImplementation(new ImplementationModel.Builder("method" + index)
+                                        .withMapping("Given", regExs[index])
+                                        .build());
+        }
+
+        return new ApplicationModel.Builder().withType(type.build()).build().getMappings();
+    }
+}
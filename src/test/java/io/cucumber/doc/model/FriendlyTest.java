@@ -2,6 +2,7 @@ package io.cucumber.doc.model;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -10,6 +11,8 @@ import org.junit.Test;
  * Unit test for {@link Friendly}
  */
 public class FriendlyTest {
+    private static final List<ParameterModel> NONE = Collections.emptyList();
+
     /**
      * Unit test {@link Friendly#name}
      */
@@ -59,101 +62,103 @@ public class FriendlyTest {
 
 
     /**
-     * Unit test {@link Friendly#cleanNonCaptureGroups(String)}
+     * Unit test {@link Friendly#mapping} with non-capture groups
      */
     @Test
-    public void test_cleanNonCaptureGroups() {
-        Assert.assertEquals("Empty String", "", Friendly.cleanNonCaptureGroups(""));
-        Assert.assertEquals("No Group", "My Mapping", Friendly.cleanNonCaptureGroups("My Mapping"));
-        Assert.assertEquals("One Group", "My (first) Mapping", Friendly.cleanNonCaptureGroups("My (?:first) Mapping"));
-        Assert.assertEquals("Two Groups", "My (first) Mapping (second)", Friendly.cleanNonCaptureGroups("My (?:first) Mapping (?:second)"));
-        Assert.assertEquals("Nested Groups", "xxx (out (in)) xxx", Friendly.cleanNonCaptureGroups("xxx (?:out (?:in)) xxx"));
-        Assert.assertEquals("Escaped", "My \\(?:first) Mapping", Friendly.cleanNonCaptureGroups("My \\(?:first) Mapping"));
+    public void test_mapping_nonCaptureGroups() {
+        Assert.assertEquals("Empty String", "", Friendly.mapping("", NONE));
+        Assert.assertEquals("No Group", "My Mapping", Friendly.mapping("My Mapping", NONE));
+        Assert.assertEquals("One Group", "My first Mapping", Friendly.mapping("My (?:first) Mapping", NONE));
+        Assert.assertEquals("Two Groups",
+                            "My first Mapping second",
+                            Friendly.mapping("My (?:first) Mapping (?:second)", NONE));
+        Assert.assertEquals("Nested Groups", "xxx out in xxx", Friendly.mapping("xxx (?:out (?:in)) xxx", NONE));
+        Assert.assertEquals("Escaped", "My ((?):first) Mapping", Friendly.mapping("My \\(?:first) Mapping", NONE));
+        Assert.assertEquals("Alternatives", "I (am|was) here", Friendly.mapping("I (?:am|was) here", NONE));
+        Assert.assertEquals("Nested alternatives",
+                            "(a(n?)|the) thing",
+                            Friendly.mapping("^(?:an?|the) thing$", NONE));
     }
 
 
     /**
-     * Unit test {@link Friendly#removeSpecialConstructs(String)}
+     * Unit test {@link Friendly#mapping} with flags, look ahead and look behind
      */
     @Test
-    public void test_removeSpecialConstructs() {
-        Assert.assertEquals("Empty String", "", Friendly.removeSpecialConstructs(""));
-        Assert.assertEquals("No Constructs", "No Constructs", Friendly.removeSpecialConstructs("No Constructs"));
-        Assert.assertEquals("Single flag", "My Flag", Friendly.removeSpecialConstructs("My (?i)Flag"));
-        Assert.assertEquals("Lookahead", "My Lookahead", Friendly.removeSpecialConstructs("My (?=9)Lookahead"));
-        Assert.assertEquals("Multiple constructs", "my Lookahead ", Friendly.removeSpecialConstructs("(?i)my Lookahead (?=9)"));
+    public void test_mapping_specialConstructs() {
+        Assert.assertEquals("No Constructs", "No Constructs", Friendly.mapping("No Constructs", NONE));
+        Assert.assertEquals("Single flag", "My Flag", Friendly.mapping("My (?i)Flag", NONE));
+        Assert.assertEquals("Lookahead", "My Lookahead", Friendly.mapping("My (?=9)Lookahead", NONE));
+        Assert.assertEquals("Lookbehind", "My Lookbehind", Friendly.mapping("My (?<!x)Lookbehind", NONE));
+        Assert.assertEquals("Multiple constructs", "my Lookahead ", Friendly.mapping("(?i)my Lookahead (?=9)", NONE));
     }
 
 
     /**
-     * Unit test {@link Friendly#cleanQuantifiers(String, char)}.
+     * Unit test {@link Friendly#mapping} with the {@code ?} quantifier.
      * Optional words could be retro fitted to make a mapping more obvious with out breaking
      * backwards compatibility. An optional letter 's' could be used to allow an english language word
      * to made plural
      */
     @Test
-    public void test_cleanQuantifiers_optional() {
-        Assert.assertEquals("Empty String", "", Friendly.cleanQuantifiers("", '?'));
-        Assert.assertEquals("No Constructs", "No Constructs", Friendly.cleanQuantifiers("No Constructs", '?'));
-        Assert.assertEquals("Single letter", "document(s?) here", Friendly.cleanQuantifiers("documents? here", '?'));
-        Assert.assertEquals("Two letters", "(a?) (b?)", Friendly.cleanQuantifiers("a? b?", '?'));
-        Assert.assertEquals("Single word", "(Hello?)", Friendly.cleanQuantifiers("(Hello)?", '?'));
-        Assert.assertEquals("As First Char", "?abc", Friendly.cleanQuantifiers("?abc", '?'));
-        Assert.assertEquals("Escaped", "a\\? b", Friendly.cleanQuantifiers("a\\? b", '?'));
+    public void test_mapping_optional() {
+        Assert.assertEquals("Single letter", "document(s?) here", Friendly.mapping("documents? here", NONE));
+        Assert.assertEquals("Two letters", "(a?) (b?)", Friendly.mapping("a? b?", NONE));
+        Assert.assertEquals("Single word", "(Hello?)", Friendly.mapping("(?:Hello)?", NONE));
+        Assert.assertEquals("As First Char", "?abc", Friendly.mapping("?abc", NONE));
+        Assert.assertEquals("Escaped", "a? b", Friendly.mapping("a\\? b", NONE));
+        Assert.assertEquals("Alternatives", "I (am|was?) here", Friendly.mapping("I (?:am|was)? here", NONE));
         Assert.assertEquals("Optional Parameter",
                             "(<database>?) table Tab(s?) is empty",
-                            Friendly.cleanQuantifiers("<database>? table Tabs? is empty", '?'));
+                            Friendly.mapping("(\\w+)? table Tabs? is empty",
+                                             Arrays.asList(new ParameterModel("database", "String", "", "db"))));
     }
 
 
     /**
-     * Unit test {@link Friendly#cleanQuantifiers(String, char)}
+     * Unit test {@link Friendly#mapping} with the {@code +} quantifier.
      * Not sure who would ever use this, outside of a capture group
      */
     @Test
-    public void test_cleanQuantifiers_repeated() {
-        Assert.assertEquals("Empty String", "", Friendly.cleanQuantifiers("", '+'));
-        Assert.assertEquals("No Constructs", "No Constructs", Friendly.cleanQuantifiers("No Constructs", '+'));
-        Assert.assertEquals("Single letter", "document(s+) here", Friendly.cleanQuantifiers("documents+ here", '+'));
-        Assert.assertEquals("Two letters", "(a+) (b+)", Friendly.cleanQuantifiers("a+ b+", '+'));
-        Assert.assertEquals("Single word", "(Hello+)", Friendly.cleanQuantifiers("(Hello)+", '+'));
-        Assert.assertEquals("As First Char", "+abc", Friendly.cleanQuantifiers("+abc", '+'));
-        Assert.assertEquals("Escaped", "a\\+ b", Friendly.cleanQuantifiers("a\\+ b", '+'));
+    public void test_mapping_repeated() {
+        Assert.assertEquals("Single letter", "document(s+) here", Friendly.mapping("documents+ here", NONE));
+        Assert.assertEquals("Two letters", "(a+) (b+)", Friendly.mapping("a+ b+", NONE));
+        Assert.assertEquals("Single word", "(Hello+)", Friendly.mapping("(?:Hello)+", NONE));
+        Assert.assertEquals("As First Char", "+abc", Friendly.mapping("+abc", NONE));
+        Assert.assertEquals("Escaped", "a+ b", Friendly.mapping("a\\+ b", NONE));
+        Assert.assertEquals("Alternatives", "x(a|b+)y", Friendly.mapping("x(?:a|b)+y", NONE));
     }
 
+
     /**
-     * Unit test {@link Friendly#cleanQuantifiers(String, char)}
+     * Unit test {@link Friendly#mapping} with the {@code *} quantifier.
      * Not sure who would ever use this, outside of a capture group
      */
     @Test
-    public void test_cleanQuantifiers_repeated_or_optional() {
-        Assert.assertEquals("Empty String", "", Friendly.cleanQuantifiers("", '*'));
-        Assert.assertEquals("No Constructs", "No Constructs", Friendly.cleanQuantifiers("No Constructs", '*'));
-        Assert.assertEquals("Single letter", "document(s*) here", Friendly.cleanQuantifiers("documents* here", '*'));
-        Assert.assertEquals("Two letters", "(a*) (b*)", Friendly.cleanQuantifiers("a* b*", '*'));
-        Assert.assertEquals("Two letters - no break", "(a*)(b*)c", Friendly.cleanQuantifiers("a*b*c", '*'));
-        Assert.assertEquals("Single word", "(Hello*)", Friendly.cleanQuantifiers("(Hello)*", '*'));
-        Assert.assertEquals("As First Char", "*abc", Friendly.cleanQuantifiers("*abc", '*'));
-        Assert.assertEquals("Escaped", "a\\* b", Friendly.cleanQuantifiers("a\\* b", '*'));
-        Assert.assertEquals("Single letter - escaped", "Hello(\\)*)", Friendly.cleanQuantifiers("Hello\\)*", '*'));
+    public void test_mapping_repeated_or_optional() {
+        Assert.assertEquals("Single letter", "document(s*) here", Friendly.mapping("documents* here", NONE));
+        Assert.assertEquals("Two letters", "(a*) (b*)", Friendly.mapping("a* b*", NONE));
+        Assert.assertEquals("Two letters - no break", "(a*)(b*)c", Friendly.mapping("a*b*c", NONE));
+        Assert.assertEquals("Single word", "(Hello*)", Friendly.mapping("(?:Hello)*", NONE));
+        Assert.assertEquals("As First Char", "*abc", Friendly.mapping("*abc", NONE));
+        Assert.assertEquals("Escaped", "a* b", Friendly.mapping("a\\* b", NONE));
+        Assert.assertEquals("Single letter - escaped", "Hello()*)", Friendly.mapping("Hello\\)*", NONE));
     }
 
 
     /**
-     * Unit test {@link Friendly#removeBrackets(String)}
+     * Unit test {@link Friendly#mapping} removes brackets that are not needed
      */
     @Test
-    public void test_removeBrackets() {
-        Assert.assertEquals("Empty String", "", Friendly.removeBrackets(""));
-        Assert.assertEquals("No Constructs", "No Constructs", Friendly.removeBrackets("No Constructs"));
-        Assert.assertEquals("One group", "abc def ghi", Friendly.removeBrackets("abc (def) ghi"));
-        Assert.assertEquals("Two groups", "abc def ghi", Friendly.removeBrackets("(abc) def (ghi)"));
-        Assert.assertEquals("Escaped opening bracket", "abc \\(def ghi", Friendly.removeBrackets("(abc \\(def) ghi"));
-        Assert.assertEquals("Quantified?", "(abc?) def ghi", Friendly.removeBrackets("(abc?) def ghi"));
-        Assert.assertEquals("Quantified*", "abc (def*) ghi", Friendly.removeBrackets("abc (def*) ghi"));
-        Assert.assertEquals("Quantified+", "abc def (ghi+)", Friendly.removeBrackets("abc def (ghi+)"));
-        Assert.assertEquals("No opening bracket", "abc def)", Friendly.removeBrackets("abc def)"));
-        Assert.assertEquals("Closing bracket at start", ")abc def", Friendly.removeBrackets(")abc def"));
+    public void test_mapping_brackets() {
+        Assert.assertEquals("One group", "abc def ghi", Friendly.mapping("abc (?:def) ghi", NONE));
+        Assert.assertEquals("Two groups", "abc def ghi", Friendly.mapping("(?:abc) def (?:ghi)", NONE));
+        Assert.assertEquals("Escaped opening bracket", "abc (def ghi", Friendly.mapping("(?:abc \\(def) ghi", NONE));
+        Assert.assertEquals("Quantified?", "(abc?) def ghi", Friendly.mapping("(?:abc)? def ghi", NONE));
+        Assert.assertEquals("Quantified*", "abc (def*) ghi", Friendly.mapping("abc (?:def)* ghi", NONE));
+        Assert.assertEquals("Quantified+", "abc def (ghi+)", Friendly.mapping("abc def (?:ghi)+", NONE));
+        Assert.assertEquals("No opening bracket", "abc def)", Friendly.mapping("abc def)", NONE));
+        Assert.assertEquals("Closing bracket at start", ")abc def", Friendly.mapping(")abc def", NONE));
     }
 
 
@@ -192,5 +197,14 @@ public class FriendlyTest {
                 "<first> text",
                 Friendly.mapping("([^ ]*) text",
                         Arrays.asList(new ParameterModel("first", "String", "", "first"))));
+        Assert.assertEquals("Quantifier in non-capture group",
+                "(a(n?)|the) <thing> is",
+                Friendly.mapping("^(?:an?|the) (\\w+) is$",
+                        Arrays.asList(new ParameterModel("thing", "String", "", "thing"))));
+        Assert.assertEquals("Quantifiers in alternatives",
+                "the <name> (is|are) <age> (year(s?)|month(s?)) old",
+                Friendly.mapping("^the (\\w+) (?:is|are) (\\d+) (?:years?|months?) old$",
+                        Arrays.asList(new ParameterModel("name", "String", "", "name"),
+                                      new ParameterModel("age", "int", "", "age"))));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+package io.cucumber.doc.model;
+
+import java.util.List;
+
+import io.cucumber.doc.util.RegExHazards;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link HazardDetector}
+ */
+public class HazardDetectorTest {
+    /**
+     * Unit test {@link HazardDetector#detect(int)}
+     */
+    @Test
+    public void test_Detect() {
+        List<MappingModel> mappings = mappings(
+                "^I have (\\\\d+) cukes$",
+                "^I have (?:\\\\w+\\\\s?)* in my belly$",
+                "^I eat (b|bc)* cukes$",
+                "broken (");
+        List<HazardModel> hazards = new HazardDetector(mappings, true).detect(1);
+
+        Assert.assertEquals("Unexpected hazards " + hazards, 2, hazards.size());
+
+        HazardModel fast = hazards.get(0);
+        HazardModel slow = hazards.get(1);
+
+        Assert.assertEquals("Unexpected slow mapping",
+                            "^I have (?:\\\\w+\\\\s?)* in my belly$",
+                            slow.getMapping().getRegEx());
+        Assert.assertEquals("Unexpected slow kind",
+                            RegExHazards.Kind.NESTED_QUANTIFIER,
+                            slow.getHazards().get(0).getKind());
+        Assert.assertEquals("Expected time out", HazardModel.Speed.TIMED_OUT, slow.getSpeed());
+        Assert.assertTrue("Unexpected worst step " + slow.getWorstStep(),
+                          slow.getWorstStep().startsWith("I have aaaa"));
+        Assert.assertTrue("Unexpected worst case " + slow.getWorstCase(), slow.getWorstCase() >= 50_000_000);
+
+        Assert.assertEquals("Unexpected fast mapping", "^I eat (b|bc)* cukes$", fast.getMapping().getRegEx());
+        Assert.assertEquals("Unexpected fast kind",
+                            RegExHazards.Kind.OVERLAPPING_ALTERNATION,
+                            fast.getHazards().get(0).getKind());
+        Assert.assertFalse("Unexpected time out", fast.isTimedOut());
+        Assert.assertNotEquals("Not timed", HazardModel.Speed.UNTIMED, fast.getSpeed());
+        Assert.assertTrue("Unexpected worst step " + fast.getWorstStep(),
+                          fast.getWorstStep().startsWith("I eat bbbb"));
+    }
+
+
+    /**
+     * Unit test {@link HazardDetector#detect(int)} without fuzzing
+     */
+    @Test
+    public void test_Detect_NoFuzz() {
+        List<MappingModel> mappings = mappings("^(x|x)*$", "^(\\\\d+)$", "^(a+)+$");
+        List<HazardModel> hazards = new HazardDetector(mappings, false).detect(1);
+
+        Assert.assertEquals("Unexpected hazards " + hazards, 2, hazards.size());
+        Assert.assertEquals("Unexpected first mapping", "^(a+)+$", hazards.get(0).getMapping().getRegEx());
+        Assert.assertEquals("Unexpected second mapping", "^(x|x)*$", hazards.get(1).getMapping().getRegEx());
+
+        for (HazardModel hazard : hazards) {
+            Assert.assertEquals("Unexpected speed", HazardModel.Speed.UNTIMED, hazard.getSpeed());
+            Assert.assertEquals("Unexpected worst step", "", hazard.getWorstStep());
+            Assert.assertEquals("Unexpected worst case", 0, hazard.getWorstCase());
+        }
+    }
+
+
+    /**
+     * Unit test {@link HazardDetector#detect(int)} with several threads
+     */
+    @Test
+    public void test_Detect_Parallel() {
+        List<MappingModel> mappings = mappings("^(x|x)*$", "^(\\\\d+)$", "^(a+)+$");
+        List<HazardModel> hazards = new HazardDetector(mappings, true).detect(4);
+
+        Assert.assertEquals("Unexpected hazards " + hazards, 2, hazards.size());
+        Assert.assertEquals("Unexpected first mapping", "^(a+)+$", hazards.get(0).getMapping().getRegEx());
+        Assert.assertTrue("Expected time out", hazards.get(0).isTimedOut());
+        Assert.assertEquals("Unexpected second mapping", "^(x|x)*$", hazards.get(1).getMapping().getRegEx());
+    }
+
+
+    private List<MappingModel> mappings(String... regExs) {
+        TypeModel.Builder type = new TypeModel.Builder("a.b.Steps");
+
+        for (int index = 0; index < regExs.length; index++) {
+            type.withImplementation(new ImplementationModel.Builder("method" + index)
+                                        .withMapping("Given", regExs[index])
+                                        .build());
+        }
+
+        return new ApplicationModel.Builder().withType(type.build()).build().getMappings();
+    }
+}
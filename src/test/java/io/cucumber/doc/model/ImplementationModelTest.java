@@ -103,6 +103,47 @@ public class ImplementationModelTest {
     }
 
 
+    /**
+     * Unit test {@link ImplementationModel#getUniqueId} is derived from the qualified name
+     */
+    @Test
+    public void test_GetUniqueId_Stable() {
+        ImplementationModel copy = new ImplementationModel.Builder("myMethod1")
+                .withMapping("Given", "a different mapping")
+                .build()
+                .initialise(new TypeModel.Builder("a.b.c").build());
+
+        Assert.assertEquals("id depends on build order", method1.getUniqueId(), copy.getUniqueId());
+        Assert.assertTrue("Bad format", copy.getUniqueId().matches("_id\\d+_"));
+    }
+
+
+    /**
+     * Unit test {@link ImplementationModel#getUniqueId} for overloaded methods
+     */
+    @Test
+    public void test_GetUniqueId_Overloaded() {
+        TypeModel type = new TypeModel.Builder("a.b.c")
+                .withImplementation(new ImplementationModel.Builder("myMethod1")
+                                        .withMapping("Given", "mapping one")
+                                        .build())
+                .withImplementation(new ImplementationModel.Builder("myMethod1")
+                                        .withMapping("Given", "mapping two")
+                                        .build())
+                .build();
+        new ApplicationModel.Builder().withType(type).build();
+
+        List<ImplementationModel> implementations = type.getImplementations();
+
+        Assert.assertEquals("First overload should not be probed",
+                            method1.getUniqueId(),
+                            implementations.get(0).getUniqueId());
+        Assert.assertNotEquals("Overloads share an id",
+                               implementations.get(0).getUniqueId(),
+                               implementations.get(1).getUniqueId());
+    }
+
+
     /**
      * Unit test {@link ImplementationModel#getDescription}
      */
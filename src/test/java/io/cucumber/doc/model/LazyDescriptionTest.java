@@ -0,0 +1,57 @@
+package io.cucumber.doc.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link LazyDescription}
+ */
+public class LazyDescriptionTest {
+    /**
+     * Unit test {@link LazyDescription#NONE}
+     */
+    @Test
+    public void test_None() {
+        Assert.assertNull("Unexpected description", LazyDescription.NONE.get());
+    }
+
+
+    /**
+     * Unit test {@link LazyDescription#of(String)}
+     */
+    @Test
+    public void test_InMemory() {
+        LazyDescription description = LazyDescription.of("  my description ");
+
+        Assert.assertEquals("Unexpected description", "My description", description.get());
+
+        description.release();
+
+        Assert.assertEquals("Unexpected released description", "My description", description.get());
+    }
+
+
+    /**
+     * Unit test {@link LazyDescription#of(java.util.function.Supplier)}
+     */
+    @Test
+    public void test_OnDemand() {
+        AtomicInteger loads = new AtomicInteger();
+        LazyDescription description = LazyDescription.of(() -> {
+            loads.incrementAndGet();
+            return "my description";
+        });
+
+        Assert.assertEquals("Loaded too early", 0, loads.get());
+        Assert.assertEquals("Unexpected description", "My description", description.get());
+        Assert.assertEquals("Unexpected repeated description", "My description", description.get());
+        Assert.assertEquals("Not cached", 1, loads.get());
+
+        description.release();
+
+        Assert.assertEquals("Unexpected reloaded description", "My description", description.get());
+        Assert.assertEquals("Not reloaded", 2, loads.get());
+    }
+}
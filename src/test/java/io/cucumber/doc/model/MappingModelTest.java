@@ -103,4 +103,31 @@ public class MappingModelTest {
                             "Number <number> and String <name>",
                             mapping2.getFriendlyMapping());
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Unit test {@link MappingModel#getPattern}
+     */
+    @Test
+    public void test_GetPattern() {
+        MappingModel source = new MappingModel("Given", "^I have (\\\\d+) \\\"cukes\\\"$", null);
+        MappingModel invalid = new MappingModel("Given", "broken (", null);
+
+        Assert.assertEquals("Bad pattern", "^I have (\\d+) \"cukes\"$", source.getPattern().pattern());
+        Assert.assertSame("Pattern not cached", source.getPattern(), source.getPattern());
+        Assert.assertEquals("Runtime form", "this is test number (\\d+)", mapping1.getPattern().pattern());
+        Assert.assertNull("Invalid pattern", invalid.getPattern());
+    }
+
+
+    /**
+     * Unit test {@link MappingModel#matches}
+     */
+    @Test
+    public void test_Matches() {
+        Assert.assertTrue("Should match", mapping1.matches("this is test number 42"));
+        Assert.assertFalse("Partial match", mapping1.matches("this is test number 42 again"));
+        Assert.assertFalse("Bad number", mapping1.matches("this is test number x"));
+        Assert.assertFalse("Invalid pattern", new MappingModel("Given", "broken (", null).matches("broken ("));
+    }
+}
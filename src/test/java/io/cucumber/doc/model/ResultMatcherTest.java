@@ -0,0 +1,131 @@
+package io.cucumber.doc.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ResultMatcher}
+ */
+public class ResultMatcherTest {
+    private final ImplementationModel have = new ImplementationModel.Builder("have")
+            .withMapping("Given", "^I have (\\\\d+) cukes?$")
+            .build();
+    private final ImplementationModel eat = new ImplementationModel.Builder("eat")
+            .withMapping("When", "^I eat (\\\\d+) cukes?$")
+            .build();
+    private final ApplicationModel model = new ApplicationModel.Builder()
+            .withType(new TypeModel.Builder("a.b.Steps")
+                          .withImplementation(have)
+                          .withImplementation(eat)
+                          .build())
+            .build();
+
+
+    /**
+     * Unit test {@link ResultMatcher#match(List)}
+     */
+    @Test
+    public void test_Match() {
+        List<ResultModel> results = Arrays.asList(
+                new ResultModel("a.b.Steps.eat(int)", "I eat 1 cuke", new long[] {1_000}),
+                new ResultModel("Steps.java:12", "I eat 2 cukes", new long[] {2_000, 3_000}),
+                new ResultModel("a.b.Steps.have(int)", "I have 1 cuke", new long[] {10_000}),
+                new ResultModel("Steps.have(int)", "I have 2 cukes", new long[] {20_000}),
+                new ResultModel(null, "I have 3 cukes", new long[] {30_000}),
+                new ResultModel("x.y.Other.run()", "I run away", new long[] {99_000}));
+        Map<ImplementationModel, TimingModel> timings = new ResultMatcher(model).match(results);
+
+        Assert.assertEquals("Unexpected order", Arrays.asList(have, eat), new ArrayList<>(timings.keySet()));
+        Assert.assertEquals("Unexpected 'have' count", 3, timings.get(have).getCount());
+        Assert.assertEquals("Unexpected 'have' total", 60_000, timings.get(have).getTotal());
+        Assert.assertEquals("Unexpected 'eat' count", 3, timings.get(eat).getCount());
+        Assert.assertEquals("Unexpected 'eat' total", 6_000, timings.get(eat).getTotal());
+    }
+
+
+    /**
+     * Unit test {@link ResultMatcher#match(List)} with overloaded step definitions
+     */
+    @Test
+    public void test_Match_Overloads() {
+        ImplementationModel count = new ImplementationModel.Builder("check")
+                .withMapping("Then", "^I have (\\\\d+) left$")
+                .withParameter("count", "int", "\\\\d+", "count")
+                .build();
+        ImplementationModel name = new ImplementationModel.Builder("check")
+                .withMapping("Then", "^I have a (\\\\w+)$")
+                .withParameter("name", "java.lang.String", "\\\\w+", "name")
+                .build();
+        ImplementationModel table = new ImplementationModel.Builder("check")
+                .withMapping("Then", "^I have these (\\\\w+)$")
+                .withParameter("kind", "java.lang.String", "\\\\w+", "kind")
+                .withTable("items", "the items")
+                .build();
+        ApplicationModel overloaded = new ApplicationModel.Builder()
+                .withType(new TypeModel.Builder("a.b.Checks")
+                              .withImplementation(count)
+                              .withImplementation(name)
+                              .withImplementation(table)
+                              .build())
+                .build();
+        List<ResultModel> results = Arrays.asList(
+                new ResultModel("a.b.Checks.check(java.lang.String)", "I have a cuke", new long[] {1_000}),
+                new ResultModel("Checks.check(String)", "I have a pickle", new long[] {2_000}),
+                new ResultModel("a.b.Checks.check(int)", "I have 3 left", new long[] {4_000}),
+                new ResultModel("a.b.Checks.check(java.lang.String,io.cucumber.datatable.DataTable)",
+                                "I have these cukes",
+                                new long[] {8_000}),
+                new ResultModel("a.b.Checks.check(long)", "I have 5 left", new long[] {16_000}),
+                new ResultModel("a.b.Checks.check", "I have a tomato", new long[] {32_000}));
+        Map<ImplementationModel, TimingModel> timings = new ResultMatcher(overloaded).match(results);
+
+        Assert.assertEquals("Unexpected 'int' total", 20_000, timings.get(count).getTotal());
+        Assert.assertEquals("Unexpected 'String' total", 35_000, timings.get(name).getTotal());
+        Assert.assertEquals("Unexpected table total", 8_000, timings.get(table).getTotal());
+    }
+
+
+    /**
+     * Unit test {@link ResultMatcher#match(List)}
+     */
+    @Test
+    public void test_Match_Empty() {
+        Assert.assertTrue("Unexpected timings", new ResultMatcher(model).match(new ArrayList<>()).isEmpty());
+    }
+
+
+    /**
+     * Unit test {@link ResultMatcher#methodName(String)}
+     */
+    @Test
+    public void test_MethodName() {
+        Assert.assertEquals("Parameters", "a.b.Steps.have", ResultMatcher.methodName("a.b.Steps.have(int)"));
+        Assert.assertEquals("No parameters", "a.b.Steps.have", ResultMatcher.methodName("a.b.Steps.have()"));
+        Assert.assertEquals("No brackets", "Steps.java:12", ResultMatcher.methodName("Steps.java:12"));
+    }
+
+
+    /**
+     * Unit test {@link ResultMatcher#parameterTypes(String)}
+     */
+    @Test
+    public void test_ParameterTypes() {
+        Assert.assertEquals("Qualified",
+                            Arrays.asList("int", "String"),
+                            ResultMatcher.parameterTypes("a.b.Steps.have(int,java.lang.String)"));
+        Assert.assertEquals("Simple",
+                            Arrays.asList("int", "String"),
+                            ResultMatcher.parameterTypes("Steps.have(int, String)"));
+        Assert.assertEquals("Type arguments",
+                            Arrays.asList("Map", "String"),
+                            ResultMatcher.parameterTypes("a.b.Steps.have(java.util.Map<K,V>,java.lang.String[])"));
+        Assert.assertEquals("No parameters", Collections.emptyList(), ResultMatcher.parameterTypes("a.b.Steps.have()"));
+        Assert.assertNull("No brackets", ResultMatcher.parameterTypes("Steps.java:12"));
+    }
+}
@@ -0,0 +1,100 @@
+package io.cucumber.doc.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StepIndex}
+ */
+public class StepIndexTest {
+    private static final List<String> REG_EXS = Arrays.asList(
+            "^I have (\\\\d+) cukes? in my belly$",
+            "^I have (\\\\d+) cukes in my (\\\\w+)$",
+            "^I have a cuke$",
+            "^(\\\\w+) is logged in$",
+            "^the user \"([^\"]*)\" is logged in$",
+            "^I wait (\\\\d+) seconds?\\\\.$",
+            "^(.*) contains (\\\\d+) rows$",
+            "^(?:a|the) table is empty$",
+            "^(?i)CASE insensitive$",
+            "^yes|no$",
+            "^(.*)$",
+            "broken (");
+
+    private List<MappingModel> mappings;
+    private StepIndex index;
+
+
+    @Before
+    public void setUp() {
+        ApplicationModel.Builder builder = new ApplicationModel.Builder();
+        TypeModel.Builder type = new TypeModel.Builder("a.b.Steps");
+
+        for (int count = 0; count < REG_EXS.size(); count++) {
+            type.withImplementation(new ImplementationModel.Builder("method" + count)
+                                        .withMapping("Given", REG_EXS.get(count))
+                                        .build());
+        }
+
+        mappings = builder.withType(type.build()).build().getMappings();
+        index = new StepIndex(mappings);
+    }
+
+
+    /**
+     * Unit test {@link StepIndex#find(String)} returns the same mappings as trying every regular expression
+     */
+    @Test
+    public void test_find() {
+        List<String> steps = Arrays.asList("I have 3 cukes in my belly",
+                                           "I have 1 cuke in my belly",
+                                           "I have 3 cukes in my stomach",
+                                           "I have a cuke",
+                                           "I have",
+                                           "fred is logged in",
+                                           "the user \"fred\" is logged in",
+                                           "I wait 1 second.",
+                                           "the table contains 4 rows",
+                                           "a table is empty",
+                                           "case INSENSITIVE",
+                                           "yes",
+                                           "no",
+                                           "",
+                                           "broken (");
+
+        for (String step : steps) {
+            List<MappingModel> expected = new ArrayList<>();
+
+            for (MappingModel mapping : mappings) {
+                if (mapping.matches(step)) {
+                    expected.add(mapping);
+                }
+            }
+
+            Assert.assertEquals("Bad matches for '" + step + "'", expected, index.find(step));
+        }
+    }
+
+
+    /**
+     * Unit test {@link StepIndex#candidates(String)} excludes mappings that can't match
+     */
+    @Test
+    public void test_candidates() {
+        int unindexed = index.candidates("").cardinality();
+
+        Assert.assertEquals("Only the mappings with a matching prefix are candidates",
+                            unindexed + 3,
+                            index.candidates("I have a cuke").cardinality());
+        Assert.assertEquals("Only the literal is a candidate",
+                            unindexed + 1,
+                            index.candidates("x is logged in").cardinality());
+        Assert.assertEquals("No candidates", unindexed, index.candidates("something else").cardinality());
+        Assert.assertEquals("Only '(.*)' should match", 1, index.find("something else").size());
+    }
+}
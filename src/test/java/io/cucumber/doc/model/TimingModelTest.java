@@ -0,0 +1,63 @@
+package io.cucumber.doc.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimingModel}
+ */
+public class TimingModelTest {
+    private final ImplementationModel implementation = new ImplementationModel.Builder("method")
+                                                            .withMapping("Given", "mapping")
+                                                            .build();
+
+
+    /**
+     * Unit test {@link TimingModel}
+     */
+    @Test
+    public void test_Timings() {
+        long[] durations = new long[100];
+
+        for (int index = 0; index < durations.length; index++) {
+            durations[index] = (durations.length - index) * 1000L;
+        }
+
+        TimingModel timing = new TimingModel(implementation, durations);
+
+        Assert.assertSame("Unexpected implementation", implementation, timing.getImplementation());
+        Assert.assertEquals("Unexpected count", 100, timing.getCount());
+        Assert.assertEquals("Unexpected total", 5_050_000, timing.getTotal());
+        Assert.assertEquals("Unexpected mean", 50_500, timing.getMean());
+        Assert.assertEquals("Unexpected percentile", 95_000, timing.getPercentile95());
+    }
+
+
+    /**
+     * Unit test {@link TimingModel#getPercentile95()} uses the nearest rank
+     */
+    @Test
+    public void test_GetPercentile95() {
+        Assert.assertEquals("Single", 7, new TimingModel(implementation, new long[] {7}).getPercentile95());
+        Assert.assertEquals("Small", 9, new TimingModel(implementation, new long[] {9, 1, 5}).getPercentile95());
+        Assert.assertEquals("Twenty",
+                            19,
+                            new TimingModel(implementation, new long[] {
+                                    1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20
+                            }).getPercentile95());
+    }
+
+
+    /**
+     * Unit test {@link TimingModel} without any executions
+     */
+    @Test
+    public void test_Empty() {
+        TimingModel timing = new TimingModel(implementation, new long[0]);
+
+        Assert.assertEquals("Unexpected count", 0, timing.getCount());
+        Assert.assertEquals("Unexpected total", 0, timing.getTotal());
+        Assert.assertEquals("Unexpected mean", 0, timing.getMean());
+        Assert.assertEquals("Unexpected percentile", 0, timing.getPercentile95());
+    }
+}
@@ -1,6 +1,7 @@
 package io.cucumber.doc.model;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -90,6 +91,25 @@ public class TypeModelTest {
     }
 
 
+    /**
+     * Unit test {@link TypeModel#getSummary} does not reload a released description
+     */
+    @Test
+    public void test_GetSummary_Cached() {
+        AtomicInteger loads = new AtomicInteger();
+        TypeModel type = new TypeModel.Builder("a.b.c.LazyType")
+                             .withDescription(() -> "load " + loads.incrementAndGet() + ". More text")
+                             .build();
+
+        Assert.assertEquals("Unexpected summary", "Load 1.", type.getSummary());
+
+        type.release();
+
+        Assert.assertEquals("Unexpected cached summary", "Load 1.", type.getSummary());
+        Assert.assertEquals("Unexpected loads", 1, loads.get());
+    }
+
+
     /**
      * Unit test {@link TypeModel#getSince}
      */
@@ -117,4 +137,40 @@ public class TypeModelTest {
         Assert.assertEquals("type2, implementation11 has unexpected name", "a", implementation2.get(0).getName());
         Assert.assertEquals("type2, implementation12 has unexpected name", "b", implementation2.get(1).getName());
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Unit test {@link TypeModel#release}
+     */
+    @Test
+    public void test_Release() {
+        AtomicInteger loads = new AtomicInteger();
+        TypeModel type = new TypeModel.Builder("a.b.c.LazyType")
+                             .withImplementation(
+                                new ImplementationModel.Builder("lazy")
+                                    .withMapping("Given", "lazy")
+                                    .withDescription(() -> "implementation " + loads.incrementAndGet())
+                                    .build())
+                             .withDescription(() -> "type description. Is lazy")
+                             .build()
+                             .initialise(new ApplicationModel.Builder().build());
+        ImplementationModel implementation = type.getImplementations().get(0);
+
+        Assert.assertEquals("Unexpected description", "Type description. Is lazy", type.getDescription());
+        Assert.assertEquals("Unexpected summary", "Type description.", type.getSummary());
+        Assert.assertEquals("Description loaded too early", 0, loads.get());
+        Assert.assertEquals("Unexpected implementation description",
+                            "Implementation 1",
+                            implementation.getDescription());
+        Assert.assertEquals("Unexpected cached implementation description",
+                            "Implementation 1",
+                            implementation.getDescription());
+
+        type.release();
+
+        Assert.assertEquals("Unexpected reloaded implementation description",
+                            "Implementation 2",
+                            implementation.getDescription());
+        Assert.assertEquals("Unexpected reloaded description", "Type description. Is lazy", type.getDescription());
+    }
+}
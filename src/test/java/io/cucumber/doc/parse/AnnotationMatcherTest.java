@@ -0,0 +1,58 @@
+package io.cucumber.doc.parse;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import com.sun.javadoc.AnnotationDesc;
+import com.sun.javadoc.AnnotationTypeDoc;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link AnnotationMatcher}
+ */
+public class AnnotationMatcherTest {
+    private final AnnotationMatcher matcher = new AnnotationMatcher(
+        Arrays.asList("cucumber.api.java.en.Given", "cucumber.api.java.en.Then", "cucumber.api.java.fr.Soit"));
+
+
+    /**
+     * Unit test {@link AnnotationMatcher#matches}
+     */
+    @Test
+    public void test_Matches() {
+        Assert.assertTrue("Given", matcher.matches(annotation("cucumber.api.java.en.Given")));
+        Assert.assertTrue("Then", matcher.matches(annotation("cucumber.api.java.en.Then")));
+        Assert.assertTrue("Soit", matcher.matches(annotation("cucumber.api.java.fr.Soit")));
+    }
+
+
+    /**
+     * Unit test {@link AnnotationMatcher#matches}
+     */
+    @Test
+    public void test_DoesNotMatch() {
+        Assert.assertFalse("Override", matcher.matches(annotation("java.lang.Override")));
+        Assert.assertFalse("Wrong package", matcher.matches(annotation("com.example.Given")));
+        Assert.assertFalse("Wrong language", matcher.matches(annotation("cucumber.api.java.fr.Given")));
+        Assert.assertFalse("Simple name", matcher.matches(annotation("Given")));
+    }
+
+
+    @Nonnull
+    private AnnotationDesc annotation(@Nonnull String qualifiedName) {
+        AnnotationDesc annotation = mock(AnnotationDesc.class);
+        AnnotationTypeDoc type = mock(AnnotationTypeDoc.class);
+        int index = qualifiedName.lastIndexOf('.');
+
+        when(annotation.annotationType()).thenReturn(type);
+        when(type.qualifiedName()).thenReturn(qualifiedName);
+        when(type.simpleTypeName()).thenReturn(qualifiedName.substring(index + 1));
+
+        return annotation;
+    }
+}
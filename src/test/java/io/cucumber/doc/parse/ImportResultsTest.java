@@ -0,0 +1,128 @@
+package io.cucumber.doc.parse;
+
+import java.io.File;
+import java.net.URL;
+import java.util.List;
+
+import io.cucumber.doc.exception.CukeDocException;
+import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.ImplementationModel;
+import io.cucumber.doc.model.TimingModel;
+import io.cucumber.doc.model.TypeModel;
+import io.cucumber.doc.util.FileUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link ImportResults}
+ */
+public class ImportResultsTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+
+    /**
+     * Unit test {@link ImportResults#read(String)}
+     */
+    @Test
+    public void test_Read_File() {
+        URL resource = getClass().getClassLoader().getResource("results/cucumber.json");
+        List<TimingModel> timings = timings(new ImportResults().read(resource.getFile()));
+
+        Assert.assertEquals("Unexpected timings count", 2, timings.size());
+        assertTiming(timings.get(0), "a.b.Steps.have", 2, 6_000_000, 4_000_000);
+        assertTiming(timings.get(1), "a.b.Steps.eat", 1, 1_500_000, 1_500_000);
+    }
+
+
+    /**
+     * Unit test {@link ImportResults#read(String)}
+     */
+    @Test
+    public void test_Read_Directory() throws Exception {
+        URL resource = getClass().getClassLoader().getResource("results/cucumber.json");
+        String json = FileUtils.read(new File(resource.toURI()).getAbsolutePath());
+        File directory = temp.newFolder("results");
+
+        FileUtils.write(directory + "/run1.json", json);
+        FileUtils.write(directory + "/nested/run2.JSON", json);
+        FileUtils.write(directory + "/ignored.txt", "not json");
+
+        List<TimingModel> timings = timings(new ImportResults().read(directory.getAbsolutePath()));
+
+        Assert.assertEquals("Unexpected timings count", 2, timings.size());
+        assertTiming(timings.get(0), "a.b.Steps.have", 4, 12_000_000, 4_000_000);
+        assertTiming(timings.get(1), "a.b.Steps.eat", 2, 3_000_000, 1_500_000);
+    }
+
+
+    /**
+     * Unit test {@link ImportResults#read(String)}
+     */
+    @Test
+    public void test_Read_Empty() throws Exception {
+        File file = temp.newFile("empty.json");
+
+        FileUtils.write(file.getAbsolutePath(), "[]");
+
+        Assert.assertTrue("Unexpected timings", timings(new ImportResults().read(file.getAbsolutePath())).isEmpty());
+    }
+
+
+    /**
+     * Unit test {@link ImportResults#read(String)}
+     */
+    @Test
+    public void test_Read_Invalid() throws Exception {
+        File file = temp.newFile("invalid.json");
+
+        FileUtils.write(file.getAbsolutePath(), "[ { \"elements\": [ { \"steps\": [ { \"name\": ");
+
+        expectedException.expect(CukeDocException.class);
+        expectedException.expectMessage("Failed to read results from");
+
+        new ImportResults().read(file.getAbsolutePath());
+    }
+
+
+    /**
+     * Unit test {@link ImportResults#read(String)}
+     */
+    @Test
+    public void test_Read_Missing() {
+        expectedException.expect(CukeDocException.class);
+
+        new ImportResults().read("a/b/c.json");
+    }
+
+
+    private List<TimingModel> timings(ImportResults results) {
+        ApplicationModel.Builder builder = new ApplicationModel.Builder()
+                .withType(new TypeModel.Builder("a.b.Steps")
+                              .withImplementation(new ImplementationModel.Builder("have")
+                                                      .withMapping("Given", "^I have (\\\\d+) cukes?$")
+                                                      .build())
+                              .withImplementation(new ImplementationModel.Builder("eat")
+                                                      .withMapping("Then", "^I eat (\\\\d+) cukes?$")
+                                                      .build())
+                              .build());
+
+        results.addTo(builder);
+
+        return builder.build().getTimings();
+    }
+
+
+    private void assertTiming(TimingModel timing, String name, int count, long total, long percentile) {
+        Assert.assertEquals("Unexpected implementation", name, timing.getImplementation().getQualifiedName());
+        Assert.assertEquals("Unexpected count for " + name, count, timing.getCount());
+        Assert.assertEquals("Unexpected total for " + name, total, timing.getTotal());
+        Assert.assertEquals("Unexpected percentile for " + name, percentile, timing.getPercentile95());
+    }
+}
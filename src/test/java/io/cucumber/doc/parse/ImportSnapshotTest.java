@@ -0,0 +1,176 @@
+package io.cucumber.doc.parse;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import com.sun.javadoc.DocErrorReporter;
+import io.cucumber.doc.config.Config;
+import io.cucumber.doc.exception.CukeDocException;
+import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.ImplementationModel;
+import io.cucumber.doc.model.MappingModel;
+import io.cucumber.doc.model.NoteModel;
+import io.cucumber.doc.model.TypeModel;
+import io.cucumber.doc.report.snapshot.SnapshotReport;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import test_helper.utils.Sample;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit test for {@link ImportSnapshot}
+ */
+public class ImportSnapshotTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private String snapshot;
+
+
+    @Before
+    public void setUp() {
+        String tempDirectory = temp.getRoot().getAbsolutePath();
+        DocErrorReporter reporter = mock(DocErrorReporter.class);
+
+        Config.newInstance().applyOptions(new String[][]{{"-d", tempDirectory}}, reporter);
+
+        snapshot = tempDirectory + "/" + SnapshotReport.FILE_NAME;
+    }
+
+
+    /**
+     * Unit test {@link ImportSnapshot#isSnapshot(String)}
+     */
+    @Test
+    public void test_IsSnapshot() throws Exception {
+        File text = temp.newFile("text.xml");
+        Files.write(text.toPath(), "<cuke-doc></cuke-doc>".getBytes());
+
+        new SnapshotReport(Sample.emptyApp()).writeReport();
+
+        Assert.assertTrue("Snapshot not recognised", ImportSnapshot.isSnapshot(snapshot));
+        Assert.assertFalse("XML recognised", ImportSnapshot.isSnapshot(text.getAbsolutePath()));
+        Assert.assertFalse("Empty file recognised", ImportSnapshot.isSnapshot(temp.newFile("empty.snapshot").getAbsolutePath()));
+        Assert.assertFalse("Missing file recognised", ImportSnapshot.isSnapshot(snapshot + ".missing"));
+    }
+
+
+    /**
+     * Unit test {@link ImportSnapshot#importSnapshot(ApplicationModel.Builder, String)}
+     */
+    @Test
+    public void test_ImportSnapshot_Empty() {
+        new SnapshotReport(Sample.emptyApp()).writeReport();
+
+        ApplicationModel.Builder builder = new ApplicationModel.Builder();
+
+        new ImportSnapshot().importSnapshot(builder, snapshot);
+        ApplicationModel actual = builder.build();
+
+        Assert.assertEquals("Unexpected notes count", 0, actual.getNotes().size());
+        Assert.assertEquals("Unexpected type count", 0, actual.getTypes().size());
+    }
+
+
+    /**
+     * Unit test {@link ImportSnapshot#importSnapshot(ApplicationModel.Builder, String)}
+     */
+    @Test
+    public void test_ImportSnapshot_RoundTrip() {
+        ApplicationModel expected = Sample.app();
+
+        new SnapshotReport(expected).writeReport();
+
+        ApplicationModel.Builder builder = new ApplicationModel.Builder();
+
+        new ImportSnapshot().importSnapshot(builder, snapshot);
+        ApplicationModel actual = builder.build();
+
+        Assert.assertEquals("Unexpected notes count", expected.getNotes().size(), actual.getNotes().size());
+        for (int index = 0; index < expected.getNotes().size(); index++) {
+            NoteModel expectedNote = expected.getNotes().get(index);
+            NoteModel actualNote = actual.getNotes().get(index);
+
+            Assert.assertEquals("Unexpected note name", expectedNote.getFriendlyName(), actualNote.getFriendlyName());
+            Assert.assertEquals("Unexpected note text", expectedNote.getText(), actualNote.getText());
+            Assert.assertEquals("Unexpected note format", expectedNote.getFormat(), actualNote.getFormat());
+        }
+
+        Assert.assertEquals("Unexpected type count", expected.getTypes().size(), actual.getTypes().size());
+        for (int index = 0; index < expected.getTypes().size(); index++) {
+            checkType(expected.getTypes().get(index), actual.getTypes().get(index));
+        }
+
+        Assert.assertEquals("Unexpected mapping count", expected.getMappings().size(), actual.getMappings().size());
+    }
+
+
+    private void checkType(TypeModel expected, TypeModel actual) {
+        Assert.assertEquals("Unexpected qualified name", expected.getQualifiedName(), actual.getQualifiedName());
+        Assert.assertEquals("Unexpected simple name", expected.getSimpleName(), actual.getSimpleName());
+        Assert.assertEquals("Unexpected description", expected.getDescription(), actual.getDescription());
+        Assert.assertEquals("Unexpected since", expected.getSince(), actual.getSince());
+        Assert.assertEquals("Unexpected implementation count",
+                            expected.getImplementations().size(),
+                            actual.getImplementations().size());
+
+        for (int index = 0; index < expected.getImplementations().size(); index++) {
+            ImplementationModel expectedImplementation = expected.getImplementations().get(index);
+            ImplementationModel actualImplementation = actual.getImplementations().get(index);
+
+            Assert.assertEquals("Unexpected implementation name",
+                                expectedImplementation.getQualifiedName(),
+                                actualImplementation.getQualifiedName());
+            Assert.assertEquals("Unexpected table",
+                                String.valueOf(expectedImplementation.getTable()),
+                                String.valueOf(actualImplementation.getTable()));
+            Assert.assertEquals("Unexpected parameter count",
+                                expectedImplementation.getParameters().size(),
+                                actualImplementation.getParameters().size());
+            Assert.assertEquals("Unexpected mapping count",
+                                expectedImplementation.getMappings().size(),
+                                actualImplementation.getMappings().size());
+
+            for (int mapping = 0; mapping < expectedImplementation.getMappings().size(); mapping++) {
+                MappingModel expectedMapping = expectedImplementation.getMappings().get(mapping);
+                MappingModel actualMapping = actualImplementation.getMappings().get(mapping);
+
+                Assert.assertEquals("Unexpected annotation",
+                                    expectedMapping.getAnnotationText(),
+                                    actualMapping.getAnnotationText());
+                Assert.assertEquals("Unexpected friendly mapping",
+                                    expectedMapping.getFriendlyMapping(),
+                                    actualMapping.getFriendlyMapping());
+            }
+        }
+    }
+
+
+    /**
+     * Unit test {@link ImportSnapshot#importSnapshot(ApplicationModel.Builder, String)}
+     */
+    @Test
+    public void test_ImportSnapshot_Truncated() throws Exception {
+        new SnapshotReport(Sample.app()).writeReport();
+
+        File truncated = temp.newFile("truncated.snapshot");
+        byte[] raw = Files.readAllBytes(new File(snapshot).toPath());
+        byte[] half = new byte[raw.length / 2];
+
+        System.arraycopy(raw, 0, half, 0, half.length);
+        Files.write(truncated.toPath(), half);
+
+        expectedException.expect(CukeDocException.class);
+        expectedException.expectMessage("Malformed snapshot");
+
+        new ImportSnapshot().importSnapshot(new ApplicationModel.Builder(), truncated.getAbsolutePath());
+    }
+}
@@ -1,5 +1,6 @@
 package io.cucumber.doc.parse;
 
+import java.io.File;
 import java.net.URL;
 import java.util.Iterator;
 
@@ -8,11 +9,13 @@ import io.cucumber.doc.model.ApplicationModel;
 import io.cucumber.doc.model.ImplementationModel;
 import io.cucumber.doc.model.NoteModel;
 import io.cucumber.doc.model.TypeModel;
+import io.cucumber.doc.util.FileUtils;
 import io.cucumber.doc.util.NoteFormat;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 
 /**
  * Unit test for {@link ImportXml}
@@ -21,6 +24,9 @@ public class ImportXmlTest {
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
 
     /**
      * Unit test {@link ImportXml#importXml(ApplicationModel.Builder, String)}
@@ -239,4 +245,53 @@ public class ImportXmlTest {
     }
 
 
-}
\ No newline at end of file
+
+
+    /**
+     * Unit test {@link ImportXml#importXml(ApplicationModel.Builder, String)} with a large synthetic report.
+     * Every child element is read exactly once, so the import time is linear in the size of the document.
+     */
+    @Test
+    public void test_ImportXml_Large() {
+        int typeCount = 100;
+        int implementationCount = 100;
+        StringBuilder xml = new StringBuilder("<cuke-doc><meta><version>1.0.1</version></meta><types>");
+
+        for (int type = 0; type < typeCount; type++) {
+            xml.append("<type><name>a.b.Type").append(type).append("</name><implementations>");
+
+            for (int implementation = 0; implementation < implementationCount; implementation++) {
+                xml.append("<implementation>")
+                   .append("<name>method").append(implementation).append("</name>")
+                   .append("<description>Description ").append(implementation).append("</description>")
+                   .append("<since>1.0</since>")
+                   .append("<mappings><mapping><verb>Given</verb><regEx>step ")
+                   .append(type).append('-').append(implementation).append(" (\\d+)</regEx></mapping></mappings>")
+                   .append("<parameters><parameter><type>int</type><format>\\d+</format>")
+                   .append("<name>count</name><description>count</description></parameter></parameters>")
+                   .append("<table><name>table</name><description>data</description></table>")
+                   .append("</implementation>");
+            }
+
+            xml.append("</implementations></type>");
+        }
+
+        xml.append("</types></cuke-doc>");
+
+        String path = new File(temp.getRoot(), "large.xml").getAbsolutePath();
+        FileUtils.write(path, xml.toString());
+
+        ApplicationModel.Builder builder = new ApplicationModel.Builder();
+        new ImportXml().importXml(builder, path);
+        ApplicationModel actual = builder.build();
+
+        Assert.assertEquals("Unexpected type count", typeCount, actual.getTypes().size());
+        Assert.assertEquals("Unexpected mapping count", typeCount * implementationCount, actual.getMappings().size());
+
+        ImplementationModel implementation = actual.getTypes().get(0).getImplementations().get(0);
+
+        Assert.assertEquals("Unexpected description", "Description 0", implementation.getDescription());
+        Assert.assertEquals("Unexpected parameter", "count", implementation.getParameters().get(0).getName());
+        Assert.assertEquals("Unexpected table", "table", implementation.getTable().getName());
+    }
+}
@@ -0,0 +1,146 @@
+package io.cucumber.doc.parse;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.DocErrorReporter;
+import com.sun.javadoc.RootDoc;
+import com.sun.javadoc.SourcePosition;
+import io.cucumber.doc.config.Config;
+import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.model.TypeModel;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import test_helper.utils.Sample;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link IncrementalModel}
+ */
+public class IncrementalModelTest {
+    private ClassDoc class1;
+    private RootDoc all;
+    private RootDoc onlyClass1;
+    private Path file1;
+    private Path file2;
+
+
+    @Before
+    public void setUp() {
+        DocErrorReporter reporter = mock(DocErrorReporter.class);
+
+        Config.newInstance().applyOptions(new String[0][], reporter);
+
+        all = Sample.rootDoc();
+        class1 = all.classes()[0];
+        file1 = new File("src/a/b/Class1.java").toPath();
+        file2 = new File("src/a/b/c/Class2.java").toPath();
+
+        setPosition(class1, file1);
+        setPosition(all.classes()[1], file2);
+        setPosition(all.classes()[2], new File("src/a/b/Class3.java").toPath());
+
+        onlyClass1 = mock(RootDoc.class);
+        when(onlyClass1.classes()).thenReturn(new ClassDoc[] { class1 });
+    }
+
+
+    private void setPosition(ClassDoc classDoc, Path file) {
+        SourcePosition position = mock(SourcePosition.class);
+
+        when(position.file()).thenReturn(file.toFile());
+        when(classDoc.position()).thenReturn(position);
+    }
+
+
+    /**
+     * Unit test {@link IncrementalModel#update(RootDoc)}
+     */
+    @Test
+    public void test_Update_Initial() {
+        IncrementalModel model = new IncrementalModel();
+
+        Assert.assertFalse("Unexpected initial state", model.isInitialised());
+
+        Set<String> affected = model.update(all);
+
+        Assert.assertTrue("Not initialised", model.isInitialised());
+        Assert.assertEquals("Unexpected affected types",
+                            new TreeSet<>(Arrays.asList("a.b.Class1", "a.b.c.Class2")),
+                            affected);
+        Assert.assertEquals("Unexpected types", Arrays.asList("a.b.Class1", "a.b.c.Class2"), typeNames(model.build()));
+    }
+
+
+    /**
+     * Unit test {@link IncrementalModel#update(RootDoc)}
+     */
+    @Test
+    public void test_Update_Changed() {
+        IncrementalModel model = new IncrementalModel();
+
+        model.update(all);
+        model.changed(Collections.singletonList(file1));
+
+        Set<String> affected = model.update(onlyClass1);
+        ApplicationModel app = model.build();
+
+        Assert.assertEquals("Unexpected affected types", Collections.singleton("a.b.Class1"), affected);
+        Assert.assertEquals("Unexpected types", Arrays.asList("a.b.Class1", "a.b.c.Class2"), typeNames(app));
+        Assert.assertEquals("Unexpected retained mappings",
+                            "Foo Bar",
+                            app.getTypes().get(1).getImplementations().get(0).getMappings().get(0).getRegEx());
+    }
+
+
+    /**
+     * Unit test {@link IncrementalModel#update(RootDoc)}
+     */
+    @Test
+    public void test_Update_Deleted() {
+        IncrementalModel model = new IncrementalModel();
+
+        model.update(all);
+        model.changed(Collections.singletonList(file2));
+
+        Set<String> affected = model.update(onlyClass1);
+
+        Assert.assertEquals("Unexpected affected types", Collections.singleton("a.b.c.Class2"), affected);
+        Assert.assertEquals("Unexpected types", Collections.singletonList("a.b.Class1"), typeNames(model.build()));
+    }
+
+
+    /**
+     * Unit test {@link IncrementalModel#build()}
+     */
+    @Test
+    public void test_Build_Repeated() {
+        IncrementalModel model = new IncrementalModel();
+
+        model.update(all);
+
+        ApplicationModel first = model.build();
+        ApplicationModel second = model.build();
+
+        Assert.assertNotSame("Types shared between models", first.getTypes().get(0), second.getTypes().get(0));
+        Assert.assertEquals("Unexpected types", typeNames(first), typeNames(second));
+    }
+
+
+    private List<String> typeNames(ApplicationModel model) {
+        return model.getTypes()
+                    .stream()
+                    .map(TypeModel::getQualifiedName)
+                    .collect(Collectors.toList());
+    }
+}
@@ -5,12 +5,15 @@ import java.util.Iterator;
 import com.sun.javadoc.DocErrorReporter;
 import com.sun.javadoc.RootDoc;
 import io.cucumber.doc.config.Config;
+import io.cucumber.doc.exception.CukeDocException;
 import io.cucumber.doc.model.ApplicationModel;
 import io.cucumber.doc.model.NoteModel;
 import io.cucumber.doc.util.NoteFormat;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import test_helper.utils.Sample;
 import test_helper.utils.TestFileHelper;
 
@@ -20,6 +23,9 @@ import static org.mockito.Mockito.mock;
  * Unit test for {@link ModelBuilder}
  */
 public class ModelBuilderTest {
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
     private Config config;
     private DocErrorReporter reporter = mock(DocErrorReporter.class);
 
@@ -105,4 +111,50 @@ public class ModelBuilderTest {
         Assert.assertEquals("Unexpected mapping3", "World (\\d+)", actual.getMappings().get(2).getRegEx());
         Assert.assertEquals("Unexpected mapping4", "mapping1", actual.getMappings().get(3).getRegEx());
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Unit test {@link ModelBuilder#build} with multiple links imported concurrently
+     */
+    @Test
+    public void test_Build_ParallelLinks() throws Exception {
+        RootDoc app = Sample.rootDoc();
+        String link = TestFileHelper.findFile("report/xml/sample.xml");
+
+        config.applyOptions(new String[][]{{"-threads", "3"},
+                                           {"-link", link},
+                                           {"-link", TestFileHelper.findFile("report/xml/sample-min.xml")},
+                                           {"-link", link}},
+                            reporter);
+
+        ApplicationModel actual = new ModelBuilder(app).build();
+
+        // Expected 2 classes from the app and 2 from each of the sample reports, sorted by name
+        Assert.assertEquals("Unexpected Type count", 6, actual.getTypes().size());
+        Assert.assertEquals("Unexpected Type 1 name", "a.b.Class1", actual.getTypes().get(0).getQualifiedName());
+        Assert.assertEquals("Unexpected Type 2 name", "a.b.c.Class1", actual.getTypes().get(1).getQualifiedName());
+        Assert.assertEquals("Unexpected Type 3 name", "a.b.c.Class1", actual.getTypes().get(2).getQualifiedName());
+        Assert.assertEquals("Unexpected Type 4 name", "a.b.c.Class2", actual.getTypes().get(3).getQualifiedName());
+        Assert.assertEquals("Unexpected Type 5 name", "d.e.f.Class2", actual.getTypes().get(4).getQualifiedName());
+        Assert.assertEquals("Unexpected Type 6 name", "d.e.f.Class2", actual.getTypes().get(5).getQualifiedName());
+    }
+
+
+    /**
+     * Unit test {@link ModelBuilder#build} where one of the linked reports is broken
+     */
+    @Test
+    public void test_Build_BrokenLink() throws Exception {
+        String broken = TestFileHelper.findFile("report/xml/sample-no-types.xml");
+
+        expectedException.expect(CukeDocException.class);
+        expectedException.expectMessage("Failed to link to '" + broken + "': Malformed XML: Missing 'types' element");
+
+        config.applyOptions(new String[][]{{"-threads", "2"},
+                                           {"-link", TestFileHelper.findFile("report/xml/sample.xml")},
+                                           {"-link", broken}},
+                            reporter);
+
+        new ModelBuilder(Sample.rootDoc()).build();
+    }
+}
@@ -0,0 +1,171 @@
+package io.cucumber.doc.parse;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import io.cucumber.doc.model.ImplementationModel;
+import io.cucumber.doc.model.TypeModel;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link ScanCache}
+ */
+public class ScanCacheTest {
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private String path;
+
+
+    @Before
+    public void setUp() {
+        path = new File(temp.getRoot(), "cache/scan.bin").getAbsolutePath();
+    }
+
+
+    /**
+     * Unit test {@link ScanCache#load}
+     */
+    @Test
+    public void test_Load_Missing() {
+        ScanCache cache = ScanCache.load(path);
+
+        Assert.assertFalse("Unexpected entry", cache.contains("a.b.Class1", "hash"));
+    }
+
+
+    /**
+     * Unit test {@link ScanCache#save} and {@link ScanCache#load}
+     */
+    @Test
+    public void test_RoundTrip() {
+        ScanCache cache = new ScanCache();
+        TypeModel type = new TypeModel.Builder("Class1", "a.b.Class1")
+                            .withDescription("Type description")
+                            .since("1.2.3")
+                            .withImplementation(new ImplementationModel.Builder("method1")
+                                .withMapping("Given", "mapping (\\d+)")
+                                .withMapping("Then", "other mapping (\\d+)")
+                                .withParameter("count", "int", "\\d+", "Number of things")
+                                .withTable("table", "Table description")
+                                .withDescription("Method description")
+                                .since("1.0")
+                                .build())
+                            .build();
+
+        cache.put("a.b.Class1", "hash1", type);
+        cache.put("a.b.Class2", "hash2", null);
+        cache.save(path);
+
+        ScanCache loaded = ScanCache.load(path);
+
+        Assert.assertFalse("Stale entry found", loaded.contains("a.b.Class1", "other-hash"));
+        Assert.assertTrue("Class1 not found", loaded.contains("a.b.Class1", "hash1"));
+        Assert.assertTrue("Class2 not found", loaded.contains("a.b.Class2", "hash2"));
+        Assert.assertNull("Class2 should have no mappings", loaded.get("a.b.Class2"));
+
+        TypeModel actual = loaded.get("a.b.Class1");
+
+        Assert.assertNotSame("Type should be rebuilt", type, actual);
+        Assert.assertEquals("Unexpected simple name", "Class1", actual.getSimpleName());
+        Assert.assertEquals("Unexpected qualified name", "a.b.Class1", actual.getQualifiedName());
+        Assert.assertEquals("Unexpected description", "Type description", actual.getDescription());
+        Assert.assertEquals("Unexpected since", "1.2.3", actual.getSince());
+        Assert.assertEquals("Unexpected implementations", 1, actual.getImplementations().size());
+
+        ImplementationModel implementation = actual.getImplementations().get(0);
+
+        Assert.assertEquals("Unexpected name", "method1", implementation.getName());
+        Assert.assertEquals("Unexpected description", "Method description", implementation.getDescription());
+        Assert.assertEquals("Unexpected version", "1.0", implementation.getSince());
+        Assert.assertEquals("Unexpected table", "table", implementation.getTable().getName());
+        Assert.assertEquals("Unexpected table description",
+                            "Table description", implementation.getTable().getDescription());
+        Assert.assertEquals("Unexpected mapping count", 2, implementation.getMappings().size());
+        Assert.assertEquals("Unexpected mapping1", "mapping (\\d+)", implementation.getMappings().get(0).getRegEx());
+        Assert.assertEquals("Unexpected verb2", "Then", implementation.getMappings().get(1).getVerb());
+        Assert.assertEquals("Unexpected parameter count", 1, implementation.getParameters().size());
+        Assert.assertEquals("Unexpected parameter type", "int", implementation.getParameters().get(0).getType());
+        Assert.assertEquals("Unexpected parameter format", "\\d+", implementation.getParameters().get(0).getFormat());
+    }
+
+
+    /**
+     * Unit test {@link ScanCache#save}
+     */
+    @Test
+    public void test_Save_DropsUnusedEntries() {
+        ScanCache cache = new ScanCache();
+
+        cache.put("a.b.Class1", "hash1", null);
+        cache.put("a.b.Class2", "hash2", null);
+        cache.save(path);
+
+        ScanCache second = ScanCache.load(path);
+
+        Assert.assertTrue("Class1 not found", second.contains("a.b.Class1", "hash1"));
+        second.save(path);
+
+        ScanCache third = ScanCache.load(path);
+
+        Assert.assertTrue("Class1 not retained", third.contains("a.b.Class1", "hash1"));
+        Assert.assertFalse("Class2 should have been dropped", third.contains("a.b.Class2", "hash2"));
+    }
+
+
+    /**
+     * Unit test {@link ScanCache#load} ignores a cache written with a different key
+     */
+    @Test
+    public void test_Load_DifferentKey() {
+        ScanCache cache = new ScanCache("key1");
+
+        cache.put("a.b.Class1", "hash1", null);
+        cache.save(path);
+
+        Assert.assertTrue("Class1 not found", ScanCache.load(path, "key1").contains("a.b.Class1", "hash1"));
+        Assert.assertFalse("Stale entry used", ScanCache.load(path, "key2").contains("a.b.Class1", "hash1"));
+        Assert.assertFalse("Stale entry used", ScanCache.load(path).contains("a.b.Class1", "hash1"));
+    }
+
+
+    /**
+     * Unit test {@link ScanCache#load} ignores a cache that is truncated or has corrupt lengths
+     */
+    @Test
+    public void test_Load_Corrupt() throws Exception {
+        ScanCache cache = new ScanCache("key");
+
+        cache.put("a.b.Class1", "hash1", null);
+        cache.put("a.b.Class2", "hash2", new TypeModel.Builder("a.b.Class2").build());
+        cache.save(path);
+
+        Path file = Paths.get(path);
+        byte[] valid = Files.readAllBytes(file);
+
+        for (int length = 0; length < valid.length; length++) {
+            Files.write(file, Arrays.copyOf(valid, length));
+
+            Assert.assertFalse("Truncated entry used at " + length,
+                               ScanCache.load(path, "key").contains("a.b.Class1", "hash1"));
+        }
+
+        for (int corrupt : new int[] { -2, Integer.MIN_VALUE, Integer.MAX_VALUE, valid.length }) {
+            byte[] data = valid.clone();
+
+            ByteBuffer.wrap(data).putInt(8, corrupt);               // The length of the key
+            Files.write(file, data);
+
+            Assert.assertFalse("Corrupt entry used for " + corrupt,
+                               ScanCache.load(path, "key").contains("a.b.Class1", "hash1"));
+        }
+    }
+}
@@ -84,4 +84,70 @@ public class ScannerTest {
         Assert.assertEquals("Unexpected imp2 mapping1 RegEx", "Foo Bar", implementation.getMappings().get(0).getRegEx());
         Assert.assertEquals("Unexpected imp2 parameters", 0, implementation.getParameters().size());
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Unit test {@link Scanner#scan} when using multiple threads
+     */
+    @Test
+    public void test_Scan_Parallel() {
+        RootDoc root = Sample.rootDoc();
+
+        ApplicationModel expected = new Scanner(root).scan().build();
+        ApplicationModel actual = new Scanner(root, 4, null).scan().build();
+
+        Assert.assertEquals("Unexpected type count", expected.getTypes().size(), actual.getTypes().size());
+
+        for (int index = 0; index < expected.getTypes().size(); index++) {
+            TypeModel expectedType = expected.getTypes().get(index);
+            TypeModel actualType = actual.getTypes().get(index);
+
+            Assert.assertEquals("Unexpected type " + index + " qualified name",
+                                expectedType.getQualifiedName(), actualType.getQualifiedName());
+            Assert.assertEquals("Unexpected type " + index + " implementation count",
+                                expectedType.getImplementations().size(), actualType.getImplementations().size());
+        }
+
+        Assert.assertEquals("Unexpected mapping count", expected.getMappings().size(), actual.getMappings().size());
+    }
+
+
+    /**
+     * Unit test {@link Scanner#scan} when using a cache
+     */
+    @Test
+    public void test_Scan_Cached() {
+        RootDoc root = Sample.rootDoc();
+        ScanCache cache = new ScanCache();
+
+        ApplicationModel expected = new Scanner(root, 1, cache).scan().build();
+        ApplicationModel actual = new Scanner(root, 1, cache).scan().build();
+
+        Assert.assertEquals("Unexpected type count", expected.getTypes().size(), actual.getTypes().size());
+
+        for (int index = 0; index < expected.getTypes().size(); index++) {
+            TypeModel expectedType = expected.getTypes().get(index);
+            TypeModel actualType = actual.getTypes().get(index);
+
+            Assert.assertNotSame("Type " + index + " should be rebuilt", expectedType, actualType);
+            Assert.assertEquals("Unexpected type " + index + " qualified name",
+                                expectedType.getQualifiedName(), actualType.getQualifiedName());
+            Assert.assertEquals("Unexpected type " + index + " description",
+                                expectedType.getDescription(), actualType.getDescription());
+        }
+
+        Assert.assertEquals("Unexpected mapping count", expected.getMappings().size(), actual.getMappings().size());
+        Assert.assertEquals("Unexpected table",
+                            "table",
+                            actual.getTypes().get(1).getImplementations().get(0).getTable().getFriendlyName());
+    }
+
+
+    /**
+     * Unit test {@link Scanner#Scanner(RootDoc, int, ScanCache)}
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_Scan_InvalidThreads() {
+        new Scanner(Sample.rootDoc(), 0, null);
+    }
+}
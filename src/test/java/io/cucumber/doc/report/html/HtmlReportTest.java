@@ -9,7 +9,9 @@ import com.sun.javadoc.DocErrorReporter;
 import io.cucumber.doc.config.Config;
 import io.cucumber.doc.model.ApplicationModel;
 import io.cucumber.doc.model.NoteModel;
+import io.cucumber.doc.util.FileUtils;
 import io.cucumber.doc.util.NoteFormat;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -56,6 +58,21 @@ public class HtmlReportTest {
     }
 
 
+    /**
+     * Unit test {@link HtmlReport#writeReport} renders the same pages when they are rendered in parallel
+     */
+    @Test
+    public void test_WriteReport_FullApp_Parallel() throws Exception {
+        DocErrorReporter reporter = mock(DocErrorReporter.class);
+
+        Config.newInstance().applyOptions(new String[][]{{"-d", tempDirectory}, {"-threads", "4"}}, reporter);
+
+        new HtmlReport(Sample.app()).writeReport();
+
+        validate("html-full");
+    }
+
+
     /**
      * Unit test {@link HtmlReport#writeReport}
      */
@@ -82,6 +99,38 @@ public class HtmlReportTest {
     }
 
 
+    /**
+     * Unit test {@link HtmlReport#writeReport} streams the same pages, without the indentation, in compact mode
+     */
+    @Test
+    public void test_WriteReport_FullApp_Compact() throws Exception {
+        DocErrorReporter reporter = mock(DocErrorReporter.class);
+        File formatted = temp.newFolder("formatted");
+        File compact = temp.newFolder("compact");
+
+        Config.newInstance().applyOptions(new String[][]{{"-d", formatted.getAbsolutePath()}}, reporter);
+        new HtmlReport(Sample.app()).writeReport();
+
+        Config.newInstance().applyOptions(new String[][]{{"-d", compact.getAbsolutePath()}, {"-compact"}}, reporter);
+        new HtmlReport(Sample.app()).writeReport();
+
+        for (String page : new String[] { "index.html", "a.b.c.Class1.html", "notes/_index.html" }) {
+            String expected = FileUtils.read(new File(formatted, page).getAbsolutePath());
+            String actual = FileUtils.read(new File(compact, page).getAbsolutePath());
+
+            Assert.assertFalse("Unexpected indentation in " + page, actual.contains("\n    <"));
+            Assert.assertEquals("Unexpected content in " + page, strip(expected), strip(actual));
+        }
+    }
+
+
+    @Nonnull
+    private String strip(@Nonnull String html) {
+        return html.replaceAll("\\s*([<>])\\s*", "$1")
+                   .replaceAll("_id\\d+_", "_id_");
+    }
+
+
     private void validate(@Nonnull String testName) throws Exception {
         String pathName = "report/" + testName + "/index.html";
         URL expectedFile = getClass().getClassLoader().getResource(pathName);
@@ -1,5 +1,7 @@
 package io.cucumber.doc.report.html;
 
+import java.util.Locale;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -55,4 +57,23 @@ public class HtmlUtilsTest {
         Assert.assertEquals("Empty Description", "defaultValue", HtmlUtils.cleanDescription("", "defaultValue"));
         Assert.assertEquals("With value", "Hello world.", HtmlUtils.cleanDescription("Hello world.", "defaultValue"));
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Unit test {@link HtmlUtils#formatDuration(long)} in a locale that uses a decimal comma
+     */
+    @Test
+    public void test_FormatDuration() {
+        Locale locale = Locale.getDefault();
+
+        try {
+            Locale.setDefault(Locale.GERMANY);
+
+            Assert.assertEquals("Zero", "0.0 ms", HtmlUtils.formatDuration(0));
+            Assert.assertEquals("Rounded down", "12.3 ms", HtmlUtils.formatDuration(12_345_678));
+            Assert.assertEquals("Rounded up", "1.6 ms", HtmlUtils.formatDuration(1_550_000));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+}
@@ -17,6 +17,7 @@ public class MenuItemTest {
     public void test_GetKey() {
         Assert.assertEquals("OVERVIEW has wrong key", LanguageKey.OVERVIEW_TITLE, MenuItem.OVERVIEW.getKey());
         Assert.assertEquals("NOTES has wrong key", LanguageKey.NOTES_TITLE, MenuItem.NOTES.getKey());
+        Assert.assertEquals("HOT_STEPS has wrong key", LanguageKey.HOT_STEPS_TITLE, MenuItem.HOT_STEPS.getKey());
         Assert.assertEquals("CUCUMBER has wrong key", LanguageKey.MENU_CUCUMBER, MenuItem.CUCUMBER.getKey());
     }
 
@@ -28,6 +29,7 @@ public class MenuItemTest {
     public void test_GetHref() {
         Assert.assertEquals("OVERVIEW has wrong link", "index.html", MenuItem.OVERVIEW.getHref());
         Assert.assertEquals("NOTES has wrong link", "notes/_index.html", MenuItem.NOTES.getHref());
+        Assert.assertEquals("HOT_STEPS has wrong link", "hot-steps.html", MenuItem.HOT_STEPS.getHref());
         Assert.assertEquals("CUCUMBER has wrong link", "http://cucumber.io/", MenuItem.CUCUMBER.getHref());
     }
 
@@ -40,6 +42,7 @@ public class MenuItemTest {
         Assert.assertTrue("OVERVIEW has wrong availability", MenuItem.OVERVIEW.isAvailable(Sample.app()));
         Assert.assertTrue("CUCUMBER has wrong availability", MenuItem.CUCUMBER.isAvailable(Sample.app()));
         Assert.assertTrue("NOTES has wrong availability - with notes", MenuItem.NOTES.isAvailable(Sample.app()));
+        Assert.assertFalse("HOT_STEPS has wrong availability", MenuItem.HOT_STEPS.isAvailable(Sample.app()));
     }
 
 
@@ -51,5 +54,6 @@ public class MenuItemTest {
         Assert.assertTrue("OVERVIEW has wrong availability", MenuItem.OVERVIEW.isAvailable(Sample.emptyApp()));
         Assert.assertTrue("CUCUMBER has wrong availability", MenuItem.CUCUMBER.isAvailable(Sample.emptyApp()));
         Assert.assertFalse("NOTES has wrong availability", MenuItem.NOTES.isAvailable(Sample.emptyApp()));
+        Assert.assertFalse("HOT_STEPS has wrong availability", MenuItem.HOT_STEPS.isAvailable(Sample.emptyApp()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package io.cucumber.doc.report.snapshot;
+
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+
+import com.sun.javadoc.DocErrorReporter;
+import io.cucumber.doc.config.Config;
+import io.cucumber.doc.model.ApplicationModel;
+import io.cucumber.doc.report.ReportBuilder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import test_helper.utils.Sample;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit test for {@link SnapshotReport}
+ */
+public class SnapshotReportTest {
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private ApplicationModel app;
+
+    private String tempDirectory;
+
+    @Before
+    public void setUp() {
+        app = Sample.app();
+
+        tempDirectory = temp.getRoot().getAbsolutePath();
+        DocErrorReporter reporter = mock(DocErrorReporter.class);
+
+        Config.newInstance().applyOptions(new String[][]{{"-d", tempDirectory}}, reporter);
+    }
+
+
+    /**
+     * Unit test {@link SnapshotReport#writeReport}
+     */
+    @Test
+    public void test_WriteReport() throws Exception {
+        ReportBuilder report = new SnapshotReport(app);
+
+        report.writeReport();
+
+        try (
+            DataInputStream data = new DataInputStream(new FileInputStream(tempDirectory + "/cuke-doc.snapshot"))
+        ) {
+            Assert.assertEquals("Unexpected magic", SnapshotReport.MAGIC, data.readInt());
+            Assert.assertEquals("Unexpected version", SnapshotReport.VERSION, data.readInt());
+            Assert.assertTrue("Missing string table", data.readInt() > 0);
+        }
+    }
+}
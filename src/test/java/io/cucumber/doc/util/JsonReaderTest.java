@@ -0,0 +1,116 @@
+package io.cucumber.doc.util;
+
+import java.io.StringReader;
+
+import io.cucumber.doc.exception.CukeDocException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JsonReader}
+ */
+public class JsonReaderTest {
+    /**
+     * Unit test reading each type of value
+     */
+    @Test
+    public void test_Values() throws Exception {
+        JsonReader reader = reader("{\"text\": \"a\\\"b\\\\c\\n\\u00e9\", \"number\": -12, \"fraction\": 1.5e2, " +
+                                   "\"yes\": true, \"no\": false, \"nothing\": null, \"list\": [1, \"2\"]}");
+
+        reader.beginObject();
+        Assert.assertEquals("Bad name", "text", reader.nextName());
+        Assert.assertEquals("Bad string", "a\"b\\c\n\u00e9", reader.nextString());
+        Assert.assertEquals("Bad name", "number", reader.nextName());
+        Assert.assertEquals("Bad number", -12, reader.nextLong());
+        Assert.assertEquals("Bad name", "fraction", reader.nextName());
+        Assert.assertEquals("Bad fraction", 150, reader.nextLong());
+        Assert.assertEquals("Bad name", "yes", reader.nextName());
+        Assert.assertTrue("Bad true", reader.nextBoolean());
+        Assert.assertEquals("Bad name", "no", reader.nextName());
+        Assert.assertFalse("Bad false", reader.nextBoolean());
+        Assert.assertEquals("Bad name", "nothing", reader.nextName());
+        Assert.assertEquals("Bad null token", JsonReader.Token.NULL, reader.peek());
+        reader.nextNull();
+        Assert.assertEquals("Bad name", "list", reader.nextName());
+        reader.beginArray();
+        Assert.assertTrue("Missing element", reader.hasNext());
+        Assert.assertEquals("Bad number as string", "1", reader.nextString());
+        Assert.assertEquals("Bad string token", JsonReader.Token.STRING, reader.peek());
+        Assert.assertEquals("Bad string", "2", reader.nextString());
+        Assert.assertFalse("Unexpected element", reader.hasNext());
+        reader.endArray();
+        Assert.assertFalse("Unexpected property", reader.hasNext());
+        reader.endObject();
+        Assert.assertEquals("Bad end", JsonReader.Token.END_DOCUMENT, reader.peek());
+    }
+
+
+    /**
+     * Unit test {@link JsonReader#skipValue()}
+     */
+    @Test
+    public void test_SkipValue() throws Exception {
+        JsonReader reader = reader("[{\"skip\": {\"a\": [1, {\"b\": \"]}\"}], \"c\": null}, \"keep\": \"value\"}, 2]");
+
+        reader.beginArray();
+        reader.beginObject();
+        Assert.assertEquals("Bad name", "skip", reader.nextName());
+        reader.skipValue();
+        Assert.assertEquals("Bad name", "keep", reader.nextName());
+        Assert.assertEquals("Bad value", "value", reader.nextString());
+        reader.endObject();
+        reader.skipValue();
+        reader.endArray();
+        Assert.assertEquals("Bad end", JsonReader.Token.END_DOCUMENT, reader.peek());
+    }
+
+
+    /**
+     * Unit test {@link JsonReader#getLine()}
+     */
+    @Test
+    public void test_GetLine() throws Exception {
+        JsonReader reader = reader("[\n1,\n\n2]");
+
+        reader.beginArray();
+        reader.nextLong();
+        reader.peek();
+
+        Assert.assertEquals("Bad line", 4, reader.getLine());
+    }
+
+
+    /**
+     * Unit test reading a malformed document
+     */
+    @Test
+    public void test_Malformed() throws Exception {
+        assertMalformed("{\"a\": x}", "Invalid JSON at line 1: Unexpected character 'x'");
+        assertMalformed("[\"abc", "Invalid JSON at line 1: Unterminated string");
+        assertMalformed("[nul]", "Invalid JSON at line 1: Invalid literal 'nul'");
+        assertMalformed("{\"a\": 1}", "Invalid JSON at line 1: Expected BEGIN_ARRAY but found BEGIN_OBJECT");
+    }
+
+
+    private void assertMalformed(String json, String message) throws Exception {
+        JsonReader reader = reader(json);
+
+        try {
+            if (json.startsWith("{\"a\": 1")) {
+                reader.beginArray();
+            } else {
+                reader.skipValue();
+            }
+
+            Assert.fail("Malformed JSON was read: " + json);
+        } catch (CukeDocException e) {
+            Assert.assertEquals("Bad message", message, e.getMessage());
+        }
+    }
+
+
+    private JsonReader reader(String json) {
+        return new JsonReader(new StringReader(json));
+    }
+}
@@ -0,0 +1,169 @@
+package io.cucumber.doc.util;
+
+import java.io.File;
+
+import javax.annotation.Nonnull;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link OutputManifest}
+ */
+public class OutputManifestTest {
+    private static final long OLD = 1_000_000_000_000L;
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private String directory;
+
+
+    @Before
+    public void setUp() {
+        directory = temp.getRoot().getAbsolutePath();
+    }
+
+
+    @After
+    public void tearDown() {
+        OutputManifest.open(directory).close();
+    }
+
+
+    /**
+     * Unit test {@link OutputManifest#exists}
+     */
+    @Test
+    public void test_Exists() {
+        Assert.assertFalse("Unexpected manifest", OutputManifest.exists(directory));
+
+        run(true, "a.txt", "Content");
+
+        Assert.assertTrue("Missing manifest", OutputManifest.exists(directory));
+        Assert.assertEquals("Bad manifest",
+                            HashUtils.hash("Content") + " a.txt",
+                            FileUtils.read(directory + "/" + OutputManifest.FILE_NAME).trim());
+    }
+
+
+    /**
+     * Unit test files with unchanged content are not rewritten
+     */
+    @Test
+    public void test_Unchanged() {
+        run(true, "a.txt", "Content", "sub/b.txt", "Other");
+        age("a.txt", "sub/b.txt");
+        run(true, "a.txt", "Content", "sub/b.txt", "Changed");
+
+        Assert.assertEquals("Unchanged file was rewritten", OLD, file("a.txt").lastModified());
+        Assert.assertNotEquals("Changed file was not rewritten", OLD, file("sub/b.txt").lastModified());
+        Assert.assertEquals("Bad content", "Changed", FileUtils.read(file("sub/b.txt").getPath()));
+        Assert.assertArrayEquals("Temporary files left behind", new String[] { "b.txt" }, file("sub").list());
+    }
+
+
+    /**
+     * Unit test files that have been deleted are written again, even if their content has not changed
+     */
+    @Test
+    public void test_Deleted() {
+        run(true, "a.txt", "Content");
+        Assert.assertTrue("Failed to delete", file("a.txt").delete());
+        run(true, "a.txt", "Content");
+
+        Assert.assertEquals("Bad content", "Content", FileUtils.read(file("a.txt").getPath()));
+    }
+
+
+    /**
+     * Unit test the text that is not hashed
+     */
+    @Test
+    public void test_Unhashed() {
+        OutputManifest manifest = OutputManifest.open(directory);
+
+        FileUtils.write(directory + "/a.txt", writer -> writer.write("Built at 10:00"), "10:00");
+        manifest.publish(true);
+        age("a.txt");
+
+        manifest = OutputManifest.open(directory);
+        FileUtils.write(directory + "/a.txt", writer -> writer.write("Built at 10:01"), "10:01");
+        manifest.publish(true);
+
+        Assert.assertEquals("Time stamp caused a rewrite", OLD, file("a.txt").lastModified());
+        Assert.assertEquals("Bad content", "Built at 10:00", FileUtils.read(file("a.txt").getPath()));
+    }
+
+
+    /**
+     * Unit test stale files are pruned when every file has been written
+     */
+    @Test
+    public void test_Prune() {
+        run(true, "a.txt", "A", "sub/b.txt", "B");
+        FileUtils.write(directory + "/other.txt", "Not in the manifest");
+        run(true, "a.txt", "A");
+
+        Assert.assertTrue("Missing file", file("a.txt").exists());
+        Assert.assertFalse("Stale file was not pruned", file("sub/b.txt").exists());
+        Assert.assertFalse("Empty directory was not pruned", file("sub").exists());
+        Assert.assertTrue("Unrecorded file was pruned", file("other.txt").exists());
+    }
+
+
+    /**
+     * Unit test stale files are kept when only some of the files have been written
+     */
+    @Test
+    public void test_Update() {
+        run(true, "a.txt", "A", "b.txt", "B");
+        run(false, "a.txt", "Changed");
+        age("b.txt");
+        run(true, "a.txt", "Changed", "b.txt", "B");
+
+        Assert.assertEquals("Bad content", "Changed", FileUtils.read(file("a.txt").getPath()));
+        Assert.assertEquals("Kept file was rewritten", OLD, file("b.txt").lastModified());
+    }
+
+
+    /**
+     * Unit test files are written as normal when the manifest is closed
+     */
+    @Test
+    public void test_Closed() {
+        OutputManifest.open(directory).close();
+        FileUtils.write(directory + "/a.txt", "Content");
+
+        Assert.assertEquals("Bad content", "Content", FileUtils.read(file("a.txt").getPath()));
+        Assert.assertFalse("Unexpected manifest", OutputManifest.exists(directory));
+    }
+
+
+    private void run(boolean prune, @Nonnull String... content) {
+        OutputManifest manifest = OutputManifest.open(directory);
+
+        for (int index = 0; index < content.length; index += 2) {
+            FileUtils.write(directory + "/" + content[index], content[index + 1]);
+        }
+
+        manifest.publish(prune);
+    }
+
+
+    private void age(@Nonnull String... names) {
+        for (String name : names) {
+            Assert.assertTrue("Failed to age " + name, file(name).setLastModified(OLD));
+        }
+    }
+
+
+    @Nonnull
+    private File file(@Nonnull String name) {
+        return new File(directory, name);
+    }
+}
@@ -0,0 +1,174 @@
+package io.cucumber.doc.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RegExAutomaton}
+ */
+public class RegExAutomatonTest {
+    private static final int BUDGET = 10_000;
+
+
+    /**
+     * Unit test {@link RegExAutomaton#compile(String)}
+     */
+    @Test
+    public void test_Compile() {
+        Assert.assertNotNull("Literal", RegExAutomaton.compile("^I am logged in$"));
+        Assert.assertNotNull("Groups", RegExAutomaton.compile("^I have (\\d+) (?:big )?cukes? in (?<where>\\w+)$"));
+        Assert.assertNotNull("Classes", RegExAutomaton.compile("[^\"]*[a-z\\-_]{2,4}.\\s\\S"));
+        Assert.assertNotNull("Escapes", RegExAutomaton.compile("\\t\\x41\\u0042\\0103\\cA\\.\\Q(x)\\E"));
+        Assert.assertNotNull("Reluctant", RegExAutomaton.compile("a(.*?)b"));
+        Assert.assertNotNull("Word boundary", RegExAutomaton.compile("\\ba\\b"));
+
+        Assert.assertNull("Look ahead", RegExAutomaton.compile("a(?=b)"));
+        Assert.assertNull("Back reference", RegExAutomaton.compile("(a)\\1"));
+        Assert.assertNull("Flags", RegExAutomaton.compile("(?i)abc"));
+        Assert.assertNull("Possessive", RegExAutomaton.compile("a*+b"));
+        Assert.assertNull("Property", RegExAutomaton.compile("\\p{Alpha}"));
+        Assert.assertNull("Class intersection", RegExAutomaton.compile("[a-z&&[^b]]"));
+        Assert.assertNull("Large repeat", RegExAutomaton.compile("a{1000}"));
+        Assert.assertNull("Unbalanced", RegExAutomaton.compile("a)"));
+        Assert.assertNull("Unterminated", RegExAutomaton.compile("(a"));
+        Assert.assertNull("Dangling quantifier", RegExAutomaton.compile("*a"));
+    }
+
+
+    /**
+     * Unit test {@link RegExAutomaton#intersection(RegExAutomaton, int)} where the languages overlap
+     */
+    @Test
+    public void test_Intersection() {
+        assertIntersection("^I have (\\d+) cukes$", "^I have (.*)$", "I have 0 cukes");
+        assertIntersection("^the user \"([^\"]*)\" is logged in$", "^the (\\w+) \"(.*)\" is logged (in|out)$",
+                           "the user \"\" is logged in");
+        assertIntersection("I wait (\\d+) seconds?", "I wait 1 (second|minute)", "I wait 1 second");
+        assertIntersection("a{2,3}", "a+", "aa");
+        assertIntersection("(ab)*", "a.*b", "ab");
+        assertIntersection("[^a-y]", "[x-z]", "z");
+        assertIntersection("x\\x41\\Q.*\\E", "xA\\.\\*", "xA.*");
+        assertIntersection("^same$", "same", "same");
+    }
+
+
+    /**
+     * Unit test {@link RegExAutomaton#intersection(RegExAutomaton, int)} where the languages do not overlap
+     */
+    @Test
+    public void test_Intersection_Empty() {
+        assertDisjoint("^I have (\\d+) cukes$", "^I have (\\d+) cuke$");
+        assertDisjoint("^I have (\\d+) cukes$", "^I have ([a-z]+) cukes$");
+        assertDisjoint("a{2}", "a{3,}");
+        assertDisjoint("(ab)+", "a(ba)*");
+        assertDisjoint("[^x]", "x");
+    }
+
+
+    /**
+     * Unit test {@link RegExAutomaton#intersection(RegExAutomaton, int)} gives up when the budget is exhausted
+     */
+    @Test
+    public void test_Intersection_Budget() {
+        RegExAutomaton first = RegExAutomaton.compile("(a|b)*a(a|b){8}c");
+        RegExAutomaton second = RegExAutomaton.compile("(a|b)*b(a|b){7}c");
+
+        Assert.assertNotNull("First did not compile", first);
+        Assert.assertNotNull("Second did not compile", second);
+        Assert.assertNotNull("Unlimited", first.intersection(second, BUDGET));
+        Assert.assertNull("Limited", first.intersection(second, 5));
+    }
+
+
+    /**
+     * Unit test {@link RegExAutomaton#prefixes(int, int)}
+     */
+    @Test
+    public void test_Prefixes() {
+        Assert.assertEquals("Literal", Collections.singletonList("I am logged in"), prefixes("^I am logged in$"));
+        Assert.assertEquals("Group", Collections.singletonList("I have "), prefixes("^I have (\\d+) cukes$"));
+        Assert.assertEquals("Alternation", Arrays.asList("a table", "the table"), prefixes("^(?:a|the) table$"));
+        Assert.assertEquals("Optional", Collections.singletonList("cuke"), prefixes("^cukes?$"));
+        Assert.assertEquals("Leading group", Collections.singletonList(""), prefixes("^(.*) is logged in$"));
+        Assert.assertEquals("Too long",
+                            Collections.singletonList("abcd"),
+                            RegExAutomaton.compile("abcdefgh").prefixes(4, 4));
+        Assert.assertEquals("Too many", Collections.singletonList(""), prefixes("(a|b|c|d|e) step"));
+    }
+
+
+    /**
+     * Unit test {@link RegExAutomaton#suffixes(int, int)}
+     */
+    @Test
+    public void test_Suffixes() {
+        RegExAutomaton automaton = RegExAutomaton.compile("^I have (\\d+) (?:cuke|gherkin)s?$");
+
+        Assert.assertNotNull("Did not compile", automaton);
+        Assert.assertEquals("Bad suffixes",
+                            new HashSet<>(Arrays.asList(" cuke", " cukes", " gherkin", " gherkins")),
+                            new HashSet<>(automaton.suffixes(20, 4)));
+        Assert.assertEquals("Trailing group",
+                            Collections.singletonList(""),
+                            RegExAutomaton.compile("I have (\\d+)").suffixes(20, 4));
+    }
+
+
+    /**
+     * Unit test {@link RegExAutomaton#alphabet(int)}
+     */
+    @Test
+    public void test_Alphabet() {
+        RegExAutomaton automaton = RegExAutomaton.compile("ab[x-z]\\d?");
+        BitSet expected = new BitSet();
+
+        expected.set('a', 'c');
+        expected.set('x', 'z' + 1);
+        expected.set('0', '9' + 1);
+
+        Assert.assertNotNull("Did not compile", automaton);
+        Assert.assertEquals("Bad alphabet", expected, automaton.alphabet(128));
+        Assert.assertEquals("Limited", BitSet.valueOf(new long[] { 0x3FF_0000_0000_0000L }), automaton.alphabet('a'));
+    }
+
+
+    private List<String> prefixes(String regEx) {
+        RegExAutomaton automaton = RegExAutomaton.compile(regEx);
+
+        Assert.assertNotNull("Did not compile " + regEx, automaton);
+
+        return automaton.prefixes(100, 4);
+    }
+
+
+    private void assertIntersection(String first, String second, String expected) {
+        RegExAutomaton left = RegExAutomaton.compile(first);
+        RegExAutomaton right = RegExAutomaton.compile(second);
+
+        Assert.assertNotNull("Did not compile " + first, left);
+        Assert.assertNotNull("Did not compile " + second, right);
+
+        String actual = left.intersection(right, BUDGET);
+
+        Assert.assertEquals("Bad intersection of " + first + " and " + second, expected, actual);
+        Assert.assertTrue("First does not match", Pattern.compile(first).matcher(actual).matches());
+        Assert.assertTrue("Second does not match", Pattern.compile(second).matcher(actual).matches());
+    }
+
+
+    private void assertDisjoint(String first, String second) {
+        RegExAutomaton left = RegExAutomaton.compile(first);
+        RegExAutomaton right = RegExAutomaton.compile(second);
+
+        Assert.assertNotNull("Did not compile " + first, left);
+        Assert.assertNotNull("Did not compile " + second, right);
+        Assert.assertNull("Unexpected intersection of " + first + " and " + second, left.intersection(right, BUDGET));
+    }
+}
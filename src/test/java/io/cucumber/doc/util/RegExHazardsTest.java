@@ -0,0 +1,87 @@
+package io.cucumber.doc.util;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RegExHazards}
+ */
+public class RegExHazardsTest {
+    /**
+     * Unit test {@link RegExHazards#analyse(String)} with regular expressions that are safe
+     */
+    @Test
+    public void test_Analyse_Safe() {
+        assertSafe("^I have (\\d+) cukes?$");
+        assertSafe("^the user \"([^\"]*)\" is (.*)$");
+        assertSafe("^(?i)I eat (\\d+){1,3} cukes$");
+        assertSafe("^(a|b)*$");
+        assertSafe("^(?>(a+))*$");
+        assertSafe("^(a++)*$");
+        assertSafe("^(\\w+){2}$");
+        assertSafe("^[(+*]+ \\(.+\\)$");
+        assertSafe("^\\Q(a+)+\\E$");
+    }
+
+
+    /**
+     * Unit test {@link RegExHazards#analyse(String)} with nested unbounded quantifiers
+     */
+    @Test
+    public void test_Analyse_NestedQuantifier() {
+        assertHazard("^(.*)+$", RegExHazards.Kind.NESTED_QUANTIFIER, "(.*)+", "", "a");
+        assertHazard("^(\\w+\\s?)*$", RegExHazards.Kind.NESTED_QUANTIFIER, "(\\w+\\s?)*", "", "a");
+        assertHazard("^I have (?:[0-9]+,?)+ cukes$", RegExHazards.Kind.NESTED_QUANTIFIER, "(?:[0-9]+,?)+", "I have ", "0");
+        assertHazard("^x(?<n>\\d{2,}-)*y$", RegExHazards.Kind.NESTED_QUANTIFIER, "(?<n>\\d{2,}-)*", "x", "00-");
+
+        List<RegExHazards.Hazard> hazards = RegExHazards.analyse("^((a+)+)+$");
+
+        Assert.assertEquals("Unexpected hazards " + hazards, 2, hazards.size());
+        Assert.assertEquals("Unexpected inner fragment", "(a+)+", hazards.get(0).getFragment());
+        Assert.assertEquals("Unexpected outer fragment", "((a+)+)+", hazards.get(1).getFragment());
+    }
+
+
+    /**
+     * Unit test {@link RegExHazards#analyse(String)} with overlapping alternatives
+     */
+    @Test
+    public void test_Analyse_OverlappingAlternation() {
+        assertHazard("^(\\w|\\d)+$", RegExHazards.Kind.OVERLAPPING_ALTERNATION, "(\\w|\\d)+", "", "a");
+        assertHazard("^a{2}(b|bc)*$", RegExHazards.Kind.OVERLAPPING_ALTERNATION, "(b|bc)*", "aa", "b");
+        assertHazard("^(?:x|[^y])*y$", RegExHazards.Kind.OVERLAPPING_ALTERNATION, "(?:x|[^y])*", "", "x");
+        assertHazard("^(.|\u00e9)*$", RegExHazards.Kind.OVERLAPPING_ALTERNATION, "(.|\u00e9)*", "", "a");
+    }
+
+
+    /**
+     * Unit test {@link RegExHazards#analyse(String)} with regular expressions that Java would reject
+     */
+    @Test
+    public void test_Analyse_Malformed() {
+        Assert.assertNotNull("Unbalanced close", RegExHazards.analyse("a)(b+)*)"));
+        Assert.assertNotNull("Unbalanced open", RegExHazards.analyse("((a"));
+        Assert.assertNotNull("Unterminated class", RegExHazards.analyse("[a-"));
+        Assert.assertNotNull("Bad quantifier", RegExHazards.analyse("a{1"));
+        Assert.assertNotNull("Trailing escape", RegExHazards.analyse("a\\"));
+    }
+
+
+    private void assertSafe(String regEx) {
+        Assert.assertEquals("Unexpected hazards in " + regEx, Collections.emptyList(), RegExHazards.analyse(regEx));
+    }
+
+
+    private void assertHazard(String regEx, RegExHazards.Kind kind, String fragment, String prefix, String pump) {
+        List<RegExHazards.Hazard> hazards = RegExHazards.analyse(regEx);
+
+        Assert.assertEquals("Unexpected hazards in " + regEx + ": " + hazards, 1, hazards.size());
+        Assert.assertEquals("Unexpected kind for " + regEx, kind, hazards.get(0).getKind());
+        Assert.assertEquals("Unexpected fragment for " + regEx, fragment, hazards.get(0).getFragment());
+        Assert.assertEquals("Unexpected prefix for " + regEx, prefix, hazards.get(0).getPrefix());
+        Assert.assertEquals("Unexpected pump for " + regEx, pump, hazards.get(0).getPump());
+    }
+}
@@ -0,0 +1,186 @@
+package io.cucumber.doc.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RegExLiterals}
+ */
+public class RegExLiteralsTest {
+    /**
+     * Unit test {@link RegExLiterals#of(String)} with plain text
+     */
+    @Test
+    public void test_PlainText() {
+        RegExLiterals literals = RegExLiterals.of("^I am logged in$");
+
+        Assert.assertEquals("Bad prefix", "I am logged in", literals.getPrefix());
+        Assert.assertEquals("Bad required", Collections.singletonList("I am logged in"), literals.getRequired());
+        Assert.assertEquals("Bad longest", "I am logged in", literals.getLongest());
+    }
+
+
+    /**
+     * Unit test {@link RegExLiterals#of(String)} with groups and classes
+     */
+    @Test
+    public void test_Groups() {
+        RegExLiterals literals = RegExLiterals.of("^I have (\\d+) cukes in my [a-z]+ belly$");
+
+        Assert.assertEquals("Bad prefix", "I have ", literals.getPrefix());
+        Assert.assertEquals("Bad required", Arrays.asList("I have ", " cukes in my ", " belly"), literals.getRequired());
+        Assert.assertEquals("Bad longest", " cukes in my ", literals.getLongest());
+    }
+
+
+    /**
+     * Unit test {@link RegExLiterals#of(String)} with quantified characters
+     */
+    @Test
+    public void test_Quantifiers() {
+        Assert.assertEquals("Optional",
+                            Arrays.asList("I wait ", " second"),
+                            RegExLiterals.of("I wait (\\d+) seconds?").getRequired());
+        Assert.assertEquals("At least one",
+                            Arrays.asList("ab", "c"),
+                            RegExLiterals.of("ab+c").getRequired());
+        Assert.assertEquals("Repeat",
+                            Arrays.asList("ab", "c"),
+                            RegExLiterals.of("ab{2,3}c").getRequired());
+        Assert.assertEquals("Optional repeat",
+                            Arrays.asList("a", "c"),
+                            RegExLiterals.of("ab{0,3}c").getRequired());
+        Assert.assertEquals("Group quantifier",
+                            Arrays.asList("x ", " y"),
+                            RegExLiterals.of("x (abc)?+ y").getRequired());
+    }
+
+
+    /**
+     * Unit test {@link RegExLiterals#of(String)} with escaped characters
+     */
+    @Test
+    public void test_Escapes() {
+        RegExLiterals literals = RegExLiterals.of("costs \\$(\\d+)\\.\\d\\d\\$");
+
+        Assert.assertEquals("Bad prefix", "costs $", literals.getPrefix());
+        Assert.assertEquals("Bad required", Arrays.asList("costs $", ".", "$"), literals.getRequired());
+    }
+
+
+    /**
+     * Unit test {@link RegExLiterals#of(String)} where the regular expression starts with a capture group
+     */
+    @Test
+    public void test_NoPrefix() {
+        RegExLiterals literals = RegExLiterals.of("(\\w+) is logged in");
+
+        Assert.assertEquals("Bad prefix", "", literals.getPrefix());
+        Assert.assertEquals("Bad required", Collections.singletonList(" is logged in"), literals.getRequired());
+    }
+
+
+    /**
+     * Unit test {@link RegExLiterals#of(String)} for regular expressions that can not be indexed
+     */
+    @Test
+    public void test_NoLiterals() {
+        Assert.assertEquals("Alternation", Collections.emptyList(), RegExLiterals.of("yes|no").getRequired());
+        Assert.assertEquals("Flags", Collections.emptyList(), RegExLiterals.of("(?i)hello").getRequired());
+        Assert.assertEquals("Quoted", Collections.emptyList(), RegExLiterals.of("\\Qa.b\\E").getRequired());
+        Assert.assertEquals("Any", Collections.emptyList(), RegExLiterals.of("(.*)").getRequired());
+        Assert.assertEquals("Empty", "", RegExLiterals.of("").getLongest());
+    }
+
+
+    /**
+     * Unit test {@link RegExLiterals#of(String)} with escapes that have an operand
+     */
+    @Test
+    public void test_EscapeOperands() {
+        Assert.assertEquals("Hex", Arrays.asList("x "), RegExLiterals.of("^x \\x41$").getRequired());
+        Assert.assertEquals("Hex braces", Arrays.asList("x ", "y"), RegExLiterals.of("x \\x{41}y").getRequired());
+        Assert.assertEquals("Unicode",
+                            Arrays.asList("caf", " open"),
+                            RegExLiterals.of("^caf\\u00e9 open$").getRequired());
+        Assert.assertEquals("Octal", Arrays.asList("x "), RegExLiterals.of("x \\0101").getRequired());
+        Assert.assertEquals("Short octal", Arrays.asList("x ", "9"), RegExLiterals.of("x \\0779").getRequired());
+        Assert.assertEquals("Control", Arrays.asList("x ", "y"), RegExLiterals.of("x \\cAy").getRequired());
+        Assert.assertEquals("Named back reference",
+                            Arrays.asList(" and "),
+                            RegExLiterals.of("(?<n>a) and \\k<n>").getRequired());
+        Assert.assertEquals("Back reference", Arrays.asList("a ", " b"), RegExLiterals.of("a (x)\\1 b").getRequired());
+        Assert.assertEquals("Unicode class",
+                            Arrays.asList("a ", " b"),
+                            RegExLiterals.of("a \\p{Lu} b").getRequired());
+    }
+
+
+    /**
+     * Unit test {@link RegExLiterals#of(String)} with nested character classes and closing brackets
+     */
+    @Test
+    public void test_CharacterClasses() {
+        Assert.assertEquals("Nested", Arrays.asList("x", "y"), RegExLiterals.of("^x[a[bc]]y$").getRequired());
+        Assert.assertEquals("Leading bracket", Arrays.asList("x", "y"), RegExLiterals.of("x[]a]y").getRequired());
+        Assert.assertEquals("Negated leading bracket",
+                            Arrays.asList("x", "y"),
+                            RegExLiterals.of("x[^]a]y").getRequired());
+        Assert.assertEquals("Intersection", Arrays.asList("x", "y"), RegExLiterals.of("x[a-z&&[^b]]y").getRequired());
+        Assert.assertEquals("Quoted bracket", Arrays.asList("x", "y"), RegExLiterals.of("x[\\Q]\\E]y").getRequired());
+        Assert.assertEquals("Quoted group bracket",
+                            Arrays.asList("x", "y"),
+                            RegExLiterals.of("x(\\Q)\\E)y").getRequired());
+    }
+
+
+    /**
+     * Unit test the literals from {@link RegExLiterals#of(String)} are sound: whenever the regular expression matches
+     * some text the text starts with the prefix and contains every required literal
+     */
+    @Test
+    public void test_Sound() {
+        String[][] matches = {
+            { "^x \\x41$", "x A" },
+            { "x \\x{41}y", "x Ay" },
+            { "^caf\\u00e9 open$", "caf\u00e9 open" },
+            { "x \\0101", "x A" },
+            { "x \\0779", "x ?9" },
+            { "x \\cAy", "x \u0001y" },
+            { "(?<n>a) and \\k<n>", "a and a" },
+            { "a (x)\\1 b", "a xx b" },
+            { "a \\p{Lu} b", "a Q b" },
+            { "a \\pL b", "a Q b" },
+            { "^x[a[bc]]y$", "xcy" },
+            { "x[]a]y", "x]y" },
+            { "x[^]a]y", "xby" },
+            { "x[a-z&&[^b]]y", "xcy" },
+            { "x[\\Q]\\E]y", "x]y" },
+            { "x(\\Q)\\E)y", "x)y" },
+            { "costs \\$(\\d+)\\.\\d\\d\\$", "costs $12.34$" },
+            { "I wait (\\d+) seconds?", "I wait 1 second" },
+            { "ab{0,3}c", "ac" },
+            { "x (abc)?+ y", "x  y" },
+            { "^I have (\\d+) cukes in my [a-z]+ belly$", "I have 3 cukes in my big belly" }
+        };
+
+        for (String[] match : matches) {
+            String regEx = match[0];
+            String step = match[1];
+            RegExLiterals literals = RegExLiterals.of(regEx);
+
+            Assert.assertTrue("'" + regEx + "' does not match '" + step + "'", Pattern.matches(regEx, step));
+            Assert.assertTrue("'" + step + "' does not start with the prefix of " + regEx + ": " + literals,
+                              step.startsWith(literals.getPrefix()));
+
+            for (String literal : literals.getRequired()) {
+                Assert.assertTrue("'" + step + "' does not contain '" + literal + "' from " + regEx,
+                                  step.contains(literal));
+            }
+        }
+    }
+}
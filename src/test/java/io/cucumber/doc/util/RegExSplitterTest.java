@@ -239,4 +239,46 @@ public class RegExSplitterTest {
         Assert.assertEquals("Bad captures", Arrays.asList("a*", "b*"), splitter.getCaptureGroups());
         Assert.assertEquals("Bad Text", Arrays.asList("abc (?:foo", " ", ") def"), splitter.getUncapturedText());
     }
+
+
+    /**
+     * Unit test {@link RegExSplitter#compile(String)} caches instances
+     */
+    @Test
+    public void test_compile_Cached() {
+        RegExSplitter.clearCache();
+
+        RegExSplitter first = RegExSplitter.compile("I have (\\d+) cukes");
+        RegExSplitter second = RegExSplitter.compile("I have (\\d+) cukes");
+        RegExSplitter other = RegExSplitter.compile("I have (\\d+) cucumbers");
+
+        Assert.assertSame("Not cached", first, second);
+        Assert.assertNotSame("Unexpected share", first, other);
+        Assert.assertEquals("Bad hits", 1, RegExSplitter.getHits());
+        Assert.assertEquals("Bad misses", 2, RegExSplitter.getMisses());
+        Assert.assertEquals("Bad captures", Collections.singletonList("\\d+"), second.getCaptureGroups());
+
+        RegExSplitter.traceStatistics();
+
+        Assert.assertEquals("Hits not reset", 0, RegExSplitter.getHits());
+        Assert.assertEquals("Misses not reset", 0, RegExSplitter.getMisses());
+    }
+
+
+    /**
+     * Unit test {@link RegExSplitter#compile(String)} bounds the cache
+     */
+    @Test
+    public void test_compile_Bounded() {
+        RegExSplitter.clearCache();
+
+        RegExSplitter first = RegExSplitter.compile("regEx 0");
+
+        for (int index = 1; index <= 2000; index++) {
+            RegExSplitter.compile("regEx " + index);
+        }
+
+        Assert.assertNotSame("Eldest entry retained", first, RegExSplitter.compile("regEx 0"));
+        Assert.assertEquals("Bad hits", 0, RegExSplitter.getHits());
+    }
 }
@@ -0,0 +1,68 @@
+package io.cucumber.doc.util;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StringPool}
+ */
+public class StringPoolTest {
+    @Before
+    public void setUp() {
+        StringPool.release();
+    }
+
+
+    @After
+    public void tearDown() {
+        StringPool.release();
+    }
+
+
+    /**
+     * Unit test {@link StringPool#intern(String)}
+     */
+    @Test
+    public void test_intern() {
+        String first = new String("java.lang.String");
+        String second = new String("java.lang.String");
+
+        Assert.assertSame("First instance is not canonical", first, StringPool.intern(first));
+        Assert.assertSame("Second instance was not replaced", first, StringPool.intern(second));
+        Assert.assertSame("Canonical instance changed", first, StringPool.intern(first));
+        Assert.assertNull("Null not handled", StringPool.intern(null));
+
+        Assert.assertEquals("Bad hit count", 1, StringPool.getHits());
+        Assert.assertEquals("Bad saving", StringPool.size(second), StringPool.getSaved());
+    }
+
+
+    /**
+     * Unit test {@link StringPool#release()}
+     */
+    @Test
+    public void test_release() {
+        String first = new String("Given");
+        String second = new String("Given");
+
+        StringPool.intern(first);
+        StringPool.release();
+
+        Assert.assertSame("Pool was not emptied", second, StringPool.intern(second));
+        Assert.assertEquals("Hits not reset", 0, StringPool.getHits());
+        Assert.assertEquals("Saving not reset", 0, StringPool.getSaved());
+    }
+
+
+    /**
+     * Unit test {@link StringPool#size(String)}
+     */
+    @Test
+    public void test_size() {
+        Assert.assertEquals("Empty string", 40, StringPool.size(""));
+        Assert.assertEquals("Four characters", 48, StringPool.size("Then"));
+        Assert.assertEquals("Five characters", 56, StringPool.size("Given"));
+    }
+}
@@ -190,4 +190,21 @@ public class StringUtilsTest {
         Assert.assertEquals("Multiple", "xx", StringUtils.sequence('x', 2));
         Assert.assertEquals("Space", "     ", StringUtils.sequence(' ', 5));
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Unit test {@link StringUtils#unescapeJava}
+     */
+    @Test
+    public void test_unescapeJava() {
+        Assert.assertEquals("Empty", "", StringUtils.unescapeJava(""));
+        Assert.assertEquals("No escapes", "abc (.*)", StringUtils.unescapeJava("abc (.*)"));
+        Assert.assertEquals("Back slash", "(\\d+)", StringUtils.unescapeJava("(\\\\d+)"));
+        Assert.assertEquals("Quotes", "\"a\" 'b'", StringUtils.unescapeJava("\\\"a\\\" \\'b\\'"));
+        Assert.assertEquals("Control", "a\tb\nc", StringUtils.unescapeJava("a\\tb\\nc"));
+        Assert.assertEquals("Unicode", "A", StringUtils.unescapeJava("\\u0041"));
+        Assert.assertEquals("Octal", "\0A", StringUtils.unescapeJava("\\0\\101"));
+        Assert.assertEquals("Malformed", "\\d \\u00", StringUtils.unescapeJava("\\d \\u00"));
+        Assert.assertEquals("Trailing", "a\\", StringUtils.unescapeJava("a\\"));
+    }
+}
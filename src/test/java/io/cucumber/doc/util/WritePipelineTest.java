@@ -0,0 +1,168 @@
+package io.cucumber.doc.util;
+
+import java.io.File;
+
+import javax.annotation.Nonnull;
+
+import io.cucumber.doc.exception.CukeDocException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link WritePipeline}
+ */
+public class WritePipelineTest {
+    private static final long OLD = 1_000_000_000_000L;
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private String directory;
+
+
+    @Before
+    public void setUp() {
+        directory = temp.getRoot().getAbsolutePath();
+    }
+
+
+    @After
+    public void tearDown() {
+        WritePipeline.open(1).close();
+    }
+
+
+    /**
+     * Unit test files are written by the pipeline, including files that are split into several chunks
+     */
+    @Test
+    public void test_Write() {
+        String large = text(200_000);
+
+        try (
+            WritePipeline pipeline = WritePipeline.open(2)
+        ) {
+            for (int index = 0; index < 20; index++) {
+                FileUtils.write(directory + "/dir" + (index % 3) + "/file" + index + ".txt", "Content " + index);
+            }
+
+            FileUtils.write(directory + "/large.txt", large);
+            FileUtils.copyResource("html/up.png", directory, "up.png");
+        }
+
+        for (int index = 0; index < 20; index++) {
+            Assert.assertEquals("Bad content " + index,
+                                "Content " + index,
+                                FileUtils.read(directory + "/dir" + (index % 3) + "/file" + index + ".txt"));
+        }
+
+        Assert.assertEquals("Bad large file", large, FileUtils.read(directory + "/large.txt"));
+        Assert.assertTrue("Missing resource", new File(directory, "up.png").length() != 0);
+        Assert.assertNull("Pipeline still open", WritePipeline.getActive());
+    }
+
+
+    /**
+     * Unit test files written by the pipeline are checked against the output manifest
+     */
+    @Test
+    public void test_Manifest() {
+        for (int run = 0; run < 2; run++) {
+            try (
+                OutputManifest manifest = OutputManifest.open(directory)
+            ) {
+                try (
+                    WritePipeline pipeline = WritePipeline.open(2)
+                ) {
+                    FileUtils.write(directory + "/a.txt", "Unchanged");
+                    FileUtils.write(directory + "/b.txt", "Run " + run);
+                }
+
+                manifest.publish(true);
+            }
+
+            if (run == 0) {
+                Assert.assertTrue("Failed to age", new File(directory, "a.txt").setLastModified(OLD));
+                Assert.assertTrue("Failed to age", new File(directory, "b.txt").setLastModified(OLD));
+            }
+        }
+
+        Assert.assertEquals("Unchanged file was rewritten", OLD, new File(directory, "a.txt").lastModified());
+        Assert.assertNotEquals("Changed file was not rewritten", OLD, new File(directory, "b.txt").lastModified());
+        Assert.assertEquals("Bad content", "Run 1", FileUtils.read(directory + "/b.txt"));
+    }
+
+
+    /**
+     * Unit test a file that could not be written is reported when the pipeline is closed
+     */
+    @Test
+    public void test_Failure() throws Exception {
+        File blocked = temp.newFolder("blocked");
+
+        Assert.assertTrue("Failed to create directory", new File(blocked, "child").mkdir());
+
+        WritePipeline pipeline = WritePipeline.open(1);
+
+        FileUtils.write(directory + "/blocked", "Content");
+        FileUtils.write(directory + "/other.txt", "Other");
+
+        try {
+            pipeline.close();
+            Assert.fail("Expected the failure to be reported");
+        } catch (CukeDocException e) {
+            Assert.assertTrue("Bad message: " + e.getMessage(), e.getMessage().contains("blocked"));
+        }
+
+        Assert.assertEquals("Bad content", "Other", FileUtils.read(directory + "/other.txt"));
+        Assert.assertEquals("Temporary files left behind",
+                            0,
+                            temp.getRoot().list((dir, name) -> name.endsWith(".tmp")).length);
+    }
+
+
+    /**
+     * Unit test a writer that stops unexpectedly is reported, rather than blocking the threads that use it
+     */
+    @Test(timeout = 10_000)
+    public void test_WriterStopped() {
+        String large = text(100_000);
+
+        WritePipeline.open(1, target -> {
+            throw new IllegalStateException("Broken writer");
+        });
+
+        try {
+            for (int index = 0; index < 20; index++) {
+                FileUtils.write(directory + "/file" + index + ".txt", large);
+            }
+
+            Assert.fail("Expected the writer failure to be reported");
+        } catch (CukeDocException e) {
+            Assert.assertTrue("Bad cause: " + e.getCause(), e.getCause().getMessage().contains("Broken writer"));
+        }
+
+        try {
+            WritePipeline.getActive().close();
+            Assert.fail("Expected the failure to be reported when closed");
+        } catch (CukeDocException e) {
+            Assert.assertTrue("Bad message: " + e.getMessage(), e.getMessage().contains("Broken writer"));
+        }
+    }
+
+
+    @Nonnull
+    private String text(int length) {
+        StringBuilder builder = new StringBuilder(length);
+
+        for (int index = 0; index < length; index++) {
+            builder.append((char) ('a' + (index % 26)));
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,23 @@
+# A comment
+@tagged
+Feature: Cukes
+  Some description of the feature
+
+  Background:
+    Given I have 1 cuke
+
+  Scenario: Eating
+    When I eat 1 cuke
+    And I eat it with the following:
+      | salt   |
+      | pepper |
+    Then I have 0 cukes
+
+  Scenario Outline: Counting
+    Given I have <count> cukes
+    Then I say "<word>"
+
+    Examples:
+      | count | word |
+      | 2     | two  |
+      | 3     | t\|e |
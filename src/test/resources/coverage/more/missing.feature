@@ -0,0 +1,8 @@
+Feature: Missing
+
+  Scenario: Missing step
+    Given I have 1 cuke
+    * nothing matches this
+    """
+    Given this is a doc string
+    """
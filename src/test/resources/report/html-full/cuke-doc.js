@@ -29,3 +29,29 @@
       }
     }
   }
+
+  function sortTable(tableId, column) {
+    let table = document.getElementById(tableId);
+    let body = table.tBodies[0];
+    let rows = Array.prototype.slice.call(body.rows, 1);
+    let order = (table.getAttribute("data-sort") === column + "-desc") ? "asc" : "desc";
+    let direction = (order === "desc") ? -1 : 1;
+
+    rows.sort(function(left, right) {
+      let leftCell = left.cells[column];
+      let rightCell = right.cells[column];
+      let leftValue = leftCell.getAttribute("data-value");
+      let rightValue = rightCell.getAttribute("data-value");
+      let compare = (leftValue === null) ?
+                        leftCell.textContent.localeCompare(rightCell.textContent) :
+                        Number(leftValue) - Number(rightValue);
+
+      return compare * direction;
+    });
+
+    rows.forEach(function(row) {
+      body.appendChild(row);
+    });
+
+    table.setAttribute("data-sort", column + "-" + order);
+  }